@@ -0,0 +1,55 @@
+package de.naju.adebar.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import de.naju.adebar.app.human.DataProcessor;
+import de.naju.adebar.infrastructure.seeding.SyntheticData;
+import de.naju.adebar.model.human.Person;
+
+/**
+ * Measures the concatenation of email addresses through the {@link DataProcessor}
+ *
+ * @author Rico Bergmann
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DataProcessorBenchmark {
+
+  @Param({"1000", "10000", "100000"})
+  private int size;
+
+  private List<Person> persons;
+  private DataProcessor dataProcessor;
+
+  @Setup
+  public void setUp() {
+    persons = new SyntheticData().persons(size);
+    dataProcessor = new DataProcessor();
+  }
+
+  @Benchmark
+  public String extractEmailAddressesFromIterable() {
+    return dataProcessor.extractEmailAddressesAsString(persons, ";");
+  }
+
+  @Benchmark
+  public String extractEmailAddressesFromStream() {
+    return dataProcessor.extractEmailAddressesAsString(persons.stream(), ";");
+  }
+
+}
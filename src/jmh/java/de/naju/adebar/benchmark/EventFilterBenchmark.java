@@ -0,0 +1,73 @@
+package de.naju.adebar.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.javamoney.moneta.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import de.naju.adebar.app.events.filter.AddressFilter;
+import de.naju.adebar.app.events.filter.EventFilterBuilder;
+import de.naju.adebar.app.events.filter.NameFilter;
+import de.naju.adebar.app.events.filter.ParticipationFeeFilter;
+import de.naju.adebar.app.events.filter.StartTimeFilter;
+import de.naju.adebar.app.filter.ComparableFilterType;
+import de.naju.adebar.app.filter.DateTimeFilterType;
+import de.naju.adebar.app.filter.MatchType;
+import de.naju.adebar.infrastructure.seeding.SyntheticData;
+import de.naju.adebar.model.events.Event;
+import de.naju.adebar.model.human.Address;
+
+/**
+ * Measures the in-memory filtering of events through the {@link EventFilterBuilder}
+ *
+ * @author Rico Bergmann
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EventFilterBenchmark {
+
+  @Param({"1000", "10000", "100000"})
+  private int size;
+
+  private List<Event> events;
+  private LocalDateTime now;
+
+  @Setup
+  public void setUp() {
+    events = new SyntheticData().events(size);
+    now = LocalDateTime.now();
+  }
+
+  @Benchmark
+  public long upcomingEvents() {
+    return new EventFilterBuilder(events.stream()) //
+        .applyFilter(new StartTimeFilter(now, DateTimeFilterType.AFTER)) //
+        .resultingStream().count();
+  }
+
+  @Benchmark
+  public long combinedFilters() {
+    return new EventFilterBuilder(events.stream()) //
+        .applyFilter(new StartTimeFilter(now, DateTimeFilterType.AFTER)) //
+        .applyFilter(new NameFilter("camp")) //
+        .applyFilter(new ParticipationFeeFilter(Money.of(100, "EUR"), null,
+            ComparableFilterType.MAXIMUM)) //
+        .applyFilter(new AddressFilter(new Address("", "", "Leipzig"), MatchType.IF_DEFINED)) //
+        .resultingStream().count();
+  }
+
+}
@@ -0,0 +1,456 @@
+package de.naju.adebar.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Scripted load test against a running instance of the application. A number of concurrent users
+ * log in and then request the endpoints of the {@link #scenario() scenario} one after another for
+ * a fixed amount of time. Afterwards the latency percentiles of each endpoint are reported.
+ * <p>
+ * The test is meant to be run against a database filled by the
+ * {@link de.naju.adebar.infrastructure.seeding.DatabaseSeeder}:
+ *
+ * <pre>
+ * mvn spring-boot:run -Drun.profiles=seed
+ * mvn -P benchmark test-compile exec:java -Dexec.mainClass=de.naju.adebar.benchmark.LoadTest
+ * </pre>
+ * <p>
+ * The test is configured through the following system properties:
+ * <ul>
+ * <li>{@code loadtest.url}: the base URL of the application, {@code http://localhost:8080} by
+ * default</li>
+ * <li>{@code loadtest.username} and {@code loadtest.password}: the account to log in with,
+ * {@code loadtest} by default</li>
+ * <li>{@code loadtest.users}: the number of concurrent users, 20 by default</li>
+ * <li>{@code loadtest.warmup}: the number of seconds before latencies are recorded, 10 by
+ * default</li>
+ * <li>{@code loadtest.duration}: the number of seconds latencies are recorded, 60 by default</li>
+ * </ul>
+ * </p>
+ *
+ * @author Rico Bergmann
+ */
+public class LoadTest {
+
+  private final static Pattern CSRF_TOKEN = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+  private final static Pattern SESSION_COOKIE = Pattern.compile("JSESSIONID=([^;]+)");
+  private final static Pattern EVENT_LINK = Pattern.compile("href=\"[^\"]*/events/([^\"/?]+)\"");
+  private final static Pattern LOCAL_GROUP_LINK =
+      Pattern.compile("href=\"[^\"]*/localGroups/(\\d+)\"");
+  private final static Set<String> EVENT_ROUTES =
+      new HashSet<>(Arrays.asList("past", "filter", "add"));
+
+  private final static String[] LAST_NAMES = {"Müller", "Schmidt", "Fischer", "Weber", "Koch"};
+  private final static String[] CITIES = {"Dresden", "Leipzig", "Chemnitz", "Görlitz"};
+
+  /**
+   * The data the web interface sends if the person filter is submitted with a city only
+   */
+  private final static String PERSON_FILTER_QUERY = "firstName=&lastName=&email="
+      + "&genderFilterType=none&dobFilterType=none&eatingHabit=&healthImpairments="
+      + "&street=&zip=&activistFilterType=none&activistJuleicaFilterType=none"
+      + "&activistJuleicaExpiryFilterType=none&referentsFilterType=none"
+      + "&nabuMembershipFilterType=none&nabuMembershipNumber=&city=";
+
+  private final String baseUrl;
+  private final String username;
+  private final String password;
+  private final int users;
+  private final long warmupMillis;
+  private final long durationMillis;
+
+  private final List<String> eventIds = new ArrayList<>();
+  private final List<String> localGroupIds = new ArrayList<>();
+
+  /**
+   * Runs the load test and prints the report
+   *
+   * @param args ignored, use the system properties instead
+   * @throws Exception if the test could not be run
+   */
+  public static void main(String[] args) throws Exception {
+    LoadTest loadTest = new LoadTest(System.getProperty("loadtest.url", "http://localhost:8080"),
+        System.getProperty("loadtest.username", "loadtest"),
+        System.getProperty("loadtest.password", "loadtest"),
+        Integer.getInteger("loadtest.users", 20), Integer.getInteger("loadtest.warmup", 10),
+        Integer.getInteger("loadtest.duration", 60));
+    loadTest.run().forEach((endpoint, statistics) -> System.out.println(statistics));
+  }
+
+  /**
+   * @param baseUrl the URL of the application
+   * @param username the user to log in as
+   * @param password the user's password
+   * @param users the number of concurrent users
+   * @param warmupSeconds the number of seconds before latencies are recorded
+   * @param durationSeconds the number of seconds latencies are recorded
+   */
+  public LoadTest(String baseUrl, String username, String password, int users, int warmupSeconds,
+      int durationSeconds) {
+    if (users <= 0 || warmupSeconds < 0 || durationSeconds <= 0) {
+      throw new IllegalArgumentException("Invalid configuration: " + users + " users, "
+          + warmupSeconds + " s warmup, " + durationSeconds + " s duration");
+    }
+    this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    this.username = username;
+    this.password = password;
+    this.users = users;
+    this.warmupMillis = TimeUnit.SECONDS.toMillis(warmupSeconds);
+    this.durationMillis = TimeUnit.SECONDS.toMillis(durationSeconds);
+  }
+
+  /**
+   * Runs the load test
+   *
+   * @return the statistics of each endpoint of the scenario
+   * @throws Exception if the test could not be run
+   */
+  public Map<String, EndpointStatistics> run() throws Exception {
+    discoverIds();
+    Map<String, Function<Random, String>> scenario = scenario();
+    System.out.printf("Running %d users for %d s (after %d s warmup) against %s%n", users,
+        TimeUnit.MILLISECONDS.toSeconds(durationMillis),
+        TimeUnit.MILLISECONDS.toSeconds(warmupMillis), baseUrl);
+
+    long recordingStart = System.currentTimeMillis() + warmupMillis;
+    long end = recordingStart + durationMillis;
+    ExecutorService executor = Executors.newFixedThreadPool(users);
+    List<Future<Map<String, EndpointStatistics>>> results = new ArrayList<>(users);
+    for (int user = 0; user < users; ++user) {
+      Random random = new Random(user);
+      results.add(executor.submit(() -> simulateUser(scenario, random, recordingStart, end)));
+    }
+    executor.shutdown();
+
+    Map<String, EndpointStatistics> statistics = new LinkedHashMap<>();
+    scenario.keySet().forEach(endpoint -> statistics.put(endpoint,
+        new EndpointStatistics(endpoint, durationMillis)));
+    for (Future<Map<String, EndpointStatistics>> result : results) {
+      result.get().forEach((endpoint, userStatistics) -> statistics.get(endpoint)
+          .merge(userStatistics));
+    }
+    return statistics;
+  }
+
+  /**
+   * The endpoints to request. Each user requests them round-robin, starting at a random one.
+   *
+   * @return the endpoints by name. Each one is mapped to a function which creates the path and
+   *         query to request
+   */
+  private Map<String, Function<Random, String>> scenario() {
+    Map<String, Function<Random, String>> scenario = new LinkedHashMap<>();
+    scenario.put("/persons/filter",
+        random -> "/persons/filter?" + PERSON_FILTER_QUERY + encode(pick(random, CITIES)));
+    scenario.put("/events", random -> "/events");
+    if (!eventIds.isEmpty()) {
+      scenario.put("/events/{eid}", random -> "/events/" + pick(random, eventIds));
+    }
+    scenario.put("/newsletters", random -> "/newsletters");
+    scenario.put("/api/persons/page", random -> "/api/persons/page?size=25");
+    scenario.put("/api/persons/defaultSearch",
+        random -> "/api/persons/defaultSearch?query=" + encode(pick(random, LAST_NAMES)));
+    scenario.put("/api/persons/simpleSearch", random -> "/api/persons/simpleSearch?firstname="
+        + "&lastname=" + encode(pick(random, LAST_NAMES)) + "&city=");
+    if (!localGroupIds.isEmpty()) {
+      scenario.put("/api/events/localGroup",
+          random -> "/api/events/localGroup?groupId=" + pick(random, localGroupIds));
+    }
+    return scenario;
+  }
+
+  /**
+   * Collects the IDs of some events and local groups to request
+   *
+   * @throws IOException if the IDs could not be read
+   */
+  private void discoverIds() throws IOException {
+    Session session = login();
+    for (String page : Arrays.asList("/events", "/events/past")) {
+      String html = session.get(page).body;
+      Matcher eventLinks = EVENT_LINK.matcher(html);
+      while (eventLinks.find()) {
+        if (!EVENT_ROUTES.contains(eventLinks.group(1))) {
+          eventIds.add(eventLinks.group(1));
+        }
+      }
+      Matcher localGroupLinks = LOCAL_GROUP_LINK.matcher(html);
+      while (localGroupLinks.find()) {
+        localGroupIds.add(localGroupLinks.group(1));
+      }
+    }
+    System.out.printf("Found %d events and %d local groups%n", eventIds.size(),
+        localGroupIds.size());
+  }
+
+  /**
+   * Requests the endpoints of the scenario until the end of the test
+   *
+   * @param scenario the endpoints
+   * @param random the random numbers of the user
+   * @param recordingStart the time from which on latencies should be recorded
+   * @param end the time the test ends
+   * @return the latencies the user experienced
+   * @throws IOException if the user could not log in
+   */
+  private Map<String, EndpointStatistics> simulateUser(
+      Map<String, Function<Random, String>> scenario, Random random, long recordingStart,
+      long end) throws IOException {
+    List<String> endpoints = new ArrayList<>(scenario.keySet());
+    Map<String, EndpointStatistics> statistics = new LinkedHashMap<>();
+    endpoints.forEach(
+        endpoint -> statistics.put(endpoint, new EndpointStatistics(endpoint, durationMillis)));
+
+    Session session = login();
+    int next = random.nextInt(endpoints.size());
+    while (System.currentTimeMillis() < end) {
+      String endpoint = endpoints.get(next);
+      next = (next + 1) % endpoints.size();
+
+      long start = System.nanoTime();
+      boolean success;
+      try {
+        success = session.get(scenario.get(endpoint).apply(random)).status == 200;
+      } catch (IOException e) {
+        success = false;
+      }
+      long latency = System.nanoTime() - start;
+
+      if (System.currentTimeMillis() >= recordingStart) {
+        statistics.get(endpoint).record(latency, success);
+      }
+    }
+    return statistics;
+  }
+
+  /**
+   * Logs in through the login form
+   *
+   * @return the authenticated session
+   * @throws IOException if the login failed
+   */
+  private Session login() throws IOException {
+    Session session = new Session();
+    Response loginPage = session.get("/login");
+    Matcher csrfToken = CSRF_TOKEN.matcher(loginPage.body);
+    if (!csrfToken.find()) {
+      throw new IOException("Login page did not contain a CSRF token");
+    }
+    Response login = session.post("/login", "username=" + encode(username) + "&password="
+        + encode(password) + "&_csrf=" + encode(csrfToken.group(1)));
+    if (login.status != HttpURLConnection.HTTP_MOVED_TEMP || login.location == null
+        || login.location.contains("error")) {
+      throw new IOException("Login failed for user " + username);
+    }
+    return session;
+  }
+
+  /**
+   * @param value the value to encode
+   * @return the value encoded as part of a query
+   */
+  private static String encode(String value) {
+    try {
+      return URLEncoder.encode(value, StandardCharsets.UTF_8.name());
+    } catch (UnsupportedEncodingException e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  /**
+   * @param random the random numbers to use
+   * @param values the values to choose from
+   * @return a random value
+   */
+  private static String pick(Random random, String[] values) {
+    return values[random.nextInt(values.length)];
+  }
+
+  /**
+   * @param random the random numbers to use
+   * @param values the values to choose from
+   * @return a random value
+   */
+  private static String pick(Random random, List<String> values) {
+    return values.get(random.nextInt(values.size()));
+  }
+
+  /**
+   * A user's session, i. e. the session cookie
+   *
+   * @author Rico Bergmann
+   */
+  private class Session {
+    private String sessionId;
+
+    /**
+     * @param path the path and query to request
+     * @return the response
+     */
+    Response get(String path) throws IOException {
+      return send(open(path, "GET"));
+    }
+
+    /**
+     * @param path the path to post to
+     * @param form the url-encoded form to send
+     * @return the response
+     */
+    Response post(String path, String form) throws IOException {
+      HttpURLConnection connection = open(path, "POST");
+      connection.setDoOutput(true);
+      connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+      try (OutputStream out = connection.getOutputStream()) {
+        out.write(form.getBytes(StandardCharsets.UTF_8));
+      }
+      return send(connection);
+    }
+
+    private HttpURLConnection open(String path, String method) throws IOException {
+      HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+      connection.setRequestMethod(method);
+      connection.setInstanceFollowRedirects(false);
+      if (sessionId != null) {
+        connection.setRequestProperty("Cookie", "JSESSIONID=" + sessionId);
+      }
+      return connection;
+    }
+
+    private Response send(HttpURLConnection connection) throws IOException {
+      int status = connection.getResponseCode();
+      List<String> cookies = connection.getHeaderFields().get("Set-Cookie");
+      if (cookies != null) {
+        for (String cookie : cookies) {
+          Matcher sessionCookie = SESSION_COOKIE.matcher(cookie);
+          if (sessionCookie.find()) {
+            sessionId = sessionCookie.group(1);
+          }
+        }
+      }
+
+      InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+      ByteArrayOutputStream body = new ByteArrayOutputStream();
+      if (in != null) {
+        try (InputStream response = in) {
+          byte[] buffer = new byte[8192];
+          int read;
+          while ((read = response.read(buffer)) != -1) {
+            body.write(buffer, 0, read);
+          }
+        }
+      }
+      return new Response(status, connection.getHeaderField("Location"),
+          body.toString(StandardCharsets.UTF_8.name()));
+    }
+  }
+
+  /**
+   * A response to a request
+   *
+   * @author Rico Bergmann
+   */
+  private static class Response {
+    private final int status;
+    private final String location;
+    private final String body;
+
+    Response(int status, String location, String body) {
+      this.status = status;
+      this.location = location;
+      this.body = body;
+    }
+  }
+
+  /**
+   * The latencies measured for an endpoint
+   *
+   * @author Rico Bergmann
+   */
+  public static class EndpointStatistics {
+    private final String endpoint;
+    private final long durationMillis;
+    private final List<Long> latencies = new ArrayList<>();
+    private int errors;
+
+    EndpointStatistics(String endpoint, long durationMillis) {
+      this.endpoint = endpoint;
+      this.durationMillis = durationMillis;
+    }
+
+    /**
+     * @return the number of successful requests
+     */
+    public int getRequests() {
+      return latencies.size();
+    }
+
+    /**
+     * @return the number of failed requests
+     */
+    public int getErrors() {
+      return errors;
+    }
+
+    /**
+     * @param percentile the percentile, between 0 (exclusive) and 100 (inclusive)
+     * @return the latency in milliseconds which was not exceeded by the given percentage of the
+     *         successful requests
+     */
+    public double getPercentile(double percentile) {
+      if (latencies.isEmpty()) {
+        return Double.NaN;
+      }
+      int index = (int) Math.ceil(percentile / 100. * latencies.size()) - 1;
+      return latencies.get(Math.max(index, 0)) / 1_000_000.;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "%-28s %7d req %5d err %8.1f req/s | p50 %8.1f ms | p90 %8.1f ms | p95 %8.1f ms "
+              + "| p99 %8.1f ms | max %8.1f ms",
+          endpoint, getRequests(), errors, getRequests() * 1000. / durationMillis,
+          getPercentile(50), getPercentile(90), getPercentile(95), getPercentile(99),
+          getPercentile(100));
+    }
+
+    void record(long latencyNanos, boolean success) {
+      if (success) {
+        latencies.add(latencyNanos);
+      } else {
+        ++errors;
+      }
+    }
+
+    void merge(EndpointStatistics other) {
+      latencies.addAll(other.latencies);
+      Collections.sort(latencies);
+      errors += other.errors;
+    }
+  }
+
+}
@@ -0,0 +1,90 @@
+package de.naju.adebar.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import de.naju.adebar.Application;
+import de.naju.adebar.app.newsletter.NewsletterDataProcessor;
+import de.naju.adebar.infrastructure.seeding.SyntheticData;
+import de.naju.adebar.model.newsletter.Newsletter;
+import de.naju.adebar.model.newsletter.NewsletterRepository;
+import de.naju.adebar.model.newsletter.Subscriber;
+
+/**
+ * Measures {@link NewsletterDataProcessor#getSubscriberEmails(Newsletter...)}. In contrast to the
+ * other benchmarks this one needs a database, therefore the application context is started on the
+ * in-memory database of the test environment.
+ * <p>
+ * The subscribers are spread across one newsletter per thousand subscribers and every fifth
+ * subscriber is signed up to a second newsletter as well, so the addresses actually need to be
+ * de-duplicated.
+ * </p>
+ *
+ * @author Rico Bergmann
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class NewsletterBenchmark {
+
+  private final static int SUBSCRIBERS_PER_NEWSLETTER = 1000;
+
+  @Param({"1000", "10000", "100000"})
+  private int size;
+
+  private ConfigurableApplicationContext context;
+  private NewsletterDataProcessor newsletterDataProcessor;
+  private Newsletter[] newsletters;
+
+  @Setup
+  public void setUp() {
+    context = new SpringApplicationBuilder(Application.class).web(false).run();
+    newsletterDataProcessor = context.getBean(NewsletterDataProcessor.class);
+
+    int newsletterCount = Math.max(1, size / SUBSCRIBERS_PER_NEWSLETTER);
+    List<Newsletter> generated = new ArrayList<>(newsletterCount);
+    for (int i = 0; i < newsletterCount; ++i) {
+      generated.add(new Newsletter("Newsletter " + (i + 1)));
+    }
+
+    List<Subscriber> subscribers = new SyntheticData().subscribers(size);
+    for (int i = 0; i < size; ++i) {
+      generated.get(i % newsletterCount).addSubscriber(subscribers.get(i));
+      if (newsletterCount > 1 && i % 5 == 0) {
+        generated.get((i + 1) % newsletterCount).addSubscriber(subscribers.get(i));
+      }
+    }
+
+    List<Newsletter> saved = new ArrayList<>(newsletterCount);
+    context.getBean(NewsletterRepository.class).save(generated).forEach(saved::add);
+    newsletters = saved.toArray(new Newsletter[saved.size()]);
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public String getSubscriberEmails() {
+    return newsletterDataProcessor.getSubscriberEmails(newsletters);
+  }
+
+}
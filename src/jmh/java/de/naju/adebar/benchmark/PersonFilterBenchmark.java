@@ -0,0 +1,92 @@
+package de.naju.adebar.benchmark;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import de.naju.adebar.app.filter.DateFilterType;
+import de.naju.adebar.app.filter.FilterConnective;
+import de.naju.adebar.app.filter.FilterType;
+import de.naju.adebar.app.filter.LogicalFilter;
+import de.naju.adebar.app.filter.MatchType;
+import de.naju.adebar.app.human.filter.ActivistFilter;
+import de.naju.adebar.app.human.filter.AddressFilter;
+import de.naju.adebar.app.human.filter.DateOfBirthFilter;
+import de.naju.adebar.app.human.filter.GenderFilter;
+import de.naju.adebar.app.human.filter.PersonFilter;
+import de.naju.adebar.app.human.filter.PersonFilterBuilder;
+import de.naju.adebar.infrastructure.seeding.SyntheticData;
+import de.naju.adebar.model.human.Address;
+import de.naju.adebar.model.human.Gender;
+import de.naju.adebar.model.human.Person;
+
+/**
+ * Measures the in-memory filtering of persons through the {@link PersonFilterBuilder} as well as
+ * through combinations of filters.
+ *
+ * @author Rico Bergmann
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PersonFilterBenchmark {
+
+  @Param({"1000", "10000", "100000"})
+  private int size;
+
+  private List<Person> persons;
+  private PersonFilter female;
+  private PersonFilter adult;
+  private PersonFilter inDresden;
+  private PersonFilter activist;
+
+  @Setup
+  public void setUp() {
+    persons = new SyntheticData().persons(size);
+    female = new GenderFilter(Gender.FEMALE, FilterType.ENFORCE);
+    adult = new DateOfBirthFilter(LocalDate.now().minusYears(18), DateFilterType.BEFORE);
+    inDresden = new AddressFilter(new Address("", "", "Dresden"), MatchType.IF_DEFINED);
+    activist = new ActivistFilter(FilterType.ENFORCE);
+  }
+
+  @Benchmark
+  public long filterBuilder() {
+    return new PersonFilterBuilder(persons.stream()) //
+        .applyFilter(female) //
+        .applyFilter(adult) //
+        .applyFilter(inDresden) //
+        .resultingStream().count();
+  }
+
+  @Benchmark
+  public long connectiveOr() {
+    return FilterConnective.forFilter(female).or(activist).filter(persons.stream()).count();
+  }
+
+  @Benchmark
+  public long connectiveAnd() {
+    return FilterConnective.forFilter(female).and(activist).filter(persons.stream()).count();
+  }
+
+  @Benchmark
+  public long logicalFilter() {
+    // (female ∧ adult) ∨ (activist ∧ in Dresden)
+    return LogicalFilter
+        .anyOf(LogicalFilter.allOf(female, adult), LogicalFilter.allOf(activist, inDresden))
+        .filter(persons.stream()).count();
+  }
+
+}
@@ -0,0 +1,99 @@
+package de.naju.adebar.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import de.naju.adebar.model.human.PersonId;
+
+/**
+ * The list-based set operations which {@link Streams} used before. They take quadratic time, so
+ * they are only measured for small sizes. The setup equals the one of {@link StreamsBenchmark},
+ * thus the results may be compared directly.
+ *
+ * @author Rico Bergmann
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StreamsBaselineBenchmark {
+
+  @Param({"1000", "10000"})
+  private int size;
+
+  private List<PersonId> a;
+  private List<PersonId> b;
+  private PersonId last;
+
+  @Setup
+  public void setUp() {
+    List<PersonId> ids = new ArrayList<>(size * 3 / 2);
+    for (int i = 0; i < size * 3 / 2; ++i) {
+      ids.add(new PersonId(UUID.randomUUID().toString()));
+    }
+    Collections.shuffle(ids, new Random(42));
+    a = new ArrayList<>(ids.subList(0, size));
+    b = new ArrayList<>(ids.subList(size / 2, size * 3 / 2));
+    last = a.get(size - 1);
+  }
+
+  @Benchmark
+  public List<PersonId> intersect() {
+    return legacyIntersect(a.stream(), b.stream()).collect(Collectors.toList());
+  }
+
+  @Benchmark
+  public List<PersonId> subtract() {
+    return legacySubtract(a.stream(), b.stream()).collect(Collectors.toList());
+  }
+
+  @Benchmark
+  public boolean contains() {
+    return a.stream().collect(Collectors.toList()).contains(last);
+  }
+
+  /**
+   * The former implementation of {@link Streams#intersect(Stream, Stream)}
+   */
+  private static <T> Stream<T> legacyIntersect(Stream<T> a, Stream<T> b) {
+    List<T> listA = a.collect(Collectors.toList());
+    List<T> listB = b.collect(Collectors.toList());
+    List<T> result = new LinkedList<>();
+    listA.forEach(elem -> {
+      if (listB.contains(elem)) {
+        result.add(elem);
+      }
+    });
+    return result.stream();
+  }
+
+  /**
+   * The former implementation of {@link Streams#subtract(Stream, Stream)}
+   */
+  private static <T> Stream<T> legacySubtract(Stream<T> a, Stream<T> b) {
+    List<T> listA = a.collect(Collectors.toList());
+    List<T> listB = b.collect(Collectors.toList());
+    listA.removeAll(listB);
+    return listA.stream();
+  }
+
+}
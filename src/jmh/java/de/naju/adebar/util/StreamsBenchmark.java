@@ -0,0 +1,78 @@
+package de.naju.adebar.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import de.naju.adebar.model.human.PersonId;
+
+/**
+ * Measures the set operations of {@link Streams}. Both operands consist of {@code size} IDs and
+ * overlap by half. See {@link StreamsBaselineBenchmark} for the list-based implementations they
+ * replaced.
+ *
+ * @author Rico Bergmann
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StreamsBenchmark {
+
+  @Param({"1000", "10000", "100000"})
+  private int size;
+
+  private List<PersonId> a;
+  private List<PersonId> b;
+  private PersonId last;
+
+  @Setup
+  public void setUp() {
+    List<PersonId> ids = new ArrayList<>(size * 3 / 2);
+    for (int i = 0; i < size * 3 / 2; ++i) {
+      ids.add(new PersonId(UUID.randomUUID().toString()));
+    }
+    Collections.shuffle(ids, new Random(42));
+    a = new ArrayList<>(ids.subList(0, size));
+    b = new ArrayList<>(ids.subList(size / 2, size * 3 / 2));
+    last = a.get(size - 1);
+  }
+
+  @Benchmark
+  public List<PersonId> intersect() {
+    return Streams.intersect(a.stream(), b.stream()).collect(Collectors.toList());
+  }
+
+  @Benchmark
+  public List<PersonId> subtract() {
+    return Streams.subtract(a.stream(), b.stream()).collect(Collectors.toList());
+  }
+
+  @Benchmark
+  public List<PersonId> subtractByKey() {
+    return Streams.subtract(a.stream(), b.stream(), PersonId::toString)
+        .collect(Collectors.toList());
+  }
+
+  @Benchmark
+  public boolean contains() {
+    return Streams.contains(a.stream(), last);
+  }
+
+}
@@ -0,0 +1,74 @@
+package de.naju.adebar.api.data;
+
+import de.naju.adebar.model.chapter.LocalGroup;
+import de.naju.adebar.model.chapter.Project;
+import de.naju.adebar.model.events.EventId;
+
+/**
+ * JSON-object describing by whom an event is hosted - i. e. a local group or a project. Only one of
+ * both will be set, the other fields will be {@code null}. Instances are immutable
+ * 
+ * @author Rico Bergmann
+ */
+public class EventBelongingJSON {
+  private String event;
+  private Long localGroupId;
+  private String localGroupName;
+  private Long projectId;
+  private String projectName;
+
+  /**
+   * @param event the event
+   * @param localGroup the local group hosting the event
+   */
+  public EventBelongingJSON(EventId event, LocalGroup localGroup) {
+    this.event = event.toString();
+    this.localGroupId = localGroup.getId();
+    this.localGroupName = localGroup.getName();
+  }
+
+  /**
+   * @param event the event
+   * @param project the project hosting the event
+   */
+  public EventBelongingJSON(EventId event, Project project) {
+    this.event = event.toString();
+    this.projectId = project.getId();
+    this.projectName = project.getName();
+  }
+
+  /**
+   * @return the event's id
+   */
+  public String getEvent() {
+    return event;
+  }
+
+  /**
+   * @return the id of the hosting local group. May be {@code null}
+   */
+  public Long getLocalGroupId() {
+    return localGroupId;
+  }
+
+  /**
+   * @return the name of the hosting local group. May be {@code null}
+   */
+  public String getLocalGroupName() {
+    return localGroupName;
+  }
+
+  /**
+   * @return the id of the hosting project. May be {@code null}
+   */
+  public Long getProjectId() {
+    return projectId;
+  }
+
+  /**
+   * @return the name of the hosting project. May be {@code null}
+   */
+  public String getProjectName() {
+    return projectName;
+  }
+}
@@ -0,0 +1,43 @@
+package de.naju.adebar.api.data;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import de.naju.adebar.app.human.PersonCursor;
+import de.naju.adebar.app.human.PersonPage;
+
+/**
+ * JSON-object for a page of persons. Next to the (simplified) persons it contains the cursor to
+ * fetch the following page with. Instances are immutable.
+ * 
+ * @author Rico Bergmann
+ */
+public class PersonPageJSON {
+  private List<SimplePersonJSON> persons;
+  private String next;
+
+  /**
+   * Objects will be created depending on an existing {@link PersonPage} instance
+   * 
+   * @param page the page to simplify
+   */
+  public PersonPageJSON(PersonPage page) {
+    this.persons = page.getPersons().stream().map(SimplePersonJSON::new)
+        .collect(Collectors.toList());
+    this.next = page.getNext().map(PersonCursor::encode).orElse(null);
+  }
+
+  /**
+   * @return the persons on the page
+   */
+  public List<SimplePersonJSON> getPersons() {
+    return persons;
+  }
+
+  /**
+   * @return the encoded cursor of the following page. If this is the last page, it will be
+   *         {@code null}
+   */
+  public String getNext() {
+    return next;
+  }
+}
@@ -3,6 +3,7 @@ package de.naju.adebar.api.data;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.Locale;
+import de.naju.adebar.app.human.SearchablePerson;
 import de.naju.adebar.model.human.Address;
 import de.naju.adebar.model.human.Person;
 
@@ -41,6 +42,24 @@ public class SimplePersonJSON {
     }
   }
 
+  /**
+   * Objects will be created depending on a snapshot of a person's data, e. g. from the
+   * {@link de.naju.adebar.app.human.PersonSearchIndex} or the
+   * {@link de.naju.adebar.app.human.SearchablePersonQuery}
+   * 
+   * @param person the person to simplify
+   */
+  public SimplePersonJSON(SearchablePerson person) {
+    this.id = person.getId();
+    this.name = person.getName();
+    this.email = person.getEmail();
+    this.address = person.getStreet() + ADDRESS_COMPONENT_SEPARATOR + person.getZip()
+        + ADDRESS_COMPONENT_SEPARATOR + person.getCity();
+
+    LocalDate d = person.getDateOfBirth();
+    this.dob = d != null ? d.format(DateTimeFormatter.ofPattern(DATE_FORMAT, Locale.GERMAN)) : "";
+  }
+
   /**
    * @return the person's id
    */
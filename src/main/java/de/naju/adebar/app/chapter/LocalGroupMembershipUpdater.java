@@ -0,0 +1,130 @@
+package de.naju.adebar.app.chapter;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceUnitUtil;
+import org.hibernate.SQLQuery;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.collection.AbstractCollectionPersister;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+import de.naju.adebar.model.chapter.LocalGroup;
+import de.naju.adebar.model.chapter.ReadOnlyLocalGroupRepository;
+import de.naju.adebar.model.human.NoActivistException;
+import de.naju.adebar.model.human.Person;
+
+/**
+ * Service to change the local groups an activist is member of without touching the groups
+ * themselves. Only the rows of the membership join table which actually change are inserted or
+ * deleted - independent of the number of groups this takes three statements at most.
+ * <p>
+ * The names of the join table and its columns are taken from the entity mapping. Local groups
+ * which are part of the current persistence context and whose members have already been loaded
+ * are refreshed afterwards.
+ * </p>
+ *
+ * @author Rico Bergmann
+ */
+@Service
+public class LocalGroupMembershipUpdater {
+  private final static String MEMBERS_ROLE = LocalGroup.class.getName() + ".members";
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  private ReadOnlyLocalGroupRepository localGroupRepo;
+
+  @Autowired
+  public LocalGroupMembershipUpdater(
+      @Qualifier("ro_localGroupRepo") ReadOnlyLocalGroupRepository localGroupRepo) {
+    Assert.notNull(localGroupRepo, "Local group repository may not be null");
+    this.localGroupRepo = localGroupRepo;
+  }
+
+  /**
+   * @param activist the activist to update. Has to be persisted already
+   * @param localGroupIds the IDs of the local groups the activist should be member of. The
+   *        activist will be removed from all other groups
+   * @throws NoActivistException if the person should be added to a group but is no activist
+   */
+  @Transactional
+  public void updateMembership(Person activist, Collection<Long> localGroupIds) {
+    Assert.notNull(activist, "Activist may not be null");
+    Assert.notNull(localGroupIds, "Local groups may not be null");
+    Set<Long> currentGroups = localGroupRepo.findIdsByMembersContains(activist);
+    Set<Long> groupsToAdd = new HashSet<>(localGroupIds);
+    groupsToAdd.removeAll(currentGroups);
+    Set<Long> groupsToRemove = new HashSet<>(currentGroups);
+    groupsToRemove.removeAll(localGroupIds);
+
+    if (!groupsToAdd.isEmpty() && !activist.isActivist()) {
+      throw new NoActivistException("Person is no activist: " + activist);
+    }
+
+    SessionFactoryImplementor sessionFactory =
+        entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class);
+    AbstractCollectionPersister members =
+        (AbstractCollectionPersister) sessionFactory.getCollectionPersister(MEMBERS_ROLE);
+    AbstractEntityPersister localGroups =
+        (AbstractEntityPersister) sessionFactory.getEntityPersister(LocalGroup.class.getName());
+    String table = members.getTableName();
+    String groupColumn = members.getKeyColumnNames()[0];
+    String memberColumn = members.getElementColumnNames()[0];
+
+    if (!groupsToRemove.isEmpty()) {
+      executeUpdate(table, String.format("DELETE FROM %s WHERE %s = :member AND %s IN (:groups)",
+          table, memberColumn, groupColumn), activist, groupsToRemove);
+    }
+    if (!groupsToAdd.isEmpty()) {
+      executeUpdate(table,
+          String.format("INSERT INTO %s (%s, %s) SELECT g.%s, :member FROM %s g WHERE g.%s IN "
+              + "(:groups)", table, groupColumn, memberColumn,
+              localGroups.getIdentifierColumnNames()[0], localGroups.getTableName(),
+              localGroups.getIdentifierColumnNames()[0]),
+          activist, groupsToAdd);
+    }
+
+    refreshLoadedMembers(groupsToAdd);
+    refreshLoadedMembers(groupsToRemove);
+  }
+
+  /**
+   * @param table the table which is modified by the statement
+   * @param sql the statement
+   * @param activist the activist to set as {@code member} parameter
+   * @param localGroupIds the IDs to set as {@code groups} parameter
+   */
+  private void executeUpdate(String table, String sql, Person activist,
+      Collection<Long> localGroupIds) {
+    javax.persistence.Query query = entityManager.createNativeQuery(sql) //
+        .setParameter("member", activist.getId().toString()) //
+        .setParameter("groups", localGroupIds);
+
+    // otherwise Hibernate would have to invalidate the whole second-level cache
+    query.unwrap(SQLQuery.class).addSynchronizedQuerySpace(table);
+    query.executeUpdate();
+  }
+
+  /**
+   * @param localGroupIds the IDs of the local groups whose members were changed
+   */
+  private void refreshLoadedMembers(Collection<Long> localGroupIds) {
+    PersistenceUnitUtil persistenceUnitUtil =
+        entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+    for (Long id : localGroupIds) {
+      // returns the managed instance if there is one, without querying the database otherwise
+      LocalGroup localGroup = entityManager.getReference(LocalGroup.class, id);
+      if (persistenceUnitUtil.isLoaded(localGroup, "members")) {
+        entityManager.refresh(localGroup);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,86 @@
+package de.naju.adebar.app.chapter;
+
+import java.time.LocalDateTime;
+import org.springframework.util.Assert;
+import de.naju.adebar.model.chapter.Project;
+import de.naju.adebar.model.events.EventId;
+
+/**
+ * The event of a {@link Project} which is about to take place next. Only the data needed to
+ * display and link the event is kept. Instances are immutable.
+ *
+ * @author Rico Bergmann
+ * @see ProjectManager#findNextEvents(Iterable)
+ */
+public class NextEvent {
+  private final long projectId;
+  private final EventId eventId;
+  private final String name;
+  private final LocalDateTime startTime;
+
+  /**
+   * @param projectId the project the event belongs to
+   * @param eventId the event's ID
+   * @param name the event's name
+   * @param startTime the time the event starts
+   */
+  public NextEvent(long projectId, EventId eventId, String name, LocalDateTime startTime) {
+    Assert.notNull(eventId, "Event id may not be null");
+    this.projectId = projectId;
+    this.eventId = eventId;
+    this.name = name;
+    this.startTime = startTime;
+  }
+
+  /**
+   * @return the project the event belongs to
+   */
+  public long getProjectId() {
+    return projectId;
+  }
+
+  /**
+   * @return the event's ID
+   */
+  public EventId getEventId() {
+    return eventId;
+  }
+
+  /**
+   * @return the event's name
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * @return the time the event starts
+   */
+  public LocalDateTime getStartTime() {
+    return startTime;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o)
+      return true;
+    if (o == null || getClass() != o.getClass())
+      return false;
+    NextEvent that = (NextEvent) o;
+    return projectId == that.projectId && eventId.equals(that.eventId);
+  }
+
+  @Override
+  public int hashCode() {
+    int result = (int) (projectId ^ (projectId >>> 32));
+    result = 31 * result + eventId.hashCode();
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return "NextEvent [project=" + projectId + ", event=" + eventId + ", name=" + name
+        + ", startTime=" + startTime + "]";
+  }
+
+}
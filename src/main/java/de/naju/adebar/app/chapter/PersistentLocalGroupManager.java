@@ -3,10 +3,10 @@ package de.naju.adebar.app.chapter;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Arrays;
-import java.util.LinkedList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Stream;
+import java.util.Set;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
@@ -23,7 +23,6 @@ import de.naju.adebar.model.human.Address;
 import de.naju.adebar.model.human.NoActivistException;
 import de.naju.adebar.model.human.Person;
 import de.naju.adebar.model.newsletter.Newsletter;
-import de.naju.adebar.util.Streams;
 
 /**
  * A {@link LocalGroupManager} that persists its data in a database
@@ -36,17 +35,20 @@ public class PersistentLocalGroupManager implements LocalGroupManager {
   private ProjectRepository projectRepo;
   private BoardRepository boardRepo;
   private ReadOnlyLocalGroupRepository roRepo;
+  private LocalGroupMembershipUpdater membershipUpdater;
 
   @Autowired
   public PersistentLocalGroupManager(LocalGroupRepository localGroupRepo,
       ProjectRepository projectRepo, BoardRepository boardRepo,
-      @Qualifier("ro_localGroupRepo") ReadOnlyLocalGroupRepository roRepo) {
-    Object[] params = {localGroupRepo, projectRepo, boardRepo, roRepo};
+      @Qualifier("ro_localGroupRepo") ReadOnlyLocalGroupRepository roRepo,
+      LocalGroupMembershipUpdater membershipUpdater) {
+    Object[] params = {localGroupRepo, projectRepo, boardRepo, roRepo, membershipUpdater};
     Assert.noNullElements(params, "No parameter may be null: " + Arrays.toString(params));
     this.localGroupRepo = localGroupRepo;
     this.projectRepo = projectRepo;
     this.boardRepo = boardRepo;
     this.roRepo = roRepo;
+    this.membershipUpdater = membershipUpdater;
   }
 
   @Override
@@ -138,10 +140,7 @@ public class PersistentLocalGroupManager implements LocalGroupManager {
 
   @Override
   public Iterable<LocalGroup> findAllLocalGroupsForBoardMember(Person activist) {
-    Iterable<Board> boards = boardRepo.findByMembersContains(activist);
-    LinkedList<LocalGroup> localGroups = new LinkedList<>();
-    boards.forEach(board -> localGroups.add(localGroupRepo.findByBoard(board)));
-    return localGroups;
+    return roRepo.findByBoardMembersContains(activist);
   }
 
   @Override
@@ -156,24 +155,9 @@ public class PersistentLocalGroupManager implements LocalGroupManager {
 
   @Override
   public void updateLocalGroupMembership(Person activist, Iterable<LocalGroup> localGroups) {
-    List<LocalGroup> currentMembership = Lists.newArrayList(roRepo.findByMembersContains(activist));
-    List<LocalGroup> updatedMembership = Lists.newArrayList(localGroups);
-
-    Stream<LocalGroup> groupsToRemove =
-        Streams.subtract(currentMembership.stream(), updatedMembership.stream());
-    Stream<LocalGroup> groupsToAdd =
-        Streams.subtract(updatedMembership.stream(), currentMembership.stream());
-
-    groupsToRemove.forEach(chapter -> {
-      chapter.removeMember(activist);
-      updateLocalGroup(chapter.getId(), chapter);
-    });
-
-    groupsToAdd.forEach(chapter -> {
-      chapter.addMember(activist);
-      updateLocalGroup(chapter.getId(), chapter);
-    });
-
+    Set<Long> localGroupIds = new HashSet<>();
+    localGroups.forEach(localGroup -> localGroupIds.add(localGroup.getId()));
+    membershipUpdater.updateMembership(activist, localGroupIds);
   }
 
   /**
@@ -2,15 +2,25 @@ package de.naju.adebar.app.chapter;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
+import com.google.common.collect.Iterables;
 import de.naju.adebar.model.chapter.LocalGroup;
 import de.naju.adebar.model.chapter.Project;
 import de.naju.adebar.model.chapter.ProjectRepository;
 import de.naju.adebar.model.chapter.ReadOnlyProjectRepository;
+import de.naju.adebar.model.events.EventId;
 
 /**
  * A {@link ProjectManager} that persists its data in a database
@@ -19,6 +29,8 @@ import de.naju.adebar.model.chapter.ReadOnlyProjectRepository;
  */
 @Service
 public class PersistentProjectManager implements ProjectManager {
+  private final static int BATCH_SIZE = 500;
+
   private ProjectRepository projectRepo;
   private ReadOnlyProjectRepository roRepo;
   private LocalGroupManager localGroupManager;
@@ -75,6 +87,32 @@ public class PersistentProjectManager implements ProjectManager {
     return project != null ? Optional.of(project) : Optional.empty();
   }
 
+  @Override
+  public Optional<NextEvent> findNextEvent(Project project) {
+    Assert.notNull(project, "Project may not be null");
+    return Optional.ofNullable(findNextEvents(Arrays.asList(project)).get(project.getId()));
+  }
+
+  @Override
+  public Map<Long, NextEvent> findNextEvents(Iterable<Project> projects) {
+    Assert.notNull(projects, "Projects may not be null");
+    Set<Long> projectIds = new LinkedHashSet<>();
+    projects.forEach(project -> projectIds.add(project.getId()));
+
+    // the same time has to be used for a whole minute so that the query cache may be hit
+    LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+    Map<Long, NextEvent> nextEvents = new HashMap<>();
+    for (List<Long> batch : Iterables.partition(new ArrayList<>(projectIds), BATCH_SIZE)) {
+      for (Object[] row : roRepo.findNextEvents(batch, now)) {
+        // events starting at the same time are ordered by their ID, the first one is used
+        nextEvents.putIfAbsent((Long) row[0],
+            new NextEvent((Long) row[0], (EventId) row[1], (String) row[2],
+                (LocalDateTime) row[3]));
+      }
+    }
+    return nextEvents;
+  }
+
   @Override
   public ReadOnlyProjectRepository repository() {
     return roRepo;
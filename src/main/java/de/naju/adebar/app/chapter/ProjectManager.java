@@ -1,5 +1,6 @@
 package de.naju.adebar.app.chapter;
 
+import java.util.Map;
 import java.util.Optional;
 import org.springframework.stereotype.Service;
 import de.naju.adebar.model.chapter.LocalGroup;
@@ -75,6 +76,25 @@ public interface ProjectManager {
    */
   Optional<Project> findProject(String name, LocalGroup localGroup);
 
+  /**
+   * @param project the project to query for
+   * @return the event of the project which is about to take place next. If there is no upcoming
+   *         event, the optional will be empty
+   * @see #findNextEvents(Iterable)
+   */
+  Optional<NextEvent> findNextEvent(Project project);
+
+  /**
+   * Determines the events which take place next for many projects at once, without loading the
+   * projects' events. Results are cached until the next modification of a project or event, but
+   * for one minute at most.
+   *
+   * @param projects the projects to query for
+   * @return the next events, identified by the projects' IDs. Projects without upcoming events are
+   *         not contained
+   */
+  Map<Long, NextEvent> findNextEvents(Iterable<Project> projects);
+
   /**
    * Provides access to the underlying data
    * 
@@ -1,17 +1,22 @@
 package de.naju.adebar.app.events;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
+import com.google.common.collect.Iterables;
 import de.naju.adebar.app.chapter.LocalGroupManager;
 import de.naju.adebar.app.chapter.ProjectManager;
 import de.naju.adebar.model.chapter.LocalGroup;
 import de.naju.adebar.model.chapter.Project;
 import de.naju.adebar.model.events.Event;
+import de.naju.adebar.model.events.EventId;
 
 /**
  * Service to conveniently access {@link Event} instances and to collect data about them
@@ -28,8 +33,7 @@ public class EventDataProcessor {
     ALL, RUNNING, FUTURE, PAST
   }
 
-  private final static int FIRST_TIME_SLICE = 0;
-  private final static long ONE_DAY = 1;
+  private final static int BATCH_SIZE = 500;
 
   private EventManager eventManager;
   private LocalGroupManager localGroupManager;
@@ -49,15 +53,7 @@ public class EventDataProcessor {
    * @return all events that do belong to a local group
    */
   public Map<Event, LocalGroup> getLocalGroupBelonging(EventType eventType) {
-    Map<Event, LocalGroup> belonging = new HashMap<>();
-    Iterable<Event> events = fetchEvents(eventType);
-
-    for (Event event : events) {
-      Optional<LocalGroup> localGroup = localGroupManager.repository().findByEventsContains(event);
-      localGroup.ifPresent(l -> belonging.put(event, l));
-    }
-
-    return belonging;
+    return getLocalGroupBelonging(fetchEvents(eventType));
   }
 
   /**
@@ -65,10 +61,30 @@ public class EventDataProcessor {
    * @return all of the events that belong to a local group
    */
   public Map<Event, LocalGroup> getLocalGroupBelonging(Iterable<Event> events) {
+    Map<EventId, LocalGroup> localGroups = getLocalGroupBelonging(extractIds(events));
     Map<Event, LocalGroup> belonging = new HashMap<>();
     for (Event event : events) {
-      Optional<LocalGroup> localGroup = localGroupManager.repository().findByEventsContains(event);
-      localGroup.ifPresent(l -> belonging.put(event, l));
+      if (localGroups.containsKey(event.getId())) {
+        belonging.put(event, localGroups.get(event.getId()));
+      }
+    }
+    return belonging;
+  }
+
+  /**
+   * Resolves the local groups hosting the given events. In contrast to querying for each event on
+   * its own, this will only issue one query per {@value #BATCH_SIZE} events.
+   * 
+   * @param eventIds the events to find the corresponding local groups for
+   * @return the local groups of all events that belong to a local group
+   */
+  public Map<EventId, LocalGroup> getLocalGroupBelonging(Collection<EventId> eventIds) {
+    Assert.notNull(eventIds, "Event ids may not be null");
+    Map<EventId, LocalGroup> belonging = new HashMap<>();
+    for (List<EventId> batch : Iterables.partition(eventIds, BATCH_SIZE)) {
+      for (Object[] host : localGroupManager.repository().findHostsForEvents(batch)) {
+        belonging.put((EventId) host[0], (LocalGroup) host[1]);
+      }
     }
     return belonging;
   }
@@ -78,10 +94,12 @@ public class EventDataProcessor {
    * @return all of the events that belong to a project
    */
   public Map<Event, Project> getProjectBelonging(Iterable<Event> events) {
+    Map<EventId, Project> projects = getProjectBelonging(extractIds(events));
     Map<Event, Project> belonging = new HashMap<>();
     for (Event event : events) {
-      Optional<Project> project = projectManager.repository().findByEventsContains(event);
-      project.ifPresent(p -> belonging.put(event, p));
+      if (projects.containsKey(event.getId())) {
+        belonging.put(event, projects.get(event.getId()));
+      }
     }
     return belonging;
   }
@@ -91,55 +109,82 @@ public class EventDataProcessor {
    * @return all events that do belong to a project
    */
   public Map<Event, Project> getProjectBelonging(EventType eventType) {
-    Map<Event, Project> belonging = new HashMap<>();
-    Iterable<Event> events = fetchEvents(eventType);
+    return getProjectBelonging(fetchEvents(eventType));
+  }
 
-    for (Event event : events) {
-      Optional<Project> project = projectManager.repository().findByEventsContains(event);
-      project.ifPresent(p -> belonging.put(event, p));
+  /**
+   * Resolves the projects hosting the given events. In contrast to querying for each event on its
+   * own, this will only issue one query per {@value #BATCH_SIZE} events.
+   * 
+   * @param eventIds the events to find the corresponding projects for
+   * @return the projects of all events that belong to a project
+   */
+  public Map<EventId, Project> getProjectBelonging(Collection<EventId> eventIds) {
+    Assert.notNull(eventIds, "Event ids may not be null");
+    Map<EventId, Project> belonging = new HashMap<>();
+    for (List<EventId> batch : Iterables.partition(eventIds, BATCH_SIZE)) {
+      for (Object[] host : projectManager.repository().findHostsForEvents(batch)) {
+        belonging.put((EventId) host[0], (Project) host[1]);
+      }
     }
-
     return belonging;
   }
 
+  /**
+   * @param events the events
+   * @return the IDs of the events
+   */
+  public List<EventId> extractIds(Iterable<Event> events) {
+    List<EventId> ids = new ArrayList<>();
+    events.forEach(event -> ids.add(event.getId()));
+    return ids;
+  }
+
   /**
    * @param eventType the type of events of search for
    * @return all events of that type
    */
   public Iterable<Event> fetchEvents(EventType eventType) {
-    LocalDateTime now = LocalDateTime.now();
     Iterable<Event> events = null;
     switch (eventType) {
       case ALL:
         events = eventManager.repository().findAll();
         break;
       case RUNNING:
-        events = eventManager.repository().findByStartTimeIsBeforeAndEndTimeIsAfter(now, now);
+        events = eventManager.findOngoingEvents();
         break;
       case FUTURE:
-        events = eventManager.repository().findByStartTimeIsAfter(now);
+        events = eventManager.findFutureEvents();
         break;
       case PAST:
-        events = eventManager.repository().findByEndTimeIsBefore(now);
+        events = eventManager.findPastEvents();
         break;
     }
     return events;
   }
 
   /**
+   * Checks a single event. To check many events, {@link #getLocalGroupBelonging(Collection)}
+   * should be used instead of calling this method for each of them.
+   * 
    * @param event the event to check
    * @return {@code true} if the event belongs to a local group, {@code false} otherwise
    */
   public boolean eventBelongsToLocalGroup(Event event) {
-    return localGroupManager.repository().findByEventsContains(event).isPresent();
+    Assert.notNull(event, "Event may not be null");
+    return !getLocalGroupBelonging(Collections.singletonList(event.getId())).isEmpty();
   }
 
   /**
+   * Checks a single event. To check many events, {@link #getProjectBelonging(Collection)} should
+   * be used instead of calling this method for each of them.
+   * 
    * @param event the event to check
    * @return {@code true} if the event belongs to a project, {@code false} otherwise
    */
   public boolean eventBelongsToProject(Event event) {
-    return projectManager.repository().findByEventsContains(event).isPresent();
+    Assert.notNull(event, "Event may not be null");
+    return !getProjectBelonging(Collections.singletonList(event.getId())).isEmpty();
   }
 
   /**
@@ -154,11 +199,7 @@ public class EventDataProcessor {
    * @return the adjusted time
    */
   public LocalDateTime adjustTime(LocalDateTime time) {
-    LocalDateTime adjusted = LocalDateTime.from(time);
-    if (time.getHour() == FIRST_TIME_SLICE && time.getMinute() == FIRST_TIME_SLICE) {
-      adjusted.plusDays(ONE_DAY);
-    }
-    return adjusted;
+    return EventIntervalIndex.effectiveEndTime(time);
   }
 
 }
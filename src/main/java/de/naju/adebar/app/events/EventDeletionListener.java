@@ -0,0 +1,63 @@
+package de.naju.adebar.app.events;
+
+import java.util.Arrays;
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import de.naju.adebar.model.events.Event;
+
+/**
+ * Removes deleted events from the {@link EventIntervalIndex}. There is no method for deleting
+ * events in the {@link EventManager}, so they may only be deleted through the repositories. The
+ * listener appends itself to Hibernate's default listeners on startup.
+ *
+ * @author Rico Bergmann
+ */
+@Component
+public class EventDeletionListener implements PostDeleteEventListener {
+  private static final long serialVersionUID = 1L;
+
+  private transient EntityManagerFactory entityManagerFactory;
+  private transient EventIntervalIndex intervalIndex;
+
+  @Autowired
+  public EventDeletionListener(EntityManagerFactory entityManagerFactory,
+      EventIntervalIndex intervalIndex) {
+    Object[] params = {entityManagerFactory, intervalIndex};
+    Assert.noNullElements(params, "At least one parameter was null: " + Arrays.toString(params));
+    this.entityManagerFactory = entityManagerFactory;
+    this.intervalIndex = intervalIndex;
+  }
+
+  /**
+   * Registers the listener at Hibernate
+   */
+  @PostConstruct
+  public void register() {
+    EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+        .getServiceRegistry().getService(EventListenerRegistry.class);
+    registry.appendListeners(EventType.POST_DELETE, this);
+  }
+
+  @Override
+  public void onPostDelete(PostDeleteEvent event) {
+    if (event.getEntity() instanceof Event) {
+      // the index will only be changed once the deletion has been committed
+      intervalIndex.remove(((Event) event.getEntity()).getId());
+    }
+  }
+
+  @Override
+  public boolean requiresPostCommitHanding(EntityPersister persister) {
+    return false;
+  }
+
+}
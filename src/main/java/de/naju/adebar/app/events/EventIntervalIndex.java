@@ -0,0 +1,352 @@
+package de.naju.adebar.app.events;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import de.naju.adebar.infrastructure.TransactionHooks;
+import de.naju.adebar.model.events.Event;
+import de.naju.adebar.model.events.EventId;
+import de.naju.adebar.model.events.ReadOnlyEventRepository;
+import de.naju.adebar.util.IntervalTree;
+
+/**
+ * In-memory index of the time periods of all events to determine which events are currently
+ * running, will take place in the future, are already over or overlap a certain time range without
+ * having to access the database.
+ * <p>
+ * For many events it is not important when exactly they end. Their end time will be set to 00:00
+ * then. The index considers such events to last for the whole day they end on.
+ * </p>
+ * <p>
+ * The index is built on startup and has to be kept up to date through {@link #update(Event)} and
+ * {@link #remove(EventId)}. The {@link EventManager} and the {@link EventDeletionListener} take
+ * care of this. Changes will only be applied once the current transaction has been committed. As
+ * the index only contains IDs, the events still have to be loaded afterwards.
+ * </p>
+ * <p>
+ * Changes which were made by other instances of the application are not noticed. To pick them up,
+ * the index is rebuilt periodically (every {@value #DEFAULT_REBUILD_INTERVAL_SECONDS} seconds
+ * unless configured otherwise through {@code adebar.events.index.rebuild-interval-seconds}). If
+ * only one instance is running, the periodic rebuild may be disabled by setting the interval to
+ * 0.
+ * </p>
+ * <p>
+ * If the index has not been rebuilt successfully for twice the rebuild interval, it is considered
+ * stale and {@link #isUsable()} will return {@code false}. The same applies if the index has been
+ * disabled through {@code adebar.events.index.enabled}. The database has to be queried directly
+ * then.
+ * </p>
+ *
+ * @author Rico Bergmann
+ */
+@Service
+public class EventIntervalIndex {
+
+  /**
+   * The number of seconds between two rebuilds of the index, unless configured otherwise
+   */
+  public final static long DEFAULT_REBUILD_INTERVAL_SECONDS = 300;
+
+  private final static long ONE_DAY = 1;
+  private final static String ENABLED_PROPERTY = "adebar.events.index.enabled";
+  private final static String REBUILD_INTERVAL_PROPERTY =
+      "adebar.events.index.rebuild-interval-seconds";
+
+  private final static Logger log = LoggerFactory.getLogger(EventIntervalIndex.class);
+
+  private final ReadOnlyEventRepository eventRepo;
+  private final TransactionTemplate transactionTemplate;
+  private final boolean enabled;
+  private final long rebuildIntervalSeconds;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final IntervalTree<LocalDateTime, EventId> periods = new IntervalTree<>();
+
+  /**
+   * The changes which were applied while the index is being rebuilt. They will be applied to the
+   * rebuilt index once again, as the rebuild may have read the time periods before they were
+   * committed. {@code null} if the index is not being rebuilt. Guarded by the write lock.
+   */
+  private List<Consumer<IntervalTree<LocalDateTime, EventId>>> concurrentChanges;
+  private ScheduledExecutorService worker;
+
+  /**
+   * The time (in milliseconds) the last successful rebuild started at. {@code 0} if the index has
+   * not been built yet.
+   */
+  private volatile long lastRebuild;
+
+  @Autowired
+  public EventIntervalIndex(@Qualifier("ro_eventRepo") ReadOnlyEventRepository eventRepo,
+      PlatformTransactionManager transactionManager, Environment environment) {
+    Object[] params = {eventRepo, transactionManager, environment};
+    Assert.noNullElements(params, "At least one parameter was null: " + Arrays.toString(params));
+    this.eventRepo = eventRepo;
+    // the time periods are read in a writing transaction, which will never be sent to a replica
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.enabled = environment.getProperty(ENABLED_PROPERTY, Boolean.class, true);
+    this.rebuildIntervalSeconds = environment.getProperty(REBUILD_INTERVAL_PROPERTY, Long.class,
+        DEFAULT_REBUILD_INTERVAL_SECONDS);
+  }
+
+  /**
+   * Determines the time an event actually ends. If only the date of the end time is set, this will
+   * be the beginning of the next day.
+   *
+   * @param endTime the end time as saved
+   * @return the actual end time
+   */
+  public static LocalDateTime effectiveEndTime(LocalDateTime endTime) {
+    Assert.notNull(endTime, "End time may not be null");
+    boolean onlyDateSet = endTime.getHour() == 0 && endTime.getMinute() == 0;
+    return onlyDateSet ? endTime.plusDays(ONE_DAY) : endTime;
+  }
+
+  /**
+   * @return whether the index is enabled, has been built and is not stale. Otherwise it may not be
+   *         queried
+   */
+  public boolean isUsable() {
+    if (!enabled || lastRebuild == 0) {
+      return false;
+    } else if (rebuildIntervalSeconds <= 0) {
+      return true;
+    }
+    long age = System.currentTimeMillis() - lastRebuild;
+    return age < TimeUnit.SECONDS.toMillis(2 * rebuildIntervalSeconds);
+  }
+
+  /**
+   * Builds the index and starts rebuilding it periodically. If the index is disabled, nothing will
+   * happen.
+   */
+  @EventListener(ContextRefreshedEvent.class)
+  public synchronized void start() {
+    if (worker != null) {
+      return;
+    } else if (!enabled) {
+      log.info("Event index is disabled, events will be queried from the database");
+      return;
+    }
+    rebuild();
+    worker = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setNameFormat("event-index-%d").setDaemon(true).build());
+    if (rebuildIntervalSeconds > 0) {
+      worker.scheduleWithFixedDelay(this::scheduledRebuild, rebuildIntervalSeconds,
+          rebuildIntervalSeconds, TimeUnit.SECONDS);
+    }
+  }
+
+  /**
+   * Stops the periodic rebuilding
+   */
+  @PreDestroy
+  public synchronized void stop() {
+    if (worker != null) {
+      worker.shutdownNow();
+      worker = null;
+    }
+  }
+
+  /**
+   * Discards the current index and reads the time periods of all events from the (primary)
+   * database again
+   */
+  public synchronized void rebuild() {
+    lock.writeLock().lock();
+    try {
+      concurrentChanges = new ArrayList<>();
+    } finally {
+      lock.writeLock().unlock();
+    }
+
+    long started = System.currentTimeMillis();
+    List<Object[]> timePeriods = null;
+    try {
+      timePeriods = transactionTemplate.execute(status -> eventRepo.findAllTimePeriods());
+    } finally {
+      lock.writeLock().lock();
+      try {
+        if (timePeriods != null) {
+          periods.clear();
+          for (Object[] timePeriod : timePeriods) {
+            insert(periods, (EventId) timePeriod[0], (LocalDateTime) timePeriod[1],
+                (LocalDateTime) timePeriod[2]);
+          }
+          concurrentChanges.forEach(change -> change.accept(periods));
+          lastRebuild = started;
+        }
+        concurrentChanges = null;
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+  }
+
+  /**
+   * Adds an event to the index or updates its indexed time period once the current transaction has
+   * been committed
+   *
+   * @param event the event to index
+   */
+  public void update(Event event) {
+    Assert.notNull(event, "Event may not be null");
+    if (!enabled) {
+      return;
+    }
+    EventId eventId = event.getId();
+    LocalDateTime startTime = event.getStartTime();
+    LocalDateTime endTime = event.getEndTime();
+    TransactionHooks.afterCommit(() -> apply(index -> insert(index, eventId, startTime, endTime)));
+  }
+
+  /**
+   * Removes an event from the index once the current transaction has been committed. If the event
+   * is not indexed, nothing will happen.
+   *
+   * @param eventId the ID of the event to remove
+   */
+  public void remove(EventId eventId) {
+    Assert.notNull(eventId, "Event id may not be null");
+    if (!enabled) {
+      return;
+    }
+    TransactionHooks.afterCommit(() -> apply(index -> index.remove(eventId)));
+  }
+
+  /**
+   * @return the number of indexed events
+   */
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return periods.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * @param time the time to query for
+   * @return the IDs of all events which have started but not yet ended at that time, ordered by
+   *         their start time
+   */
+  public List<EventId> findRunning(LocalDateTime time) {
+    Assert.notNull(time, "Time may not be null");
+    lock.readLock().lock();
+    try {
+      return periods.findContaining(time);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * @param time the time to query for
+   * @return the IDs of all events which start after that time, ordered by their start time
+   */
+  public List<EventId> findFuture(LocalDateTime time) {
+    Assert.notNull(time, "Time may not be null");
+    lock.readLock().lock();
+    try {
+      return periods.findStartingAfter(time);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * @param time the time to query for
+   * @return the IDs of all events which are over at that time, ordered by their start time
+   */
+  public List<EventId> findPast(LocalDateTime time) {
+    Assert.notNull(time, "Time may not be null");
+    lock.readLock().lock();
+    try {
+      return periods.findEndedBy(time);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * @param from the start of the time range
+   * @param to the end of the time range
+   * @return the IDs of all events which take place (at least partially) within the time range,
+   *         ordered by their start time
+   */
+  public List<EventId> findOverlapping(LocalDateTime from, LocalDateTime to) {
+    Assert.notNull(from, "From may not be null");
+    Assert.notNull(to, "To may not be null");
+    Assert.isTrue(!to.isBefore(from), "From may not be after to: " + from + " " + to);
+    lock.readLock().lock();
+    try {
+      return periods.findOverlapping(from, to);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Rebuilds the index as part of the periodic rebuilding. If this fails, the next rebuild will
+   * still take place - the scheduler would cancel all further rebuilds otherwise.
+   */
+  private void scheduledRebuild() {
+    try {
+      rebuild();
+    } catch (RuntimeException e) {
+      log.warn("Could not rebuild event index", e);
+    }
+  }
+
+  /**
+   * Changes the index. If it is being rebuilt, the change will be applied to the rebuilt index as
+   * well.
+   *
+   * @param change the change
+   */
+  private void apply(Consumer<IntervalTree<LocalDateTime, EventId>> change) {
+    lock.writeLock().lock();
+    try {
+      change.accept(periods);
+      if (concurrentChanges != null) {
+        concurrentChanges.add(change);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Adds an event to an index. Requires the write lock to be held.
+   *
+   * @param index the index
+   * @param eventId the event's ID
+   * @param startTime the event's start time
+   * @param endTime the event's end time as saved
+   */
+  private static void insert(IntervalTree<LocalDateTime, EventId> index, EventId eventId,
+      LocalDateTime startTime, LocalDateTime endTime) {
+    index.put(eventId, startTime, effectiveEndTime(endTime));
+  }
+
+}
@@ -4,7 +4,10 @@ import java.time.LocalDateTime;
 import java.util.Optional;
 import org.springframework.stereotype.Service;
 import de.naju.adebar.model.events.Event;
+import de.naju.adebar.model.events.Participation;
+import de.naju.adebar.model.events.ParticipationInfo;
 import de.naju.adebar.model.events.ReadOnlyEventRepository;
+import de.naju.adebar.model.human.Person;
 
 /**
  * Service to take care of {@link Event Events}
@@ -54,6 +57,18 @@ public interface EventManager {
    */
   Event adoptEventData(String id, Event eventData);
 
+  /**
+   * Changes the participation info of a single participant. In difference to
+   * {@link #updateEvent(String, Event)} only the participation itself will be written.
+   * 
+   * @param event the event the person participates in
+   * @param person the participant to update
+   * @param info the new participation info
+   * @return the updated participation
+   * @throws IllegalArgumentException if the person does not participate in the event
+   */
+  Participation updateParticipation(Event event, Person person, ParticipationInfo info);
+
   /**
    * Queries for a specific event
    * 
@@ -63,12 +78,38 @@ public interface EventManager {
   Optional<Event> findEvent(String id);
 
   /**
-   * Queries for all events that are currently taking place
+   * Queries for all events that are currently taking place. Events whose end time is set to 00:00
+   * are considered to last for the whole day they end on.
    * 
-   * @return the events
+   * @return the events, ordered by their start time
    */
   Iterable<Event> findOngoingEvents();
 
+  /**
+   * Queries for all events that have not started yet
+   * 
+   * @return the events, ordered by their start time
+   */
+  Iterable<Event> findFutureEvents();
+
+  /**
+   * Queries for all events that are already over. Events whose end time is set to 00:00 are
+   * considered to last for the whole day they end on.
+   * 
+   * @return the events, ordered by their start time
+   */
+  Iterable<Event> findPastEvents();
+
+  /**
+   * Queries for all events that take place (at least partially) within a certain time range, e.g.
+   * to display them in a calendar or to check for conflicting events
+   * 
+   * @param from the start of the time range
+   * @param to the end of the time range
+   * @return the events, ordered by their start time
+   */
+  Iterable<Event> findOverlappingEvents(LocalDateTime from, LocalDateTime to);
+
   /**
    * Provides access to the underlying data
    * 
@@ -0,0 +1,232 @@
+package de.naju.adebar.app.events;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+import com.google.common.util.concurrent.Striped;
+import de.naju.adebar.model.events.Event;
+import de.naju.adebar.model.events.EventId;
+import de.naju.adebar.model.events.EventRepository;
+import de.naju.adebar.model.events.Participation;
+import de.naju.adebar.model.events.ParticipationRepository;
+import de.naju.adebar.model.events.Reservation;
+import de.naju.adebar.model.human.Person;
+import de.naju.adebar.model.human.PersonRepository;
+
+/**
+ * Service to register participants and reservations for {@link Event Events}. In difference to
+ * modifying an event and saving it afterwards, this service may safely be called concurrently: it
+ * will never overbook an event. Whenever slots are freed, they will be assigned to the persons on
+ * the waiting list right away.
+ * <p>
+ * Registrations for the same event are handled one after another within this application while
+ * registrations for different events may proceed in parallel. Additionally each registration is
+ * checked against the version of the event's participants when it is written. Should they have
+ * been modified in the meantime (e. g. through {@link EventManager#updateEvent(String, Event)}),
+ * the registration will be repeated based on the current state of the event.
+ * <p>
+ * If a registration takes part in an already running transaction, it may not be repeated. The
+ * {@link OptimisticLockingFailureException} will be propagated to the caller instead.
+ * <p>
+ * The persons to register are re-read within the registration's transaction, so they may as well
+ * have been loaded by an earlier one.
+ *
+ * @author Rico Bergmann
+ * @see Event
+ */
+@Service
+public class EventRegistrationService {
+  private static final int LOCK_STRIPES = 64;
+  private static final int MAX_ATTEMPTS = 5;
+
+  private EventRepository eventRepo;
+  private ParticipationRepository participationRepo;
+  private PersonRepository personRepo;
+  private TransactionTemplate transactionTemplate;
+  private Striped<Lock> eventLocks;
+
+  @Autowired
+  public EventRegistrationService(EventRepository eventRepo,
+      ParticipationRepository participationRepo, PersonRepository personRepo,
+      PlatformTransactionManager transactionManager) {
+    Object[] params = {eventRepo, participationRepo, personRepo, transactionManager};
+    Assert.noNullElements(params,
+        "No parameter may be null, but at least one was: " + Arrays.toString(params));
+    this.eventRepo = eventRepo;
+    this.participationRepo = participationRepo;
+    this.personRepo = personRepo;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.eventLocks = Striped.lazyWeakLock(LOCK_STRIPES);
+  }
+
+  /**
+   * Adds a new participant to an event
+   *
+   * @param eventId the event to add the participant to
+   * @param person the new participant
+   * @return the new participation
+   * @see Event#addParticipant(Person)
+   */
+  public Participation addParticipant(String eventId, Person person) {
+    return modifyEvent(eventId,
+        event -> participationRepo.save(event.addParticipant(loadPerson(person))));
+  }
+
+  /**
+   * Adds a new participant to an event, regardless of eventual violations of the minimum
+   * participation age
+   *
+   * @param eventId the event to add the participant to
+   * @param person the new participant
+   * @return the new participation
+   * @see Event#addParticipantIgnoreAge(Person)
+   */
+  public Participation addParticipantIgnoreAge(String eventId, Person person) {
+    return modifyEvent(eventId,
+        event -> participationRepo.save(event.addParticipantIgnoreAge(loadPerson(person))));
+  }
+
+  /**
+   * Creates a new reservation for an event
+   *
+   * @param eventId the event to create the reservation for
+   * @param description the description of the reservation
+   * @param numberOfSlots the capacity that should be reserved
+   * @param email an email to contact for the reservation
+   * @return the new reservation
+   * @see Event#addReservationFor(String, int, String)
+   */
+  public Reservation addReservationFor(String eventId, String description, int numberOfSlots,
+      String email) {
+    return modifyEvent(eventId,
+        event -> event.addReservationFor(description, numberOfSlots, email));
+  }
+
+  /**
+   * Enqueues a person at the end of the waiting list of an event
+   *
+   * @param eventId the event to wait for
+   * @param person the person to wait-list
+   * @see Event#putOnWaitingList(Person)
+   */
+  public void putOnWaitingList(String eventId, Person person) {
+    modifyEvent(eventId, event -> {
+      event.putOnWaitingList(loadPerson(person));
+      return null;
+    });
+  }
+
+  /**
+   * Removes a participant from an event. The freed slot will be assigned to the head of the
+   * waiting list (if any).
+   *
+   * @param eventId the event to remove the participant from
+   * @param person the participant to remove
+   * @return the persons who were moved from the waiting list to the participants list
+   * @see Event#removeParticipant(Person)
+   */
+  public List<Person> removeParticipant(String eventId, Person person) {
+    return modifyEvent(eventId, event -> {
+      event.removeParticipant(person);
+      return event.promoteWaitingListEntries();
+    });
+  }
+
+  /**
+   * Deletes a reservation. The freed slots will be assigned to the persons from the waiting list.
+   *
+   * @param eventId the event to remove the reservation from
+   * @param description the description (= ID) of the reservation
+   * @return the persons who were moved from the waiting list to the participants list
+   * @see Event#removeReservation(String)
+   */
+  public List<Person> removeReservation(String eventId, String description) {
+    return modifyEvent(eventId, event -> {
+      event.removeReservation(description);
+      return event.promoteWaitingListEntries();
+    });
+  }
+
+  /**
+   * Changes the participants limit of an event. If the limit was increased, the new slots will be
+   * assigned to the persons from the waiting list.
+   *
+   * @param eventId the event to update
+   * @param participantsLimit the new limit
+   * @return the persons who were moved from the waiting list to the participants list
+   * @see Event#setParticipantsLimit(int)
+   */
+  public List<Person> updateParticipantsLimit(String eventId, int participantsLimit) {
+    return modifyEvent(eventId, event -> {
+      event.setParticipantsLimit(participantsLimit);
+      return event.promoteWaitingListEntries();
+    });
+  }
+
+  /**
+   * Applies a modification to the current state of an event and saves it. All changes will be
+   * written in one transaction.
+   *
+   * @param eventId the event to modify
+   * @param modification the modification to apply
+   * @return the result of the modification
+   * @throws IllegalArgumentException if there is no event with the given ID
+   * @throws OptimisticLockingFailureException if the event was modified concurrently too often or
+   *         if the modification may not be repeated
+   */
+  protected <T> T modifyEvent(String eventId, Function<Event, T> modification) {
+    Assert.notNull(eventId, "Event id may not be null!");
+    boolean mayRepeat = !TransactionSynchronizationManager.isActualTransactionActive();
+    Lock lock = eventLocks.get(eventId);
+    lock.lock();
+    try {
+      for (int attempt = 1;; ++attempt) {
+        try {
+          return transactionTemplate.execute(status -> modification.apply(loadEvent(eventId)));
+        } catch (OptimisticLockingFailureException e) {
+          if (!mayRepeat || attempt >= MAX_ATTEMPTS) {
+            throw e;
+          }
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @param eventId the ID of the event to load
+   * @return the event
+   * @throws IllegalArgumentException if there is no event with the given ID
+   */
+  private Event loadEvent(String eventId) {
+    Event event = eventRepo.findOne(new EventId(eventId));
+    if (event == null) {
+      throw new IllegalArgumentException("No event with ID " + eventId);
+    }
+    return event;
+  }
+
+  /**
+   * @param person the person to load
+   * @return the current state of the person
+   * @throws IllegalArgumentException if the person does not exist (any more)
+   */
+  private Person loadPerson(Person person) {
+    Assert.notNull(person, "Person may not be null!");
+    Person current = personRepo.findOne(person.getId());
+    if (current == null) {
+      throw new IllegalArgumentException("No person with ID " + person.getId());
+    }
+    return current;
+  }
+
+}
@@ -3,51 +3,71 @@ package de.naju.adebar.app.events;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
-import com.google.common.collect.Lists;
+import com.google.common.collect.Iterables;
 import de.naju.adebar.model.events.Event;
 import de.naju.adebar.model.events.EventFactory;
 import de.naju.adebar.model.events.EventId;
 import de.naju.adebar.model.events.EventRepository;
+import de.naju.adebar.model.events.Participation;
+import de.naju.adebar.model.events.ParticipationId;
+import de.naju.adebar.model.events.ParticipationInfo;
+import de.naju.adebar.model.events.ParticipationRepository;
 import de.naju.adebar.model.events.ReadOnlyEventRepository;
+import de.naju.adebar.model.human.Person;
 
 /**
- * A {@link EventManager} that persists its data in a database
+ * A {@link EventManager} that persists its data in a database. Queries for events at a certain time
+ * are answered through the {@link EventIntervalIndex}, unless it is disabled or stale.
  * 
  * @author Rico Bergmann
  */
 @Service
 public class PersistentEventManager implements EventManager {
+  private final static int BATCH_SIZE = 500;
+
   private EventFactory eventFactory;
   private EventRepository eventRepo;
   private ReadOnlyEventRepository roRepo;
+  private ParticipationRepository participationRepo;
+  private EventIntervalIndex intervalIndex;
 
   @Autowired
   public PersistentEventManager(EventFactory eventFactory, EventRepository eventRepo,
-      @Qualifier("ro_eventRepo") ReadOnlyEventRepository roRepo) {
-    Object[] params = {eventFactory, eventRepo, roRepo};
+      @Qualifier("ro_eventRepo") ReadOnlyEventRepository roRepo,
+      ParticipationRepository participationRepo, EventIntervalIndex intervalIndex) {
+    Object[] params = {eventFactory, eventRepo, roRepo, participationRepo, intervalIndex};
     Assert.noNullElements(params,
         "No parameter may be null, but at least one was: " + Arrays.toString(params));
     this.eventFactory = eventFactory;
     this.eventRepo = eventRepo;
     this.roRepo = roRepo;
+    this.participationRepo = participationRepo;
+    this.intervalIndex = intervalIndex;
   }
 
   @Override
   public Event saveEvent(Event event) {
-    return eventRepo.save(event);
+    Event savedEvent = eventRepo.save(event);
+    intervalIndex.update(savedEvent);
+    return savedEvent;
   }
 
   @Override
   public Event createEvent(String name, LocalDateTime startTime, LocalDateTime endTime) {
     Event e = eventFactory.build(name, startTime, endTime);
-    return eventRepo.save(e);
+    return saveEvent(e);
   }
 
   @Override
@@ -75,26 +95,62 @@ public class PersistentEventManager implements EventManager {
     event.setExternalParticipationFee(eventData.getExternalParticipationFee());
     event.setPlace(eventData.getPlace());
 
+    // a higher participants limit may allow wait-listed persons to participate
+    event.promoteWaitingListEntries();
+
     return updateEvent(eventId, event);
   }
 
+  @Override
+  public Participation updateParticipation(Event event, Person person, ParticipationInfo info) {
+    Assert.notNull(info, "Participation info may not be null!");
+    Participation participation =
+        participationRepo.findOne(new ParticipationId(event.getId(), person.getId()));
+    if (participation == null) {
+      throw new IllegalArgumentException("Person does not participate: " + person);
+    }
+    participation.setInfo(info);
+    return participationRepo.save(participation);
+  }
+
   @Override
   public Iterable<Event> findOngoingEvents() {
-    LocalDateTime currentTime = LocalDateTime.now();
-    LocalDateTime yesterdaysLastMoment = LocalDateTime
-        .of(currentTime.getYear(), currentTime.getMonth(), currentTime.getDayOfMonth(), 0, 0)
-        .minusMinutes(1);
-    Iterable<Event> currentEventsIterable =
-        repository().findByStartTimeIsBeforeAndEndTimeIsAfter(currentTime, yesterdaysLastMoment);
-    List<Event> currentEvents = Lists.newLinkedList(currentEventsIterable);
-
-    for (Event e : currentEvents) {
-      if (e.getEndTime().isBefore(currentTime) && !onlyDateSet(e.getEndTime())) {
-        currentEvents.remove(e);
-      }
+    LocalDateTime now = LocalDateTime.now();
+    Predicate<Event> ongoing = e -> !e.getStartTime().isAfter(now) && endTimeOf(e).isAfter(now);
+    if (!intervalIndex.isUsable()) {
+      return filter(roRepo.findByStartTimeLessThanEqualAndEndTimeAfterOrderByStartTime(now,
+          now.minusDays(1)), ongoing);
     }
+    return loadEvents(intervalIndex.findRunning(now), ongoing);
+  }
 
-    return currentEvents;
+  @Override
+  public Iterable<Event> findFutureEvents() {
+    LocalDateTime now = LocalDateTime.now();
+    if (!intervalIndex.isUsable()) {
+      return roRepo.findByStartTimeAfterOrderByStartTime(now);
+    }
+    return loadEvents(intervalIndex.findFuture(now), e -> e.getStartTime().isAfter(now));
+  }
+
+  @Override
+  public Iterable<Event> findPastEvents() {
+    LocalDateTime now = LocalDateTime.now();
+    Predicate<Event> past = e -> !endTimeOf(e).isAfter(now);
+    if (!intervalIndex.isUsable()) {
+      return filter(roRepo.findByEndTimeLessThanEqualOrderByStartTime(now), past);
+    }
+    return loadEvents(intervalIndex.findPast(now), past);
+  }
+
+  @Override
+  public Iterable<Event> findOverlappingEvents(LocalDateTime from, LocalDateTime to) {
+    Predicate<Event> overlapping = e -> e.getStartTime().isBefore(to) && endTimeOf(e).isAfter(from);
+    if (!intervalIndex.isUsable()) {
+      return filter(roRepo.findByStartTimeBeforeAndEndTimeAfterOrderByStartTime(to,
+          from.minusDays(1)), overlapping);
+    }
+    return loadEvents(intervalIndex.findOverlapping(from, to), overlapping);
   }
 
   @Override
@@ -109,15 +165,51 @@ public class PersistentEventManager implements EventManager {
   }
 
   /**
-   * Checks, whether only the date part of a {@link LocalDateTime} instance should be considered.
-   * For many events it is not important, when they start or end. Therefore the time is set to
-   * 00:00. This may distort results when querying for all events that ended before a certain time.
-   * To prevent this, one may check the correctness of the results through this function
+   * Loads the events found through the {@link EventIntervalIndex}. In contrast to querying for each
+   * event on its own, this will only issue one query per {@value #BATCH_SIZE} events. The index
+   * only contains committed changes, but it may not be up to date: changes made by other instances
+   * of the application will only be noticed with the next rebuild of the index and the events may
+   * have been changed since they were found in the index. Therefore the loaded events are checked
+   * once again.
    * 
-   * @param time the date to check
-   * @return whether the time should be ignored
+   * @param eventIds the IDs of the events to load
+   * @param stillMatches the condition the loaded events have to satisfy
+   * @return the events which still satisfy the condition, in the same order as their IDs
+   */
+  private List<Event> loadEvents(List<EventId> eventIds, Predicate<Event> stillMatches) {
+    Map<EventId, Event> events = new HashMap<>();
+    for (List<EventId> batch : Iterables.partition(eventIds, BATCH_SIZE)) {
+      roRepo.findAll(batch).forEach(e -> events.put(e.getId(), e));
+    }
+    List<Event> result = new ArrayList<>(events.size());
+    for (EventId eventId : eventIds) {
+      Event event = events.get(eventId);
+      if (event != null && stillMatches.test(event)) {
+        result.add(event);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Queries the database directly if the {@link EventIntervalIndex} may not be used. The queries
+   * cannot consider the effective end time of the events. Instead they consider all events which
+   * could match and the results are filtered afterwards.
+   *
+   * @param events the events which could match the condition, as queried from the database
+   * @param matches the condition the events have to satisfy
+   * @return the events which satisfy the condition, in their original order
+   */
+  private List<Event> filter(List<Event> events, Predicate<Event> matches) {
+    return events.stream().filter(matches).collect(Collectors.toList());
+  }
+
+  /**
+   * @param event the event
+   * @return the time the event actually ends
+   * @see EventIntervalIndex#effectiveEndTime(LocalDateTime)
    */
-  protected boolean onlyDateSet(LocalDateTime time) {
-    return time.getHour() == 0 && time.getMinute() == 0;
+  private LocalDateTime endTimeOf(Event event) {
+    return EventIntervalIndex.effectiveEndTime(event.getEndTime());
   }
 }
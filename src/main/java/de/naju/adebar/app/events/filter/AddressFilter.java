@@ -1,9 +1,14 @@
 package de.naju.adebar.app.events.filter;
 
+import java.util.Optional;
 import java.util.stream.Stream;
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Predicate;
 import de.naju.adebar.app.filter.MatchType;
 import de.naju.adebar.model.events.Event;
+import de.naju.adebar.model.events.QEvent;
 import de.naju.adebar.model.human.Address;
+import de.naju.adebar.model.human.QAddress;
 
 /**
  * Filter for events based on where they take place
@@ -53,6 +58,40 @@ public class AddressFilter implements EventFilter {
     return null;
   }
 
+  @Override
+  public Optional<Predicate> asPredicate() {
+    QAddress place = QEvent.event.place;
+    BooleanBuilder predicate = new BooleanBuilder();
+
+    // the event's address has to be defined
+    predicate.and(place.street.isNotEmpty().or(place.zip.isNotEmpty()).or(place.city.isNotEmpty()));
+
+    switch (matchType) {
+      case EXACT:
+        predicate.and(place.street.eq(address.getStreet()));
+        predicate.and(place.zip.eq(address.getZip()));
+        predicate.and(place.city.eq(address.getCity()));
+        predicate.and(place.additionalInfo.eq(address.getAdditionalInfo()));
+        return Optional.of(predicate);
+      case IF_DEFINED:
+        if (stringIsSet(address.getStreet())) {
+          predicate.and(place.street.eq(address.getStreet()));
+        }
+        if (stringIsSet(address.getZip())) {
+          predicate.and(place.zip.eq(address.getZip()));
+        }
+        if (stringIsSet(address.getCity())) {
+          predicate.and(place.city.eq(address.getCity()));
+        }
+        if (stringIsSet(address.getAdditionalInfo())) {
+          predicate.and(place.additionalInfo.eq(address.getAdditionalInfo()));
+        }
+        return Optional.of(predicate);
+      default:
+        throw new AssertionError(matchType);
+    }
+  }
+
   /**
    * @param address the address to check
    * @return {@code true} if at least one field of the address is defined, {@code false} otherwise
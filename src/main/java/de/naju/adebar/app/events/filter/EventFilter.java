@@ -1,7 +1,10 @@
 package de.naju.adebar.app.events.filter;
 
+import java.util.Optional;
+import com.querydsl.core.types.Predicate;
 import de.naju.adebar.app.filter.AbstractFilter;
 import de.naju.adebar.model.events.Event;
+import de.naju.adebar.model.events.QEvent;
 
 /**
  * An event filter
@@ -9,4 +12,17 @@ import de.naju.adebar.model.events.Event;
  * @author Rico Bergmann
  */
 public interface EventFilter extends AbstractFilter<Event> {
+
+  /**
+   * Translates the filter's criteria into a predicate on {@link QEvent} to be evaluated by the
+   * database. If the filter provides a predicate it has to describe exactly the same events as
+   * {@link #filter(java.util.stream.Stream)} would keep.
+   * 
+   * @return the predicate describing the filter. If the criteria may only be checked in memory,
+   *         the optional will be empty
+   */
+  default Optional<Predicate> asPredicate() {
+    return Optional.empty();
+  }
+
 }
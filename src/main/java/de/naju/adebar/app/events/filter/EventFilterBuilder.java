@@ -1,18 +1,107 @@
 package de.naju.adebar.app.events.filter;
 
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Optional;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.Assert;
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Predicate;
+import de.naju.adebar.app.filter.AbstractFilter;
 import de.naju.adebar.app.filter.FilterBuilder;
 import de.naju.adebar.model.events.Event;
+import de.naju.adebar.model.events.ReadOnlyEventRepository;
 
 /**
- * Filter builder especially for filtering events
+ * Filter builder especially for filtering events.
+ * <p>
+ * If the builder is backed by a repository, all filters which are able to describe themselves as a
+ * predicate (see {@link EventFilter#asPredicate()}) will be merged into a single query. Ordering and
+ * limiting the result will then be done by the database as well, as long as no filter has to be
+ * executed in memory.
+ * </p>
  * 
  * @author Rico Bergmann
  */
 public class EventFilterBuilder extends FilterBuilder<Event> {
+  private ReadOnlyEventRepository eventRepo;
+  private Sort sort;
+  private int limit;
 
   public EventFilterBuilder(Stream<Event> eventStream) {
     super(eventStream);
   }
 
+  /**
+   * @param eventRepo repository to query for all events which match the filters
+   */
+  public EventFilterBuilder(ReadOnlyEventRepository eventRepo) {
+    super();
+    Assert.notNull(eventRepo, "Event repository may not be null");
+    this.eventRepo = eventRepo;
+  }
+
+  /**
+   * Specifies the order of the matching events. Only available if the builder is backed by a
+   * repository.
+   * 
+   * @param sort the order of the matching events
+   * @return the builder instance for easy chaining
+   */
+  public EventFilterBuilder orderBy(Sort sort) {
+    Assert.notNull(sort, "Sort may not be null");
+    Assert.state(eventRepo != null, "Ordering is only supported for repository backed filtering");
+    this.sort = sort;
+    return this;
+  }
+
+  /**
+   * Restricts the number of matching events. Only available if the builder is backed by a
+   * repository.
+   * 
+   * @param limit the maximum number of events to return
+   * @return the builder instance for easy chaining
+   */
+  public EventFilterBuilder limit(int limit) {
+    Assert.isTrue(limit > 0, "Limit must be positive, but was: " + limit);
+    Assert.state(eventRepo != null, "Limiting is only supported for repository backed filtering");
+    this.limit = limit;
+    return this;
+  }
+
+  @Override
+  public Stream<Event> resultingStream() {
+    if (eventRepo == null) {
+      return super.resultingStream();
+    }
+
+    BooleanBuilder predicate = new BooleanBuilder();
+    List<AbstractFilter<Event>> inMemoryFilters = new LinkedList<>();
+
+    for (AbstractFilter<Event> filter : filters) {
+      Optional<Predicate> filterPredicate = filter instanceof EventFilter
+          ? ((EventFilter) filter).asPredicate() : Optional.empty();
+      if (filterPredicate.isPresent()) {
+        predicate.and(filterPredicate.get());
+      } else {
+        inMemoryFilters.add(filter);
+      }
+    }
+
+    if (inMemoryFilters.isEmpty() && limit > 0) {
+      // everything may be done by the database
+      return eventRepo.findAll(predicate, new PageRequest(0, limit, sort)).getContent().stream();
+    } else if (sort != null) {
+      inputStream = StreamSupport.stream(eventRepo.findAll(predicate, sort).spliterator(), false);
+    } else {
+      inputStream = eventRepo.findAll(predicate).stream();
+    }
+
+    inMemoryFilters.forEach(filter -> inputStream = filter.filter(inputStream));
+    return limit > 0 ? inputStream.limit(limit) : inputStream;
+  }
+
 }
@@ -1,8 +1,11 @@
 package de.naju.adebar.app.events.filter;
 
+import java.util.Optional;
 import java.util.stream.Stream;
+import com.querydsl.core.types.Predicate;
 import de.naju.adebar.app.filter.ComparableFilterType;
 import de.naju.adebar.model.events.Event;
+import de.naju.adebar.model.events.QEvent;
 
 /**
  * Filter based on the minimum age persons have to have in order to participate in an event
@@ -26,4 +29,9 @@ public class MinimumParticipantAgeFilter implements EventFilter {
     return input.filter(
         event -> filterType.matching(minimumParticipantAge, event.getMinimumParticipantAge()));
   }
+
+  @Override
+  public Optional<Predicate> asPredicate() {
+    return Optional.of(QEvent.event.minimumParticipantAge.goe(minimumParticipantAge));
+  }
 }
@@ -1,7 +1,11 @@
 package de.naju.adebar.app.events.filter;
 
+import java.util.Optional;
 import java.util.stream.Stream;
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Predicate;
 import de.naju.adebar.model.events.Event;
+import de.naju.adebar.model.events.QEvent;
 
 /**
  * Filter for events depending on their name
@@ -25,4 +29,12 @@ public class NameFilter implements EventFilter {
     }
     return input.filter(event -> event.getName().contains(name));
   }
+
+  @Override
+  public Optional<Predicate> asPredicate() {
+    if (name == null || name.isEmpty()) {
+      return Optional.of(new BooleanBuilder());
+    }
+    return Optional.of(QEvent.event.name.contains(name));
+  }
 }
@@ -1,8 +1,12 @@
 package de.naju.adebar.app.events.filter;
 
+import java.util.Optional;
 import java.util.stream.Stream;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.NumberPath;
 import de.naju.adebar.app.filter.ComparableFilterType;
 import de.naju.adebar.model.events.Event;
+import de.naju.adebar.model.events.QEvent;
 
 /**
  * Filter for events based on the maximum number of participants
@@ -23,4 +27,23 @@ public class ParticipantsLimitFilter implements EventFilter {
     return input
         .filter(event -> filterType.matching(participantsLimit, event.getParticipantsLimit()));
   }
+
+  @Override
+  public Optional<Predicate> asPredicate() {
+    NumberPath<Integer> limit = QEvent.event.participantsList.participantsLimit;
+    switch (filterType) {
+      case LESS_THAN:
+        return Optional.of(limit.lt(participantsLimit));
+      case EQUAL:
+        return Optional.of(limit.eq(participantsLimit));
+      case GREATER_THAN:
+        return Optional.of(limit.gt(participantsLimit));
+      case MAXIMUM:
+        return Optional.of(limit.loe(participantsLimit));
+      case MINIMUM:
+        return Optional.of(limit.goe(participantsLimit));
+      default:
+        throw new AssertionError(filterType);
+    }
+  }
 }
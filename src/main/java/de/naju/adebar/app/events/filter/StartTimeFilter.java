@@ -1,9 +1,12 @@
 package de.naju.adebar.app.events.filter;
 
 import java.time.LocalDateTime;
+import java.util.Optional;
 import java.util.stream.Stream;
+import com.querydsl.core.types.Predicate;
 import de.naju.adebar.app.filter.DateTimeFilterType;
 import de.naju.adebar.model.events.Event;
+import de.naju.adebar.model.events.QEvent;
 
 /**
  * Filter for events based on the time the events start
@@ -25,4 +28,9 @@ public class StartTimeFilter implements EventFilter {
   public Stream<Event> filter(Stream<Event> input) {
     return timeFilter.filter(input, Event::getStartTime);
   }
+
+  @Override
+  public Optional<Predicate> asPredicate() {
+    return Optional.of(timeFilter.asPredicate(QEvent.event.startTime));
+  }
 }
@@ -3,6 +3,8 @@ package de.naju.adebar.app.events.filter;
 import java.time.LocalDateTime;
 import java.util.function.Function;
 import java.util.stream.Stream;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.DateTimePath;
 import de.naju.adebar.app.filter.DateTimeFilterType;
 import de.naju.adebar.model.events.Event;
 
@@ -33,4 +35,21 @@ class TimeFilter {
   public Stream<Event> filter(Stream<Event> input, Function<Event, LocalDateTime> accessor) {
     return input.filter(event -> matchType.matching(time, accessor.apply(event)));
   }
+
+  /**
+   * @param path the path to the {@link LocalDateTime} which should be filtered
+   * @return the predicate describing the filter
+   */
+  public Predicate asPredicate(DateTimePath<LocalDateTime> path) {
+    switch (matchType) {
+      case BEFORE:
+        return path.before(time);
+      case EXACT:
+        return path.eq(time);
+      case AFTER:
+        return path.after(time);
+      default:
+        throw new AssertionError(matchType);
+    }
+  }
 }
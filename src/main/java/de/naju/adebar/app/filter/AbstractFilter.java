@@ -17,4 +17,19 @@ public interface AbstractFilter<T> {
    */
   Stream<T> filter(Stream<T> input);
 
+  /**
+   * Checks whether a single element passes the filter. This enables combining filters without
+   * having to consume the same stream more than once (see {@link LogicalFilter}).
+   * <p>
+   * The default implementation runs {@link #filter(Stream)} on the element alone. Filters which
+   * may decide on the element directly should override this method.
+   * </p>
+   * 
+   * @param element the element to check
+   * @return whether the element would be kept by {@link #filter(Stream)}
+   */
+  default boolean matches(T element) {
+    return filter(Stream.of(element)).findAny().isPresent();
+  }
+
 }
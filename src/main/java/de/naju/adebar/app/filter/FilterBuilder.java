@@ -27,6 +27,15 @@ public class FilterBuilder<T> {
     this.filters = new HashSet<>();
   }
 
+  /**
+   * Constructor for subclasses which determine the objects to filter on their own, e.g. by querying
+   * the database once all filters are known. Such subclasses have to set the {@link #inputStream}
+   * before the filters are executed.
+   */
+  protected FilterBuilder() {
+    this.filters = new HashSet<>();
+  }
+
   /**
    * Saves a new filter for execution. However applying a filter does not preserve order, i. e.
    * adding one filter after another does <strong>not</strong> guarantee that this filter will be
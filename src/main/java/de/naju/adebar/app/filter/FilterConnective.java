@@ -1,10 +1,11 @@
 package de.naju.adebar.app.filter;
 
 import java.util.stream.Stream;
-import de.naju.adebar.util.Streams;
 
 /**
- * Simple class to combine multiple {@link AbstractFilter} logically.
+ * Simple class to combine two {@link AbstractFilter} logically. Each element will be checked by the
+ * filters one after another, therefore the input stream will only be consumed once. For more
+ * complex combinations see {@link LogicalFilter}.
  * 
  * @param <Entity> the type of entities to be filtered
  * @param <Filter> the type of filter to use, has to be a filter for the Entity
@@ -72,7 +73,15 @@ public class FilterConnective<Entity, Filter extends AbstractFilter<Entity>>
 
   @Override
   public Stream<Entity> filter(Stream<Entity> input) {
-    return connective.apply(input);
+    return input.filter(this::matches);
+  }
+
+  @Override
+  public boolean matches(Entity element) {
+    if (connective == null) {
+      return firstFilter.matches(element);
+    }
+    return connective.matches(element);
   }
 
   /**
@@ -92,12 +101,12 @@ public class FilterConnective<Entity, Filter extends AbstractFilter<Entity>>
   private abstract class AbstractConnective {
 
     /**
-     * Executes the connective on the given input
+     * Executes the connective on a single element
      *
-     * @param input the input to execute the filters on
-     * @return all elements which matched the specification of the logical connective
+     * @param element the element to execute the filters on
+     * @return whether the element matched the specification of the logical connective
      */
-    public abstract Stream<Entity> apply(Stream<Entity> input);
+    public abstract boolean matches(Entity element);
   }
 
   /**
@@ -109,9 +118,8 @@ public class FilterConnective<Entity, Filter extends AbstractFilter<Entity>>
   private class AndConnective extends AbstractConnective {
 
     @Override
-    public Stream<Entity> apply(Stream<Entity> input) {
-      input = firstFilter.filter(input);
-      return secondFilter.filter(input);
+    public boolean matches(Entity element) {
+      return firstFilter.matches(element) && secondFilter.matches(element);
     }
 
   }
@@ -125,10 +133,8 @@ public class FilterConnective<Entity, Filter extends AbstractFilter<Entity>>
   private class OrConnective extends AbstractConnective {
 
     @Override
-    public Stream<Entity> apply(Stream<Entity> input) {
-      Stream<Entity> firstFiltered = firstFilter.filter(input);
-      Stream<Entity> secondFiltered = secondFilter.filter(input);
-      return Streams.union(firstFiltered, secondFiltered);
+    public boolean matches(Entity element) {
+      return firstFilter.matches(element) || secondFilter.matches(element);
     }
 
   }
@@ -0,0 +1,291 @@
+package de.naju.adebar.app.filter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.springframework.util.Assert;
+
+/**
+ * Boolean combination of {@link AbstractFilter filters}. Filters may be combined through
+ * {@link #allOf(AbstractFilter...) AND}, {@link #anyOf(AbstractFilter...) OR} and
+ * {@link #not(AbstractFilter) NOT} and such combinations may be nested arbitrarily.
+ * <p>
+ * In contrast to applying the filters one after another, each element is checked in a single
+ * pass: the input stream is consumed only once and no intermediate results are collected. The
+ * operands of {@code AND} and {@code OR} are evaluated from the cheapest to the most expensive one
+ * and evaluation stops as soon as the result is known. By default each plain filter has a cost of
+ * {@value #DEFAULT_COST} and a combination costs as much as all of its operands. Expensive filters
+ * (e.g. ones which need to access associations) may be weighted through
+ * {@link #withCost(AbstractFilter, int)}.
+ * </p>
+ * <p>
+ * Instances are immutable.
+ * </p>
+ *
+ * @author Rico Bergmann
+ * @param <T> the type of objects to be filtered
+ */
+public abstract class LogicalFilter<T> implements AbstractFilter<T> {
+
+  /**
+   * The cost of a plain filter, unless specified otherwise
+   */
+  public final static int DEFAULT_COST = 1;
+
+  /**
+   * Combines filters by {@code AND}, i. e. an element has to match all of them
+   *
+   * @param filters the filters
+   * @return the combination
+   */
+  @SafeVarargs
+  public static <T> LogicalFilter<T> allOf(AbstractFilter<T>... filters) {
+    return new Conjunction<>(operandsOf(filters));
+  }
+
+  /**
+   * Combines filters by {@code OR}, i. e. an element has to match at least one of them
+   *
+   * @param filters the filters
+   * @return the combination
+   */
+  @SafeVarargs
+  public static <T> LogicalFilter<T> anyOf(AbstractFilter<T>... filters) {
+    return new Disjunction<>(operandsOf(filters));
+  }
+
+  /**
+   * Negates a filter, i. e. an element may not match it
+   *
+   * @param filter the filter
+   * @return the negation
+   */
+  public static <T> LogicalFilter<T> not(AbstractFilter<T> filter) {
+    return new Negation<>(operandOf(filter));
+  }
+
+  /**
+   * Weights a filter by the effort needed to check a single element
+   *
+   * @param filter the filter
+   * @param cost the relative cost of checking an element. Has to be positive
+   * @return the weighted filter
+   */
+  public static <T> LogicalFilter<T> withCost(AbstractFilter<T> filter, int cost) {
+    Assert.notNull(filter, "Filter may not be null");
+    Assert.isTrue(cost > 0, "Cost has to be positive, but was " + cost);
+    return new Operand<>(filter, cost);
+  }
+
+  /**
+   * Combines this filter with another one by {@code AND}
+   *
+   * @param other the other filter
+   * @return the combination
+   */
+  public LogicalFilter<T> and(AbstractFilter<T> other) {
+    return new Conjunction<>(Arrays.asList(this, operandOf(other)));
+  }
+
+  /**
+   * Combines this filter with another one by {@code OR}
+   *
+   * @param other the other filter
+   * @return the combination
+   */
+  public LogicalFilter<T> or(AbstractFilter<T> other) {
+    return new Disjunction<>(Arrays.asList(this, operandOf(other)));
+  }
+
+  /**
+   * @return the negation of this filter
+   */
+  public LogicalFilter<T> negate() {
+    return new Negation<>(this);
+  }
+
+  /**
+   * @return the relative effort needed to check a single element
+   */
+  public abstract int cost();
+
+  @Override
+  public abstract boolean matches(T element);
+
+  @Override
+  public Stream<T> filter(Stream<T> input) {
+    return input.filter(this::matches);
+  }
+
+  /**
+   * @param filters the filters to combine
+   * @return the filters wrapped as {@link LogicalFilter}, cheapest first
+   */
+  @SafeVarargs
+  private static <T> List<LogicalFilter<T>> operandsOf(AbstractFilter<T>... filters) {
+    Assert.notEmpty(filters, "At least one filter is needed");
+    return Stream.of(filters).map(LogicalFilter::operandOf).collect(Collectors.toList());
+  }
+
+  /**
+   * @param filter the filter
+   * @return the filter wrapped as {@link LogicalFilter}
+   */
+  private static <T> LogicalFilter<T> operandOf(AbstractFilter<T> filter) {
+    Assert.notNull(filter, "Filter may not be null");
+    if (filter instanceof LogicalFilter) {
+      return (LogicalFilter<T>) filter;
+    }
+    return new Operand<>(filter, DEFAULT_COST);
+  }
+
+  /**
+   * A plain filter
+   *
+   * @author Rico Bergmann
+   */
+  private static class Operand<T> extends LogicalFilter<T> {
+    private final AbstractFilter<T> filter;
+    private final int cost;
+
+    Operand(AbstractFilter<T> filter, int cost) {
+      this.filter = filter;
+      this.cost = cost;
+    }
+
+    @Override
+    public int cost() {
+      return cost;
+    }
+
+    @Override
+    public boolean matches(T element) {
+      return filter.matches(element);
+    }
+
+    @Override
+    public String toString() {
+      return filter.toString();
+    }
+  }
+
+  /**
+   * Base class for {@code AND} and {@code OR}
+   *
+   * @author Rico Bergmann
+   */
+  private abstract static class Junction<T> extends LogicalFilter<T> {
+    protected final List<LogicalFilter<T>> operands;
+    private final int cost;
+
+    Junction(List<LogicalFilter<T>> operands) {
+      List<LogicalFilter<T>> sortedOperands = new ArrayList<>(operands);
+      sortedOperands.sort(Comparator.comparingInt(LogicalFilter::cost));
+      this.operands = Collections.unmodifiableList(sortedOperands);
+      this.cost = operands.stream().mapToInt(LogicalFilter::cost).sum();
+    }
+
+    @Override
+    public int cost() {
+      return cost;
+    }
+
+    /**
+     * @return the symbol of the junction
+     */
+    protected abstract String symbol();
+
+    @Override
+    public String toString() {
+      return operands.stream().map(Object::toString)
+          .collect(Collectors.joining(" " + symbol() + " ", "(", ")"));
+    }
+  }
+
+  /**
+   * Implementation of {@code AND}
+   *
+   * @author Rico Bergmann
+   */
+  private static class Conjunction<T> extends Junction<T> {
+
+    Conjunction(List<LogicalFilter<T>> operands) {
+      super(operands);
+    }
+
+    @Override
+    public boolean matches(T element) {
+      for (LogicalFilter<T> operand : operands) {
+        if (!operand.matches(element)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    protected String symbol() {
+      return "∧";
+    }
+  }
+
+  /**
+   * Implementation of {@code OR}
+   *
+   * @author Rico Bergmann
+   */
+  private static class Disjunction<T> extends Junction<T> {
+
+    Disjunction(List<LogicalFilter<T>> operands) {
+      super(operands);
+    }
+
+    @Override
+    public boolean matches(T element) {
+      for (LogicalFilter<T> operand : operands) {
+        if (operand.matches(element)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    protected String symbol() {
+      return "∨";
+    }
+  }
+
+  /**
+   * Implementation of {@code NOT}
+   *
+   * @author Rico Bergmann
+   */
+  private static class Negation<T> extends LogicalFilter<T> {
+    private final LogicalFilter<T> operand;
+
+    Negation(LogicalFilter<T> operand) {
+      this.operand = operand;
+    }
+
+    @Override
+    public int cost() {
+      return operand.cost();
+    }
+
+    @Override
+    public boolean matches(T element) {
+      return !operand.matches(element);
+    }
+
+    @Override
+    public String toString() {
+      return "¬" + operand;
+    }
+  }
+
+}
@@ -0,0 +1,80 @@
+package de.naju.adebar.app.human;
+
+import java.time.LocalDateTime;
+import org.springframework.util.Assert;
+import de.naju.adebar.model.events.EventId;
+import de.naju.adebar.model.events.Lecture;
+
+/**
+ * A {@link Lecture} a referent held, together with the event it belonged to. Instances are
+ * immutable.
+ *
+ * @author Rico Bergmann
+ * @see PersonRoles
+ */
+public class HeldLecture {
+  private final EventId eventId;
+  private final String eventName;
+  private final String title;
+  private final LocalDateTime startTime;
+  private final LocalDateTime endTime;
+
+  /**
+   * @param eventId the ID of the event the lecture belonged to
+   * @param eventName the name of the event the lecture belonged to
+   * @param title the lecture's title
+   * @param startTime the time the lecture started
+   * @param endTime the time the lecture ended
+   */
+  public HeldLecture(EventId eventId, String eventName, String title, LocalDateTime startTime,
+      LocalDateTime endTime) {
+    Assert.notNull(eventId, "Event id may not be null");
+    this.eventId = eventId;
+    this.eventName = eventName;
+    this.title = title;
+    this.startTime = startTime;
+    this.endTime = endTime;
+  }
+
+  /**
+   * @return the ID of the event the lecture belonged to
+   */
+  public EventId getEventId() {
+    return eventId;
+  }
+
+  /**
+   * @return the name of the event the lecture belonged to
+   */
+  public String getEventName() {
+    return eventName;
+  }
+
+  /**
+   * @return the lecture's title
+   */
+  public String getTitle() {
+    return title;
+  }
+
+  /**
+   * @return the time the lecture started
+   */
+  public LocalDateTime getStartTime() {
+    return startTime;
+  }
+
+  /**
+   * @return the time the lecture ended
+   */
+  public LocalDateTime getEndTime() {
+    return endTime;
+  }
+
+  @Override
+  public String toString() {
+    return "HeldLecture [event=" + eventId + ", title=" + title + ", startTime=" + startTime
+        + "]";
+  }
+
+}
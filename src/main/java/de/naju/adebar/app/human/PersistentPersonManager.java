@@ -7,6 +7,7 @@ import java.util.List;
 import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 import com.google.common.collect.Lists;
@@ -39,14 +40,16 @@ public class PersistentPersonManager implements PersonManager {
   private ActivistProfileRepository activistRepo;
   private ReferentProfileRepository referentRepo;
   private QualificationRepository qualificationRepo;
+  private PersonSearchIndex searchIndex;
 
   @Autowired
   public PersistentPersonManager(PersonRepository personRepo,
       @Qualifier("ro_personRepo") ReadOnlyPersonRepository roRepo, PersonFactory personFactory,
       ParticipantProfileRepository participantRepo, ActivistProfileRepository activistRepo,
-      ReferentProfileRepository referentRepo, QualificationRepository qualificationRepo) {
+      ReferentProfileRepository referentRepo, QualificationRepository qualificationRepo,
+      PersonSearchIndex searchIndex) {
     Object[] params = {personRepo, roRepo, personFactory, participantRepo, activistRepo,
-        referentRepo, qualificationRepo};
+        referentRepo, qualificationRepo, searchIndex};
     Assert.noNullElements(params, "At lest one parameter was null: " + Arrays.toString(params));
 
     this.personRepo = personRepo;
@@ -56,11 +59,14 @@ public class PersistentPersonManager implements PersonManager {
     this.activistRepo = activistRepo;
     this.referentRepo = referentRepo;
     this.qualificationRepo = qualificationRepo;
+    this.searchIndex = searchIndex;
   }
 
   @Override
   public Person savePerson(Person person) {
-    return personRepo.save(person);
+    Person savedPerson = personRepo.save(person);
+    searchIndex.update(savedPerson);
+    return savedPerson;
   }
 
   @Override
@@ -104,6 +110,23 @@ public class PersistentPersonManager implements PersonManager {
     return p != null ? Optional.of(p) : Optional.empty();
   }
 
+  @Override
+  public PersonPage findFirstPersonPage(int pageSize) {
+    Assert.isTrue(pageSize > 0, "Page size must be positive, but was: " + pageSize);
+    // we fetch one more person to find out whether there is a following page
+    List<Person> persons = roRepo.findFirstOrderByName(new PageRequest(0, pageSize + 1));
+    return createPage(persons, pageSize);
+  }
+
+  @Override
+  public PersonPage findPersonPageAfter(PersonCursor cursor, int pageSize) {
+    Assert.notNull(cursor, "Cursor may not be null");
+    Assert.isTrue(pageSize > 0, "Page size must be positive, but was: " + pageSize);
+    List<Person> persons = roRepo.findOrderByNameAfter(cursor.getLastName(),
+        cursor.getFirstName(), cursor.getId(), new PageRequest(0, pageSize + 1));
+    return createPage(persons, pageSize);
+  }
+
   @Override
   public void deactivatePerson(Person person) {
     if (person.isActivist() || person.isReferent()) {
@@ -111,7 +134,7 @@ public class PersistentPersonManager implements PersonManager {
           "Person may not be deactivated as it is a referent or activist: " + person);
     }
     person.setArchived(true);
-    updatePerson(person.getId(), person);
+    savePerson(person);
   }
 
   @Override
@@ -135,6 +158,20 @@ public class PersistentPersonManager implements PersonManager {
     return roRepo;
   }
 
+  /**
+   * @param persons the fetched persons. May contain one more person than the page size to indicate
+   *        a following page
+   * @param pageSize the number of persons per page
+   * @return the page
+   */
+  protected PersonPage createPage(List<Person> persons, int pageSize) {
+    if (persons.size() <= pageSize) {
+      return new PersonPage(persons, null);
+    }
+    List<Person> page = persons.subList(0, pageSize);
+    return new PersonPage(page, PersonCursor.of(page.get(pageSize - 1)));
+  }
+
   /**
    * Replaces the data of a person
    * 
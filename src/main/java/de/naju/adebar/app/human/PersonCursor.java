@@ -0,0 +1,144 @@
+package de.naju.adebar.app.human;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+import org.springframework.util.Assert;
+import de.naju.adebar.model.human.Person;
+
+/**
+ * Position within the list of all persons, ordered by their last name, first name and ID. A cursor
+ * may be used to fetch the persons following a specific one without having to skip all the persons
+ * preceding it (i. e. "keyset pagination"). Instances are immutable.
+ * 
+ * @author Rico Bergmann
+ * @see PersonManager#findPersonPageAfter(PersonCursor, int)
+ */
+public class PersonCursor {
+  private static final String SEPARATOR = "\u0000";
+
+  private final String lastName;
+  private final String firstName;
+  private final String id;
+
+  /**
+   * @param person the person to create the cursor for
+   * @return a cursor pointing to the given person
+   */
+  public static PersonCursor of(Person person) {
+    Assert.notNull(person, "Person may not be null");
+    return new PersonCursor(person.getLastName(), person.getFirstName(),
+        person.getId().toString());
+  }
+
+  /**
+   * Restores a cursor from its textual representation
+   * 
+   * @param encoded the encoded cursor
+   * @return the cursor
+   * @throws IllegalArgumentException if the cursor is malformed
+   * @see #encode()
+   */
+  public static PersonCursor decode(String encoded) {
+    Assert.hasText(encoded, "Encoded cursor may not be empty");
+    return tryDecode(encoded)
+        .orElseThrow(() -> new IllegalArgumentException("Malformed cursor: " + encoded));
+  }
+
+  /**
+   * Restores a cursor from its textual representation. As cursors are passed around in URLs, they
+   * may have been tampered with. Instead of failing, this will simply result in no cursor.
+   * 
+   * @param encoded the encoded cursor. May be {@code null}
+   * @return the cursor or an empty optional if the encoded cursor was empty or malformed
+   * @see #encode()
+   */
+  public static Optional<PersonCursor> tryDecode(String encoded) {
+    if (encoded == null || encoded.isEmpty()) {
+      return Optional.empty();
+    }
+    String decoded;
+    try {
+      decoded = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+    } catch (IllegalArgumentException e) {
+      return Optional.empty();
+    }
+    String[] fields = decoded.split(SEPARATOR, -1);
+    if (fields.length != 3 || fields[2].isEmpty()) {
+      return Optional.empty();
+    }
+    return Optional.of(new PersonCursor(fields[0], fields[1], fields[2]));
+  }
+
+  /**
+   * @param lastName the last name of the person the cursor points to
+   * @param firstName the first name of the person the cursor points to
+   * @param id the ID of the person the cursor points to
+   */
+  public PersonCursor(String lastName, String firstName, String id) {
+    Object[] params = {lastName, firstName, id};
+    Assert.noNullElements(params, "No parameter may be null");
+    this.lastName = lastName;
+    this.firstName = firstName;
+    this.id = id;
+  }
+
+  /**
+   * @return the last name of the person the cursor points to
+   */
+  public String getLastName() {
+    return lastName;
+  }
+
+  /**
+   * @return the first name of the person the cursor points to
+   */
+  public String getFirstName() {
+    return firstName;
+  }
+
+  /**
+   * @return the ID of the person the cursor points to
+   */
+  public String getId() {
+    return id;
+  }
+
+  /**
+   * @return a textual representation of the cursor which is safe to be used in URLs
+   */
+  public String encode() {
+    String raw = lastName + SEPARATOR + firstName + SEPARATOR + id;
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Override
+  public int hashCode() {
+    final int prime = 31;
+    int result = 1;
+    result = prime * result + firstName.hashCode();
+    result = prime * result + id.hashCode();
+    result = prime * result + lastName.hashCode();
+    return result;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof PersonCursor)) {
+      return false;
+    }
+    PersonCursor other = (PersonCursor) obj;
+    return lastName.equals(other.lastName) && firstName.equals(other.firstName)
+        && id.equals(other.id);
+  }
+
+  @Override
+  public String toString() {
+    return "PersonCursor [lastName=" + lastName + ", firstName=" + firstName + ", id=" + id + "]";
+  }
+
+}
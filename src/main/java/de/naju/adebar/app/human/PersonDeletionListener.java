@@ -0,0 +1,64 @@
+package de.naju.adebar.app.human;
+
+import java.util.Arrays;
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import de.naju.adebar.model.human.Person;
+
+/**
+ * Removes deleted persons from the {@link PersonSearchIndex}. Persons are usually deactivated
+ * rather than deleted, so there is no method for this in the {@link PersonManager}. Listening to
+ * Hibernate instead ensures that deletions through the repositories are noticed as well. The
+ * listener appends itself to Hibernate's default listeners on startup.
+ *
+ * @author Rico Bergmann
+ */
+@Component
+public class PersonDeletionListener implements PostDeleteEventListener {
+  private static final long serialVersionUID = 1L;
+
+  private transient EntityManagerFactory entityManagerFactory;
+  private transient PersonSearchIndex searchIndex;
+
+  @Autowired
+  public PersonDeletionListener(EntityManagerFactory entityManagerFactory,
+      PersonSearchIndex searchIndex) {
+    Object[] params = {entityManagerFactory, searchIndex};
+    Assert.noNullElements(params, "At least one parameter was null: " + Arrays.toString(params));
+    this.entityManagerFactory = entityManagerFactory;
+    this.searchIndex = searchIndex;
+  }
+
+  /**
+   * Registers the listener at Hibernate
+   */
+  @PostConstruct
+  public void register() {
+    EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+        .getServiceRegistry().getService(EventListenerRegistry.class);
+    registry.appendListeners(EventType.POST_DELETE, this);
+  }
+
+  @Override
+  public void onPostDelete(PostDeleteEvent event) {
+    if (event.getEntity() instanceof Person) {
+      // the index will only be changed once the deletion has been committed
+      searchIndex.remove(((Person) event.getEntity()).getId());
+    }
+  }
+
+  @Override
+  public boolean requiresPostCommitHanding(EntityPersister persister) {
+    return false;
+  }
+
+}
@@ -69,6 +69,24 @@ public interface PersonManager {
    */
   Optional<Person> findPerson(String id);
 
+  /**
+   * Fetches the first non-archived persons, ordered by their last name, first name and ID
+   * 
+   * @param pageSize the maximum number of persons to fetch
+   * @return the page containing the persons
+   */
+  PersonPage findFirstPersonPage(int pageSize);
+
+  /**
+   * Fetches the non-archived persons following a specific one, ordered by their last name, first
+   * name and ID. Fetching a page will be equally expensive no matter how many persons precede it.
+   * 
+   * @param cursor the position after which the page should start
+   * @param pageSize the maximum number of persons to fetch
+   * @return the page containing the persons
+   */
+  PersonPage findPersonPageAfter(PersonCursor cursor, int pageSize);
+
   /**
    * Disables a person. It may/should not be available as a potential camp participant, etc. any
    * more afterwards. To keep statistics correct, persons should not be deleted but instead only
@@ -0,0 +1,53 @@
+package de.naju.adebar.app.human;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.util.Assert;
+import de.naju.adebar.model.human.Person;
+
+/**
+ * A chunk of the list of all persons, ordered by their last name, first name and ID. Instances are
+ * immutable.
+ * 
+ * @author Rico Bergmann
+ * @see PersonCursor
+ */
+public class PersonPage {
+  private final List<Person> persons;
+  private final PersonCursor next;
+
+  /**
+   * @param persons the persons on this page
+   * @param next the cursor to fetch the following page with. May be {@code null} if this is the
+   *        last page
+   */
+  PersonPage(List<Person> persons, PersonCursor next) {
+    Assert.notNull(persons, "Persons may not be null");
+    this.persons = Collections.unmodifiableList(persons);
+    this.next = next;
+  }
+
+  /**
+   * @return the persons on this page
+   */
+  public List<Person> getPersons() {
+    return persons;
+  }
+
+  /**
+   * @return the cursor to fetch the following page with. If this is the last page, the optional
+   *         will be empty
+   */
+  public Optional<PersonCursor> getNext() {
+    return Optional.ofNullable(next);
+  }
+
+  /**
+   * @return whether there are more persons following this page
+   */
+  public boolean hasNext() {
+    return next != null;
+  }
+
+}
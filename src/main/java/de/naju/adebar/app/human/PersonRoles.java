@@ -0,0 +1,140 @@
+package de.naju.adebar.app.human;
+
+import java.util.Collections;
+import java.util.List;
+import org.springframework.util.Assert;
+import de.naju.adebar.model.chapter.LocalGroup;
+import de.naju.adebar.model.chapter.Project;
+import de.naju.adebar.model.events.Event;
+import de.naju.adebar.model.human.Person;
+
+/**
+ * Read model of everything a {@link Person} is involved in: the local groups and boards the
+ * person is member of, the projects it contributes to, the events it was counselor or organizer
+ * for and the lectures it held. Instances are created by the {@link PersonRolesQuery} and are
+ * immutable.
+ *
+ * @author Rico Bergmann
+ */
+public class PersonRoles {
+  private final List<LocalGroup> localGroups;
+  private final List<LocalGroup> boards;
+  private final List<Project> projects;
+  private final List<Event> counselorEvents;
+  private final List<Event> organizedEvents;
+  private final List<HeldLecture> lectures;
+
+  /**
+   * @return roles of a person which is not involved in anything
+   */
+  public static PersonRoles none() {
+    return new PersonRoles(Collections.emptyList(), Collections.emptyList(),
+        Collections.emptyList(), Collections.emptyList(), Collections.emptyList(),
+        Collections.emptyList());
+  }
+
+  /**
+   * @param localGroups the local groups the person is member of
+   * @param boards the local groups whose board the person is member of
+   * @param projects the projects the person contributes to
+   * @param counselorEvents the events the person was counselor for
+   * @param organizedEvents the events the person organized
+   * @param lectures the lectures the person held
+   */
+  PersonRoles(List<LocalGroup> localGroups, List<LocalGroup> boards, List<Project> projects,
+      List<Event> counselorEvents, List<Event> organizedEvents, List<HeldLecture> lectures) {
+    Object[] params = {localGroups, boards, projects, counselorEvents, organizedEvents, lectures};
+    Assert.noNullElements(params, "At least one parameter was null");
+    this.localGroups = Collections.unmodifiableList(localGroups);
+    this.boards = Collections.unmodifiableList(boards);
+    this.projects = Collections.unmodifiableList(projects);
+    this.counselorEvents = Collections.unmodifiableList(counselorEvents);
+    this.organizedEvents = Collections.unmodifiableList(organizedEvents);
+    this.lectures = Collections.unmodifiableList(lectures);
+  }
+
+  /**
+   * @return the local groups the person is member of
+   */
+  public List<LocalGroup> getLocalGroups() {
+    return localGroups;
+  }
+
+  /**
+   * @return the local groups whose board the person is member of
+   */
+  public List<LocalGroup> getBoards() {
+    return boards;
+  }
+
+  /**
+   * @return the projects the person contributes to
+   */
+  public List<Project> getProjects() {
+    return projects;
+  }
+
+  /**
+   * @return the events the person was counselor for, ordered by their start time
+   */
+  public List<Event> getCounselorEvents() {
+    return counselorEvents;
+  }
+
+  /**
+   * @return the events the person organized, ordered by their start time
+   */
+  public List<Event> getOrganizedEvents() {
+    return organizedEvents;
+  }
+
+  /**
+   * @return the lectures the person held, ordered by their start time
+   */
+  public List<HeldLecture> getLectures() {
+    return lectures;
+  }
+
+  /**
+   * @return whether the person is member of at least one local group
+   */
+  public boolean hasLocalGroups() {
+    return !localGroups.isEmpty();
+  }
+
+  /**
+   * @return whether the person is member of at least one board
+   */
+  public boolean hasBoards() {
+    return !boards.isEmpty();
+  }
+
+  /**
+   * @return whether the person contributes to at least one project
+   */
+  public boolean hasProjects() {
+    return !projects.isEmpty();
+  }
+
+  /**
+   * @return whether the person was counselor or organizer of at least one event
+   */
+  public boolean hasEvents() {
+    return !counselorEvents.isEmpty() || !organizedEvents.isEmpty();
+  }
+
+  /**
+   * @return whether the person held at least one lecture
+   */
+  public boolean hasLectures() {
+    return !lectures.isEmpty();
+  }
+
+  @Override
+  public String toString() {
+    return "PersonRoles [localGroups=" + localGroups.size() + ", boards=" + boards.size()
+        + ", projects=" + projects.size() + ", counselorEvents=" + counselorEvents.size()
+        + ", organizedEvents=" + organizedEvents.size() + ", lectures=" + lectures.size() + "]";
+  }
+
+}
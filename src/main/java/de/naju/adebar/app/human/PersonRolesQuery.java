@@ -0,0 +1,67 @@
+package de.naju.adebar.app.human;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+import de.naju.adebar.app.chapter.LocalGroupManager;
+import de.naju.adebar.app.chapter.ProjectManager;
+import de.naju.adebar.app.events.EventManager;
+import de.naju.adebar.model.chapter.LocalGroup;
+import de.naju.adebar.model.chapter.Project;
+import de.naju.adebar.model.events.Event;
+import de.naju.adebar.model.events.EventId;
+import de.naju.adebar.model.human.PersonId;
+
+/**
+ * Service to collect the {@link PersonRoles} of a person. Each kind of role is resolved by a
+ * single join query, so the number of queries does not depend on the number of local groups,
+ * boards, projects or events the person is involved in.
+ *
+ * @author Rico Bergmann
+ */
+@Service
+public class PersonRolesQuery {
+
+  private LocalGroupManager localGroupManager;
+  private ProjectManager projectManager;
+  private EventManager eventManager;
+
+  @Autowired
+  public PersonRolesQuery(LocalGroupManager localGroupManager, ProjectManager projectManager,
+      EventManager eventManager) {
+    Object[] params = {localGroupManager, projectManager, eventManager};
+    Assert.noNullElements(params, "At least one parameter was null: " + Arrays.toString(params));
+    this.localGroupManager = localGroupManager;
+    this.projectManager = projectManager;
+    this.eventManager = eventManager;
+  }
+
+  /**
+   * @param personId the person to query for
+   * @return the person's roles. If there is no such person, all of them will be empty
+   */
+  @Transactional(readOnly = true)
+  public PersonRoles findRoles(PersonId personId) {
+    Assert.notNull(personId, "Person id may not be null");
+
+    List<LocalGroup> localGroups = localGroupManager.repository().findAllForMember(personId);
+    List<LocalGroup> boards = localGroupManager.repository().findAllForBoardMember(personId);
+    List<Project> projects = projectManager.repository().findAllForContributor(personId);
+    List<Event> counselorEvents = eventManager.repository().findAllForCounselor(personId);
+    List<Event> organizedEvents = eventManager.repository().findAllForOrganizer(personId);
+    List<HeldLecture> lectures = eventManager.repository().findLecturesHeldBy(personId) //
+        .stream() //
+        .map(row -> new HeldLecture((EventId) row[0], (String) row[1], (String) row[2],
+            (LocalDateTime) row[3], (LocalDateTime) row[4])) //
+        .collect(Collectors.toList());
+
+    return new PersonRoles(localGroups, boards, projects, counselorEvents, organizedEvents,
+        lectures);
+  }
+
+}
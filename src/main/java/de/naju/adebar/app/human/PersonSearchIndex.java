@@ -0,0 +1,377 @@
+package de.naju.adebar.app.human;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+import de.naju.adebar.infrastructure.TransactionHooks;
+import de.naju.adebar.model.human.Person;
+import de.naju.adebar.model.human.PersonId;
+import de.naju.adebar.model.human.QPerson;
+
+/**
+ * In-memory index of all non-archived persons to answer (typeahead) search queries without having
+ * to access the database.
+ * <p>
+ * The index is an inverted one: for each trigram of the persons' first name, last name and email it
+ * keeps the persons containing that trigram. Queries with at least three characters will therefore
+ * match anywhere within these fields. Shorter queries only match the beginning of words. Persons
+ * whose city equals a query will match as well.
+ * </p>
+ * <p>
+ * The index is built on startup and has to be kept up to date through {@link #update(Person)} and
+ * {@link #remove(PersonId)}. The {@link PersonManager} takes care of saved persons, the
+ * {@link PersonDeletionListener} of deleted ones. Changes only take effect once the current
+ * transaction has been committed, so rolled back changes never show up in the index.
+ * </p>
+ * 
+ * @author Rico Bergmann
+ */
+@Service
+public class PersonSearchIndex {
+  private static final int GRAM_LENGTH = 3;
+  private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+  private static final Pattern TOKEN_SEPARATOR = Pattern.compile("\\s+");
+
+  private static final int EXACT_MATCH = 8;
+  private static final int PREFIX_MATCH = 4;
+  private static final int WORD_PREFIX_MATCH = 2;
+  private static final int SUBSTRING_MATCH = 1;
+  private static final int CITY_MATCH = 1;
+
+  private final SearchablePersonQuery personQuery;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Map<String, IndexEntry> entries = new HashMap<>();
+  private final Map<String, Set<String>> grams = new HashMap<>();
+  private final Map<String, Set<String>> prefixes = new HashMap<>();
+  private final Map<String, Set<String>> cities = new HashMap<>();
+
+  @Autowired
+  public PersonSearchIndex(SearchablePersonQuery personQuery) {
+    Assert.notNull(personQuery, "Person query may not be null");
+    this.personQuery = personQuery;
+  }
+
+  /**
+   * Discards the current index and reads all non-archived persons from the database again
+   */
+  @EventListener(ContextRefreshedEvent.class)
+  public void rebuild() {
+    List<SearchablePerson> persons = personQuery.findAll(QPerson.person.archived.isFalse());
+
+    lock.writeLock().lock();
+    try {
+      entries.clear();
+      grams.clear();
+      prefixes.clear();
+      cities.clear();
+      persons.forEach(this::insert);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Adds a person to the index or updates its indexed data. Archived persons will be removed from
+   * the index. The person's data is read immediately, but the index will only be changed after the
+   * current transaction has been committed.
+   * 
+   * @param person the person to index
+   */
+  public void update(Person person) {
+    Assert.notNull(person, "Person may not be null");
+    String id = person.getId().toString();
+    SearchablePerson searchablePerson = person.isArchived() ? null : new SearchablePerson(person);
+    TransactionHooks.afterCommit(() -> replace(id, searchablePerson));
+  }
+
+  /**
+   * Removes a person from the index once the current transaction has been committed. If the person
+   * is not indexed, nothing will happen.
+   * 
+   * @param personId the ID of the person to remove
+   */
+  public void remove(PersonId personId) {
+    Assert.notNull(personId, "Person id may not be null");
+    String id = personId.toString();
+    TransactionHooks.afterCommit(() -> replace(id, null));
+  }
+
+  /**
+   * @return the number of indexed persons
+   */
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return entries.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Searches for all persons matching at least one of the (whitespace separated) terms of the
+   * query. The more terms a person matches - and the better it matches them - the higher it is
+   * ranked.
+   * 
+   * @param query the query
+   * @return the matching persons, best matches first
+   */
+  public List<SearchablePerson> search(String query) {
+    return search(query, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Searches for all persons matching at least one of the (whitespace separated) terms of the
+   * query. The more terms a person matches - and the better it matches them - the higher it is
+   * ranked.
+   * 
+   * @param query the query
+   * @param limit the maximum number of persons to return
+   * @return the best matching persons, best matches first
+   */
+  public List<SearchablePerson> search(String query, int limit) {
+    Assert.notNull(query, "Query may not be null");
+    Assert.isTrue(limit > 0, "Limit must be positive, but was: " + limit);
+    String[] tokens = TOKEN_SEPARATOR.split(normalize(query).trim());
+
+    lock.readLock().lock();
+    try {
+      Map<String, Integer> scores = new HashMap<>();
+      for (String token : tokens) {
+        if (token.isEmpty()) {
+          continue;
+        }
+        for (String id : candidatesFor(token)) {
+          int score = entries.get(id).score(token);
+          if (score > 0) {
+            scores.merge(id, score, Integer::sum);
+          }
+        }
+      }
+
+      Comparator<Map.Entry<String, Integer>> ranking =
+          Comparator.comparing(Map.Entry<String, Integer>::getValue).reversed();
+      ranking = ranking.thenComparing(e -> entries.get(e.getKey()).person.getLastName(),
+          Comparator.nullsLast(Comparator.naturalOrder()));
+      ranking = ranking.thenComparing(e -> entries.get(e.getKey()).person.getFirstName(),
+          Comparator.nullsLast(Comparator.naturalOrder()));
+
+      return scores.entrySet().stream().sorted(ranking).limit(limit)
+          .map(e -> entries.get(e.getKey()).person).collect(Collectors.toList());
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Changes the index. Acquires the write lock on its own.
+   * 
+   * @param id the ID of the person to update
+   * @param searchablePerson the new data of the person. If {@code null} the person will be removed
+   */
+  private void replace(String id, SearchablePerson searchablePerson) {
+    lock.writeLock().lock();
+    try {
+      delete(id);
+      if (searchablePerson != null) {
+        insert(searchablePerson);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Determines all persons which potentially match a search term. The persons are not guaranteed to
+   * actually match, as a person may contain all of the term's trigrams without containing the term
+   * itself. Requires the read lock to be held.
+   * 
+   * @param token the (normalized) search term
+   * @return the IDs of the candidates
+   */
+  private Set<String> candidatesFor(String token) {
+    Set<String> candidates = new HashSet<>();
+    if (token.length() >= GRAM_LENGTH) {
+      List<Set<String>> postings = new ArrayList<>();
+      for (String gram : gramsOf(token)) {
+        Set<String> posting = grams.get(gram);
+        if (posting == null) {
+          postings.clear();
+          break;
+        }
+        postings.add(posting);
+      }
+      if (!postings.isEmpty()) {
+        // start with the smallest posting to keep the intersection cheap
+        postings.sort(Comparator.comparing(Set::size));
+        candidates.addAll(postings.get(0));
+        postings.subList(1, postings.size()).forEach(candidates::retainAll);
+      }
+    } else {
+      candidates.addAll(prefixes.getOrDefault(token, Collections.emptySet()));
+    }
+    candidates.addAll(cities.getOrDefault(token, Collections.emptySet()));
+    return candidates;
+  }
+
+  /**
+   * Adds a person to all the index structures. Requires the write lock to be held.
+   * 
+   * @param person the person to add
+   */
+  private void insert(SearchablePerson person) {
+    String id = person.getId();
+    IndexEntry entry = new IndexEntry(person);
+    entries.put(id, entry);
+    entry.grams().forEach(gram -> grams.computeIfAbsent(gram, g -> new HashSet<>()).add(id));
+    entry.prefixes()
+        .forEach(prefix -> prefixes.computeIfAbsent(prefix, p -> new HashSet<>()).add(id));
+    if (!entry.city.isEmpty()) {
+      cities.computeIfAbsent(entry.city, c -> new HashSet<>()).add(id);
+    }
+  }
+
+  /**
+   * Removes a person from all the index structures. Requires the write lock to be held.
+   * 
+   * @param id the ID of the person to remove
+   */
+  private void delete(String id) {
+    IndexEntry entry = entries.remove(id);
+    if (entry == null) {
+      return;
+    }
+    entry.grams().forEach(gram -> removePosting(grams, gram, id));
+    entry.prefixes().forEach(prefix -> removePosting(prefixes, prefix, id));
+    removePosting(cities, entry.city, id);
+  }
+
+  /**
+   * @param index the index to update
+   * @param key the key whose posting should be updated
+   * @param id the ID to remove from the posting
+   */
+  private static void removePosting(Map<String, Set<String>> index, String key, String id) {
+    Set<String> posting = index.get(key);
+    if (posting != null) {
+      posting.remove(id);
+      if (posting.isEmpty()) {
+        index.remove(key);
+      }
+    }
+  }
+
+  /**
+   * @param str the string to normalize. May be {@code null}
+   * @return the lower case version of the string. {@code null} will be turned into an empty string
+   */
+  private static String normalize(String str) {
+    return str == null ? "" : str.toLowerCase(Locale.GERMAN);
+  }
+
+  /**
+   * @param str the (normalized) string to split
+   * @return all trigrams of the string
+   */
+  private static Set<String> gramsOf(String str) {
+    Set<String> result = new HashSet<>();
+    for (int i = 0; i + GRAM_LENGTH <= str.length(); i++) {
+      result.add(str.substring(i, i + GRAM_LENGTH));
+    }
+    return result;
+  }
+
+  /**
+   * @param str the (normalized) string to split
+   * @return all words within the string
+   */
+  private static List<String> wordsOf(String str) {
+    List<String> words = new LinkedList<>(Arrays.asList(WORD_SEPARATOR.split(str)));
+    words.removeIf(String::isEmpty);
+    return words;
+  }
+
+  /**
+   * The normalized data of a person as stored by the index
+   * 
+   * @author Rico Bergmann
+   */
+  private static class IndexEntry {
+    private final SearchablePerson person;
+    private final List<String> fields;
+    private final String city;
+
+    IndexEntry(SearchablePerson person) {
+      this.person = person;
+      this.fields = Arrays.asList(normalize(person.getFirstName()),
+          normalize(person.getLastName()), normalize(person.getEmail()));
+      this.city = normalize(person.getCity());
+    }
+
+    /**
+     * @return the trigrams of all the searchable fields
+     */
+    Set<String> grams() {
+      Set<String> result = new HashSet<>();
+      fields.forEach(field -> result.addAll(gramsOf(field)));
+      return result;
+    }
+
+    /**
+     * @return the prefixes of all words of the searchable fields, which are too short to form a
+     *         trigram
+     */
+    Set<String> prefixes() {
+      Set<String> result = new HashSet<>();
+      for (String field : fields) {
+        for (String word : wordsOf(field)) {
+          for (int length = 1; length < GRAM_LENGTH && length <= word.length(); length++) {
+            result.add(word.substring(0, length));
+          }
+        }
+      }
+      return result;
+    }
+
+    /**
+     * @param token the (normalized) search term
+     * @return how well the person matches the term. {@code 0} if it does not match at all
+     */
+    int score(String token) {
+      int score = 0;
+      for (String field : fields) {
+        if (field.equals(token)) {
+          score += EXACT_MATCH;
+        } else if (field.startsWith(token)) {
+          score += PREFIX_MATCH;
+        } else if (wordsOf(field).stream().anyMatch(word -> word.startsWith(token))) {
+          score += WORD_PREFIX_MATCH;
+        } else if (token.length() >= GRAM_LENGTH && field.contains(token)) {
+          score += SUBSTRING_MATCH;
+        }
+      }
+      if (city.equals(token)) {
+        score += CITY_MATCH;
+      }
+      return score;
+    }
+  }
+
+}
@@ -0,0 +1,142 @@
+package de.naju.adebar.app.human;
+
+import java.time.LocalDate;
+import org.springframework.util.Assert;
+import de.naju.adebar.model.human.Address;
+import de.naju.adebar.model.human.Person;
+import de.naju.adebar.model.human.PersonId;
+
+/**
+ * Snapshot of the data of a {@link Person} which is kept by the {@link PersonSearchIndex}. As it
+ * does not reference any entity, it may be used without a database session. Instances are
+ * immutable.
+ * <p>
+ * Snapshots may also be read from the database directly through the {@link SearchablePersonQuery}
+ * which only selects the columns needed.
+ * 
+ * @author Rico Bergmann
+ */
+public class SearchablePerson {
+  private final String id;
+  private final String firstName;
+  private final String lastName;
+  private final String email;
+  private final String street;
+  private final String zip;
+  private final String city;
+  private final LocalDate dateOfBirth;
+
+  /**
+   * @param person the person to create the snapshot of
+   */
+  SearchablePerson(Person person) {
+    Assert.notNull(person, "Person may not be null");
+    this.id = person.getId().toString();
+    this.firstName = person.getFirstName();
+    this.lastName = person.getLastName();
+    this.email = person.getEmail();
+
+    Address address = person.getAddress();
+    this.street = address != null ? address.getStreet() : "";
+    this.zip = address != null ? address.getZip() : "";
+    this.city = address != null ? address.getCity() : "";
+
+    this.dateOfBirth =
+        person.isParticipant() ? person.getParticipantProfile().getDateOfBirth() : null;
+  }
+
+  /**
+   * Full constructor. Used for projections by the {@link SearchablePersonQuery}.
+   *
+   * @param id the person's ID
+   * @param firstName the person's first name
+   * @param lastName the person's last name
+   * @param email the person's email. May be {@code null}
+   * @param street the street the person lives in. May be {@code null}
+   * @param zip the zip of the person's address. May be {@code null}
+   * @param city the city the person lives in. May be {@code null}
+   * @param dateOfBirth the person's date of birth. May be {@code null}
+   */
+  public SearchablePerson(PersonId id, String firstName, String lastName, String email,
+      String street, String zip, String city, LocalDate dateOfBirth) {
+    Assert.notNull(id, "Id may not be null");
+    this.id = id.toString();
+    this.firstName = firstName;
+    this.lastName = lastName;
+    this.email = email;
+    this.street = street != null ? street : "";
+    this.zip = zip != null ? zip : "";
+    this.city = city != null ? city : "";
+    this.dateOfBirth = dateOfBirth;
+  }
+
+  /**
+   * @return the person's ID
+   */
+  public String getId() {
+    return id;
+  }
+
+  /**
+   * @return the person's first name
+   */
+  public String getFirstName() {
+    return firstName;
+  }
+
+  /**
+   * @return the person's last name
+   */
+  public String getLastName() {
+    return lastName;
+  }
+
+  /**
+   * @return the person's full name
+   */
+  public String getName() {
+    return firstName + " " + lastName;
+  }
+
+  /**
+   * @return the person's email. May be {@code null}
+   */
+  public String getEmail() {
+    return email;
+  }
+
+  /**
+   * @return the street the person lives in
+   */
+  public String getStreet() {
+    return street;
+  }
+
+  /**
+   * @return the zip of the person's address
+   */
+  public String getZip() {
+    return zip;
+  }
+
+  /**
+   * @return the city the person lives in
+   */
+  public String getCity() {
+    return city;
+  }
+
+  /**
+   * @return the person's date of birth. May be {@code null} if the person is no camp participant or
+   *         the date is unknown
+   */
+  public LocalDate getDateOfBirth() {
+    return dateOfBirth;
+  }
+
+  @Override
+  public String toString() {
+    return "SearchablePerson [id=" + id + ", name=" + getName() + "]";
+  }
+
+}
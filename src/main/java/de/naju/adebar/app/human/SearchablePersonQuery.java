@@ -0,0 +1,96 @@
+package de.naju.adebar.app.human;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+import com.querydsl.core.types.ConstructorExpression;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import de.naju.adebar.model.human.Person;
+import de.naju.adebar.model.human.QParticipantProfile;
+import de.naju.adebar.model.human.QPerson;
+
+/**
+ * Read model for the most basic data of {@link Person persons}. Instead of loading the complete
+ * entities (and their profiles one by one), only the columns needed for {@link SearchablePerson}
+ * instances will be selected. The participant profile is joined in the very same query.
+ * <p>
+ * Results are fetched in chunks ordered by the persons' IDs, so even large result sets will only
+ * occupy a small amount of memory if processed through {@link #forEach(Predicate, Consumer)}.
+ *
+ * @author Rico Bergmann
+ */
+@Service
+public class SearchablePersonQuery {
+
+  /**
+   * The number of persons to fetch at once
+   */
+  public final static int FETCH_SIZE = 500;
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  /**
+   * @param predicate the criteria the persons have to match
+   * @return all matching persons
+   */
+  @Transactional(readOnly = true)
+  public List<SearchablePerson> findAll(Predicate predicate) {
+    List<SearchablePerson> result = new ArrayList<>();
+    forEach(predicate, result::add);
+    return result;
+  }
+
+  /**
+   * Executes an action for each person matching the given criteria. The persons will be read
+   * chunk by chunk, ordered by their IDs.
+   *
+   * @param predicate the criteria the persons have to match
+   * @param action the action to execute
+   */
+  @Transactional(readOnly = true)
+  public void forEach(Predicate predicate, Consumer<SearchablePerson> action) {
+    Assert.notNull(predicate, "Predicate may not be null");
+    Assert.notNull(action, "Action may not be null");
+    QPerson person = QPerson.person;
+    JPAQueryFactory queryFactory = new JPAQueryFactory(entityManager);
+
+    String lastId = null;
+    List<SearchablePerson> chunk;
+    do {
+      JPAQuery<SearchablePerson> query = queryFactory.select(projectionOf(person)) //
+          .from(person) //
+          .leftJoin(person.participantProfile, QParticipantProfile.participantProfile)
+          .on(person.participant.isTrue()) //
+          .where(predicate);
+      if (lastId != null) {
+        query.where(person.id.id.gt(lastId));
+      }
+      chunk = query.orderBy(person.id.id.asc()).limit(FETCH_SIZE).fetch();
+
+      chunk.forEach(action);
+      if (!chunk.isEmpty()) {
+        lastId = chunk.get(chunk.size() - 1).getId();
+      }
+    } while (chunk.size() == FETCH_SIZE);
+  }
+
+  /**
+   * @param person the person to project
+   * @return the projection of the columns needed for a {@link SearchablePerson}
+   */
+  private ConstructorExpression<SearchablePerson> projectionOf(QPerson person) {
+    return Projections.constructor(SearchablePerson.class, person.id, person.firstName,
+        person.lastName, person.email, person.address.street, person.address.zip,
+        person.address.city, QParticipantProfile.participantProfile.dateOfBirth);
+  }
+
+}
@@ -1,9 +1,16 @@
 package de.naju.adebar.app.human.filter;
 
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.BooleanExpression;
 import de.naju.adebar.app.filter.DateFilterType;
 import de.naju.adebar.app.filter.FilterType;
 import de.naju.adebar.model.human.Person;
+import de.naju.adebar.model.human.QJuleicaCard;
+import de.naju.adebar.model.human.QPerson;
 import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 /**
@@ -95,6 +102,16 @@ public class ActivistFilter implements PersonFilter {
     return concreteFilter.filter(personStream);
   }
 
+  @Override
+  public Optional<Predicate> asPredicate() {
+    return concreteFilter.asPredicate();
+  }
+
+  @Override
+  public Set<PersonProfile> requiredProfiles() {
+    return concreteFilter.requiredProfiles();
+  }
+
   /**
    * Filter implementation for "general activist status", i. e. whether persons have to activists
    * (ENFORCE) or whether they may not be activists (IGNORE).
@@ -119,6 +136,18 @@ public class ActivistFilter implements PersonFilter {
           throw new AssertionError(filterType);
       }
     }
+
+    @Override
+    public Optional<Predicate> asPredicate() {
+      switch (filterType) {
+        case ENFORCE:
+          return Optional.of(QPerson.person.activist.isTrue());
+        case IGNORE:
+          return Optional.of(QPerson.person.activist.isFalse());
+        default:
+          throw new AssertionError(filterType);
+      }
+    }
   }
 
   /**
@@ -143,6 +172,23 @@ public class ActivistFilter implements PersonFilter {
       activists = activists.filter(a -> a.getActivistProfile().hasJuleica() == hasJuleica);
       return activists;
     }
+
+    @Override
+    public Optional<Predicate> asPredicate() {
+      QPerson person = QPerson.person;
+      QJuleicaCard juleicaCard = person.activistProfile.juleicaCard;
+
+      // Hibernate will only create an embedded Juleica card if at least one of its columns is set
+      BooleanExpression juleicaPresent =
+          juleicaCard.expiryDate.isNotNull().or(juleicaCard.level.isNotNull());
+      BooleanExpression juleicaMatches = hasJuleica ? juleicaPresent : juleicaPresent.not();
+      return Optional.of(person.activist.isTrue().and(juleicaMatches));
+    }
+
+    @Override
+    public Set<PersonProfile> requiredProfiles() {
+      return EnumSet.of(PersonProfile.ACTIVIST);
+    }
   }
 
   /**
@@ -172,5 +218,31 @@ public class ActivistFilter implements PersonFilter {
           person.getActivistProfile().getJuleicaCard().getExpiryDate()));
     }
 
+    @Override
+    public Optional<Predicate> asPredicate() {
+      QPerson person = QPerson.person;
+      QJuleicaCard juleicaCard = person.activistProfile.juleicaCard;
+      BooleanExpression expiryDateMatches;
+      switch (dateFilterType) {
+        case BEFORE:
+          expiryDateMatches = juleicaCard.expiryDate.before(juleicaExpiryDate);
+          break;
+        case EXACT:
+          expiryDateMatches = juleicaCard.expiryDate.eq(juleicaExpiryDate);
+          break;
+        case AFTER:
+          expiryDateMatches = juleicaCard.expiryDate.after(juleicaExpiryDate);
+          break;
+        default:
+          throw new AssertionError(dateFilterType);
+      }
+      return Optional.of(person.activist.isTrue().and(expiryDateMatches));
+    }
+
+    @Override
+    public Set<PersonProfile> requiredProfiles() {
+      return EnumSet.of(PersonProfile.ACTIVIST);
+    }
+
   }
 }
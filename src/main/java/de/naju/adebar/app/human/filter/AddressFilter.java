@@ -1,8 +1,13 @@
 package de.naju.adebar.app.human.filter;
 
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Predicate;
 import de.naju.adebar.app.filter.MatchType;
 import de.naju.adebar.model.human.Address;
 import de.naju.adebar.model.human.Person;
+import de.naju.adebar.model.human.QAddress;
+import de.naju.adebar.model.human.QPerson;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 /**
@@ -56,4 +61,34 @@ public class AddressFilter implements PersonFilter {
     }
     return null;
   }
+
+  @Override
+  public Optional<Predicate> asPredicate() {
+    QAddress personAddress = QPerson.person.address;
+    BooleanBuilder predicate = new BooleanBuilder();
+    switch (matchType) {
+      case EXACT:
+        predicate.and(personAddress.city.eq(address.getCity()));
+        predicate.and(personAddress.street.eq(address.getStreet()));
+        predicate.and(personAddress.zip.eq(address.getZip()));
+        predicate.and(personAddress.additionalInfo.eq(address.getAdditionalInfo()));
+        return Optional.of(predicate);
+      case IF_DEFINED:
+        if (!address.getCity().isEmpty()) {
+          predicate.and(personAddress.city.eq(address.getCity()));
+        }
+        if (!address.getStreet().isEmpty()) {
+          predicate.and(personAddress.street.eq(address.getStreet()));
+        }
+        if (!address.getZip().isEmpty()) {
+          predicate.and(personAddress.zip.eq(address.getZip()));
+        }
+        if (!address.getAdditionalInfo().isEmpty()) {
+          predicate.and(personAddress.additionalInfo.eq(address.getAdditionalInfo()));
+        }
+        return Optional.of(predicate);
+      default:
+        throw new AssertionError(matchType);
+    }
+  }
 }
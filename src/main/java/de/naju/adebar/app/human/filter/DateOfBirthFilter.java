@@ -1,8 +1,14 @@
 package de.naju.adebar.app.human.filter;
 
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.BooleanExpression;
 import de.naju.adebar.app.filter.DateFilterType;
 import de.naju.adebar.model.human.Person;
+import de.naju.adebar.model.human.QPerson;
 import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 /**
@@ -32,4 +38,29 @@ public class DateOfBirthFilter implements PersonFilter {
     return personStream
         .filter(p -> matchType.matching(dob, p.getParticipantProfile().getDateOfBirth()));
   }
+
+  @Override
+  public Optional<Predicate> asPredicate() {
+    QPerson person = QPerson.person;
+    BooleanExpression dobMatches;
+    switch (matchType) {
+      case BEFORE:
+        dobMatches = person.participantProfile.dateOfBirth.before(dob);
+        break;
+      case EXACT:
+        dobMatches = person.participantProfile.dateOfBirth.eq(dob);
+        break;
+      case AFTER:
+        dobMatches = person.participantProfile.dateOfBirth.after(dob);
+        break;
+      default:
+        throw new AssertionError(matchType);
+    }
+    return Optional.of(person.participant.isTrue().and(dobMatches));
+  }
+
+  @Override
+  public Set<PersonProfile> requiredProfiles() {
+    return EnumSet.of(PersonProfile.PARTICIPANT);
+  }
 }
@@ -1,6 +1,11 @@
 package de.naju.adebar.app.human.filter;
 
+import com.querydsl.core.types.Predicate;
 import de.naju.adebar.model.human.Person;
+import de.naju.adebar.model.human.QPerson;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 /**
@@ -22,4 +27,16 @@ public class EatingHabitFilter implements PersonFilter {
     return personStream
         .filter(p -> p.getParticipantProfile().getEatingHabits().contains(eatingHabit));
   }
+
+  @Override
+  public Optional<Predicate> asPredicate() {
+    QPerson person = QPerson.person;
+    return Optional.of(person.participant.isTrue()
+        .and(person.participantProfile.eatingHabits.contains(eatingHabit)));
+  }
+
+  @Override
+  public Set<PersonProfile> requiredProfiles() {
+    return EnumSet.of(PersonProfile.PARTICIPANT);
+  }
 }
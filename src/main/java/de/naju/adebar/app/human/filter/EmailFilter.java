@@ -1,6 +1,9 @@
 package de.naju.adebar.app.human.filter;
 
+import com.querydsl.core.types.Predicate;
 import de.naju.adebar.model.human.Person;
+import de.naju.adebar.model.human.QPerson;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 /**
@@ -19,4 +22,9 @@ public class EmailFilter implements PersonFilter {
   public Stream<Person> filter(Stream<Person> personStream) {
     return personStream.filter(p -> p.getEmail().equals(email));
   }
+
+  @Override
+  public Optional<Predicate> asPredicate() {
+    return Optional.of(QPerson.person.email.eq(email));
+  }
 }
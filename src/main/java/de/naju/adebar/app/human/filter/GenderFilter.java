@@ -1,8 +1,13 @@
 package de.naju.adebar.app.human.filter;
 
+import com.querydsl.core.types.Predicate;
 import de.naju.adebar.app.filter.FilterType;
 import de.naju.adebar.model.human.Gender;
 import de.naju.adebar.model.human.Person;
+import de.naju.adebar.model.human.QPerson;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 /**
@@ -25,4 +30,24 @@ public class GenderFilter implements PersonFilter {
     return personStream
         .filter(p -> filterType.matching(p.getParticipantProfile().getGender(), gender));
   }
+
+  @Override
+  public Optional<Predicate> asPredicate() {
+    QPerson person = QPerson.person;
+    switch (filterType) {
+      case ENFORCE:
+        return Optional
+            .of(person.participant.isTrue().and(person.participantProfile.gender.eq(gender)));
+      case IGNORE:
+        return Optional
+            .of(person.participant.isTrue().and(person.participantProfile.gender.ne(gender)));
+      default:
+        throw new AssertionError(filterType);
+    }
+  }
+
+  @Override
+  public Set<PersonProfile> requiredProfiles() {
+    return EnumSet.of(PersonProfile.PARTICIPANT);
+  }
 }
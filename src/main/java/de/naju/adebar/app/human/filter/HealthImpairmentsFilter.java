@@ -1,6 +1,11 @@
 package de.naju.adebar.app.human.filter;
 
+import com.querydsl.core.types.Predicate;
 import de.naju.adebar.model.human.Person;
+import de.naju.adebar.model.human.QPerson;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 /**
@@ -23,4 +28,16 @@ public class HealthImpairmentsFilter implements PersonFilter {
     return personStream
         .filter(p -> p.getParticipantProfile().getHealthImpairments().contains(healthImpairments));
   }
+
+  @Override
+  public Optional<Predicate> asPredicate() {
+    QPerson person = QPerson.person;
+    return Optional.of(person.participant.isTrue()
+        .and(person.participantProfile.healthImpairments.contains(healthImpairments)));
+  }
+
+  @Override
+  public Set<PersonProfile> requiredProfiles() {
+    return EnumSet.of(PersonProfile.PARTICIPANT);
+  }
 }
@@ -1,7 +1,13 @@
 package de.naju.adebar.app.human.filter;
 
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.StringPath;
 import de.naju.adebar.app.filter.FilterType;
 import de.naju.adebar.model.human.Person;
+import de.naju.adebar.model.human.QPerson;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 /**
@@ -32,4 +38,28 @@ public class NabuMembershipFilter implements PersonFilter {
           .filter(p -> filterType.matching(p.getParticipantProfile().isNabuMember(), true));
     }
   }
+
+  @Override
+  public Optional<Predicate> asPredicate() {
+    QPerson person = QPerson.person;
+    StringPath membershipNumberPath =
+        person.participantProfile.nabuMembership.membershipNumber;
+    if (membershipNumber != null) {
+      return Optional
+          .of(person.participant.isTrue().and(membershipNumberPath.eq(membershipNumber)));
+    }
+    switch (filterType) {
+      case ENFORCE:
+        return Optional.of(person.participant.isTrue().and(membershipNumberPath.isNotNull()));
+      case IGNORE:
+        return Optional.of(person.participant.isTrue().and(membershipNumberPath.isNull()));
+      default:
+        throw new AssertionError(filterType);
+    }
+  }
+
+  @Override
+  public Set<PersonProfile> requiredProfiles() {
+    return EnumSet.of(PersonProfile.PARTICIPANT);
+  }
 }
@@ -1,6 +1,10 @@
 package de.naju.adebar.app.human.filter;
 
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Predicate;
 import de.naju.adebar.model.human.Person;
+import de.naju.adebar.model.human.QPerson;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 /**
@@ -27,4 +31,17 @@ public class NameFilter implements PersonFilter {
     }
     return personStream;
   }
+
+  @Override
+  public Optional<Predicate> asPredicate() {
+    QPerson person = QPerson.person;
+    BooleanBuilder predicate = new BooleanBuilder();
+    if (firstName != null && !firstName.isEmpty()) {
+      predicate.and(person.firstName.contains(firstName));
+    }
+    if (lastName != null && !lastName.isEmpty()) {
+      predicate.and(person.lastName.contains(lastName));
+    }
+    return Optional.of(predicate);
+  }
 }
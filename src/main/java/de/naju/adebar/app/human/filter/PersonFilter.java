@@ -1,7 +1,12 @@
 package de.naju.adebar.app.human.filter;
 
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+import com.querydsl.core.types.Predicate;
 import de.naju.adebar.app.filter.AbstractFilter;
 import de.naju.adebar.model.human.Person;
+import de.naju.adebar.model.human.QPerson;
 
 /**
  * An filter for persons
@@ -11,4 +16,27 @@ import de.naju.adebar.model.human.Person;
  * @see PersonFilterBuilder
  */
 public interface PersonFilter extends AbstractFilter<Person> {
+
+  /**
+   * Translates the filter's criteria into a predicate on {@link QPerson} to be evaluated by the
+   * database. If the filter provides a predicate it has to describe exactly the same persons as
+   * {@link #filter(java.util.stream.Stream)} would keep.
+   * 
+   * @return the predicate describing the filter. If the criteria may only be checked in memory,
+   *         the optional will be empty
+   */
+  default Optional<Predicate> asPredicate() {
+    return Optional.empty();
+  }
+
+  /**
+   * Declares the profiles which {@link #filter(java.util.stream.Stream)} inspects. They will be
+   * loaded along with the persons rather than lazily for each person on its own.
+   * 
+   * @return the profiles needed to execute the filter in memory
+   */
+  default Set<PersonProfile> requiredProfiles() {
+    return EnumSet.noneOf(PersonProfile.class);
+  }
+
 }
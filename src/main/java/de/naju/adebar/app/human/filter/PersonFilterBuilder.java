@@ -3,17 +3,40 @@ package de.naju.adebar.app.human.filter;
 import de.naju.adebar.app.filter.AbstractFilter;
 import de.naju.adebar.app.filter.FilterBuilder;
 import de.naju.adebar.model.human.Person;
+import de.naju.adebar.model.human.QPerson;
+import de.naju.adebar.model.human.ReadOnlyPersonRepository;
 import org.springframework.util.Assert;
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Predicate;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 /**
  * Builder to collect all the needed filters and finally apply them. The class follows a variation
- * of the builder pattern
+ * of the builder pattern.
+ * <p>
+ * If the builder is backed by a repository, all filters which are able to describe themselves as
+ * a predicate (see {@link PersonFilter#asPredicate()}) will be merged into a single query. Only the
+ * remaining filters will be executed in memory on the query's result.
+ * </p>
+ * <p>
+ * If the builder is backed by a {@link PersonFilterQuery}, the profiles which the in-memory
+ * filters inspect (see {@link PersonFilter#requiredProfiles()}) will be loaded by the query as
+ * well. Further profiles may be requested through {@link #fetchProfiles(PersonProfile...)}.
+ * </p>
  * 
  * @author Rico Bergmann
  * @see <a href="https://en.wikipedia.org/wiki/Builder_pattern">Builder pattern</a>
  */
 public class PersonFilterBuilder extends FilterBuilder<Person> {
+  private ReadOnlyPersonRepository personRepo;
+  private PersonFilterQuery personQuery;
+  private Set<PersonProfile> requestedProfiles = EnumSet.noneOf(PersonProfile.class);
 
   /**
    * @param personStream the persons to be filtered
@@ -22,6 +45,25 @@ public class PersonFilterBuilder extends FilterBuilder<Person> {
     super(personStream);
   }
 
+  /**
+   * @param personRepo repository to query for all non-archived persons which match the filters
+   */
+  public PersonFilterBuilder(ReadOnlyPersonRepository personRepo) {
+    super();
+    Assert.notNull(personRepo, "Person repository may not be null");
+    this.personRepo = personRepo;
+  }
+
+  /**
+   * @param personQuery query for all non-archived persons which match the filters. It will also
+   *        load the profiles the filters need
+   */
+  public PersonFilterBuilder(PersonFilterQuery personQuery) {
+    super();
+    Assert.notNull(personQuery, "Person query may not be null");
+    this.personQuery = personQuery;
+  }
+
   /**
    * @param filter the filter to apply to the given persons
    * @return the builder instance for easy chaining
@@ -39,4 +81,46 @@ public class PersonFilterBuilder extends FilterBuilder<Person> {
     super.applyFilter(filter);
     return this;
   }
+
+  /**
+   * Loads profiles along with the persons, no matter whether any filter needs them. This only has
+   * an effect if the builder is backed by a {@link PersonFilterQuery}.
+   * 
+   * @param profiles the profiles which will be accessed on the resulting persons
+   * @return the builder instance for easy chaining
+   */
+  public PersonFilterBuilder fetchProfiles(PersonProfile... profiles) {
+    Assert.noNullElements(profiles, "No profile may be null: " + Arrays.toString(profiles));
+    requestedProfiles.addAll(Arrays.asList(profiles));
+    return this;
+  }
+
+  @Override
+  public Stream<Person> resultingStream() {
+    if (personRepo == null && personQuery == null) {
+      return super.resultingStream();
+    }
+
+    BooleanBuilder predicate = new BooleanBuilder(QPerson.person.archived.isFalse());
+    List<AbstractFilter<Person>> inMemoryFilters = new LinkedList<>();
+    Set<PersonProfile> profiles = EnumSet.copyOf(requestedProfiles);
+
+    for (AbstractFilter<Person> filter : filters) {
+      Optional<Predicate> filterPredicate = filter instanceof PersonFilter
+          ? ((PersonFilter) filter).asPredicate() : Optional.empty();
+      if (filterPredicate.isPresent()) {
+        predicate.and(filterPredicate.get());
+      } else {
+        inMemoryFilters.add(filter);
+        if (filter instanceof PersonFilter) {
+          profiles.addAll(((PersonFilter) filter).requiredProfiles());
+        }
+      }
+    }
+
+    inputStream = personQuery != null ? personQuery.findAll(predicate, profiles).stream()
+        : personRepo.findAll(predicate).stream();
+    inMemoryFilters.forEach(filter -> inputStream = filter.filter(inputStream));
+    return inputStream;
+  }
 }
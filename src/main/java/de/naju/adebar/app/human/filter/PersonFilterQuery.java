@@ -0,0 +1,91 @@
+package de.naju.adebar.app.human.filter;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+import com.google.common.collect.Lists;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import de.naju.adebar.model.human.Person;
+import de.naju.adebar.model.human.QPerson;
+import de.naju.adebar.model.human.QReferentProfile;
+
+/**
+ * Service to query for the persons a {@link PersonFilterBuilder} should work on. In contrast to a
+ * plain repository query, the profiles which will be inspected by the in-memory filters are loaded
+ * right away: the participant, activist and referent profiles are fetched within the same query,
+ * the referents' qualifications in batches of {@value #BATCH_SIZE} persons each.
+ *
+ * @author Rico Bergmann
+ */
+@Service
+public class PersonFilterQuery {
+
+  /**
+   * The maximum number of persons whose qualifications are loaded by a single query
+   */
+  public final static int BATCH_SIZE = 500;
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  /**
+   * @param predicate the criteria the persons have to match
+   * @param profiles the profiles to load along with the persons
+   * @return all matching persons
+   */
+  @Transactional(readOnly = true)
+  public List<Person> findAll(Predicate predicate, Set<PersonProfile> profiles) {
+    Assert.notNull(predicate, "Predicate may not be null");
+    Assert.notNull(profiles, "Profiles may not be null");
+    QPerson person = QPerson.person;
+    JPAQueryFactory queryFactory = new JPAQueryFactory(entityManager);
+
+    JPAQuery<Person> query = queryFactory.selectFrom(person);
+    if (profiles.contains(PersonProfile.PARTICIPANT)) {
+      query.leftJoin(person.participantProfile).fetchJoin();
+    }
+    if (profiles.contains(PersonProfile.ACTIVIST)) {
+      query.leftJoin(person.activistProfile).fetchJoin();
+    }
+    if (profiles.contains(PersonProfile.REFERENT)) {
+      query.leftJoin(person.referentProfile).fetchJoin();
+    }
+    List<Person> persons = query.where(predicate).fetch();
+
+    if (profiles.contains(PersonProfile.REFERENT)) {
+      fetchQualifications(queryFactory, persons);
+    }
+    return persons;
+  }
+
+  /**
+   * Initializes the qualifications of all referents among the given persons. As the referent
+   * profiles are already attached to the current session, they will be populated by the queries.
+   *
+   * @param queryFactory the factory to create the queries with
+   * @param persons the persons
+   */
+  private void fetchQualifications(JPAQueryFactory queryFactory, List<Person> persons) {
+    QReferentProfile referentProfile = QReferentProfile.referentProfile;
+    List<String> referentIds = persons.stream() //
+        .filter(Person::isReferent) //
+        .map(p -> p.getId().toString()) //
+        .collect(Collectors.toList());
+
+    for (List<String> batch : Lists.partition(referentIds, BATCH_SIZE)) {
+      queryFactory.selectFrom(referentProfile) //
+          .leftJoin(referentProfile.qualifications).fetchJoin() //
+          .where(referentProfile.personId.id.in(batch)) //
+          .distinct() //
+          .fetch();
+    }
+  }
+
+}
@@ -0,0 +1,32 @@
+package de.naju.adebar.app.human.filter;
+
+import de.naju.adebar.model.human.ActivistProfile;
+import de.naju.adebar.model.human.ParticipantProfile;
+import de.naju.adebar.model.human.Person;
+import de.naju.adebar.model.human.ReferentProfile;
+
+/**
+ * The profiles a {@link Person} may have. Filters which inspect a profile in memory have to
+ * declare it through {@link PersonFilter#requiredProfiles()}, so that it may be loaded together
+ * with the persons instead of one by one.
+ *
+ * @author Rico Bergmann
+ */
+public enum PersonProfile {
+
+  /**
+   * The {@link ParticipantProfile}
+   */
+  PARTICIPANT,
+
+  /**
+   * The {@link ActivistProfile}
+   */
+  ACTIVIST,
+
+  /**
+   * The {@link ReferentProfile}, including its qualifications
+   */
+  REFERENT
+
+}
@@ -1,10 +1,15 @@
 package de.naju.adebar.app.human.filter;
 
 import com.google.common.collect.Lists;
+import com.querydsl.core.types.Predicate;
 import de.naju.adebar.app.filter.FilterType;
 import de.naju.adebar.model.human.Person;
+import de.naju.adebar.model.human.QPerson;
 import de.naju.adebar.model.human.Qualification;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 /**
@@ -66,4 +71,32 @@ public class ReferentFilter implements PersonFilter {
     }
     return null;
   }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Only the general referent status will be translated. Filtering for qualifications has to be
+   * done in memory.
+   * </p>
+   */
+  @Override
+  public Optional<Predicate> asPredicate() {
+    if (filterType == null) {
+      return Optional.empty();
+    }
+    switch (filterType) {
+      case ENFORCE:
+        return Optional.of(QPerson.person.referent.isTrue());
+      case IGNORE:
+        return Optional.of(QPerson.person.referent.isFalse());
+      default:
+        throw new AssertionError(filterType);
+    }
+  }
+
+  @Override
+  public Set<PersonProfile> requiredProfiles() {
+    return qualifications != null ? EnumSet.of(PersonProfile.REFERENT)
+        : EnumSet.noneOf(PersonProfile.class);
+  }
 }
@@ -5,11 +5,15 @@ import de.naju.adebar.app.chapter.LocalGroupManager;
 import de.naju.adebar.model.chapter.Project;
 import de.naju.adebar.model.newsletter.Newsletter;
 import de.naju.adebar.model.newsletter.NewsletterRepository;
-import de.naju.adebar.model.newsletter.Subscriber;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 // TODO many Map methods are mostly stubs as Projects and Events cannot be associated to a
 // newsletter yet
@@ -39,39 +43,114 @@ public class NewsletterDataProcessor {
    */
   private final static String NEWSLETTER_EMAIL = "newsletter@naju-sachsen.de";
 
+  /**
+   * Most mail servers limit the number of recipients per email. Therefore the recipients of a
+   * newsletter will be split into chunks of this size, unless configured otherwise.
+   */
+  public final static int DEFAULT_BCC_CHUNK_SIZE = 50;
+
+  private final static String BCC_CHUNK_SIZE_PROPERTY = "adebar.newsletter.bcc-chunk-size";
+
   private NewsletterRepository newsletterRepo;
   private LocalGroupManager localGroupManager;
+  private int bccChunkSize;
 
   @Autowired
   public NewsletterDataProcessor(NewsletterRepository newsletterRepo,
-      LocalGroupManager localGroupManager) {
-    Object[] params = {newsletterRepo, localGroupManager};
+      LocalGroupManager localGroupManager, Environment environment) {
+    Object[] params = {newsletterRepo, localGroupManager, environment};
     Assert.noNullElements(params, "At least one parameter was null: " + Arrays.toString(params));
     this.newsletterRepo = newsletterRepo;
     this.localGroupManager = localGroupManager;
+    this.bccChunkSize =
+        environment.getProperty(BCC_CHUNK_SIZE_PROPERTY, Integer.class, DEFAULT_BCC_CHUNK_SIZE);
+    Assert.isTrue(bccChunkSize > 0, "BCC chunk size must be positive, but was " + bccChunkSize);
   }
 
   /**
    * Concatenates all subscribers of the newsletters given and returns them as one large
-   * {@code String}. This may be especially useful, when used as recipients of emails.
+   * {@code String}. This may be especially useful, when used as recipients of emails. Each
+   * subscriber will only be contained once, even if signed up to multiple of the newsletters.
    * 
    * @param newsletters the newsletters to examine
    * @return concatenation of all subscribers, separated by the {@code EMAIL_DELIMITER}
    */
+  @Transactional(readOnly = true)
   public String getSubscriberEmails(Newsletter... newsletters) {
-    Assert.noNullElements(newsletters, "Newsletter may not be null!");
-    StringBuilder emailBuilder = new StringBuilder();
-    for (Newsletter newsletter : newsletters) {
-      Iterable<Subscriber> subscribers = newsletter.getSubscribers();
-      subscribers.forEach(s -> {
-        if (emailBuilder.indexOf(s.getEmail()) == -1)
-          emailBuilder.append(s.getEmail()).append(EMAIL_DELIMITER);
-      });
+    try (Stream<String> emails = streamSubscriberEmails(newsletters)) {
+      return emails.collect(Collectors.joining(EMAIL_DELIMITER));
     }
-    if (emailBuilder.lastIndexOf(EMAIL_DELIMITER) != -1) {
-      emailBuilder.deleteCharAt(emailBuilder.lastIndexOf(EMAIL_DELIMITER));
+  }
+
+  /**
+   * Just like {@link #getSubscriberEmails(Newsletter...)} but splits the subscribers into chunks
+   * of the configured BCC size. Each chunk may be used as recipients of one email.
+   * 
+   * @param newsletters the newsletters to examine
+   * @return the chunks, each one a concatenation of subscribers separated by the
+   *         {@code EMAIL_DELIMITER}
+   */
+  @Transactional(readOnly = true)
+  public List<String> getSubscriberEmailChunks(Newsletter... newsletters) {
+    List<String> chunks = new ArrayList<>();
+    forEachSubscriberChunk(bccChunkSize,
+        chunk -> chunks.add(String.join(EMAIL_DELIMITER, chunk)), newsletters);
+    return chunks;
+  }
+
+  /**
+   * Passes the subscribers of the newsletters to a consumer, a few at a time. This way even
+   * newsletters with thousands of subscribers may be processed without having to load them all at
+   * once.
+   * 
+   * @param chunkSize the maximum number of subscribers per chunk
+   * @param chunkConsumer the consumer of the chunks. It will be called once per chunk, all chunks
+   *        but the last one will be full
+   * @param newsletters the newsletters to examine
+   */
+  @Transactional(readOnly = true)
+  public void forEachSubscriberChunk(int chunkSize, Consumer<List<String>> chunkConsumer,
+      Newsletter... newsletters) {
+    Assert.isTrue(chunkSize > 0, "Chunk size must be positive, but was " + chunkSize);
+    Assert.notNull(chunkConsumer, "Chunk consumer may not be null!");
+    List<String> chunk = new ArrayList<>(chunkSize);
+    try (Stream<String> emails = streamSubscriberEmails(newsletters)) {
+      Iterator<String> emailIterator = emails.iterator();
+      while (emailIterator.hasNext()) {
+        chunk.add(emailIterator.next());
+        if (chunk.size() == chunkSize) {
+          chunkConsumer.accept(chunk);
+          chunk = new ArrayList<>(chunkSize);
+        }
+      }
     }
-    return emailBuilder.toString();
+    if (!chunk.isEmpty()) {
+      chunkConsumer.accept(chunk);
+    }
+  }
+
+  /**
+   * Provides the email addresses of all subscribers of the newsletters. Each address will only be
+   * contained once. The stream has to be consumed within a transaction and closed afterwards.
+   * 
+   * @param newsletters the newsletters to examine
+   * @return the subscribers' email addresses in alphabetical order
+   */
+  public Stream<String> streamSubscriberEmails(Newsletter... newsletters) {
+    Assert.noNullElements(newsletters, "Newsletter may not be null!");
+    if (newsletters.length == 0) {
+      return Stream.empty();
+    }
+    List<Long> newsletterIds =
+        Arrays.stream(newsletters).map(Newsletter::getId).collect(Collectors.toList());
+    return newsletterRepo.streamDistinctSubscriberEmails(newsletterIds);
+  }
+
+  /**
+   * @return the maximum number of recipients per email
+   */
+  public int getBccChunkSize() {
+    return bccChunkSize;
   }
 
   /**
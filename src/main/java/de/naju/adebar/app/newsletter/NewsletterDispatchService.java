@@ -0,0 +1,387 @@
+package de.naju.adebar.app.newsletter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import de.naju.adebar.model.newsletter.Newsletter;
+import de.naju.adebar.model.newsletter.NewsletterDelivery;
+import de.naju.adebar.model.newsletter.NewsletterDelivery.State;
+import de.naju.adebar.model.newsletter.NewsletterDeliveryRepository;
+import de.naju.adebar.model.newsletter.NewsletterDispatch;
+import de.naju.adebar.model.newsletter.NewsletterDispatch.Status;
+import de.naju.adebar.model.newsletter.NewsletterDispatchRepository;
+
+/**
+ * Service to send emails to the subscribers of a {@link Newsletter}.
+ * <p>
+ * Each email is queued as a {@link NewsletterDispatch} and sent in the background, one dispatch
+ * after another. The recipients are processed in batches: all emails of a batch are sent through
+ * the same connection to the mail server. To not get blocked by the mail server, the number of
+ * emails per second is limited.
+ * <p>
+ * The state of each recipient is persisted. Should the application be stopped while a dispatch is
+ * running, the remaining recipients will be processed after the next start. Recipients whose email
+ * was being sent at the very moment of the interruption will not be sent another one, as it may
+ * already have been delivered.
+ * <p>
+ * If the mail server is not reachable, the dispatch will be paused and retried after a delay.
+ * Recipients whose address was rejected by the mail server will not be retried, but marked as
+ * failed instead.
+ * <p>
+ * Emails can only be sent if a mail server is configured (through the {@code spring.mail.*}
+ * properties). Otherwise dispatches will stay queued.
+ *
+ * @author Rico Bergmann
+ * @see NewsletterDispatch
+ */
+@Service
+public class NewsletterDispatchService {
+
+  /**
+   * The number of emails that may be sent per second, unless configured otherwise
+   */
+  public final static double DEFAULT_MESSAGES_PER_SECOND = 5.;
+
+  /**
+   * The number of emails that will be sent through one connection, unless configured otherwise
+   */
+  public final static int DEFAULT_BATCH_SIZE = 20;
+
+  /**
+   * The number of seconds after which a paused dispatch will be retried, unless configured
+   * otherwise
+   */
+  public final static long DEFAULT_RETRY_DELAY_SECONDS = 300;
+
+  private final static String MESSAGES_PER_SECOND_PROPERTY =
+      "adebar.newsletter.dispatch.messages-per-second";
+  private final static String BATCH_SIZE_PROPERTY = "adebar.newsletter.dispatch.batch-size";
+  private final static String RETRY_DELAY_PROPERTY =
+      "adebar.newsletter.dispatch.retry-delay-seconds";
+
+  private NewsletterDispatchRepository dispatchRepo;
+  private NewsletterDeliveryRepository deliveryRepo;
+  private NewsletterDataProcessor dataProcessor;
+  private ObjectProvider<JavaMailSender> mailSenderProvider;
+  private TransactionTemplate transactionTemplate;
+  private RateLimiter rateLimiter;
+  private int batchSize;
+  private long retryDelaySeconds;
+  private ScheduledExecutorService worker;
+  private Map<Long, NewsletterDispatchStatistics> statistics;
+  private AtomicBoolean resumed;
+
+  @Autowired
+  public NewsletterDispatchService(NewsletterDispatchRepository dispatchRepo,
+      NewsletterDeliveryRepository deliveryRepo, NewsletterDataProcessor dataProcessor,
+      ObjectProvider<JavaMailSender> mailSenderProvider,
+      PlatformTransactionManager transactionManager, Environment environment) {
+    Object[] params = {dispatchRepo, deliveryRepo, dataProcessor, mailSenderProvider,
+        transactionManager, environment};
+    Assert.noNullElements(params, "At least one parameter was null: " + Arrays.toString(params));
+    this.dispatchRepo = dispatchRepo;
+    this.deliveryRepo = deliveryRepo;
+    this.dataProcessor = dataProcessor;
+    this.mailSenderProvider = mailSenderProvider;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+    double messagesPerSecond = environment.getProperty(MESSAGES_PER_SECOND_PROPERTY, Double.class,
+        DEFAULT_MESSAGES_PER_SECOND);
+    this.rateLimiter = RateLimiter.create(messagesPerSecond);
+    this.batchSize =
+        environment.getProperty(BATCH_SIZE_PROPERTY, Integer.class, DEFAULT_BATCH_SIZE);
+    Assert.isTrue(batchSize > 0, "Batch size must be positive, but was " + batchSize);
+    this.retryDelaySeconds =
+        environment.getProperty(RETRY_DELAY_PROPERTY, Long.class, DEFAULT_RETRY_DELAY_SECONDS);
+    Assert.isTrue(retryDelaySeconds > 0,
+        "Retry delay must be positive, but was " + retryDelaySeconds);
+
+    this.worker = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setNameFormat("newsletter-dispatch-%d").setDaemon(true).build());
+    this.statistics = new ConcurrentHashMap<>();
+    this.resumed = new AtomicBoolean(false);
+  }
+
+  /**
+   * Queues a new email for all subscribers of a newsletter. It will be sent in the background.
+   *
+   * @param newsletter the newsletter to send
+   * @param subject the subject of the email
+   * @param content the text of the email
+   * @return the dispatch
+   */
+  public NewsletterDispatch queue(Newsletter newsletter, String subject, String content) {
+    NewsletterDispatch dispatch = transactionTemplate.execute(status -> {
+      NewsletterDispatch newDispatch =
+          dispatchRepo.save(new NewsletterDispatch(newsletter, subject, content));
+      dataProcessor.forEachSubscriberChunk(batchSize,
+          chunk -> deliveryRepo.save(chunk.stream()
+              .map(email -> new NewsletterDelivery(newDispatch, email))
+              .collect(Collectors.toList())),
+          newsletter);
+      return newDispatch;
+    });
+    schedule(dispatch.getId());
+    return dispatch;
+  }
+
+  /**
+   * @param newsletter the newsletter to query for
+   * @return all dispatches of the newsletter, newest first
+   */
+  public List<NewsletterDispatch> findDispatches(Newsletter newsletter) {
+    return dispatchRepo.findByNewsletterOrderByQueuedDesc(newsletter);
+  }
+
+  /**
+   * @param dispatch the dispatch to query for
+   * @param state the state to query for
+   * @return the number of recipients of the dispatch which are currently in the given state
+   */
+  public long countDeliveries(NewsletterDispatch dispatch, State state) {
+    return deliveryRepo.countByDispatchAndState(dispatch, state);
+  }
+
+  /**
+   * @param dispatchId the dispatch to query for
+   * @return the throughput metrics of the dispatch, if it was processed since the last start of
+   *         the application
+   */
+  public Optional<NewsletterDispatchStatistics> getStatistics(long dispatchId) {
+    return Optional.ofNullable(statistics.get(dispatchId));
+  }
+
+  /**
+   * Continues all dispatches which were not finished when the application was stopped
+   */
+  @EventListener(ContextRefreshedEvent.class)
+  public void resumeDispatches() {
+    if (!resumed.compareAndSet(false, true)) {
+      return;
+    }
+    for (NewsletterDispatch dispatch : dispatchRepo
+        .findByStatusInOrderByQueued(Arrays.asList(Status.QUEUED, Status.RUNNING))) {
+      deliveryRepo.updateState(dispatch, State.SENDING, State.UNCONFIRMED);
+      schedule(dispatch.getId());
+    }
+  }
+
+  /**
+   * Stops the background processing. Dispatches which were not finished yet will be resumed after
+   * the next start.
+   */
+  @PreDestroy
+  public void shutdown() {
+    worker.shutdownNow();
+  }
+
+  /**
+   * @param dispatchId the dispatch to process in the background
+   */
+  protected void schedule(long dispatchId) {
+    worker.execute(() -> process(dispatchId));
+  }
+
+  /**
+   * Sends the email of a dispatch to all recipients that did not receive it yet. If the mail
+   * server is not reachable, the dispatch will be paused and processed again after the retry delay.
+   *
+   * @param dispatchId the dispatch to process
+   */
+  void process(long dispatchId) {
+    JavaMailSender mailSender = mailSenderProvider.getIfAvailable();
+    if (mailSender == null) {
+      return;
+    }
+
+    NewsletterDispatch dispatch = transactionTemplate.execute(status -> {
+      NewsletterDispatch queuedDispatch = dispatchRepo.findOne(dispatchId);
+      if (queuedDispatch == null || queuedDispatch.isFinished()) {
+        return null;
+      }
+      queuedDispatch.start();
+      return dispatchRepo.save(queuedDispatch);
+    });
+    if (dispatch == null) {
+      return;
+    }
+
+    NewsletterDispatchStatistics dispatchStatistics = new NewsletterDispatchStatistics(dispatchId);
+    statistics.put(dispatchId, dispatchStatistics);
+
+    List<NewsletterDelivery> batch = claimNextBatch(dispatch);
+    while (!batch.isEmpty()) {
+      if (!sendBatch(mailSender, dispatch, batch, dispatchStatistics)) {
+        dispatchStatistics.finish();
+        worker.schedule(() -> process(dispatchId), retryDelaySeconds, TimeUnit.SECONDS);
+        return;
+      }
+      batch = claimNextBatch(dispatch);
+    }
+
+    transactionTemplate.execute(status -> {
+      NewsletterDispatch runningDispatch = dispatchRepo.findOne(dispatchId);
+      runningDispatch.finish();
+      return dispatchRepo.save(runningDispatch);
+    });
+    dispatchStatistics.finish();
+  }
+
+  /**
+   * Fetches the next recipients of a dispatch and marks them as being processed
+   *
+   * @param dispatch the dispatch
+   * @return the recipients. If the list is empty, the dispatch is done
+   */
+  private List<NewsletterDelivery> claimNextBatch(NewsletterDispatch dispatch) {
+    return transactionTemplate.execute(status -> {
+      List<NewsletterDelivery> batch = deliveryRepo.findByDispatchAndStateOrderById(dispatch,
+          State.PENDING, new PageRequest(0, batchSize));
+      if (!batch.isEmpty()) {
+        deliveryRepo.updateState(idsOf(batch), State.SENDING, null);
+      }
+      return batch;
+    });
+  }
+
+  /**
+   * Sends the email to a batch of recipients using a single connection
+   *
+   * @param mailSender the sender to use
+   * @param dispatch the dispatch
+   * @param batch the recipients
+   * @param dispatchStatistics the metrics to update
+   * @return whether the batch could be processed. If not, the mail server is not available and
+   *         the recipients which did not receive the email are pending again
+   */
+  private boolean sendBatch(JavaMailSender mailSender, NewsletterDispatch dispatch,
+      List<NewsletterDelivery> batch, NewsletterDispatchStatistics dispatchStatistics) {
+    rateLimiter.acquire(batch.size());
+
+    Map<MimeMessage, NewsletterDelivery> messages = new LinkedHashMap<>();
+    batch.forEach(
+        delivery -> messages.put(createMessage(mailSender, dispatch, delivery), delivery));
+
+    Set<NewsletterDelivery> failed = new HashSet<>();
+    Set<NewsletterDelivery> unsent = new HashSet<>();
+    try {
+      mailSender.send(messages.keySet().toArray(new MimeMessage[messages.size()]));
+    } catch (MailSendException e) {
+      if (e.getFailedMessages().isEmpty()) {
+        deliveryRepo.updateState(idsOf(batch), State.PENDING, null);
+        return false;
+      }
+      // rejected recipients will fail again, but messages which did not get through because of
+      // the connection may be retried
+      e.getFailedMessages().forEach((message, cause) -> {
+        NewsletterDelivery delivery = messages.get(message);
+        if (isConnectionFailure(cause)) {
+          unsent.add(delivery);
+        } else {
+          failed.add(delivery);
+        }
+      });
+    } catch (MailException e) {
+      deliveryRepo.updateState(idsOf(batch), State.PENDING, null);
+      return false;
+    }
+
+    List<NewsletterDelivery> sent = batch.stream()
+        .filter(delivery -> !failed.contains(delivery) && !unsent.contains(delivery))
+        .collect(Collectors.toList());
+    transactionTemplate.execute(status -> {
+      if (!sent.isEmpty()) {
+        deliveryRepo.updateState(idsOf(sent), State.SENT, LocalDateTime.now());
+      }
+      if (!failed.isEmpty()) {
+        deliveryRepo.updateState(idsOf(failed), State.FAILED, null);
+      }
+      if (!unsent.isEmpty()) {
+        deliveryRepo.updateState(idsOf(unsent), State.PENDING, null);
+      }
+      return null;
+    });
+    dispatchStatistics.recordBatch(sent.size(), failed.size());
+    return unsent.isEmpty();
+  }
+
+  /**
+   * Checks whether an email could not be sent because the mail server was not reachable. In
+   * difference to a {@link javax.mail.SendFailedException} for specific addresses, such errors are
+   * caused by an I/O error (e. g. a {@link java.net.ConnectException}).
+   *
+   * @param cause the reason why the email could not be sent
+   * @return whether the connection to the mail server failed
+   */
+  static boolean isConnectionFailure(Exception cause) {
+    return Throwables.getCausalChain(cause).stream()
+        .anyMatch(throwable -> throwable instanceof IOException);
+  }
+
+  /**
+   * @param mailSender the sender to use
+   * @param dispatch the dispatch
+   * @param delivery the recipient
+   * @return the email for the recipient
+   */
+  private MimeMessage createMessage(JavaMailSender mailSender, NewsletterDispatch dispatch,
+      NewsletterDelivery delivery) {
+    MimeMessage message = mailSender.createMimeMessage();
+    try {
+      MimeMessageHelper helper = new MimeMessageHelper(message, StandardCharsets.UTF_8.name());
+      helper.setFrom(dataProcessor.getNewsletterEmail());
+      helper.setTo(delivery.getEmail());
+      helper.setSubject(dispatch.getSubject());
+      helper.setText(dispatch.getContent());
+    } catch (MessagingException e) {
+      throw new MailPreparationException("Could not create email for " + delivery, e);
+    }
+    return message;
+  }
+
+  /**
+   * @param deliveries the deliveries
+   * @return the IDs of the deliveries
+   */
+  private List<Long> idsOf(Iterable<NewsletterDelivery> deliveries) {
+    List<Long> ids = new ArrayList<>();
+    deliveries.forEach(delivery -> ids.add(delivery.getId()));
+    return ids;
+  }
+
+}
@@ -0,0 +1,108 @@
+package de.naju.adebar.app.newsletter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import de.naju.adebar.model.newsletter.NewsletterDispatch;
+
+/**
+ * Throughput metrics of a {@link NewsletterDispatch} while it is being processed. The metrics only
+ * cover the current run of the dispatch, i. e. they are not persisted.
+ *
+ * @author Rico Bergmann
+ * @see NewsletterDispatchService
+ */
+public class NewsletterDispatchStatistics {
+  private final long dispatchId;
+  private final long startNanos;
+  private final AtomicLong sent = new AtomicLong();
+  private final AtomicLong failed = new AtomicLong();
+  private final AtomicLong batches = new AtomicLong();
+  private volatile long endNanos = -1;
+
+  /**
+   * @param dispatchId the dispatch the statistics belong to
+   */
+  NewsletterDispatchStatistics(long dispatchId) {
+    this.dispatchId = dispatchId;
+    this.startNanos = System.nanoTime();
+  }
+
+  /**
+   * @return the dispatch the statistics belong to
+   */
+  public long getDispatchId() {
+    return dispatchId;
+  }
+
+  /**
+   * @return the number of emails which were handed over to the mail server
+   */
+  public long getSent() {
+    return sent.get();
+  }
+
+  /**
+   * @return the number of emails which were rejected by the mail server
+   */
+  public long getFailed() {
+    return failed.get();
+  }
+
+  /**
+   * @return the number of batches (i. e. connections to the mail server) used
+   */
+  public long getBatches() {
+    return batches.get();
+  }
+
+  /**
+   * @return the time the dispatch has been running (or did run) in milliseconds
+   */
+  public long getElapsedMillis() {
+    long end = isFinished() ? endNanos : System.nanoTime();
+    return TimeUnit.NANOSECONDS.toMillis(end - startNanos);
+  }
+
+  /**
+   * @return the average number of emails that were processed per second
+   */
+  public double getMessagesPerSecond() {
+    long elapsed = getElapsedMillis();
+    if (elapsed == 0) {
+      return 0;
+    }
+    return (getSent() + getFailed()) * 1000.0 / elapsed;
+  }
+
+  /**
+   * @return whether the dispatch is done
+   */
+  public boolean isFinished() {
+    return endNanos != -1;
+  }
+
+  /**
+   * @param sent the number of emails that were sent in the batch
+   * @param failed the number of emails that were rejected in the batch
+   */
+  void recordBatch(int sent, int failed) {
+    this.sent.addAndGet(sent);
+    this.failed.addAndGet(failed);
+    this.batches.incrementAndGet();
+  }
+
+  /**
+   * Stops the clock
+   */
+  void finish() {
+    this.endNanos = System.nanoTime();
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "NewsletterDispatchStatistics [dispatch=%d, sent=%d, failed=%d, batches=%d, %.2f msg/s]",
+        dispatchId, getSent(), getFailed(), getBatches(), getMessagesPerSecond());
+  }
+
+}
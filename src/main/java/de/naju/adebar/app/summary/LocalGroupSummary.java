@@ -0,0 +1,97 @@
+package de.naju.adebar.app.summary;
+
+/**
+ * The sizes of a local group's collections, as displayed by the overview pages
+ *
+ * @author Rico Bergmann
+ * @see SummaryQuery
+ */
+public class LocalGroupSummary {
+  private int memberCount;
+  private int eventCount;
+  private int projectCount;
+
+  /**
+   * Creates an empty summary
+   */
+  LocalGroupSummary() {}
+
+  /**
+   * @param memberCount the number of members
+   * @param eventCount the number of events
+   * @param projectCount the number of projects
+   */
+  public LocalGroupSummary(int memberCount, int eventCount, int projectCount) {
+    this.memberCount = memberCount;
+    this.eventCount = eventCount;
+    this.projectCount = projectCount;
+  }
+
+  /**
+   * @return the number of activists who contribute to the local group
+   */
+  public int getMemberCount() {
+    return memberCount;
+  }
+
+  /**
+   * @return the number of events the local group hosts
+   */
+  public int getEventCount() {
+    return eventCount;
+  }
+
+  /**
+   * @return the number of projects the local group organizes
+   */
+  public int getProjectCount() {
+    return projectCount;
+  }
+
+  /**
+   * @param memberCount the number of members
+   */
+  void setMemberCount(int memberCount) {
+    this.memberCount = memberCount;
+  }
+
+  /**
+   * @param eventCount the number of events
+   */
+  void setEventCount(int eventCount) {
+    this.eventCount = eventCount;
+  }
+
+  /**
+   * @param projectCount the number of projects
+   */
+  void setProjectCount(int projectCount) {
+    this.projectCount = projectCount;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o)
+      return true;
+    if (o == null || getClass() != o.getClass())
+      return false;
+    LocalGroupSummary that = (LocalGroupSummary) o;
+    return memberCount == that.memberCount && eventCount == that.eventCount
+        && projectCount == that.projectCount;
+  }
+
+  @Override
+  public int hashCode() {
+    int result = memberCount;
+    result = 31 * result + eventCount;
+    result = 31 * result + projectCount;
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return "LocalGroupSummary [members=" + memberCount + ", events=" + eventCount + ", projects="
+        + projectCount + "]";
+  }
+
+}
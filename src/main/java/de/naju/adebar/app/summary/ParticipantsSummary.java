@@ -0,0 +1,112 @@
+package de.naju.adebar.app.summary;
+
+/**
+ * The occupancy of an event, as displayed by the overview pages. The calculations follow those of
+ * the event's participants list.
+ *
+ * @author Rico Bergmann
+ * @see SummaryQuery
+ */
+public class ParticipantsSummary {
+  private final int participantsLimit;
+  private final int participantsCount;
+  private int reservedSlotsCount;
+
+  /**
+   * @param participantsLimit the maximum number of participants
+   * @param participantsCount the number of participants
+   * @param reservedSlotsCount the number of slots reserved throughout all reservations
+   */
+  public ParticipantsSummary(int participantsLimit, int participantsCount,
+      int reservedSlotsCount) {
+    this.participantsLimit = participantsLimit;
+    this.participantsCount = participantsCount;
+    this.reservedSlotsCount = reservedSlotsCount;
+  }
+
+  /**
+   * @return the maximum number of participants
+   */
+  public int getParticipantsLimit() {
+    return participantsLimit;
+  }
+
+  /**
+   * @return the number of participants
+   */
+  public int getParticipantsCount() {
+    return participantsCount;
+  }
+
+  /**
+   * @return the total number of slots that were reserved throughout all reservations
+   */
+  public int getReservedSlotsCount() {
+    return reservedSlotsCount;
+  }
+
+  /**
+   * @return {@code true} if an participant limit was specified, {@code false} otherwise
+   */
+  public boolean hasParticipantsLimit() {
+    return participantsLimit > 0 && participantsLimit != Integer.MAX_VALUE;
+  }
+
+  /**
+   * @return the total number of slots that have a reservation or participant
+   */
+  public int getOccupiedSlotsCount() {
+    return participantsCount + reservedSlotsCount;
+  }
+
+  /**
+   * @return the number of spare participation slots
+   */
+  public int getRemainingCapacity() {
+    if (!hasParticipantsLimit()) {
+      return Integer.MAX_VALUE;
+    }
+    return participantsLimit - getOccupiedSlotsCount();
+  }
+
+  /**
+   * @return {@code true} if no more persons may participate
+   */
+  public boolean isBookedOut() {
+    return hasParticipantsLimit() && getOccupiedSlotsCount() >= participantsLimit;
+  }
+
+  /**
+   * @param reservedSlotsCount the number of slots reserved throughout all reservations
+   */
+  void setReservedSlotsCount(int reservedSlotsCount) {
+    this.reservedSlotsCount = reservedSlotsCount;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o)
+      return true;
+    if (o == null || getClass() != o.getClass())
+      return false;
+    ParticipantsSummary that = (ParticipantsSummary) o;
+    return participantsLimit == that.participantsLimit
+        && participantsCount == that.participantsCount
+        && reservedSlotsCount == that.reservedSlotsCount;
+  }
+
+  @Override
+  public int hashCode() {
+    int result = participantsLimit;
+    result = 31 * result + participantsCount;
+    result = 31 * result + reservedSlotsCount;
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return "ParticipantsSummary [limit=" + participantsLimit + ", participants="
+        + participantsCount + ", reservedSlots=" + reservedSlotsCount + "]";
+  }
+
+}
@@ -0,0 +1,150 @@
+package de.naju.adebar.app.summary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+import com.google.common.collect.Iterables;
+import de.naju.adebar.app.chapter.LocalGroupManager;
+import de.naju.adebar.app.chapter.ProjectManager;
+import de.naju.adebar.app.events.EventManager;
+import de.naju.adebar.model.chapter.LocalGroup;
+import de.naju.adebar.model.chapter.Project;
+import de.naju.adebar.model.events.Event;
+import de.naju.adebar.model.events.EventId;
+import de.naju.adebar.model.newsletter.Newsletter;
+import de.naju.adebar.model.newsletter.NewsletterRepository;
+
+/**
+ * Service to count the members, participants, subscribers, etc. of many local groups, events or
+ * newsletters at once. In contrast to the corresponding methods of the entities themselves, this
+ * will not load the underlying collections. Instead there is one grouped query per kind of count
+ * and {@value #BATCH_SIZE} entities. Overview pages should therefore use this service to display
+ * the counts for each of their rows.
+ *
+ * @author Rico Bergmann
+ */
+@Service
+public class SummaryQuery {
+
+  /**
+   * The maximum number of entities whose counts are determined by a single query
+   */
+  public final static int BATCH_SIZE = 500;
+
+  private LocalGroupManager localGroupManager;
+  private ProjectManager projectManager;
+  private EventManager eventManager;
+  private NewsletterRepository newsletterRepo;
+
+  @Autowired
+  public SummaryQuery(LocalGroupManager localGroupManager, ProjectManager projectManager,
+      EventManager eventManager, NewsletterRepository newsletterRepo) {
+    Object[] params = {localGroupManager, projectManager, eventManager, newsletterRepo};
+    Assert.noNullElements(params, "At least one parameter was null: " + Arrays.toString(params));
+    this.localGroupManager = localGroupManager;
+    this.projectManager = projectManager;
+    this.eventManager = eventManager;
+    this.newsletterRepo = newsletterRepo;
+  }
+
+  /**
+   * @param localGroups the local groups to summarize
+   * @return the summaries, identified by the local groups' IDs
+   */
+  @Transactional(readOnly = true)
+  public Map<Long, LocalGroupSummary> summarizeLocalGroups(Iterable<LocalGroup> localGroups) {
+    Assert.notNull(localGroups, "Local groups may not be null");
+    Map<Long, LocalGroupSummary> summaries = new HashMap<>();
+    List<Long> ids = extractIds(localGroups, LocalGroup::getId);
+    ids.forEach(id -> summaries.put(id, new LocalGroupSummary()));
+
+    for (List<Long> batch : Iterables.partition(ids, BATCH_SIZE)) {
+      localGroupManager.repository().countMembers(batch).forEach(row -> summaries
+          .get(row[0]).setMemberCount(toInt(row[1])));
+      localGroupManager.repository().countEvents(batch).forEach(row -> summaries
+          .get(row[0]).setEventCount(toInt(row[1])));
+      localGroupManager.repository().countProjects(batch).forEach(row -> summaries
+          .get(row[0]).setProjectCount(toInt(row[1])));
+    }
+    return summaries;
+  }
+
+  /**
+   * @param projects the projects to count the contributors for
+   * @return the number of contributors, identified by the projects' IDs
+   */
+  @Transactional(readOnly = true)
+  public Map<Long, Integer> countContributors(Iterable<Project> projects) {
+    Assert.notNull(projects, "Projects may not be null");
+    Map<Long, Integer> counts = new HashMap<>();
+    for (List<Long> batch : Iterables.partition(extractIds(projects, Project::getId),
+        BATCH_SIZE)) {
+      projectManager.repository().countContributors(batch)
+          .forEach(row -> counts.put((Long) row[0], toInt(row[1])));
+    }
+    return counts;
+  }
+
+  /**
+   * @param newsletters the newsletters to count the subscribers for
+   * @return the number of subscribers, identified by the newsletters' IDs
+   */
+  @Transactional(readOnly = true)
+  public Map<Long, Integer> countSubscribers(Iterable<Newsletter> newsletters) {
+    Assert.notNull(newsletters, "Newsletters may not be null");
+    Map<Long, Integer> counts = new HashMap<>();
+    for (List<Long> batch : Iterables.partition(extractIds(newsletters, Newsletter::getId),
+        BATCH_SIZE)) {
+      newsletterRepo.countSubscribers(batch)
+          .forEach(row -> counts.put((Long) row[0], toInt(row[1])));
+    }
+    return counts;
+  }
+
+  /**
+   * @param events the events to summarize
+   * @return the summaries, identified by the events' IDs
+   */
+  @Transactional(readOnly = true)
+  public Map<EventId, ParticipantsSummary> summarizeParticipants(Iterable<Event> events) {
+    Assert.notNull(events, "Events may not be null");
+    Map<EventId, ParticipantsSummary> summaries = new HashMap<>();
+    for (List<EventId> batch : Iterables.partition(extractIds(events, Event::getId),
+        BATCH_SIZE)) {
+      eventManager.repository().countParticipants(batch).forEach(row -> summaries
+          .put((EventId) row[0], new ParticipantsSummary(toInt(row[1]), toInt(row[2]), 0)));
+      eventManager.repository().countReservedSlots(batch).forEach(row -> summaries
+          .get(row[0]).setReservedSlotsCount(toInt(row[1])));
+    }
+    return summaries;
+  }
+
+  /**
+   * @param entities the entities
+   * @param idExtractor function to obtain the ID of an entity
+   * @return the distinct IDs of the entities
+   */
+  private <T, ID> List<ID> extractIds(Iterable<T> entities, Function<T, ID> idExtractor) {
+    Set<ID> ids = new LinkedHashSet<>();
+    entities.forEach(entity -> ids.add(idExtractor.apply(entity)));
+    return new ArrayList<>(ids);
+  }
+
+  /**
+   * @param count the result of a {@code COUNT} or {@code SUM} expression
+   * @return the count as an int
+   */
+  private int toInt(Object count) {
+    return ((Number) count).intValue();
+  }
+
+}
@@ -1,10 +1,10 @@
 package de.naju.adebar.controller;
 
-import java.time.LocalDateTime;
 import java.util.Arrays;
-import java.util.stream.Stream;
+import java.util.List;
 import javax.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.util.Assert;
@@ -13,14 +13,17 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import com.google.common.collect.Iterables;
 import de.naju.adebar.app.chapter.LocalGroupManager;
 import de.naju.adebar.app.chapter.ProjectManager;
 import de.naju.adebar.app.events.EventDataProcessor;
-import de.naju.adebar.app.events.EventDataProcessor.EventType;
+import de.naju.adebar.app.events.EventIntervalIndex;
 import de.naju.adebar.app.events.EventManager;
+import de.naju.adebar.app.events.EventRegistrationService;
 import de.naju.adebar.app.events.filter.EventFilterBuilder;
 import de.naju.adebar.app.human.DataProcessor;
 import de.naju.adebar.app.human.PersonManager;
+import de.naju.adebar.app.summary.SummaryQuery;
 import de.naju.adebar.controller.forms.events.EventForm;
 import de.naju.adebar.controller.forms.events.FilterEventsForm;
 import de.naju.adebar.model.chapter.LocalGroup;
@@ -49,6 +52,7 @@ public class EventController {
 
   private PersonManager personManager;
   private EventManager eventManager;
+  private EventRegistrationService registrationService;
   private LocalGroupManager localGroupManager;
   private ProjectManager projectManager;
   private EventFormDataExtractor eventFormDataExtractor;
@@ -56,20 +60,22 @@ public class EventController {
   private FilterEventsFormDataExtractor filterEventsFormDataExtractor;
   private DataProcessor humanDataProcessor;
   private EventDataProcessor eventDataProcessor;
+  private SummaryQuery summaryQuery;
 
   @Autowired
   public EventController(PersonManager personManager, EventManager eventManager,
-      LocalGroupManager localGroupManager, ProjectManager projectManager,
-      EventFormDataExtractor eventFormDataExtractor,
+      EventRegistrationService registrationService, LocalGroupManager localGroupManager,
+      ProjectManager projectManager, EventFormDataExtractor eventFormDataExtractor,
       EventToEventFormConverter eventToEventFormConverter,
       FilterEventsFormDataExtractor filterEventsFormDataExtractor, DataProcessor humanDataProcessor,
-      EventDataProcessor eventDataProcessor) {
-    Object[] params = {personManager, eventManager, localGroupManager, projectManager,
-        eventFormDataExtractor, eventToEventFormConverter, filterEventsFormDataExtractor,
-        humanDataProcessor, eventDataProcessor};
+      EventDataProcessor eventDataProcessor, SummaryQuery summaryQuery) {
+    Object[] params = {personManager, eventManager, registrationService, localGroupManager,
+        projectManager, eventFormDataExtractor, eventToEventFormConverter,
+        filterEventsFormDataExtractor, humanDataProcessor, eventDataProcessor, summaryQuery};
     Assert.noNullElements(params, "No parameter may be null: " + Arrays.toString(params));
     this.personManager = personManager;
     this.eventManager = eventManager;
+    this.registrationService = registrationService;
     this.localGroupManager = localGroupManager;
     this.projectManager = projectManager;
     this.eventFormDataExtractor = eventFormDataExtractor;
@@ -77,10 +83,13 @@ public class EventController {
     this.filterEventsFormDataExtractor = filterEventsFormDataExtractor;
     this.humanDataProcessor = humanDataProcessor;
     this.eventDataProcessor = eventDataProcessor;
+    this.summaryQuery = summaryQuery;
   }
 
   /**
-   * Displays the event overview
+   * Displays the event overview. The events are found through the {@link EventIntervalIndex}, so
+   * events created or rescheduled by another instance of the application will only show up once
+   * the index has been rebuilt (see {@code adebar.events.index.rebuild-interval-seconds}).
    * 
    * @param model model containing the data to display
    * @return the events' overview view
@@ -89,20 +98,22 @@ public class EventController {
   public String showEventOverview(Model model) {
 
     Iterable<Event> currentEvents = eventManager.findOngoingEvents();
-    Iterable<Event> futureEvents =
-        eventManager.repository().findByStartTimeIsAfter(LocalDateTime.now());
+    Iterable<Event> futureEvents = eventManager.findFutureEvents();
 
     model.addAttribute("currentEvents", currentEvents);
     model.addAttribute("currentEventsLocalGroups",
-        eventDataProcessor.getLocalGroupBelonging(EventType.RUNNING));
+        eventDataProcessor.getLocalGroupBelonging(currentEvents));
     model.addAttribute("currentEventsProjects",
-        eventDataProcessor.getProjectBelonging(EventType.RUNNING));
+        eventDataProcessor.getProjectBelonging(currentEvents));
 
     model.addAttribute("futureEvents", futureEvents);
     model.addAttribute("futureEventsLocalGroups",
-        eventDataProcessor.getLocalGroupBelonging(EventType.FUTURE));
+        eventDataProcessor.getLocalGroupBelonging(futureEvents));
     model.addAttribute("futureEventsProjects",
-        eventDataProcessor.getProjectBelonging(EventType.FUTURE));
+        eventDataProcessor.getProjectBelonging(futureEvents));
+
+    model.addAttribute("participantsSummaries",
+        summaryQuery.summarizeParticipants(Iterables.concat(currentEvents, futureEvents)));
 
     model.addAttribute("addEventForm", new EventForm());
     model.addAttribute("filterEventsForm", new FilterEventsForm());
@@ -114,7 +125,8 @@ public class EventController {
   }
 
   /**
-   * Displays all past events
+   * Displays all past events. Just as for the {@link #showEventOverview(Model) overview}, changes
+   * made by other instances of the application may be missing until the index has been rebuilt.
    * 
    * @param model model from which the displayed data should be taken
    * @return the overview of all past events
@@ -122,14 +134,14 @@ public class EventController {
   @RequestMapping("/events/past")
   public String showPastEvents(Model model) {
 
-    Iterable<Event> pastEvents =
-        eventManager.repository().findByEndTimeIsBefore(LocalDateTime.now());
+    Iterable<Event> pastEvents = eventManager.findPastEvents();
 
     model.addAttribute("pastEvents", pastEvents);
     model.addAttribute("pastEventsLocalGroups",
-        eventDataProcessor.getLocalGroupBelonging(EventType.PAST));
+        eventDataProcessor.getLocalGroupBelonging(pastEvents));
     model.addAttribute("pastEventsProjects",
-        eventDataProcessor.getProjectBelonging(EventType.PAST));
+        eventDataProcessor.getProjectBelonging(pastEvents));
+    model.addAttribute("participantsSummaries", summaryQuery.summarizeParticipants(pastEvents));
 
     model.addAttribute("addEventForm", new EventForm());
     model.addAttribute("filterEventsForm", new FilterEventsForm());
@@ -150,8 +162,8 @@ public class EventController {
   @Transactional
   public String filterEvents(@ModelAttribute("filterEventsForm") FilterEventsForm eventsForm,
       Model model) {
-    Stream<Event> events = eventManager.repository().streamAll();
-    EventFilterBuilder filterBuilder = new EventFilterBuilder(events);
+    EventFilterBuilder filterBuilder = new EventFilterBuilder(eventManager.repository())
+        .orderBy(new Sort(Sort.Direction.ASC, "startTime"));
     filterEventsFormDataExtractor.extractAllFilters(eventsForm).forEach(filterBuilder::applyFilter);
 
     Iterable<Event> matchingEvents = filterBuilder.filter();
@@ -161,6 +173,8 @@ public class EventController {
         eventDataProcessor.getLocalGroupBelonging(matchingEvents));
     model.addAttribute("filteredEventsProjects",
         eventDataProcessor.getProjectBelonging(matchingEvents));
+    model.addAttribute("participantsSummaries",
+        summaryQuery.summarizeParticipants(matchingEvents));
 
     model.addAttribute("addEventForm", new EventForm());
     model.addAttribute("filterEventsForm", new FilterEventsForm());
@@ -267,12 +281,10 @@ public class EventController {
   @RequestMapping("/events/{eid}/participants/add")
   public String addParticipant(@PathVariable("eid") String eventId,
       @RequestParam("person-id") String personId, RedirectAttributes redirAttr) {
-    Event event = eventManager.findEvent(eventId).orElseThrow(IllegalArgumentException::new);
     Person person = personManager.findPerson(personId).orElseThrow(IllegalArgumentException::new);
 
     try {
-      event.addParticipant(person);
-      eventManager.updateEvent(eventId, event);
+      registrationService.addParticipant(eventId, person);
       redirAttr.addFlashAttribute("participantAdded", true);
     } catch (ExistingParticipantException e) {
       redirAttr.addFlashAttribute("participatesAlready", true);
@@ -297,12 +309,10 @@ public class EventController {
   @RequestMapping("/events/{eid}/participants/force-add")
   public String addParticipantIgnoreAge(@PathVariable("eid") String eventId,
       @RequestParam("person-id") String personId, RedirectAttributes redirAttr) {
-    Event event = eventManager.findEvent(eventId).orElseThrow(IllegalArgumentException::new);
     Person person = personManager.findPerson(personId).orElseThrow(IllegalArgumentException::new);
 
     try {
-      event.addParticipantIgnoreAge(person);
-      eventManager.updateEvent(eventId, event);
+      registrationService.addParticipantIgnoreAge(eventId, person);
       redirAttr.addFlashAttribute("participantAdded", true);
     } catch (ExistingParticipantException e) {
       redirAttr.addFlashAttribute("participatesAlready", true);
@@ -336,8 +346,7 @@ public class EventController {
     participationInfo.setParticipationFeePayed(feePayed);
     participationInfo.setRegistrationFormFilled(formReceived);
     participationInfo.setRemarks(remarks);
-    event.updateParticipationInfo(person, participationInfo);
-    eventManager.updateEvent(eventId, event);
+    eventManager.updateParticipation(event, person, participationInfo);
 
     redirAttr.addFlashAttribute("participationInfoUpdated", true);
     return "redirect:/events/" + eventId;
@@ -354,13 +363,14 @@ public class EventController {
   @RequestMapping("/events/{eid}/participants/remove")
   public String removeParticipant(@PathVariable("eid") String eventId,
       @RequestParam("person-id") String personId, RedirectAttributes redirAttr) {
-    Event event = eventManager.findEvent(eventId).orElseThrow(IllegalArgumentException::new);
     Person person = personManager.findPerson(personId).orElseThrow(IllegalArgumentException::new);
 
-    event.removeParticipant(person);
-    eventManager.updateEvent(eventId, event);
+    List<Person> promoted = registrationService.removeParticipant(eventId, person);
 
     redirAttr.addFlashAttribute("participantRemoved", true);
+    if (!promoted.isEmpty()) {
+      redirAttr.addFlashAttribute("waitingListEntriesPromoted", promoted.size());
+    }
     return "redirect:/events/" + eventId;
   }
 
@@ -610,12 +620,10 @@ public class EventController {
   @RequestMapping("/events/{eid}/waitingList/add")
   public String addWaitingListEntry(@PathVariable("eid") String eventId,
       @RequestParam("person-id") String personId, RedirectAttributes redirAttr) {
-    Event event = eventManager.findEvent(eventId).orElseThrow(IllegalArgumentException::new);
     Person person = personManager.findPerson(personId).orElseThrow(IllegalArgumentException::new);
 
     try {
-      event.putOnWaitingList(person);
-      eventManager.updateEvent(eventId, event);
+      registrationService.putOnWaitingList(eventId, person);
       redirAttr.addFlashAttribute("waitingListEntryAdded", true);
     } catch (ExistingParticipantException e) {
       redirAttr.addFlashAttribute("waitingListEntryParticipates", true);
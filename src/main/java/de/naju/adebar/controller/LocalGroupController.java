@@ -11,8 +11,10 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import de.naju.adebar.app.chapter.LocalGroupManager;
+import de.naju.adebar.app.chapter.ProjectManager;
 import de.naju.adebar.app.human.DataProcessor;
 import de.naju.adebar.app.human.PersonManager;
+import de.naju.adebar.app.summary.SummaryQuery;
 import de.naju.adebar.controller.forms.chapter.AddLocalGroupForm;
 import de.naju.adebar.controller.forms.chapter.BoardForm;
 import de.naju.adebar.controller.forms.chapter.LocalGroupForm;
@@ -47,6 +49,8 @@ public class LocalGroupController {
   private BoardFormDataExtractor boardFormDataExtractor;
   private BoardToBoardFormConverter boardFormConverter;
   private DataProcessor humanDataProcessor;
+  private SummaryQuery summaryQuery;
+  private ProjectManager projectManager;
 
   @Autowired
   public LocalGroupController(LocalGroupManager localGroupManager, PersonManager personManager,
@@ -54,10 +58,10 @@ public class LocalGroupController {
       LocalGroupFormDataExtractor localGroupFormDataExtractor,
       LocalGroupToLocalGroupFormConverter localGroupFormConverter,
       BoardFormDataExtractor boardFormDataExtractor, BoardToBoardFormConverter boardFormConverter,
-      DataProcessor humanDataProcessor) {
+      DataProcessor humanDataProcessor, SummaryQuery summaryQuery, ProjectManager projectManager) {
     Object[] params = {localGroupManager, personManager, localGroupFormDataExtractor,
         addLocalGroupFormDataExtractor, localGroupFormConverter, boardFormDataExtractor,
-        boardFormConverter, humanDataProcessor};
+        boardFormConverter, humanDataProcessor, summaryQuery, projectManager};
     Assert.noNullElements(params, "No parameter may be null: " + Arrays.toString(params));
     this.localGroupManager = localGroupManager;
     this.personManager = personManager;
@@ -67,6 +71,8 @@ public class LocalGroupController {
     this.boardFormDataExtractor = boardFormDataExtractor;
     this.boardFormConverter = boardFormConverter;
     this.humanDataProcessor = humanDataProcessor;
+    this.summaryQuery = summaryQuery;
+    this.projectManager = projectManager;
   }
 
   /**
@@ -77,7 +83,9 @@ public class LocalGroupController {
    */
   @RequestMapping("/localGroups")
   public String showLocalGroupsOverview(Model model) {
-    model.addAttribute("localGroups", localGroupManager.repository().findAll());
+    Iterable<LocalGroup> localGroups = localGroupManager.repository().findAll();
+    model.addAttribute("localGroups", localGroups);
+    model.addAttribute("localGroupSummaries", summaryQuery.summarizeLocalGroups(localGroups));
     model.addAttribute("localGroupForm", new AddLocalGroupForm());
     return "localGroups";
   }
@@ -120,6 +128,8 @@ public class LocalGroupController {
     model.addAttribute("contactPersons", contactPersons);
     model.addAttribute("chairman", board != null ? board.getChairman() : null);
     model.addAttribute("board", boardMembers);
+    model.addAttribute("nextEvents",
+        projectManager.findNextEvents(localGroup.getProjects().values()));
 
     model.addAttribute("memberEmails",
         humanDataProcessor.extractEmailAddressesAsString(members, EMAIL_DELIMITER));
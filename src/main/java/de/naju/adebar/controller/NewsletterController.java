@@ -1,7 +1,9 @@
 package de.naju.adebar.controller;
 
 import de.naju.adebar.app.newsletter.NewsletterDataProcessor;
+import de.naju.adebar.app.newsletter.NewsletterDispatchService;
 import de.naju.adebar.app.newsletter.NewsletterManager;
+import de.naju.adebar.app.summary.SummaryQuery;
 import de.naju.adebar.controller.forms.newsletter.AddNewsletterForm;
 import de.naju.adebar.model.chapter.LocalGroup;
 import de.naju.adebar.app.chapter.LocalGroupManager;
@@ -12,6 +14,8 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import java.util.Optional;
 
@@ -27,17 +31,22 @@ public class NewsletterController {
   private SubscriberRepository subscriberRepo;
   private NewsletterManager newsletterManager;
   private NewsletterDataProcessor dataProcessor;
+  private NewsletterDispatchService dispatchService;
   private LocalGroupManager localGroupManager;
+  private SummaryQuery summaryQuery;
 
   @Autowired
   public NewsletterController(NewsletterRepository newsletterRepo,
       SubscriberRepository subscriberRepo, NewsletterManager newsletterManager,
-      NewsletterDataProcessor dataProcessor, LocalGroupManager localGroupManager) {
+      NewsletterDataProcessor dataProcessor, NewsletterDispatchService dispatchService,
+      LocalGroupManager localGroupManager, SummaryQuery summaryQuery) {
     this.newsletterRepo = newsletterRepo;
     this.subscriberRepo = subscriberRepo;
     this.newsletterManager = newsletterManager;
     this.dataProcessor = dataProcessor;
+    this.dispatchService = dispatchService;
     this.localGroupManager = localGroupManager;
+    this.summaryQuery = summaryQuery;
   }
 
   /**
@@ -48,7 +57,9 @@ public class NewsletterController {
    */
   @RequestMapping("/newsletters")
   public String showNewsletters(Model model) {
-    model.addAttribute("newsletters", newsletterRepo.findAll());
+    Iterable<Newsletter> newsletters = newsletterRepo.findAll();
+    model.addAttribute("newsletters", newsletters);
+    model.addAttribute("subscriberCounts", summaryQuery.countSubscribers(newsletters));
     model.addAttribute("subscribers", subscriberRepo.findFirst10ByOrderByEmail());
     model.addAttribute("localGroups", dataProcessor.getLocalGroupBelonging());
     model.addAttribute("events", dataProcessor.getEventBelonging());
@@ -95,8 +106,9 @@ public class NewsletterController {
     Newsletter newsletter = newsletterRepo.findOne(newsletterId);
 
     model.addAttribute("newsletter", newsletter);
-    model.addAttribute("recipients", dataProcessor.getSubscriberEmails(newsletter));
+    model.addAttribute("recipientChunks", dataProcessor.getSubscriberEmailChunks(newsletter));
     model.addAttribute("sender", dataProcessor.getNewsletterEmail());
+    model.addAttribute("dispatches", dispatchService.findDispatches(newsletter));
 
     Optional<LocalGroup> localGroup =
         localGroupManager.repository().findByNewslettersContains(newsletter);
@@ -110,6 +122,26 @@ public class NewsletterController {
     return "newsletterDetails";
   }
 
+  /**
+   * Sends an email to all subscribers of a newsletter. The email will be queued and sent in the
+   * background.
+   *
+   * @param newsletterId the newsletter's id
+   * @param subject the subject of the email
+   * @param content the text of the email
+   * @param redirAttr attributes for the view to display some result information
+   * @return the newsletter detail view
+   */
+  @RequestMapping(value = "/newsletters/{nid}/send", method = RequestMethod.POST)
+  public String sendNewsletter(@PathVariable("nid") Long newsletterId,
+      @RequestParam("subject") String subject, @RequestParam("content") String content,
+      RedirectAttributes redirAttr) {
+    Newsletter newsletter = newsletterRepo.findOne(newsletterId);
+    dispatchService.queue(newsletter, subject, content);
+    redirAttr.addFlashAttribute("newsletterQueued", true);
+    return "redirect:/newsletters/" + newsletterId;
+  }
+
   /**
    * Removes a newsletter
    * 
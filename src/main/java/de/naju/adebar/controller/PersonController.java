@@ -1,7 +1,7 @@
 package de.naju.adebar.controller;
 
 import java.util.Arrays;
-import java.util.stream.Stream;
+import java.util.Optional;
 import javax.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -16,15 +16,20 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import com.google.common.collect.Iterables;
 import de.naju.adebar.app.chapter.LocalGroupManager;
 import de.naju.adebar.app.human.DataProcessor;
+import de.naju.adebar.app.human.PersonCursor;
 import de.naju.adebar.app.human.PersonManager;
+import de.naju.adebar.app.human.PersonPage;
+import de.naju.adebar.app.human.PersonRoles;
+import de.naju.adebar.app.human.PersonRolesQuery;
 import de.naju.adebar.app.human.filter.PersonFilterBuilder;
+import de.naju.adebar.app.human.filter.PersonFilterQuery;
+import de.naju.adebar.app.human.filter.PersonProfile;
 import de.naju.adebar.controller.forms.human.AddQualificationForm;
 import de.naju.adebar.controller.forms.human.CreateParentForm;
 import de.naju.adebar.controller.forms.human.CreatePersonForm;
 import de.naju.adebar.controller.forms.human.EditActivistForm;
 import de.naju.adebar.controller.forms.human.EditPersonForm;
 import de.naju.adebar.controller.forms.human.FilterPersonForm;
-import de.naju.adebar.model.chapter.LocalGroup;
 import de.naju.adebar.model.human.ImpossibleKinshipRelationException;
 import de.naju.adebar.model.human.Person;
 import de.naju.adebar.model.human.Qualification;
@@ -47,6 +52,7 @@ import de.naju.adebar.services.conversion.human.PersonToEditPersonFormConverter;
 @PreAuthorize("hasRole('ROLE_USER')")
 public class PersonController {
   private final static String EMAIL_DELIMITER = ";";
+  private final static int PAGE_SIZE = 25;
 
   private PersonManager personManager;
   private QualificationManager qualificationManager;
@@ -57,6 +63,8 @@ public class PersonController {
   private FilterPersonFormFilterExtractor filterPersonFormFilterExtractor;
   private AddQualificationFormDataExtractor addQualificationFormDataExtractor;
   private DataProcessor dataProcessor;
+  private PersonFilterQuery personFilterQuery;
+  private PersonRolesQuery personRolesQuery;
 
   @Autowired
   public PersonController(PersonManager personManager, QualificationManager qualificationManager,
@@ -66,10 +74,12 @@ public class PersonController {
       EditActivistFormDataExtractor editActivistFormDataExtractor,
       FilterPersonFormFilterExtractor filterPersonFormFilterExtractor,
       AddQualificationFormDataExtractor addQualificationFormDataExtractor,
-      DataProcessor dataProcessor) {
+      DataProcessor dataProcessor, PersonFilterQuery personFilterQuery,
+      PersonRolesQuery personRolesQuery) {
     Object[] params = {personManager, qualificationManager, localGroupManager, localGroupManager,
         createPersonFormDataExtractor, editPersonFormDataExtractor, editActivistFormDataExtractor,
-        filterPersonFormFilterExtractor, addQualificationFormDataExtractor, dataProcessor};
+        filterPersonFormFilterExtractor, addQualificationFormDataExtractor, dataProcessor,
+        personFilterQuery, personRolesQuery};
     Assert.noNullElements(params, "At least one parameter was null: " + Arrays.toString(params));
     this.personManager = personManager;
     this.localGroupManager = localGroupManager;
@@ -80,6 +90,8 @@ public class PersonController {
     this.qualificationManager = qualificationManager;
     this.addQualificationFormDataExtractor = addQualificationFormDataExtractor;
     this.dataProcessor = dataProcessor;
+    this.personFilterQuery = personFilterQuery;
+    this.personRolesQuery = personRolesQuery;
   }
 
   /**
@@ -92,23 +104,31 @@ public class PersonController {
   public String showPersonOverview(Model model) {
     model.addAttribute("addPersonForm", new CreatePersonForm());
     model.addAttribute("filterPersonsForm", new FilterPersonForm());
-    model.addAttribute("persons", personManager.repository().findFirst25());
+    addPersonPage(model, personManager.findFirstPersonPage(PAGE_SIZE));
     model.addAttribute("chapters", localGroupManager.repository().findAll());
     model.addAttribute("qualifications", qualificationManager.repository().findAll());
     return "persons";
   }
 
   /**
-   * Displays the person overview with all persons
+   * Displays the person overview page by page
    * 
+   * @param after the encoded cursor of the person after which the page should start. If omitted
+   *        or malformed, the first page will be displayed
    * @param model model to display the data in
    * @return the persons' overview view
    */
   @RequestMapping("/persons/all")
-  public String showAllPersons(Model model) {
+  public String showAllPersons(@RequestParam(name = "after", required = false) String after,
+      Model model) {
     model.addAttribute("addPersonForm", new CreatePersonForm());
     model.addAttribute("filterPersonsForm", new FilterPersonForm());
-    model.addAttribute("persons", personManager.repository().findAllOrderByLastName());
+    Optional<PersonCursor> cursor = PersonCursor.tryDecode(after);
+    if (cursor.isPresent()) {
+      addPersonPage(model, personManager.findPersonPageAfter(cursor.get(), PAGE_SIZE));
+    } else {
+      addPersonPage(model, personManager.findFirstPersonPage(PAGE_SIZE));
+    }
     model.addAttribute("qualifications", qualificationManager.repository().findAll());
     return "persons";
   }
@@ -179,8 +199,9 @@ public class PersonController {
   @Transactional
   public String filterPersons(
       @ModelAttribute("filterPersonsForm") FilterPersonForm filterPersonForm, Model model) {
-    Stream<Person> persons = personManager.repository().streamAll();
-    PersonFilterBuilder filterBuilder = new PersonFilterBuilder(persons);
+    // the overview displays the participants' dates of birth
+    PersonFilterBuilder filterBuilder =
+        new PersonFilterBuilder(personFilterQuery).fetchProfiles(PersonProfile.PARTICIPANT);
     filterPersonFormFilterExtractor.extractAllFilters(filterPersonForm)
         .forEach(filterBuilder::applyFilter);
 
@@ -217,17 +238,16 @@ public class PersonController {
 
     model.addAttribute("person", person);
 
-    if (person.isActivist()) {
-      Iterable<LocalGroup> localGroups =
-          localGroupManager.repository().findByMembersContains(person);
-      Iterable<LocalGroup> boards = localGroupManager.findAllLocalGroupsForBoardMember(person);
+    PersonRoles roles = person.isActivist() || person.isReferent()
+        ? personRolesQuery.findRoles(person.getId())
+        : PersonRoles.none();
+    model.addAttribute("roles", roles);
 
+    if (person.isActivist()) {
       model.addAttribute("isActivist", !person.isArchived());
       model.addAttribute("editActivistForm",
           new ActivistToEditActivistFormConverter(localGroupManager.repository())
-              .convertToEditActivistForm(person));
-      model.addAttribute("localGroups", Iterables.isEmpty(localGroups) ? null : localGroups);
-      model.addAttribute("boards", Iterables.isEmpty(boards) ? null : boards);
+              .convertToEditActivistForm(person, roles.getLocalGroups()));
     } else {
       model.addAttribute("isActivist", false);
       model.addAttribute("editActivistForm", new EditActivistForm());
@@ -425,4 +445,15 @@ public class PersonController {
     return "redirect:/persons/" + personId;
   }
 
+  /**
+   * Puts the persons of a page into the model, as well as the cursor to the next page (if any)
+   * 
+   * @param model the model to display the data in
+   * @param page the page to display
+   */
+  private void addPersonPage(Model model, PersonPage page) {
+    model.addAttribute("persons", page.getPersons());
+    page.getNext().ifPresent(next -> model.addAttribute("nextPage", next.encode()));
+  }
+
 }
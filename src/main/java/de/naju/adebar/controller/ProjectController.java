@@ -67,6 +67,7 @@ public class ProjectController {
     Iterable<Person> contributors = project.getContributors();
 
     model.addAttribute("project", project);
+    model.addAttribute("nextEvent", projectManager.findNextEvent(project).orElse(null));
     model.addAttribute("contributorEmails",
         humanDataProcessor.extractEmailAddressesAsString(contributors, EMAIL_DELIMITER));
 
@@ -6,6 +6,7 @@ import de.naju.adebar.app.human.PersonManager;
 import de.naju.adebar.app.newsletter.NewsletterDataProcessor;
 import de.naju.adebar.app.newsletter.NewsletterManager;
 import de.naju.adebar.app.newsletter.SubscriberManager;
+import de.naju.adebar.app.summary.SummaryQuery;
 import de.naju.adebar.controller.forms.newsletter.AddNewsletterForm;
 import de.naju.adebar.app.chapter.LocalGroupManager;
 import de.naju.adebar.model.human.Person;
@@ -39,16 +40,19 @@ public class SubscriberController {
   private PersonToSubscriberConverter personToSubscriberConverter;
   private NewsletterDataProcessor dataProcessor;
   private LocalGroupManager localGroupManager;
+  private SummaryQuery summaryQuery;
 
   @Autowired
   public SubscriberController(NewsletterRepository newsletterRepo,
       SubscriberRepository newsletterSubscriberRepo, NewsletterManager newsletterManager,
       SubscriberManager subscriberManager, PersonManager personManager,
       PersonToSubscriberConverter personToSubscriberConverter,
-      NewsletterDataProcessor dataProcessor, LocalGroupManager localGroupManager) {
+      NewsletterDataProcessor dataProcessor, LocalGroupManager localGroupManager,
+      SummaryQuery summaryQuery) {
     Object[] params =
         {newsletterRepo, newsletterSubscriberRepo, newsletterManager, subscriberManager,
-            personManager, personToSubscriberConverter, dataProcessor, localGroupManager};
+            personManager, personToSubscriberConverter, dataProcessor, localGroupManager,
+            summaryQuery};
     Assert.notNull(params, "At least one parameter was null: " + Arrays.toString(params));
     this.newsletterRepo = newsletterRepo;
     this.subscriberRepo = newsletterSubscriberRepo;
@@ -58,6 +62,7 @@ public class SubscriberController {
     this.personToSubscriberConverter = personToSubscriberConverter;
     this.dataProcessor = dataProcessor;
     this.localGroupManager = localGroupManager;
+    this.summaryQuery = summaryQuery;
   }
 
   /**
@@ -68,7 +73,9 @@ public class SubscriberController {
    */
   @RequestMapping(value = "newsletters/subscribers/all")
   public String showAllNewsletterSubscribers(Model model) {
-    model.addAttribute("newsletters", newsletterRepo.findAll());
+    Iterable<Newsletter> newsletters = newsletterRepo.findAll();
+    model.addAttribute("newsletters", newsletters);
+    model.addAttribute("subscriberCounts", summaryQuery.countSubscribers(newsletters));
     model.addAttribute("subscribers", subscriberRepo.findAll());
     model.addAttribute("localGroups", dataProcessor.getLocalGroupBelonging());
     model.addAttribute("events", dataProcessor.getEventBelonging());
@@ -3,18 +3,24 @@ package de.naju.adebar.controller.api;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.util.Assert;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import de.naju.adebar.api.data.EventBelongingJSON;
 import de.naju.adebar.api.data.SimpleEventJSON;
 import de.naju.adebar.app.chapter.LocalGroupManager;
+import de.naju.adebar.app.events.EventDataProcessor;
 import de.naju.adebar.app.events.EventManager;
+import de.naju.adebar.app.events.EventRegistrationService;
 import de.naju.adebar.model.chapter.LocalGroup;
 import de.naju.adebar.model.events.BookedOutException;
 import de.naju.adebar.model.events.Event;
+import de.naju.adebar.model.events.EventId;
 import de.naju.adebar.model.events.Reservation;
+import de.naju.adebar.model.events.TooFewEmptySlotsException;
 
 /**
  * REST controller to access event data
@@ -26,14 +32,19 @@ import de.naju.adebar.model.events.Reservation;
 @RequestMapping("/api/events")
 public class EventController {
   private EventManager eventManager;
+  private EventRegistrationService registrationService;
   private LocalGroupManager groupManager;
+  private EventDataProcessor dataProcessor;
 
   @Autowired
-  public EventController(EventManager eventManager, LocalGroupManager groupManager) {
-    Object[] params = {eventManager, groupManager};
+  public EventController(EventManager eventManager, EventRegistrationService registrationService,
+      LocalGroupManager groupManager, EventDataProcessor dataProcessor) {
+    Object[] params = {eventManager, registrationService, groupManager, dataProcessor};
     Assert.noNullElements(params, "At least one parameter was null: " + Arrays.toString(params));
     this.eventManager = eventManager;
+    this.registrationService = registrationService;
     this.groupManager = groupManager;
+    this.dataProcessor = dataProcessor;
   }
 
   /**
@@ -53,6 +64,24 @@ public class EventController {
     return events;
   }
 
+  /**
+   * Provides the local groups and projects which host some events
+   * 
+   * @param eventIds the ids of the events
+   * @return the hosts of all of the events which belong to a local group or a project
+   */
+  @RequestMapping("/belonging")
+  public Iterable<EventBelongingJSON> sendEventBelonging(
+      @RequestParam("events") List<String> eventIds) {
+    List<EventId> events = eventIds.stream().map(EventId::new).collect(Collectors.toList());
+    List<EventBelongingJSON> belonging = new LinkedList<>();
+    dataProcessor.getLocalGroupBelonging(events)
+        .forEach((event, localGroup) -> belonging.add(new EventBelongingJSON(event, localGroup)));
+    dataProcessor.getProjectBelonging(events)
+        .forEach((event, project) -> belonging.add(new EventBelongingJSON(event, project)));
+    return belonging;
+  }
+
   /**
    * Creates a new reservation for an event
    * 
@@ -67,12 +96,10 @@ public class EventController {
       @RequestParam(name = "description", required = true) String description,
       @RequestParam(name = "slots", required = true) int slots,
       @RequestParam(name = "email", defaultValue = "") String email) {
-    Event event = eventManager.findEvent(eventId).orElseThrow(IllegalArgumentException::new);
-
     try {
-      event.addReservationFor(description, slots, email);
-      eventManager.updateEvent(eventId, event);
-    } catch (BookedOutException e) {
+      registrationService.addReservationFor(eventId, description, slots, email);
+    } catch (BookedOutException | TooFewEmptySlotsException e) {
+      Event event = eventManager.findEvent(eventId).orElseThrow(IllegalArgumentException::new);
       return new OverbookedResponse(event.getRemainingCapacity());
     } catch (IllegalArgumentException e) {
       return new ErrorResponse(e.getMessage());
@@ -119,11 +146,8 @@ public class EventController {
   @RequestMapping("/removeReservation")
   public JsonResponse removeReservation(@RequestParam("event") String eventId,
       @RequestParam("id") String description) {
-    Event event = eventManager.findEvent(eventId).orElseThrow(IllegalArgumentException::new);
-
     try {
-      event.removeReservation(description);
-      eventManager.updateEvent(eventId, event);
+      registrationService.removeReservation(eventId, description);
     } catch (IllegalArgumentException e) {
       return new ErrorResponse(e.getMessage());
     }
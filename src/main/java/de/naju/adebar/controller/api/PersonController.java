@@ -1,22 +1,28 @@
 package de.naju.adebar.controller.api;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Arrays;
-import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
+import javax.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.util.Assert;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.querydsl.core.types.Predicate;
+import de.naju.adebar.api.data.PersonPageJSON;
 import de.naju.adebar.api.data.SimplePersonJSON;
 import de.naju.adebar.api.forms.FilterPersonForm;
 import de.naju.adebar.api.util.DataFormatter;
+import de.naju.adebar.app.human.PersonCursor;
 import de.naju.adebar.app.human.PersonManager;
-import de.naju.adebar.model.human.Person;
-import de.naju.adebar.services.api.PersonSearchPredicateCreator;
+import de.naju.adebar.app.human.PersonSearchIndex;
+import de.naju.adebar.app.human.SearchablePersonQuery;
 import de.naju.adebar.services.conversion.human.FilterToPredicateConverter;
 
 /**
@@ -28,37 +34,73 @@ import de.naju.adebar.services.conversion.human.FilterToPredicateConverter;
 @RestController("api_personController")
 @RequestMapping("/api/persons")
 public class PersonController {
+  private final static int MAX_PAGE_SIZE = 100;
+
   private PersonManager personManager;
   private DataFormatter dataFormatter;
   private FilterToPredicateConverter predicateConverter;
-  private PersonSearchPredicateCreator searchPredicateCreator;
+  private PersonSearchIndex searchIndex;
+  private SearchablePersonQuery personQuery;
+  private ObjectMapper objectMapper;
 
   @Autowired
   public PersonController(PersonManager personManager, DataFormatter dataFormatter,
-      FilterToPredicateConverter predicateConverter,
-      PersonSearchPredicateCreator searchPredicateCreator) {
-    Object[] params = {personManager, dataFormatter, predicateConverter, searchPredicateCreator};
+      FilterToPredicateConverter predicateConverter, PersonSearchIndex searchIndex,
+      SearchablePersonQuery personQuery, ObjectMapper objectMapper) {
+    Object[] params =
+        {personManager, dataFormatter, predicateConverter, searchIndex, personQuery, objectMapper};
     Assert.noNullElements(params,
         "No parameter may be null, but at least one was: " + Arrays.toString(params));
     this.personManager = personManager;
     this.dataFormatter = dataFormatter;
     this.predicateConverter = predicateConverter;
-    this.searchPredicateCreator = searchPredicateCreator;
+    this.searchIndex = searchIndex;
+    this.personQuery = personQuery;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Provides all non-archived persons page by page, ordered by their last name, first name and ID
+   * 
+   * @param after the encoded cursor of the person after which the page should start. If omitted,
+   *        the first page will be sent
+   * @param size the number of persons per page. May not exceed {@value #MAX_PAGE_SIZE}
+   * @param response the response to send a "400 Bad Request" through if the cursor is malformed
+   *        or the size is out of range
+   * @return the page
+   * @throws IOException if the error could not be sent
+   */
+  @RequestMapping("/page")
+  public PersonPageJSON sendPersonPage(@RequestParam(name = "after", required = false) String after,
+      @RequestParam(name = "size", defaultValue = "25") int size, HttpServletResponse response)
+      throws IOException {
+    if (size <= 0 || size > MAX_PAGE_SIZE) {
+      response.sendError(HttpServletResponse.SC_BAD_REQUEST,
+          "Page size must be between 1 and " + MAX_PAGE_SIZE + " but was: " + size);
+      return null;
+    }
+    if (after == null || after.isEmpty()) {
+      return new PersonPageJSON(personManager.findFirstPersonPage(size));
+    }
+    Optional<PersonCursor> cursor = PersonCursor.tryDecode(after);
+    if (!cursor.isPresent()) {
+      response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Malformed cursor: " + after);
+      return null;
+    }
+    return new PersonPageJSON(personManager.findPersonPageAfter(cursor.get(), size));
   }
 
   /**
-   * Searches for persons whose name, address or email match the query given
+   * Searches for persons whose name, address or email match the query given. The search will be
+   * answered by the {@link PersonSearchIndex} and therefore does not need to access the database.
    * 
-   * @param query
-   * @return
+   * @param query the query
+   * @return the matching persons, best matches first
    */
   @RequestMapping("/defaultSearch")
   public Iterable<SimplePersonJSON> sendMatches(@RequestParam("query") String query) {
-    query = query.trim();
-    Predicate predicate = searchPredicateCreator.createPredicate(query);
-    List<Person> matches = personManager.repository().findAll(predicate);
-    matches.sort((p1, p2) -> p1.getLastName().compareTo(p2.getLastName()));
-    return matches.stream().map(SimplePersonJSON::new).collect(Collectors.toList());
+    return searchIndex.search(query.trim()).stream().map(SimplePersonJSON::new)
+        .collect(Collectors.toList());
   }
 
   /**
@@ -68,21 +110,18 @@ public class PersonController {
    * @param firstName the person's first name if required
    * @param lastName the person's last name if required
    * @param city the person's address if required
-   * @return all persons who matched the given criteria
+   * @param response the response to write all persons who matched the given criteria to
+   * @throws IOException if the response could not be written
    */
   @RequestMapping("/simpleSearch")
-  public Iterable<SimplePersonJSON> sendMatchingPersons(@RequestParam("firstname") String firstName,
-      @RequestParam("lastname") String lastName, @RequestParam("city") String city) {
+  public void sendMatchingPersons(@RequestParam("firstname") String firstName,
+      @RequestParam("lastname") String lastName, @RequestParam("city") String city,
+      HttpServletResponse response) throws IOException {
     firstName = dataFormatter.adjustFirstLetterCase(firstName);
     lastName = dataFormatter.adjustFirstLetterCase(lastName);
     city = dataFormatter.adjustFirstLetterCase(city);
 
-    List<Person> matches = personManager.repository()
-        .findAll(predicateConverter.fromFields(firstName, lastName, city));
-    List<SimplePersonJSON> result = new ArrayList<>(matches.size());
-    matches.forEach(m -> result.add(new SimplePersonJSON(m)));
-
-    return result;
+    writeMatches(predicateConverter.fromFields(firstName, lastName, city), response);
   }
 
   /**
@@ -92,41 +131,62 @@ public class PersonController {
    * @param firstName the activist's first name if required
    * @param lastName the activist's last name if required
    * @param city the activist's address if required
-   * @return all activists who matched the given criteria
+   * @param response the response to write all activists who matched the given criteria to
+   * @throws IOException if the response could not be written
    */
   @RequestMapping("/activists/simpleSearch")
-  public Iterable<SimplePersonJSON> sendMatchingActivists(
-      @RequestParam("firstname") String firstName, @RequestParam("lastname") String lastName,
-      @RequestParam("city") String city) {
+  public void sendMatchingActivists(@RequestParam("firstname") String firstName,
+      @RequestParam("lastname") String lastName, @RequestParam("city") String city,
+      HttpServletResponse response) throws IOException {
     firstName = dataFormatter.adjustFirstLetterCase(firstName);
     lastName = dataFormatter.adjustFirstLetterCase(lastName);
     city = dataFormatter.adjustFirstLetterCase(city);
 
-    List<Person> matches = personManager.repository()
-        .findAll(predicateConverter.activistsFromFields(firstName, lastName, city));
-    List<SimplePersonJSON> result = new ArrayList<>(matches.size());
-    matches.forEach(m -> result.add(new SimplePersonJSON(m)));
-
-    return result;
+    writeMatches(predicateConverter.activistsFromFields(firstName, lastName, city), response);
   }
 
   /**
    * Performs a full-fledged search for persons
    * 
    * @param form form containing the search criteria
-   * @return all matching persons
+   * @param response the response to write all matching persons to
+   * @throws IOException if the response could not be written
    */
   @RequestMapping(value = "/search", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
-  public Iterable<SimplePersonJSON> filterPersons(FilterPersonForm form) {
+  public void filterPersons(FilterPersonForm form, HttpServletResponse response)
+      throws IOException {
     dataFormatter.adjustFilterPersonForm(form);
 
-    List<Person> matches =
-        personManager.repository().findAll(predicateConverter.fromFields(form.getFirstName(),
-            form.getLastName(), form.getCity(), form.isActivist(), form.isReferent()));
-    List<SimplePersonJSON> result = new ArrayList<>(matches.size());
-    matches.forEach(m -> result.add(new SimplePersonJSON(m)));
+    writeMatches(predicateConverter.fromFields(form.getFirstName(), form.getLastName(),
+        form.getCity(), form.isActivist(), form.isReferent()), response);
+  }
 
-    return result;
+  /**
+   * Writes all persons matching a predicate as JSON array. The persons are serialized one after
+   * another while they are read from the database, so the result never has to be kept in memory
+   * as a whole.
+   *
+   * @param predicate the criteria the persons have to match
+   * @param response the response to write to
+   * @throws IOException if the response could not be written
+   */
+  private void writeMatches(Predicate predicate, HttpServletResponse response)
+      throws IOException {
+    response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+    try (JsonGenerator generator =
+        objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+      generator.writeStartArray();
+      personQuery.forEach(predicate, person -> {
+        try {
+          generator.writeObject(new SimplePersonJSON(person));
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+      generator.writeEndArray();
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
   }
 
 }
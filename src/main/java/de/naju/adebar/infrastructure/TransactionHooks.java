@@ -0,0 +1,38 @@
+package de.naju.adebar.infrastructure;
+
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+/**
+ * Utility functions to couple actions to the outcome of the current transaction. This is needed
+ * for in-memory data structures which mirror the database: they may only be changed once the
+ * database has been changed for sure.
+ *
+ * @author Rico Bergmann
+ */
+public class TransactionHooks {
+
+  /**
+   * Executes an action as soon as the current transaction has been committed. If the transaction
+   * is rolled back, the action will be discarded. If there is no transaction, the action will be
+   * executed immediately.
+   *
+   * @param action the action to execute
+   */
+  public static void afterCommit(Runnable action) {
+    Assert.notNull(action, "Action may not be null");
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronizationAdapter() {
+          @Override
+          public void afterCommit() {
+            action.run();
+          }
+        });
+  }
+
+}
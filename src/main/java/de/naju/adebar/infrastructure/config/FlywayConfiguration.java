@@ -0,0 +1,27 @@
+package de.naju.adebar.infrastructure.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import de.naju.adebar.infrastructure.schema.SchemaMigrator;
+
+/**
+ * Configuration of the schema migrations.
+ * <p>
+ * Spring Boot would apply the migrations before Hibernate is started. But as Hibernate still
+ * creates the tables, the migrations have to wait for it. Therefore they are not applied here but
+ * by the {@link SchemaMigrator}.
+ * </p>
+ *
+ * @author Rico Bergmann
+ */
+@Configuration
+public class FlywayConfiguration {
+
+  @Bean
+  public FlywayMigrationStrategy deferredMigrationStrategy() {
+    return flyway -> {
+    };
+  }
+
+}
@@ -0,0 +1,82 @@
+package de.naju.adebar.infrastructure.config;
+
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceBuilder;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import de.naju.adebar.infrastructure.datasource.ReplicaCacheGuard;
+import de.naju.adebar.infrastructure.datasource.ReplicaLagMonitor;
+import de.naju.adebar.infrastructure.datasource.ReplicaRoutingDataSource;
+
+/**
+ * Sends read-only transactions to a read replica if one is configured through the
+ * {@code adebar.datasource.replica.*} properties. The primary database is still configured through
+ * the usual {@code spring.datasource.*} properties. The connection pool settings
+ * ({@code spring.datasource.tomcat.*}) apply to both databases.
+ *
+ * @author Rico Bergmann
+ * @see ReplicaRoutingDataSource
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "adebar.datasource.replica", name = "url")
+public class ReplicaDataSourceConfiguration {
+
+  /**
+   * The lag from which on the replica will not be used any more, unless configured otherwise
+   */
+  public final static long DEFAULT_MAX_LAG_MILLIS = 5000;
+
+  /**
+   * The time between two measurements of the replica's lag, unless configured otherwise
+   */
+  public final static long DEFAULT_CHECK_INTERVAL_MILLIS = 1000;
+
+  private final static String REPLICA_PREFIX = "adebar.datasource.replica.";
+
+  @Bean
+  @ConfigurationProperties(prefix = "spring.datasource.tomcat")
+  public DataSource primaryDataSource(DataSourceProperties properties) {
+    return properties.initializeDataSourceBuilder().build();
+  }
+
+  @Bean
+  @ConfigurationProperties(prefix = "spring.datasource.tomcat")
+  public DataSource replicaDataSource(DataSourceProperties properties, Environment environment) {
+    return DataSourceBuilder.create(properties.getClassLoader()) //
+        .url(environment.getRequiredProperty(REPLICA_PREFIX + "url")) //
+        .username(environment.getProperty(REPLICA_PREFIX + "username", properties.getUsername())) //
+        .password(environment.getProperty(REPLICA_PREFIX + "password", properties.getPassword())) //
+        .driverClassName(environment.getProperty(REPLICA_PREFIX + "driver-class-name",
+            properties.determineDriverClassName())) //
+        .build();
+  }
+
+  @Bean(initMethod = "start", destroyMethod = "stop")
+  public ReplicaLagMonitor replicaLagMonitor(
+      @Qualifier("primaryDataSource") DataSource primaryDataSource,
+      @Qualifier("replicaDataSource") DataSource replicaDataSource, Environment environment) {
+    long maxLag = environment.getProperty(REPLICA_PREFIX + "max-lag-millis", Long.class,
+        DEFAULT_MAX_LAG_MILLIS);
+    long checkInterval = environment.getProperty(REPLICA_PREFIX + "check-interval-millis",
+        Long.class, DEFAULT_CHECK_INTERVAL_MILLIS);
+    return new ReplicaLagMonitor(primaryDataSource, replicaDataSource, Duration.ofMillis(maxLag),
+        Duration.ofMillis(checkInterval));
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+      @Qualifier("replicaDataSource") DataSource replicaDataSource,
+      ReplicaLagMonitor replicaLagMonitor) {
+    return ReplicaRoutingDataSource.lazy(primaryDataSource, replicaDataSource, replicaLagMonitor,
+        new ReplicaCacheGuard());
+  }
+
+}
@@ -0,0 +1,58 @@
+package de.naju.adebar.infrastructure.datasource;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps data which was read from the replica out of Hibernate's second-level and query cache.
+ * <p>
+ * The replica may lag behind the primary database. If its data was put into the caches, every
+ * thread would be served the outdated state - even threads which just wrote the current one. Thus
+ * the sessions of a transaction reading from the replica may only get data from the caches, but
+ * not put any. Their cache mode will be restored once the transaction is completed, as the session
+ * may outlive the transaction (e. g. when the entity manager is kept open for the whole request).
+ * </p>
+ *
+ * @author Rico Bergmann
+ * @see ReplicaRoutingDataSource
+ */
+public class ReplicaCacheGuard implements ReplicaRoutingDataSource.ReplicaReadListener {
+
+  @Override
+  public void beforeReplicaRead() {
+    for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+      if (resource instanceof EntityManagerHolder) {
+        disableCachePuts(((EntityManagerHolder) resource).getEntityManager().unwrap(Session.class));
+      }
+    }
+  }
+
+  /**
+   * Prevents a session from putting data into the caches until the current transaction is
+   * completed
+   *
+   * @param session the session
+   */
+  private void disableCachePuts(Session session) {
+    CacheMode cacheMode = session.getCacheMode();
+    if (!cacheMode.isPutEnabled()) {
+      return;
+    }
+    session.setCacheMode(cacheMode.isGetEnabled() ? CacheMode.GET : CacheMode.IGNORE);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCompletion(int status) {
+              if (session.isOpen()) {
+                session.setCacheMode(cacheMode);
+              }
+            }
+          });
+    }
+  }
+
+}
@@ -0,0 +1,188 @@
+package de.naju.adebar.infrastructure.datasource;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.Assert;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Keeps track of how far a read replica lags behind the primary database.
+ * <p>
+ * The monitor writes the current time into a heartbeat table of the primary database and reads it
+ * back from the replica. The difference between the current time and the heartbeat found on the
+ * replica is the replica's lag. As the heartbeat is only written once per check, a replica which is
+ * fully caught up will still show a lag of up to one check interval. The heartbeat table will be
+ * created on the primary database if necessary - replication has to take care of the replica.
+ * </p>
+ * <p>
+ * A replica is considered usable as long as its lag stays below the maximum lag. If the replica
+ * could not be reached or has not been checked yet, it is not usable.
+ * </p>
+ *
+ * @author Rico Bergmann
+ * @see ReplicaRoutingDataSource
+ */
+public class ReplicaLagMonitor {
+
+  /**
+   * Name of the table containing the heartbeat
+   */
+  public final static String HEARTBEAT_TABLE = "replicaHeartbeat";
+
+  private final static int HEARTBEAT_ID = 1;
+
+  private final static Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+  private final JdbcTemplate primary;
+  private final JdbcTemplate replica;
+  private final Duration maxLag;
+  private final Duration checkInterval;
+  private volatile Duration lag;
+  private volatile boolean replicaUsable;
+  private boolean heartbeatTableExists;
+  private ScheduledExecutorService worker;
+
+  /**
+   * @param primary the primary database
+   * @param replica the replica database
+   * @param maxLag the lag from which on the replica may not be used any more
+   * @param checkInterval the time between two checks. Has to be shorter than the maximum lag.
+   */
+  public ReplicaLagMonitor(DataSource primary, DataSource replica, Duration maxLag,
+      Duration checkInterval) {
+    Object[] params = {primary, replica, maxLag, checkInterval};
+    Assert.noNullElements(params, "At least one parameter was null: " + Arrays.toString(params));
+    Assert.isTrue(!checkInterval.isNegative() && !checkInterval.isZero(),
+        "Check interval must be positive, but was " + checkInterval);
+    Assert.isTrue(checkInterval.compareTo(maxLag) < 0, String.format(
+        "Check interval (%s) must be shorter than maximum lag (%s)", checkInterval, maxLag));
+    this.primary = new JdbcTemplate(primary);
+    this.replica = new JdbcTemplate(replica);
+    this.maxLag = maxLag;
+    this.checkInterval = checkInterval;
+  }
+
+  /**
+   * @return the lag from which on the replica may not be used any more
+   */
+  public Duration getMaxLag() {
+    return maxLag;
+  }
+
+  /**
+   * @return the lag measured by the last check. If the replica could not be reached, the optional
+   *         will be empty
+   */
+  public Optional<Duration> getLag() {
+    return Optional.ofNullable(lag);
+  }
+
+  /**
+   * @return whether reads may be sent to the replica
+   */
+  public boolean isReplicaUsable() {
+    return replicaUsable;
+  }
+
+  /**
+   * Checks the replica periodically in the background
+   */
+  public synchronized void start() {
+    if (worker != null) {
+      return;
+    }
+    worker = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setNameFormat("replica-lag-%d").setDaemon(true).build());
+    worker.scheduleWithFixedDelay(this::check, 0, checkInterval.toMillis(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stops the background checks. The replica will not be used afterwards.
+   */
+  public synchronized void stop() {
+    if (worker != null) {
+      worker.shutdownNow();
+      worker = null;
+    }
+    replicaUsable = false;
+  }
+
+  /**
+   * Writes a new heartbeat to the primary database and measures the replica's lag
+   */
+  public void check() {
+    long now = System.currentTimeMillis();
+    try {
+      writeHeartbeat(now);
+    } catch (DataAccessException e) {
+      log.warn("Could not write heartbeat to primary database", e);
+    }
+
+    try {
+      Long heartbeat = replica.query("SELECT beat FROM " + HEARTBEAT_TABLE + " WHERE id = ?",
+          rs -> rs.next() ? rs.getLong(1) : null, HEARTBEAT_ID);
+      lag = heartbeat != null ? Duration.ofMillis(Math.max(0, now - heartbeat)) : null;
+    } catch (DataAccessException e) {
+      lag = null;
+      log.debug("Could not read heartbeat from replica", e);
+    }
+
+    boolean usable = lag != null && lag.compareTo(maxLag) < 0;
+    if (usable != replicaUsable) {
+      log.info("Replica is {} (lag: {})", usable ? "usable again" : "not usable any more",
+          lag != null ? lag : "unknown");
+    }
+    replicaUsable = usable;
+  }
+
+  /**
+   * @param now the heartbeat to write
+   */
+  private synchronized void writeHeartbeat(long now) {
+    if (!heartbeatTableExists) {
+      heartbeatTableExists = primary.execute(this::heartbeatTableExists);
+      if (!heartbeatTableExists) {
+        primary.execute("CREATE TABLE " + HEARTBEAT_TABLE
+            + " (id INT NOT NULL PRIMARY KEY, beat BIGINT NOT NULL)");
+        heartbeatTableExists = true;
+      }
+    }
+    if (primary.update("UPDATE " + HEARTBEAT_TABLE + " SET beat = ? WHERE id = ?", now,
+        HEARTBEAT_ID) == 0) {
+      primary.update("INSERT INTO " + HEARTBEAT_TABLE + " (id, beat) VALUES (?, ?)", HEARTBEAT_ID,
+          now);
+    }
+  }
+
+  /**
+   * @param connection the connection to the database to check
+   * @return whether the heartbeat table exists in that database
+   */
+  private boolean heartbeatTableExists(Connection connection) throws SQLException {
+    DatabaseMetaData metaData = connection.getMetaData();
+    for (String name : Arrays.asList(HEARTBEAT_TABLE, HEARTBEAT_TABLE.toUpperCase(),
+        HEARTBEAT_TABLE.toLowerCase())) {
+      try (ResultSet tables = metaData.getTables(null, null, name, new String[] {"TABLE"})) {
+        if (tables.next()) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+}
@@ -0,0 +1,177 @@
+package de.naju.adebar.infrastructure.datasource;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+/**
+ * Data source which sends read-only transactions to a replica database and everything else to the
+ * primary database.
+ * <p>
+ * This covers all calls through the {@link de.naju.adebar.infrastructure.ReadOnlyRepository
+ * read-only repositories}, as Spring Data executes its finder methods in read-only transactions
+ * unless they take part in an enclosing one. The replica will only be used as long as the
+ * {@link ReplicaLagMonitor} considers it usable. Furthermore a thread which just committed a
+ * writing transaction will read from the primary database for the maximum lag, so that it is
+ * guaranteed to see its own changes.
+ * </p>
+ * <p>
+ * Other threads may still read outdated data from the replica. Such data must not end up in
+ * shared caches, where it would be served to every thread. Therefore a {@link ReplicaReadListener}
+ * may be notified whenever a connection to the replica is handed out - see
+ * {@link ReplicaCacheGuard}.
+ * </p>
+ * <p>
+ * As the transaction's properties are only known after the connection has been requested, the
+ * data source has to be wrapped in a {@link LazyConnectionDataSourceProxy} - see
+ * {@link #lazy(DataSource, DataSource, ReplicaLagMonitor)}.
+ * </p>
+ *
+ * @author Rico Bergmann
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+  /**
+   * The databases to choose from
+   */
+  public enum Target {
+    PRIMARY, REPLICA
+  }
+
+  /**
+   * Callback for transactions which read from the replica
+   */
+  @FunctionalInterface
+  public interface ReplicaReadListener {
+
+    /**
+     * Called within the transaction whenever a connection to the replica is about to be obtained
+     */
+    void beforeReplicaRead();
+
+  }
+
+  private final ReplicaLagMonitor lagMonitor;
+  private final ReplicaReadListener replicaReadListener;
+  private final ThreadLocal<Long> lastWrite = new ThreadLocal<>();
+
+  /**
+   * Creates a routing data source which obtains its connections lazily
+   *
+   * @param primary the primary database
+   * @param replica the replica database
+   * @param lagMonitor the monitor of the replica
+   * @return the data source
+   */
+  public static DataSource lazy(DataSource primary, DataSource replica,
+      ReplicaLagMonitor lagMonitor) {
+    return new LazyConnectionDataSourceProxy(
+        new ReplicaRoutingDataSource(primary, replica, lagMonitor));
+  }
+
+  /**
+   * Creates a routing data source which obtains its connections lazily
+   *
+   * @param primary the primary database
+   * @param replica the replica database
+   * @param lagMonitor the monitor of the replica
+   * @param replicaReadListener the callback for transactions which read from the replica
+   * @return the data source
+   */
+  public static DataSource lazy(DataSource primary, DataSource replica,
+      ReplicaLagMonitor lagMonitor, ReplicaReadListener replicaReadListener) {
+    return new LazyConnectionDataSourceProxy(
+        new ReplicaRoutingDataSource(primary, replica, lagMonitor, replicaReadListener));
+  }
+
+  /**
+   * @param primary the primary database
+   * @param replica the replica database
+   * @param lagMonitor the monitor of the replica
+   */
+  public ReplicaRoutingDataSource(DataSource primary, DataSource replica,
+      ReplicaLagMonitor lagMonitor) {
+    this(primary, replica, lagMonitor, () -> {
+    });
+  }
+
+  /**
+   * @param primary the primary database
+   * @param replica the replica database
+   * @param lagMonitor the monitor of the replica
+   * @param replicaReadListener the callback for transactions which read from the replica
+   */
+  public ReplicaRoutingDataSource(DataSource primary, DataSource replica,
+      ReplicaLagMonitor lagMonitor, ReplicaReadListener replicaReadListener) {
+    Object[] params = {primary, replica, lagMonitor, replicaReadListener};
+    Assert.noNullElements(params, "At least one parameter was null: " + Arrays.toString(params));
+    this.lagMonitor = lagMonitor;
+    this.replicaReadListener = replicaReadListener;
+    Map<Object, Object> targets = new HashMap<>();
+    targets.put(Target.PRIMARY, primary);
+    targets.put(Target.REPLICA, replica);
+    setTargetDataSources(targets);
+    setDefaultTargetDataSource(primary);
+    afterPropertiesSet();
+  }
+
+  /**
+   * @return the database the current thread will be connected to
+   */
+  public Target currentTarget() {
+    if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+      return Target.PRIMARY;
+    }
+    if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      registerWrite();
+      return Target.PRIMARY;
+    }
+    return lagMonitor.isReplicaUsable() && !wroteRecently() ? Target.REPLICA : Target.PRIMARY;
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    Target target = currentTarget();
+    if (target == Target.REPLICA) {
+      replicaReadListener.beforeReplicaRead();
+    }
+    return target;
+  }
+
+  /**
+   * Remembers the time the current transaction was committed
+   */
+  private void registerWrite() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+              lastWrite.set(System.currentTimeMillis());
+            }
+          });
+    }
+  }
+
+  /**
+   * @return whether the current thread committed a writing transaction which may not have reached
+   *         the replica yet
+   */
+  private boolean wroteRecently() {
+    Long lastWriteTime = lastWrite.get();
+    if (lastWriteTime == null) {
+      return false;
+    } else if (System.currentTimeMillis() - lastWriteTime < lagMonitor.getMaxLag().toMillis()) {
+      return true;
+    }
+    lastWrite.remove();
+    return false;
+  }
+
+}
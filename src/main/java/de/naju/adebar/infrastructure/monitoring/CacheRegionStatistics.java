@@ -0,0 +1,64 @@
+package de.naju.adebar.infrastructure.monitoring;
+
+/**
+ * Hit and miss counts of a region of the second-level or query cache
+ *
+ * @author Rico Bergmann
+ * @see CachesEndpoint
+ */
+public class CacheRegionStatistics {
+  private long hits;
+  private long misses;
+  private long puts;
+  private long elementsInMemory;
+
+  /**
+   * @param hits the number of lookups which were served by the cache
+   * @param misses the number of lookups which had to query the database
+   * @param puts the number of entries which were added to the cache
+   * @param elementsInMemory the number of entries currently held in the cache. May be {@code -1}
+   *        if unknown.
+   */
+  public CacheRegionStatistics(long hits, long misses, long puts, long elementsInMemory) {
+    this.hits = hits;
+    this.misses = misses;
+    this.puts = puts;
+    this.elementsInMemory = elementsInMemory;
+  }
+
+  /**
+   * @return the number of lookups which were served by the cache
+   */
+  public long getHits() {
+    return hits;
+  }
+
+  /**
+   * @return the number of lookups which had to query the database
+   */
+  public long getMisses() {
+    return misses;
+  }
+
+  /**
+   * @return the number of entries which were added to the cache
+   */
+  public long getPuts() {
+    return puts;
+  }
+
+  /**
+   * @return the number of entries currently held in the cache
+   */
+  public long getElementsInMemory() {
+    return elementsInMemory;
+  }
+
+  /**
+   * @return the share of lookups which were served by the cache
+   */
+  public double getHitRatio() {
+    return hits + misses == 0 ? 0. : (double) hits / (hits + misses);
+  }
+
+}
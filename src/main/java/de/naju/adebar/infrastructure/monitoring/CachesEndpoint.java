@@ -0,0 +1,62 @@
+package de.naju.adebar.infrastructure.monitoring;
+
+import java.util.Map;
+import java.util.TreeMap;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.AbstractEndpoint;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+/**
+ * Actuator endpoint exposing the hit and miss counts of Hibernate's second-level cache at
+ * {@code /caches}. The query cache is listed as a region of its own. The counts are only available
+ * if {@code hibernate.generate_statistics} is enabled, which is the case for the {@code seed}
+ * profile. Otherwise no regions will be listed.
+ *
+ * @author Rico Bergmann
+ */
+@Component
+@ConfigurationProperties(prefix = "endpoints.caches")
+public class CachesEndpoint extends AbstractEndpoint<Map<String, CacheRegionStatistics>> {
+
+  /**
+   * Key of the query cache's statistics
+   */
+  public final static String QUERY_CACHE = "queries";
+
+  private Statistics statistics;
+
+  @Autowired
+  public CachesEndpoint(EntityManagerFactory entityManagerFactory) {
+    super("caches");
+    Assert.notNull(entityManagerFactory, "Entity manager factory may not be null");
+    this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  @Override
+  public Map<String, CacheRegionStatistics> invoke() {
+    Map<String, CacheRegionStatistics> regions = new TreeMap<>();
+    if (!statistics.isStatisticsEnabled()) {
+      return regions;
+    }
+    for (String region : statistics.getSecondLevelCacheRegionNames()) {
+      SecondLevelCacheStatistics regionStatistics =
+          statistics.getSecondLevelCacheStatistics(region);
+      if (regionStatistics != null) {
+        regions.put(region,
+            new CacheRegionStatistics(regionStatistics.getHitCount(),
+                regionStatistics.getMissCount(), regionStatistics.getPutCount(),
+                regionStatistics.getElementCountInMemory()));
+      }
+    }
+    regions.put(QUERY_CACHE, new CacheRegionStatistics(statistics.getQueryCacheHitCount(),
+        statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount(), -1));
+    return regions;
+  }
+
+}
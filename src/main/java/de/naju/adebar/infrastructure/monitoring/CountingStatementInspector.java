@@ -0,0 +1,24 @@
+package de.naju.adebar.infrastructure.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Passes all SQL statements Hibernate is about to execute to the active {@link QueryCounter}. The
+ * statements themselves remain untouched.
+ * <p>
+ * The inspector is instantiated by Hibernate itself and registered through the
+ * {@code spring.jpa.properties.hibernate.session_factory.statement_inspector} property.
+ * </p>
+ *
+ * @author Rico Bergmann
+ */
+public class CountingStatementInspector implements StatementInspector {
+  private static final long serialVersionUID = 1L;
+
+  @Override
+  public String inspect(String sql) {
+    QueryCounter.current().ifPresent(counter -> counter.recordStatement(sql));
+    return sql;
+  }
+
+}
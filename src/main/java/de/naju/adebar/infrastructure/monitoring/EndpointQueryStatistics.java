@@ -0,0 +1,101 @@
+package de.naju.adebar.infrastructure.monitoring;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Aggregated {@link QueryCounter query counts} of all requests to an endpoint
+ *
+ * @author Rico Bergmann
+ * @see QueryStatistics
+ */
+public class EndpointQueryStatistics {
+
+  /**
+   * The maximum number of repeated statement shapes to remember per endpoint
+   */
+  private final static int MAX_REPEATED_STATEMENTS = 5;
+
+  private long requests;
+  private long suspiciousRequests;
+  private long statements;
+  private int maxStatements;
+  private long entityLoads;
+  private long collectionFetches;
+  private Map<String, Integer> repeatedStatements = new LinkedHashMap<>();
+
+  /**
+   * @return the number of requests
+   */
+  public synchronized long getRequests() {
+    return requests;
+  }
+
+  /**
+   * @return the number of requests which exceeded the statement threshold or repeated statements
+   */
+  public synchronized long getSuspiciousRequests() {
+    return suspiciousRequests;
+  }
+
+  /**
+   * @return the average number of statements per request
+   */
+  public synchronized double getAverageStatements() {
+    return requests == 0 ? 0. : (double) statements / requests;
+  }
+
+  /**
+   * @return the maximum number of statements of a single request
+   */
+  public synchronized int getMaxStatements() {
+    return maxStatements;
+  }
+
+  /**
+   * @return the average number of entities loaded per request
+   */
+  public synchronized double getAverageEntityLoads() {
+    return requests == 0 ? 0. : (double) entityLoads / requests;
+  }
+
+  /**
+   * @return the average number of collections fetched per request
+   */
+  public synchronized double getAverageCollectionFetches() {
+    return requests == 0 ? 0. : (double) collectionFetches / requests;
+  }
+
+  /**
+   * @return the statement shapes which were repeated within a single request, mapped to the
+   *         maximum number of repetitions observed
+   */
+  public synchronized Map<String, Integer> getRepeatedStatements() {
+    return Collections.unmodifiableMap(new LinkedHashMap<>(repeatedStatements));
+  }
+
+  /**
+   * @param counter the counts of a request
+   * @param repeated the statement shapes which were repeated within the request
+   * @param suspicious whether the request exceeded the thresholds
+   */
+  synchronized void record(QueryCounter counter, Map<String, Integer> repeated,
+      boolean suspicious) {
+    ++requests;
+    if (suspicious) {
+      ++suspiciousRequests;
+    }
+    statements += counter.getStatements();
+    maxStatements = Math.max(maxStatements, counter.getStatements());
+    entityLoads += counter.getEntityLoads();
+    collectionFetches += counter.getCollectionFetches();
+    repeated.forEach((shape, repetitions) -> {
+      if (repeatedStatements.containsKey(shape)
+          || repeatedStatements.size() < MAX_REPEATED_STATEMENTS) {
+        repeatedStatements.merge(shape, repetitions, Math::max);
+      }
+    });
+  }
+
+}
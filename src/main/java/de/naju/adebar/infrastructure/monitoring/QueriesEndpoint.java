@@ -0,0 +1,32 @@
+package de.naju.adebar.infrastructure.monitoring;
+
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.AbstractEndpoint;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+/**
+ * Actuator endpoint exposing the {@link QueryStatistics} at {@code /queries}
+ *
+ * @author Rico Bergmann
+ */
+@Component
+@ConfigurationProperties(prefix = "endpoints.queries")
+public class QueriesEndpoint extends AbstractEndpoint<Map<String, EndpointQueryStatistics>> {
+  private QueryStatistics queryStatistics;
+
+  @Autowired
+  public QueriesEndpoint(QueryStatistics queryStatistics) {
+    super("queries");
+    Assert.notNull(queryStatistics, "Query statistics may not be null");
+    this.queryStatistics = queryStatistics;
+  }
+
+  @Override
+  public Map<String, EndpointQueryStatistics> invoke() {
+    return queryStatistics.getEndpoints();
+  }
+
+}
@@ -0,0 +1,222 @@
+package de.naju.adebar.infrastructure.monitoring;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import org.springframework.util.Assert;
+
+/**
+ * Counts the SQL statements, entity loads and collection fetches which are issued by the current
+ * thread while the counter is active. This makes "hidden" queries visible, especially the ones
+ * caused by lazy loading.
+ * <p>
+ * A counter is activated through {@link #start()} and has to be stopped in the same thread
+ * afterwards, preferably through a try-with-resources statement. Counters may be nested, in which
+ * case everything is counted by the enclosing counters as well.
+ * </p>
+ * <p>
+ * Besides the total number of statements the counter keeps track of how often each statement
+ * "shape" was executed. Two statements have the same shape if they only differ in their
+ * parameters (which are never part of the statement anyways) and in the number of elements of
+ * {@code IN} lists. The same shape being executed over and over again is a strong hint for the
+ * N+1 problem.
+ * </p>
+ *
+ * @author Rico Bergmann
+ * @see CountingStatementInspector
+ * @see QueryCountingEventListener
+ */
+public class QueryCounter implements AutoCloseable {
+  private final static ThreadLocal<QueryCounter> activeCounter = new ThreadLocal<>();
+  private final static Pattern WHITESPACE = Pattern.compile("\\s+");
+  private final static Pattern IN_LIST = Pattern.compile("(?i)\\bin \\(\\?(, ?\\?)*\\)");
+
+  private final QueryCounter enclosingCounter;
+  private final Map<String, Integer> statementShapes;
+  private int statements;
+  private int entityLoads;
+  private int collectionFetches;
+  private boolean stopped;
+
+  /**
+   * Activates a new counter for the current thread
+   *
+   * @return the counter
+   */
+  public static QueryCounter start() {
+    QueryCounter counter = new QueryCounter(activeCounter.get());
+    activeCounter.set(counter);
+    return counter;
+  }
+
+  /**
+   * @return the innermost counter which is active for the current thread, if any
+   */
+  public static Optional<QueryCounter> current() {
+    return Optional.ofNullable(activeCounter.get());
+  }
+
+  /**
+   * @param sql the statement
+   * @return the statement's shape
+   */
+  static String shapeOf(String sql) {
+    String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+    return IN_LIST.matcher(shape).replaceAll("in (?)");
+  }
+
+  /**
+   * @param enclosingCounter the counter which was active before, may be {@code null}
+   */
+  private QueryCounter(QueryCounter enclosingCounter) {
+    this.enclosingCounter = enclosingCounter;
+    this.statementShapes = new HashMap<>();
+  }
+
+  /**
+   * @return the number of SQL statements
+   */
+  public int getStatements() {
+    return statements;
+  }
+
+  /**
+   * @return the number of entities which were read from the database
+   */
+  public int getEntityLoads() {
+    return entityLoads;
+  }
+
+  /**
+   * @return the number of lazy collections which were initialized
+   */
+  public int getCollectionFetches() {
+    return collectionFetches;
+  }
+
+  /**
+   * @return the shapes of all statements which were executed
+   */
+  public Set<String> getStatementShapes() {
+    return Collections.unmodifiableSet(new HashSet<>(statementShapes.keySet()));
+  }
+
+  /**
+   * @param minRepetitions the number of executions from which on a statement shape is considered
+   *        as repeated
+   * @return all statement shapes which were executed at least {@code minRepetitions} times, mapped
+   *         to their number of executions. The most frequent shape comes first.
+   */
+  public Map<String, Integer> getRepeatedStatements(int minRepetitions) {
+    Map<String, Integer> repeatedStatements = new LinkedHashMap<>();
+    statementShapes.entrySet().stream() //
+        .filter(shape -> shape.getValue() >= minRepetitions) //
+        .sorted(Collections.reverseOrder(Map.Entry.comparingByValue())) //
+        .forEach(shape -> repeatedStatements.put(shape.getKey(), shape.getValue()));
+    return repeatedStatements;
+  }
+
+  /**
+   * @return whether the counter has been stopped
+   */
+  public boolean isStopped() {
+    return stopped;
+  }
+
+  /**
+   * Discards everything that was counted so far. The enclosing counters are not affected.
+   */
+  public void reset() {
+    statements = 0;
+    entityLoads = 0;
+    collectionFetches = 0;
+    statementShapes.clear();
+  }
+
+  /**
+   * Deactivates the counter. The counters values remain accessible.
+   *
+   * @throws IllegalStateException if this is not the innermost active counter of the current
+   *         thread
+   */
+  public void stop() {
+    if (stopped) {
+      return;
+    }
+    Assert.state(activeCounter.get() == this, "Counter is not the active one of this thread");
+    if (enclosingCounter == null) {
+      activeCounter.remove();
+    } else {
+      activeCounter.set(enclosingCounter);
+    }
+    stopped = true;
+  }
+
+  /**
+   * Deactivates the counter just like {@link #stop()}, but never fails. Counters which were
+   * started within this one and were not stopped will be deactivated as well. As this method is
+   * called when leaving a try-with-resources statement, it must not hide the exception which
+   * caused the statement to be left.
+   */
+  @Override
+  public void close() {
+    if (stopped) {
+      return;
+    }
+    for (QueryCounter counter = activeCounter.get(); counter != null;
+        counter = counter.enclosingCounter) {
+      if (counter == this) {
+        if (enclosingCounter == null) {
+          activeCounter.remove();
+        } else {
+          activeCounter.set(enclosingCounter);
+        }
+        break;
+      }
+    }
+    stopped = true;
+  }
+
+  /**
+   * @param sql the statement which is about to be executed
+   */
+  void recordStatement(String sql) {
+    ++statements;
+    statementShapes.merge(shapeOf(sql), 1, Integer::sum);
+    if (enclosingCounter != null) {
+      enclosingCounter.recordStatement(sql);
+    }
+  }
+
+  /**
+   * Counts an entity which was read from the database
+   */
+  void recordEntityLoad() {
+    ++entityLoads;
+    if (enclosingCounter != null) {
+      enclosingCounter.recordEntityLoad();
+    }
+  }
+
+  /**
+   * Counts a collection which was initialized
+   */
+  void recordCollectionFetch() {
+    ++collectionFetches;
+    if (enclosingCounter != null) {
+      enclosingCounter.recordCollectionFetch();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return String.format("QueryCounter [statements=%d, entityLoads=%d, collectionFetches=%d]",
+        statements, entityLoads, collectionFetches);
+  }
+
+}
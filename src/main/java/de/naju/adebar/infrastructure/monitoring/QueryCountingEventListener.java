@@ -0,0 +1,58 @@
+package de.naju.adebar.infrastructure.monitoring;
+
+import java.util.Arrays;
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+/**
+ * Passes the entities and collections Hibernate reads from the database to the active
+ * {@link QueryCounter}. The listener appends itself to Hibernate's default listeners on startup.
+ *
+ * @author Rico Bergmann
+ */
+@Component
+public class QueryCountingEventListener
+    implements PostLoadEventListener, InitializeCollectionEventListener {
+  private static final long serialVersionUID = 1L;
+
+  private transient EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  public QueryCountingEventListener(EntityManagerFactory entityManagerFactory) {
+    Object[] params = {entityManagerFactory};
+    Assert.noNullElements(params, "At least one parameter was null: " + Arrays.toString(params));
+    this.entityManagerFactory = entityManagerFactory;
+  }
+
+  /**
+   * Registers the listener at Hibernate
+   */
+  @PostConstruct
+  public void register() {
+    EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+        .getServiceRegistry().getService(EventListenerRegistry.class);
+    registry.appendListeners(EventType.POST_LOAD, this);
+    registry.appendListeners(EventType.INIT_COLLECTION, this);
+  }
+
+  @Override
+  public void onPostLoad(PostLoadEvent event) {
+    QueryCounter.current().ifPresent(QueryCounter::recordEntityLoad);
+  }
+
+  @Override
+  public void onInitializeCollection(InitializeCollectionEvent event) {
+    QueryCounter.current().ifPresent(QueryCounter::recordCollectionFetch);
+  }
+
+}
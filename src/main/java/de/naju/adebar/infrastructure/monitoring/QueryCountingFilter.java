@@ -0,0 +1,105 @@
+package de.naju.adebar.infrastructure.monitoring;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Counts the queries of each HTTP request and adds them to the {@link QueryStatistics}. Requests
+ * which issue more statements than the configured threshold or which execute the same statement
+ * shape repeatedly are considered suspicious and will be logged.
+ * <p>
+ * The thresholds are configured through the {@code adebar.monitoring.queries.*} properties.
+ * </p>
+ *
+ * @author Rico Bergmann
+ * @see QueryCounter
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryCountingFilter extends OncePerRequestFilter {
+
+  /**
+   * The number of statements per request from which on a request is suspicious, unless configured
+   * otherwise
+   */
+  public final static int DEFAULT_STATEMENT_THRESHOLD = 50;
+
+  /**
+   * The number of executions of the same statement shape within a request from which on a request
+   * is suspicious, unless configured otherwise
+   */
+  public final static int DEFAULT_REPETITION_THRESHOLD = 5;
+
+  private final static String STATEMENT_THRESHOLD_PROPERTY =
+      "adebar.monitoring.queries.statement-threshold";
+  private final static String REPETITION_THRESHOLD_PROPERTY =
+      "adebar.monitoring.queries.repetition-threshold";
+  private final static String UNMAPPED_ENDPOINT = "<unmapped>";
+
+  private final static Logger log = LoggerFactory.getLogger(QueryCountingFilter.class);
+
+  private QueryStatistics queryStatistics;
+  private int statementThreshold;
+  private int repetitionThreshold;
+
+  @Autowired
+  public QueryCountingFilter(QueryStatistics queryStatistics, Environment environment) {
+    Object[] params = {queryStatistics, environment};
+    Assert.noNullElements(params, "At least one parameter was null: " + Arrays.toString(params));
+    this.queryStatistics = queryStatistics;
+    this.statementThreshold = environment.getProperty(STATEMENT_THRESHOLD_PROPERTY, Integer.class,
+        DEFAULT_STATEMENT_THRESHOLD);
+    this.repetitionThreshold = environment.getProperty(REPETITION_THRESHOLD_PROPERTY,
+        Integer.class, DEFAULT_REPETITION_THRESHOLD);
+    Assert.isTrue(statementThreshold > 0,
+        "Statement threshold must be positive, but was " + statementThreshold);
+    Assert.isTrue(repetitionThreshold > 1,
+        "Repetition threshold must be at least 2, but was " + repetitionThreshold);
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+    QueryCounter counter = QueryCounter.start();
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      counter.stop();
+      String endpoint = endpointOf(request);
+      Map<String, Integer> repeated = counter.getRepeatedStatements(repetitionThreshold);
+      boolean suspicious = counter.getStatements() > statementThreshold || !repeated.isEmpty();
+      queryStatistics.record(endpoint, counter, repeated, suspicious);
+      if (suspicious) {
+        log.warn("{} issued {} statements, {} entity loads and {} collection fetches. "
+            + "Repeated statements: {}", endpoint, counter.getStatements(),
+            counter.getEntityLoads(), counter.getCollectionFetches(), repeated);
+      }
+    }
+  }
+
+  /**
+   * @param request the request
+   * @return the method and the URL pattern of the handler which served the request. This groups
+   *         e.g. all requests to {@code /events/{eid}}.
+   */
+  private String endpointOf(HttpServletRequest request) {
+    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    return request.getMethod() + " " + (pattern != null ? pattern : UNMAPPED_ENDPOINT);
+  }
+
+}
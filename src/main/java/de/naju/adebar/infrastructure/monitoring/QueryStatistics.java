@@ -0,0 +1,49 @@
+package de.naju.adebar.infrastructure.monitoring;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.stereotype.Component;
+
+/**
+ * Collects the {@link QueryCounter query counts} of all requests, grouped by endpoint. The
+ * statistics are kept in memory only and start over on each restart of the application.
+ *
+ * @author Rico Bergmann
+ * @see QueryCountingFilter
+ * @see QueriesEndpoint
+ */
+@Component
+public class QueryStatistics {
+  private final ConcurrentMap<String, EndpointQueryStatistics> endpoints =
+      new ConcurrentHashMap<>();
+
+  /**
+   * @param endpoint the endpoint which was requested
+   * @param counter the counts of the request
+   * @param repeated the statement shapes which were repeated within the request
+   * @param suspicious whether the request exceeded the thresholds
+   */
+  public void record(String endpoint, QueryCounter counter, Map<String, Integer> repeated,
+      boolean suspicious) {
+    endpoints.computeIfAbsent(endpoint, e -> new EndpointQueryStatistics()).record(counter,
+        repeated, suspicious);
+  }
+
+  /**
+   * @return the statistics of all endpoints which were requested so far, ordered by endpoint
+   */
+  public Map<String, EndpointQueryStatistics> getEndpoints() {
+    return Collections.unmodifiableMap(new TreeMap<>(endpoints));
+  }
+
+  /**
+   * Discards all statistics
+   */
+  public void reset() {
+    endpoints.clear();
+  }
+
+}
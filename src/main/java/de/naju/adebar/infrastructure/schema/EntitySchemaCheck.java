@@ -0,0 +1,190 @@
+package de.naju.adebar.infrastructure.schema;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.collection.AbstractCollectionPersister;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+/**
+ * Compares the live database schema with the entity model on startup. Every table and column the
+ * entities are mapped to has to exist. Additional tables and columns are fine.
+ * <p>
+ * What happens on mismatches is configured through the {@code adebar.schema.validation}
+ * property: {@code warn} (the default) logs them, {@code fail} aborts the startup and {@code off}
+ * skips the check.
+ * </p>
+ *
+ * @author Rico Bergmann
+ */
+@Component
+public class EntitySchemaCheck {
+
+  /**
+   * How to react to mismatches between schema and entity model
+   */
+  public enum Mode {
+    OFF, WARN, FAIL
+  }
+
+  private final static String MODE_PROPERTY = "adebar.schema.validation";
+
+  private final static Logger log = LoggerFactory.getLogger(EntitySchemaCheck.class);
+
+  private SessionFactoryImplementor sessionFactory;
+  private JdbcTemplate jdbcTemplate;
+  private Mode mode;
+  private AtomicBoolean checked;
+
+  @Autowired
+  public EntitySchemaCheck(EntityManagerFactory entityManagerFactory, DataSource dataSource,
+      SchemaMigrator schemaMigrator, Environment environment) {
+    Object[] params = {entityManagerFactory, dataSource, schemaMigrator, environment};
+    Assert.noNullElements(params, "At least one parameter was null: " + Arrays.toString(params));
+    this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.mode =
+        Mode.valueOf(environment.getProperty(MODE_PROPERTY, Mode.WARN.name()).toUpperCase());
+    this.checked = new AtomicBoolean(false);
+  }
+
+  /**
+   * Runs the check once the application has been started
+   *
+   * @throws IllegalStateException if the schema does not match and the check should fail
+   */
+  @EventListener(ContextRefreshedEvent.class)
+  public void checkOnStartup() {
+    if (mode == Mode.OFF || !checked.compareAndSet(false, true)) {
+      return;
+    }
+    List<String> mismatches = findMismatches();
+    if (mismatches.isEmpty()) {
+      return;
+    }
+    String message = "Database schema does not match the entity model: " + mismatches;
+    if (mode == Mode.FAIL) {
+      throw new IllegalStateException(message);
+    }
+    log.warn(message);
+  }
+
+  /**
+   * @return all tables and columns of the entity model which are missing in the database
+   */
+  public List<String> findMismatches() {
+    return findMismatches(expectedSchema(), jdbcTemplate.execute(EntitySchemaCheck::liveSchema));
+  }
+
+  /**
+   * @param expected the tables and their columns according to the entity model
+   * @param actual the tables and their columns according to the database. All names have to be
+   *        lower case.
+   * @return all tables and columns which are expected but do not exist
+   */
+  static List<String> findMismatches(Map<String, Set<String>> expected,
+      Map<String, Set<String>> actual) {
+    List<String> mismatches = new ArrayList<>();
+    new TreeMap<>(expected).forEach((table, columns) -> {
+      Set<String> actualColumns = actual.get(table.toLowerCase());
+      if (actualColumns == null) {
+        mismatches.add("missing table " + table);
+        return;
+      }
+      for (String column : new TreeSet<>(columns)) {
+        if (!actualColumns.contains(column.toLowerCase())) {
+          mismatches.add("missing column " + table + "." + column);
+        }
+      }
+    });
+    return mismatches;
+  }
+
+  /**
+   * @return the tables and their columns according to the entity model
+   */
+  private Map<String, Set<String>> expectedSchema() {
+    Map<String, Set<String>> schema = new HashMap<>();
+    for (EntityPersister persister : sessionFactory.getEntityPersisters().values()) {
+      AbstractEntityPersister entity = (AbstractEntityPersister) persister;
+      addColumns(schema, entity.getTableName(), entity.getIdentifierColumnNames());
+      for (int i = 0; i < entity.getPropertyNames().length; ++i) {
+        addColumns(schema, entity.getPropertyTableName(entity.getPropertyNames()[i]),
+            entity.getPropertyColumnNames(i));
+      }
+    }
+    for (CollectionPersister persister : sessionFactory.getCollectionPersisters().values()) {
+      AbstractCollectionPersister collection = (AbstractCollectionPersister) persister;
+      addColumns(schema, collection.getTableName(), collection.getKeyColumnNames());
+      addColumns(schema, collection.getTableName(), collection.getElementColumnNames());
+      addColumns(schema, collection.getTableName(), collection.getIndexColumnNames());
+    }
+    return schema;
+  }
+
+  /**
+   * @param schema the schema to extend
+   * @param table the table to add the columns to
+   * @param columns the columns to add. May be {@code null} or contain {@code null} elements (e.g.
+   *        for formulas), which will be ignored
+   */
+  private static void addColumns(Map<String, Set<String>> schema, String table,
+      String[] columns) {
+    if (table == null) {
+      return;
+    }
+    Set<String> tableColumns = schema.computeIfAbsent(table, t -> new HashSet<>());
+    if (columns == null) {
+      return;
+    }
+    for (String column : columns) {
+      if (column != null) {
+        tableColumns.add(column);
+      }
+    }
+  }
+
+  /**
+   * @param connection the connection to the database
+   * @return all tables and their columns of the current schema, in lower case
+   */
+  private static Map<String, Set<String>> liveSchema(Connection connection) throws SQLException {
+    Map<String, Set<String>> schema = new HashMap<>();
+    DatabaseMetaData metaData = connection.getMetaData();
+    try (ResultSet columns =
+        metaData.getColumns(connection.getCatalog(), connection.getSchema(), "%", "%")) {
+      while (columns.next()) {
+        schema.computeIfAbsent(columns.getString("TABLE_NAME").toLowerCase(),
+            t -> new HashSet<>()).add(columns.getString("COLUMN_NAME").toLowerCase());
+      }
+    }
+    return Collections.unmodifiableMap(schema);
+  }
+
+}
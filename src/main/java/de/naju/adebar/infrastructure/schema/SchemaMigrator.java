@@ -0,0 +1,51 @@
+package de.naju.adebar.infrastructure.schema;
+
+import java.util.Arrays;
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+/**
+ * Applies the schema migrations from {@code db/migration} as soon as Hibernate has created or
+ * updated the tables. Requiring the {@link EntityManagerFactory} ensures this order.
+ * <p>
+ * Migrations which have to move data out of tables that are no longer part of the entity model are
+ * written in Java and reside in the {@code de.naju.adebar.infrastructure.schema.migration}
+ * package (see the {@code flyway.locations} property).
+ * </p>
+ * <p>
+ * Databases which already contain the tables but were never migrated will be baselined with
+ * version 0 (see the {@code flyway.baseline-*} properties), so that all migrations are applied to
+ * them. If Flyway is disabled through {@code flyway.enabled}, nothing will be migrated.
+ * </p>
+ *
+ * @author Rico Bergmann
+ */
+@Component
+public class SchemaMigrator {
+  private ObjectProvider<Flyway> flywayProvider;
+
+  @Autowired
+  public SchemaMigrator(ObjectProvider<Flyway> flywayProvider,
+      EntityManagerFactory entityManagerFactory) {
+    Object[] params = {flywayProvider, entityManagerFactory};
+    Assert.noNullElements(params, "At least one parameter was null: " + Arrays.toString(params));
+    this.flywayProvider = flywayProvider;
+  }
+
+  /**
+   * Applies all pending migrations
+   */
+  @PostConstruct
+  public void migrate() {
+    Flyway flyway = flywayProvider.getIfAvailable();
+    if (flyway != null) {
+      flyway.migrate();
+    }
+  }
+
+}
@@ -0,0 +1,36 @@
+package de.naju.adebar.infrastructure.schema.migration;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.springframework.util.Assert;
+
+/**
+ * Utility functions for migrations which move data out of tables Hibernate used to create. As
+ * Hibernate only creates the tables the current entity model needs, such tables will only exist in
+ * databases which were set up before the entity model was changed.
+ *
+ * @author Rico Bergmann
+ */
+class LegacySchema {
+
+  /**
+   * @param connection the connection to the database
+   * @param table the table to check (case-insensitive)
+   * @return whether the table exists in the current schema
+   * @throws SQLException if the schema could not be read
+   */
+  static boolean tableExists(Connection connection, String table) throws SQLException {
+    Assert.hasText(table, "Table may not be empty");
+    try (ResultSet tables = connection.getMetaData().getTables(connection.getCatalog(),
+        connection.getSchema(), "%", new String[] {"TABLE"})) {
+      while (tables.next()) {
+        if (table.equalsIgnoreCase(tables.getString("TABLE_NAME"))) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+}
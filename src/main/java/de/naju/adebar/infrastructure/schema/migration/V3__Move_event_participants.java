@@ -0,0 +1,36 @@
+package de.naju.adebar.infrastructure.schema.migration;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import org.flywaydb.core.api.migration.jdbc.JdbcMigration;
+
+/**
+ * Moves the participants of all events from the {@code event_participants} table into the
+ * {@code participation} table. Each participant used to be an element of the participants list's
+ * collection, but is an entity of its own now. Afterwards the old table will be dropped.
+ * <p>
+ * The {@code participation} table will already have been created by Hibernate. Databases which
+ * were set up afterwards do not contain the old table, so there is nothing to move.
+ * </p>
+ *
+ * @author Rico Bergmann
+ */
+public class V3__Move_event_participants implements JdbcMigration {
+  private final static String OLD_TABLE = "event_participants";
+
+  @Override
+  public void migrate(Connection connection) throws Exception {
+    if (!LegacySchema.tableExists(connection, OLD_TABLE)) {
+      return;
+    }
+    try (Statement statement = connection.createStatement()) {
+      statement.executeUpdate("INSERT INTO participation "
+          + "(event_id, person_id, acknowledged, fee_payed, form_filled, remarks) "
+          + "SELECT o.event_id, o.participant, o.acknowledged, o.fee_payed, o.form_filled, "
+          + "o.remarks FROM " + OLD_TABLE + " o WHERE NOT EXISTS (SELECT 1 FROM participation p "
+          + "WHERE p.event_id = o.event_id AND p.person_id = o.participant)");
+      statement.executeUpdate("DROP TABLE " + OLD_TABLE);
+    }
+  }
+
+}
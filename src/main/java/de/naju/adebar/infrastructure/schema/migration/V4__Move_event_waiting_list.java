@@ -0,0 +1,46 @@
+package de.naju.adebar.infrastructure.schema.migration;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import org.flywaydb.core.api.migration.jdbc.JdbcMigration;
+
+/**
+ * Moves the waiting lists of all events from the {@code event_waiting_list} table into the
+ * {@code waiting_list_entry} table. The waiting list used to be an ordered collection of persons,
+ * but consists of entries with a ticket now. The former position of each person becomes its ticket,
+ * so the order of the waiting lists is kept. The participants lists will continue to draw tickets
+ * behind the last moved entry, or start at the first ticket if they had no waiting list. Afterwards
+ * the old table will be dropped.
+ * <p>
+ * The {@code waiting_list_entry} table will already have been created by Hibernate. Databases
+ * which were set up afterwards do not contain the old table, so there is nothing to move.
+ * </p>
+ *
+ * @author Rico Bergmann
+ */
+public class V4__Move_event_waiting_list implements JdbcMigration {
+  private final static String OLD_TABLE = "event_waiting_list";
+
+  @Override
+  public void migrate(Connection connection) throws Exception {
+    if (!LegacySchema.tableExists(connection, OLD_TABLE)) {
+      return;
+    }
+    try (Statement statement = connection.createStatement()) {
+      // the old list did not prevent persons from being wait-listed twice, so only their first
+      // position is kept
+      statement.executeUpdate("INSERT INTO waiting_list_entry (event_id, person_id, ticket) "
+          + "SELECT o.event_id, o.person_id, MIN(o.position) FROM " + OLD_TABLE + " o "
+          + "WHERE NOT EXISTS (SELECT 1 FROM waiting_list_entry w "
+          + "WHERE w.event_id = o.event_id AND w.person_id = o.person_id) "
+          + "GROUP BY o.event_id, o.person_id");
+      // the ticket column was added to lists which already existed, so the lists without a waiting
+      // list have to start drawing tickets as well
+      statement.executeUpdate("UPDATE participants_list SET next_waiting_list_ticket = "
+          + "COALESCE((SELECT MAX(w.ticket) + 1 FROM waiting_list_entry w "
+          + "WHERE w.event_id = participants_list.id), 0)");
+      statement.executeUpdate("DROP TABLE " + OLD_TABLE);
+    }
+  }
+
+}
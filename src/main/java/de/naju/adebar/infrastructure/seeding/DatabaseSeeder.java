@@ -0,0 +1,311 @@
+package de.naju.adebar.infrastructure.seeding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+import de.naju.adebar.app.chapter.LocalGroupManager;
+import de.naju.adebar.app.events.EventManager;
+import de.naju.adebar.app.human.PersonManager;
+import de.naju.adebar.app.newsletter.NewsletterManager;
+import de.naju.adebar.app.newsletter.SubscriberManager;
+import de.naju.adebar.model.chapter.LocalGroup;
+import de.naju.adebar.model.events.Event;
+import de.naju.adebar.model.events.EventFactory;
+import de.naju.adebar.model.human.Person;
+import de.naju.adebar.model.human.PersonFactory;
+import de.naju.adebar.model.human.PersonId;
+import de.naju.adebar.model.newsletter.Newsletter;
+import de.naju.adebar.model.newsletter.NewsletterRepository;
+import de.naju.adebar.model.newsletter.Subscriber;
+
+/**
+ * Fills the database with a large synthetic data set, e.g. to run load tests against the
+ * application. The seeder is only active for the {@code seed} profile:
+ *
+ * <pre>
+ * mvn spring-boot:run -Drun.profiles=seed
+ * </pre>
+ * <p>
+ * By default the data is written to an H2 database in {@code ./db} (see
+ * {@code application-seed.properties}). Any other database may be used by overriding the
+ * {@code spring.datasource.*} properties. The volumes are configured through the
+ * {@code adebar.seed.*} properties. As the data is derived from a fixed seed, seeding two
+ * databases with the same configuration will result in equal data sets (except for the IDs).
+ * </p>
+ * <p>
+ * The data is created through the usual managers, so it is guaranteed to be consistent. Activists
+ * become members of a random local group and each local group has its own newsletter. Events are
+ * hosted by a random local group and have some participants and counselors. Seeding is skipped if
+ * the database already contains events.
+ * </p>
+ *
+ * @author Rico Bergmann
+ * @see SyntheticData
+ */
+@Component
+@Profile("seed")
+public class DatabaseSeeder implements ApplicationRunner {
+
+  /**
+   * The number of persons to create unless configured otherwise
+   */
+  public final static int DEFAULT_PERSONS = 100_000;
+
+  /**
+   * The number of events to create unless configured otherwise
+   */
+  public final static int DEFAULT_EVENTS = 5_000;
+
+  /**
+   * The number of local groups to create unless configured otherwise
+   */
+  public final static int DEFAULT_LOCAL_GROUPS = 200;
+
+  /**
+   * The number of subscribers to create unless configured otherwise
+   */
+  public final static int DEFAULT_SUBSCRIBERS = 50_000;
+
+  /**
+   * The number of objects which will be saved within the same transaction
+   */
+  private final static int CHUNK_SIZE = 500;
+
+  private final static int MAX_PARTICIPANTS_PER_EVENT = 30;
+  private final static int MAX_COUNSELORS_PER_EVENT = 3;
+
+  private final static String PERSONS_PROPERTY = "adebar.seed.persons";
+  private final static String EVENTS_PROPERTY = "adebar.seed.events";
+  private final static String LOCAL_GROUPS_PROPERTY = "adebar.seed.local-groups";
+  private final static String SUBSCRIBERS_PROPERTY = "adebar.seed.subscribers";
+  private final static String RANDOM_SEED_PROPERTY = "adebar.seed.random-seed";
+
+  private final static Logger log = LoggerFactory.getLogger(DatabaseSeeder.class);
+
+  private PersonManager personManager;
+  private EventManager eventManager;
+  private LocalGroupManager localGroupManager;
+  private NewsletterManager newsletterManager;
+  private SubscriberManager subscriberManager;
+  private NewsletterRepository newsletterRepo;
+  private PersonFactory personFactory;
+  private EventFactory eventFactory;
+  private TransactionTemplate transactionTemplate;
+  private Environment environment;
+
+  @Autowired
+  public DatabaseSeeder(PersonManager personManager, EventManager eventManager,
+      LocalGroupManager localGroupManager, NewsletterManager newsletterManager,
+      SubscriberManager subscriberManager, NewsletterRepository newsletterRepo,
+      PersonFactory personFactory, EventFactory eventFactory,
+      PlatformTransactionManager transactionManager, Environment environment) {
+    Object[] params = {personManager, eventManager, localGroupManager, newsletterManager,
+        subscriberManager, newsletterRepo, personFactory, eventFactory, transactionManager,
+        environment};
+    Assert.noNullElements(params, "At least one parameter was null: " + Arrays.toString(params));
+    this.personManager = personManager;
+    this.eventManager = eventManager;
+    this.localGroupManager = localGroupManager;
+    this.newsletterManager = newsletterManager;
+    this.subscriberManager = subscriberManager;
+    this.newsletterRepo = newsletterRepo;
+    this.personFactory = personFactory;
+    this.eventFactory = eventFactory;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.environment = environment;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    if (eventManager.repository().count() > 0) {
+      log.info("Database already contains events, skipping seeding");
+      return;
+    }
+    long randomSeed = environment.getProperty(RANDOM_SEED_PROPERTY, Long.class,
+        SyntheticData.DEFAULT_SEED);
+    seed(new SyntheticData(randomSeed, personFactory, eventFactory), //
+        environment.getProperty(PERSONS_PROPERTY, Integer.class, DEFAULT_PERSONS), //
+        environment.getProperty(EVENTS_PROPERTY, Integer.class, DEFAULT_EVENTS), //
+        environment.getProperty(LOCAL_GROUPS_PROPERTY, Integer.class, DEFAULT_LOCAL_GROUPS), //
+        environment.getProperty(SUBSCRIBERS_PROPERTY, Integer.class, DEFAULT_SUBSCRIBERS));
+  }
+
+  /**
+   * Creates and saves the data set
+   *
+   * @param data the generator to use
+   * @param persons the number of persons to create
+   * @param events the number of events to create
+   * @param localGroups the number of local groups to create. Has to be positive
+   * @param subscribers the number of subscribers to create
+   */
+  void seed(SyntheticData data, int persons, int events, int localGroups, int subscribers) {
+    Assert.isTrue(persons >= 0 && events >= 0 && subscribers >= 0,
+        "Volumes may not be negative");
+    Assert.isTrue(localGroups > 0, "At least one local group is needed, but was " + localGroups);
+    long start = System.currentTimeMillis();
+
+    SeededData seeded = new SeededData();
+    seedLocalGroups(data, localGroups, seeded);
+    log.info("Created {} local groups", localGroups);
+    seedPersons(data, persons, seeded);
+    log.info("Created {} persons ({} participants, {} activists)", persons,
+        seeded.participants.size(), seeded.activists.size());
+    seedEvents(data, events, seeded);
+    log.info("Created {} events", events);
+    seedSubscribers(data, subscribers, seeded);
+    log.info("Created {} subscribers", subscribers);
+
+    log.info("Seeding finished after {} s", (System.currentTimeMillis() - start) / 1000);
+  }
+
+  /**
+   * Creates the local groups, each with its own newsletter
+   */
+  private void seedLocalGroups(SyntheticData data, int count, SeededData seeded) {
+    transactionTemplate.execute(status -> {
+      for (LocalGroup localGroup : data.localGroups(count)) {
+        LocalGroup savedGroup = localGroupManager.saveLocalGroup(localGroup);
+        Newsletter newsletter = newsletterManager.createNewsletter(savedGroup.getName());
+        savedGroup.addNewsletter(newsletter);
+        localGroupManager.saveLocalGroup(savedGroup);
+        seeded.localGroups.add(savedGroup.getId());
+        seeded.newsletters.add(newsletter.getId());
+      }
+      return null;
+    });
+  }
+
+  /**
+   * Creates the persons. Activists become members of a random local group.
+   */
+  private void seedPersons(SyntheticData data, int count, SeededData seeded) {
+    inChunks(count, chunkSize -> {
+      Map<Long, LocalGroup> modifiedGroups = new HashMap<>();
+      for (int i = 0; i < chunkSize; ++i) {
+        Person person = personManager.savePerson(data.person());
+        if (person.isParticipant()) {
+          seeded.participants.add(person.getId());
+        }
+        if (person.isActivist()) {
+          seeded.activists.add(person.getId());
+          long groupId = seeded.localGroups.get(data.nextInt(seeded.localGroups.size()));
+          modifiedGroups.computeIfAbsent(groupId, this::findLocalGroup).addMember(person);
+        }
+      }
+      modifiedGroups.values().forEach(localGroupManager::saveLocalGroup);
+    });
+  }
+
+  /**
+   * Creates the events. Each one is hosted by a random local group and has some participants and
+   * counselors.
+   */
+  private void seedEvents(SyntheticData data, int count, SeededData seeded) {
+    inChunks(count, chunkSize -> {
+      Map<Long, LocalGroup> modifiedGroups = new HashMap<>();
+      for (int i = 0; i < chunkSize; ++i) {
+        Event event = data.event();
+        int participants = data.nextInt(
+            Math.min(event.getParticipantsLimit(), MAX_PARTICIPANTS_PER_EVENT) + 1);
+        for (PersonId participant : pick(data, seeded.participants, participants)) {
+          event.addParticipantIgnoreAge(personManager.repository().findOne(participant));
+        }
+        int counselors = data.nextInt(MAX_COUNSELORS_PER_EVENT + 1);
+        for (PersonId counselor : pick(data, seeded.activists, counselors)) {
+          event.addCounselor(personManager.repository().findOne(counselor));
+        }
+        Event savedEvent = eventManager.saveEvent(event);
+        long groupId = seeded.localGroups.get(data.nextInt(seeded.localGroups.size()));
+        modifiedGroups.computeIfAbsent(groupId, this::findLocalGroup).addEvent(savedEvent);
+      }
+      modifiedGroups.values().forEach(localGroupManager::saveLocalGroup);
+    });
+  }
+
+  /**
+   * Creates the subscribers. Each one subscribes to the newsletter of a random local group and
+   * every fifth one to a second newsletter as well.
+   */
+  private void seedSubscribers(SyntheticData data, int count, SeededData seeded) {
+    inChunks(count, chunkSize -> {
+      Map<Long, Newsletter> newsletters = new HashMap<>();
+      for (Subscriber subscriber : data.subscribers(chunkSize)) {
+        Subscriber savedSubscriber = subscriberManager.saveSubscriber(subscriber);
+        int subscriptions = data.nextInt(5) == 0 ? 2 : 1;
+        for (long newsletterId : pick(data, seeded.newsletters, subscriptions)) {
+          newsletterManager.subscribe(savedSubscriber,
+              newsletters.computeIfAbsent(newsletterId, newsletterRepo::findOne));
+        }
+      }
+    });
+  }
+
+  /**
+   * Runs an action once per chunk, each time in a new transaction
+   *
+   * @param count the total number of objects
+   * @param chunkAction the action to run, given the number of objects in the current chunk
+   */
+  private void inChunks(int count, Consumer<Integer> chunkAction) {
+    for (int offset = 0; offset < count; offset += CHUNK_SIZE) {
+      int chunkSize = Math.min(CHUNK_SIZE, count - offset);
+      transactionTemplate.execute(status -> {
+        chunkAction.accept(chunkSize);
+        return null;
+      });
+    }
+  }
+
+  /**
+   * @param id the ID of the local group
+   * @return the local group
+   */
+  private LocalGroup findLocalGroup(long id) {
+    return localGroupManager.findLocalGroup(id)
+        .orElseThrow(() -> new IllegalStateException("No local group with ID " + id));
+  }
+
+  /**
+   * @param data the generator to use
+   * @param elements the elements to choose from
+   * @param count the number of elements to choose
+   * @return {@code count} distinct random elements, or all elements if there are not as many
+   */
+  private static <T> Set<T> pick(SyntheticData data, List<T> elements, int count) {
+    Set<T> picked = new LinkedHashSet<>(count);
+    while (picked.size() < Math.min(count, elements.size())) {
+      picked.add(elements.get(data.nextInt(elements.size())));
+    }
+    return picked;
+  }
+
+  /**
+   * The IDs of the objects created so far
+   *
+   * @author Rico Bergmann
+   */
+  private static class SeededData {
+    private final List<Long> localGroups = new ArrayList<>();
+    private final List<Long> newsletters = new ArrayList<>();
+    private final List<PersonId> participants = new ArrayList<>();
+    private final List<PersonId> activists = new ArrayList<>();
+  }
+
+}
@@ -0,0 +1,291 @@
+package de.naju.adebar.infrastructure.seeding;
+
+import java.text.Normalizer;
+import java.text.Normalizer.Form;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import org.javamoney.moneta.Money;
+import org.springframework.util.Assert;
+import de.naju.adebar.model.chapter.LocalGroup;
+import de.naju.adebar.model.events.Event;
+import de.naju.adebar.model.events.EventFactory;
+import de.naju.adebar.model.events.EventId;
+import de.naju.adebar.model.events.EventIdGenerator;
+import de.naju.adebar.model.human.Address;
+import de.naju.adebar.model.human.Gender;
+import de.naju.adebar.model.human.ParticipantProfile;
+import de.naju.adebar.model.human.Person;
+import de.naju.adebar.model.human.PersonFactory;
+import de.naju.adebar.model.human.PersonId;
+import de.naju.adebar.model.newsletter.Subscriber;
+
+/**
+ * Generator for synthetic persons, events, local groups and subscribers. The data is derived from
+ * a seed, so using the same seed will always result in the same objects. None of the objects is
+ * persisted.
+ * <p>
+ * The generator is used to fill the database for load tests (see {@link DatabaseSeeder}) as well
+ * as by the benchmarks. It is not thread-safe.
+ * </p>
+ *
+ * @author Rico Bergmann
+ */
+public class SyntheticData {
+
+  /**
+   * The seed used unless specified otherwise
+   */
+  public final static long DEFAULT_SEED = 42L;
+
+  private final static String[] FIRST_NAMES = {"Anna", "Berta", "Claus", "Dieter", "Emma",
+      "Fritz", "Greta", "Hans", "Ida", "Jonas", "Karla", "Lukas", "Mia", "Noah", "Olga", "Paul"};
+  private final static String[] LAST_NAMES = {"Müller", "Schmidt", "Schneider", "Fischer",
+      "Weber", "Meyer", "Wagner", "Becker", "Schulz", "Hoffmann", "Koch", "Richter", "Wolf",
+      "Klein"};
+  private final static String[] CITIES = {"Dresden", "Leipzig", "Chemnitz", "Zwickau", "Plauen",
+      "Görlitz", "Freiberg", "Bautzen", "Pirna", "Meißen"};
+  private final static Pattern NON_ASCII = Pattern.compile("[^\\p{ASCII}]");
+  private final static String[] EATING_HABITS =
+      {"", "vegetarisch", "vegan", "laktosefrei", "glutenfrei"};
+  private final static String[] EVENT_NAMES = {"Sommercamp", "Himmelfahrtscamp", "Kindergruppe",
+      "Vogelzählung", "Krötenwanderung", "Winterfreizeit", "Naturerlebnistag"};
+
+  private final Random random;
+  private final PersonFactory personFactory;
+  private final EventFactory eventFactory;
+  private final LocalDateTime now;
+  private int sequence;
+
+  /**
+   * Creates a generator using the {@link #DEFAULT_SEED}. IDs will be assigned sequentially.
+   */
+  public SyntheticData() {
+    this(DEFAULT_SEED);
+  }
+
+  /**
+   * Creates a generator which assigns IDs sequentially. Such IDs are only unique for the objects
+   * of a single generator, therefore its objects should not be persisted.
+   *
+   * @param seed the seed to derive the data from
+   */
+  public SyntheticData(long seed) {
+    this(seed, new PersonFactory(new SequentialIds<>("person", PersonId::new)),
+        new EventFactory(new SequentialEventIds()));
+  }
+
+  /**
+   * @param seed the seed to derive the data from
+   * @param personFactory the factory to create the persons with
+   * @param eventFactory the factory to create the events with
+   */
+  public SyntheticData(long seed, PersonFactory personFactory, EventFactory eventFactory) {
+    Object[] params = {personFactory, eventFactory};
+    Assert.noNullElements(params, "At least one parameter was null: " + Arrays.toString(params));
+    this.random = new Random(seed);
+    this.personFactory = personFactory;
+    this.eventFactory = eventFactory;
+    this.now = LocalDateTime.now().withNano(0);
+  }
+
+  /**
+   * Creates persons. About 60% of them will be participants, 30% activists and 5% referents.
+   * Roughly every tenth person has no email address.
+   *
+   * @param count the number of persons to create
+   * @return the persons
+   */
+  public List<Person> persons(int count) {
+    List<Person> persons = new ArrayList<>(count);
+    for (int i = 0; i < count; ++i) {
+      persons.add(person());
+    }
+    return persons;
+  }
+
+  /**
+   * @return a new person
+   * @see #persons(int)
+   */
+  public Person person() {
+    int number = ++sequence;
+    String firstName = pick(FIRST_NAMES);
+    String lastName = pick(LAST_NAMES);
+    String email = random.nextInt(10) == 0 ? null : email(firstName, lastName, number);
+
+    PersonFactory.PersonBuilder builder = personFactory.buildNew(firstName, lastName, email);
+    boolean participant = random.nextInt(10) < 6;
+    if (participant) {
+      builder.makeParticipant();
+    }
+    if (random.nextInt(10) < 3) {
+      builder.makeActivist();
+    }
+    if (random.nextInt(20) == 0) {
+      builder.makeReferent();
+    }
+
+    Person person = builder.create();
+    person.setAddress(address());
+    if (participant) {
+      ParticipantProfile profile = person.getParticipantProfile();
+      profile.setGender(Gender.values()[random.nextInt(Gender.values().length)]);
+      profile.setDateOfBirth(LocalDate.now().minusDays(365 * 6 + random.nextInt(365 * 60)));
+      profile.setEatingHabits(pick(EATING_HABITS));
+    }
+    return person;
+  }
+
+  /**
+   * Creates events, starting between one year ago and one year ahead. About half of them will
+   * charge a participation fee.
+   *
+   * @param count the number of events to create
+   * @return the events
+   */
+  public List<Event> events(int count) {
+    List<Event> events = new ArrayList<>(count);
+    for (int i = 0; i < count; ++i) {
+      events.add(event());
+    }
+    return events;
+  }
+
+  /**
+   * @return a new event
+   * @see #events(int)
+   */
+  public Event event() {
+    LocalDateTime start = now.plusHours(random.nextInt(2 * 365 * 24) - 365 * 24);
+    Event event = eventFactory.build(pick(EVENT_NAMES) + " " + ++sequence, start,
+        start.plusHours(2 + random.nextInt(7 * 24)));
+    event.setParticipantsLimit(10 + random.nextInt(90));
+    event.setMinimumParticipantAge(random.nextInt(16));
+    if (random.nextBoolean()) {
+      event.setInternalParticipationFee(Money.of(random.nextInt(200), "EUR"));
+      event.setExternalParticipationFee(Money.of(random.nextInt(250), "EUR"));
+    }
+    event.setPlace(new Address("", zip(), pick(CITIES)));
+    return event;
+  }
+
+  /**
+   * Creates local groups. Members, events and newsletters have to be added separately.
+   *
+   * @param count the number of local groups to create
+   * @return the local groups
+   */
+  public List<LocalGroup> localGroups(int count) {
+    List<LocalGroup> localGroups = new ArrayList<>(count);
+    for (int i = 0; i < count; ++i) {
+      String city = pick(CITIES);
+      localGroups.add(new LocalGroup("NAJU " + city + " " + ++sequence, address()));
+    }
+    return localGroups;
+  }
+
+  /**
+   * Creates subscribers with distinct email addresses
+   *
+   * @param count the number of subscribers to create
+   * @return the subscribers
+   */
+  public List<Subscriber> subscribers(int count) {
+    List<Subscriber> subscribers = new ArrayList<>(count);
+    for (int i = 0; i < count; ++i) {
+      String firstName = pick(FIRST_NAMES);
+      String lastName = pick(LAST_NAMES);
+      subscribers.add(new Subscriber(firstName, lastName, email(firstName, lastName, ++sequence)));
+    }
+    return subscribers;
+  }
+
+  /**
+   * @param bound the upper bound (exclusive)
+   * @return a random number between 0 (inclusive) and the bound
+   */
+  public int nextInt(int bound) {
+    return random.nextInt(bound);
+  }
+
+  /**
+   * @return a random address
+   */
+  private Address address() {
+    return new Address("Hauptstraße " + (1 + random.nextInt(200)), zip(), pick(CITIES));
+  }
+
+  /**
+   * @return a random zip code from Saxony
+   */
+  private String zip() {
+    return "0" + (1000 + random.nextInt(9000));
+  }
+
+  /**
+   * @param values the values to choose from
+   * @return a random value
+   */
+  private String pick(String[] values) {
+    return values[random.nextInt(values.length)];
+  }
+
+  /**
+   * @param firstName the first name of the email's owner
+   * @param lastName the last name of the email's owner
+   * @param number a number to make the email unique
+   * @return a valid email address. As umlauts are not allowed, they are reduced to their base
+   *         letter
+   */
+  private String email(String firstName, String lastName, int number) {
+    String localPart = Normalizer.normalize(firstName + "." + lastName + number, Form.NFD);
+    return NON_ASCII.matcher(localPart).replaceAll("").toLowerCase() + "@example.org";
+  }
+
+  /**
+   * Deterministic IDs, so that generated objects do not depend on {@link java.util.UUID}
+   *
+   * @author Rico Bergmann
+   */
+  private static class SequentialIds<T> implements Iterator<T> {
+    private final String prefix;
+    private final Function<String, T> constructor;
+    private long next;
+
+    SequentialIds(String prefix, Function<String, T> constructor) {
+      this.prefix = prefix;
+      this.constructor = constructor;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return true;
+    }
+
+    @Override
+    public T next() {
+      return constructor.apply(prefix + "-" + next++);
+    }
+  }
+
+  /**
+   * Deterministic event IDs
+   *
+   * @author Rico Bergmann
+   */
+  private static class SequentialEventIds extends SequentialIds<EventId>
+      implements EventIdGenerator {
+
+    SequentialEventIds() {
+      super("event", EventId::new);
+    }
+  }
+
+}
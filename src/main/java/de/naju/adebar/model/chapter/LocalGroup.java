@@ -2,6 +2,7 @@ package de.naju.adebar.model.chapter;
 
 import java.net.URL;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -12,6 +13,7 @@ import java.util.Optional;
 import java.util.Set;
 import javax.persistence.AttributeOverride;
 import javax.persistence.AttributeOverrides;
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -25,11 +27,16 @@ import javax.persistence.MapKey;
 import javax.persistence.OneToMany;
 import javax.persistence.OneToOne;
 import javax.persistence.Transient;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.LazyCollection;
+import org.hibernate.annotations.LazyCollectionOption;
 import org.springframework.util.Assert;
 import de.naju.adebar.model.events.Event;
 import de.naju.adebar.model.human.Address;
 import de.naju.adebar.model.human.NoActivistException;
 import de.naju.adebar.model.human.Person;
+import de.naju.adebar.model.human.PersonId;
 import de.naju.adebar.model.newsletter.Newsletter;
 
 // TODO a local group should be able to contain multiple newsletters
@@ -39,10 +46,16 @@ import de.naju.adebar.model.newsletter.Newsletter;
  * Abstraction of a local group. Each group has a (very likely) unique set of members, i. e.
  * activist who contribute to this certain group. Furthermore a chapter may have a board of
  * directors if it is a more professional one.
+ * <p>
+ * The groups themselves are kept in the second-level cache as they are needed on nearly every page.
+ * Their associations are not cached.
+ * </p>
  *
  * @author Rico Bergmann
  */
 @Entity(name = "localGroup")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "localGroup")
 public class LocalGroup {
 
   @Id
@@ -62,7 +75,9 @@ public class LocalGroup {
 
   @ManyToMany(cascade = CascadeType.ALL)
   @JoinTable(inverseJoinColumns = @JoinColumn(name = "memberId"))
-  private List<Person> members;
+  @MapKey
+  @LazyCollection(LazyCollectionOption.EXTRA)
+  private Map<PersonId, Person> members;
 
   @ManyToMany(cascade = CascadeType.ALL)
   @JoinTable(inverseJoinColumns = @JoinColumn(name = "personId"))
@@ -102,7 +117,7 @@ public class LocalGroup {
     Assert.hasText(name, "Name must have content: " + name);
     this.name = name;
     this.address = address;
-    this.members = new LinkedList<>();
+    this.members = new HashMap<>();
     this.contactPersons = new LinkedList<>();
     this.events = new LinkedList<>();
     this.projects = new HashMap<>();
@@ -159,7 +174,7 @@ public class LocalGroup {
    * @return the activist who contribute to the chapter
    */
   public Iterable<Person> getMembers() {
-    return members;
+    return members.values();
   }
 
   /**
@@ -232,8 +247,9 @@ public class LocalGroup {
   /**
    * @param members the local group's members
    */
-  protected void setMembers(List<Person> members) {
-    this.members = members;
+  protected void setMembers(Collection<Person> members) {
+    this.members = new HashMap<>();
+    members.forEach(member -> this.members.put(member.getId(), member));
   }
 
   /**
@@ -341,16 +357,19 @@ public class LocalGroup {
       throw new ExistingMemberException(String.format(
           "Activist %s is already part of local group %s", person.toString(), this.toString()));
     }
-    members.add(person);
+    members.put(person.getId(), person);
   }
 
   /**
+   * As the members are only loaded if necessary, this will not initialize them but query for the
+   * single activist instead.
+   *
    * @param activist the activist to check
    * @return {@code true} if the activist is registered as contributor to the chapter or
    *         {@code false} otherwise
    */
   public boolean isMember(Person activist) {
-    return members.contains(activist);
+    return members.containsKey(activist.getId());
   }
 
   /**
@@ -359,7 +378,7 @@ public class LocalGroup {
    */
   public void removeMember(Person activist) {
     Assert.isTrue(isMember(activist), "Not a member of the local group: " + activist);
-    members.remove(activist);
+    members.remove(activist.getId());
   }
 
   /**
@@ -458,6 +477,6 @@ public class LocalGroup {
   @Override
   public String toString() {
     return "LocalGroup{" + "id=" + id + ", name='" + name + '\'' + ", address=" + address
-        + ", members=" + members + '}';
+        + ", members=" + members.values() + '}';
   }
 }
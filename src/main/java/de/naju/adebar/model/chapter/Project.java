@@ -1,11 +1,12 @@
 package de.naju.adebar.model.chapter;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -18,17 +19,22 @@ import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
 import javax.persistence.OneToOne;
 import javax.persistence.Transient;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.util.Assert;
 import de.naju.adebar.model.events.Event;
 import de.naju.adebar.model.human.NoActivistException;
 import de.naju.adebar.model.human.Person;
 
 /**
- * Abstraction of a project
+ * Abstraction of a project. Projects are kept in the second-level cache, their associations are
+ * not.
  *
  * @author Rico Bergmann
  */
 @Entity(name = "project")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "project")
 public class Project {
 
   @Id
@@ -283,15 +289,20 @@ public class Project {
   }
 
   /**
+   * Initializes all of the project's events. To display the next events of many projects,
+   * {@link ReadOnlyProjectRepository#findNextEvents(java.util.Collection, LocalDateTime)} should be
+   * used instead.
+   *
    * @return the event that is about to take place next. If there is no next event {@code null} will
    *         be returned
    */
   @Transient
   public Event getNextEvent() {
-    if (events.isEmpty()) {
-      return null;
-    }
-    return Collections.min(events, Comparator.comparing(Event::getStartTime));
+    LocalDateTime now = LocalDateTime.now();
+    return events.stream() //
+        .filter(event -> event.getStartTime().isAfter(now)) //
+        .min(Comparator.comparing(Event::getStartTime)) //
+        .orElse(null);
   }
 
   // modification methods
@@ -1,6 +1,7 @@
 package de.naju.adebar.model.chapter;
 
 import de.naju.adebar.model.events.Event;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
@@ -36,6 +37,7 @@ public interface ProjectRepository extends CrudRepository<Project, Long> {
    * @param event the event to query for
    * @return an optional containing the project which hosts the event if such a project exists
    */
+  @Query("SELECT p FROM project p JOIN p.events e WHERE e = ?1")
   Optional<Project> findByEventsContains(Event event);
 
 }
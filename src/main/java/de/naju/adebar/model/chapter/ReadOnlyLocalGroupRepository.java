@@ -2,10 +2,18 @@ package de.naju.adebar.model.chapter;
 
 import de.naju.adebar.infrastructure.ReadOnlyRepository;
 import de.naju.adebar.model.events.Event;
+import de.naju.adebar.model.events.EventId;
 import de.naju.adebar.model.human.Person;
+import de.naju.adebar.model.human.PersonId;
 import de.naju.adebar.model.newsletter.Newsletter;
+import javax.persistence.QueryHint;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * A repository that provides read-only access to the saved local groups
@@ -15,6 +23,16 @@ import java.util.Optional;
 @Repository("ro_localGroupRepo")
 public interface ReadOnlyLocalGroupRepository extends ReadOnlyRepository<LocalGroup, Long> {
 
+  /**
+   * Returns all instances of the type. The result is kept in the query cache until the next
+   * modification of the local groups.
+   *
+   * @return all entities
+   */
+  @Override
+  @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"))
+  Iterable<LocalGroup> findAll();
+
   /**
    * @param name the local group's name to query for
    * @return an optional containing the local group with that name, otherwise the optional is empty
@@ -25,8 +43,16 @@ public interface ReadOnlyLocalGroupRepository extends ReadOnlyRepository<LocalGr
    * @param activist the activist to query for
    * @return all local groups with the specified person as member
    */
+  @Query("SELECT l FROM localGroup l JOIN l.members m WHERE m = ?1")
   Iterable<LocalGroup> findByMembersContains(Person activist);
 
+  /**
+   * @param activist the activist to query for
+   * @return the IDs of all local groups with the specified person as member
+   */
+  @Query("SELECT l.id FROM localGroup l JOIN l.members m WHERE m = ?1")
+  Set<Long> findIdsByMembersContains(Person activist);
+
   /**
    * @param newsletter the newsletter to query for
    * @return an optional containing the local group with that newsletter, otherwise the optional is
@@ -40,9 +66,64 @@ public interface ReadOnlyLocalGroupRepository extends ReadOnlyRepository<LocalGr
    */
   LocalGroup findByBoard(Board board);
 
+  /**
+   * @param activist the activist to query for
+   * @return all local groups with the specified person as member of their board
+   */
+  @Query("SELECT l FROM localGroup l JOIN l.board b JOIN b.members m WHERE m = ?1")
+  Iterable<LocalGroup> findByBoardMembersContains(Person activist);
+
   /**
    * @param event the event to query for
    * @return an optional containing the local group which hosts the event, if such a group exists
    */
+  @Query("SELECT l FROM localGroup l JOIN l.events e WHERE e = ?1")
   Optional<LocalGroup> findByEventsContains(Event event);
+
+  /**
+   * @param eventIds the events to query for. May not be empty
+   * @return pairs of {@code [EventId, LocalGroup]} for each of the events which is hosted by a local
+   *         group
+   */
+  @Query("SELECT e.id, l FROM localGroup l JOIN l.events e WHERE e.id IN ?1")
+  List<Object[]> findHostsForEvents(Collection<EventId> eventIds);
+
+  /**
+   * @param localGroupIds the local groups to query for. May not be empty
+   * @return pairs of {@code [ID, member count]} for each of the local groups
+   */
+  @Query("SELECT l.id, COUNT(m) FROM localGroup l LEFT JOIN l.members m WHERE l.id IN ?1 "
+      + "GROUP BY l.id")
+  List<Object[]> countMembers(Collection<Long> localGroupIds);
+
+  /**
+   * @param localGroupIds the local groups to query for. May not be empty
+   * @return pairs of {@code [ID, event count]} for each of the local groups
+   */
+  @Query("SELECT l.id, COUNT(e) FROM localGroup l LEFT JOIN l.events e WHERE l.id IN ?1 "
+      + "GROUP BY l.id")
+  List<Object[]> countEvents(Collection<Long> localGroupIds);
+
+  /**
+   * @param localGroupIds the local groups to query for. May not be empty
+   * @return pairs of {@code [ID, project count]} for each of the local groups
+   */
+  @Query("SELECT l.id, COUNT(p) FROM localGroup l LEFT JOIN l.projects p WHERE l.id IN ?1 "
+      + "GROUP BY l.id")
+  List<Object[]> countProjects(Collection<Long> localGroupIds);
+
+  /**
+   * @param personId the person to query for
+   * @return all local groups the person is a member of, ordered by their names
+   */
+  @Query("SELECT l FROM localGroup l JOIN l.members m WHERE m.id = ?1 ORDER BY l.name")
+  List<LocalGroup> findAllForMember(PersonId personId);
+
+  /**
+   * @param personId the person to query for
+   * @return all local groups with the person as member of their board, ordered by their names
+   */
+  @Query("SELECT l FROM localGroup l JOIN l.board b JOIN b.members m WHERE m.id = ?1 "
+      + "ORDER BY l.name")
+  List<LocalGroup> findAllForBoardMember(PersonId personId);
 }
@@ -2,6 +2,14 @@ package de.naju.adebar.model.chapter;
 
 import de.naju.adebar.infrastructure.ReadOnlyRepository;
 import de.naju.adebar.model.events.Event;
+import de.naju.adebar.model.events.EventId;
+import de.naju.adebar.model.human.PersonId;
+import javax.persistence.QueryHint;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -9,6 +17,16 @@ import java.util.Optional;
  */
 public interface ReadOnlyProjectRepository extends ReadOnlyRepository<Project, Long> {
 
+  /**
+   * Returns all instances of the type. The result is kept in the query cache until the next
+   * modification of the projects.
+   *
+   * @return all entities
+   */
+  @Override
+  @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"))
+  Iterable<Project> findAll();
+
   /**
    * @param name the name to query for
    * @return all projects with the given name
@@ -32,5 +50,48 @@ public interface ReadOnlyProjectRepository extends ReadOnlyRepository<Project, L
    * @param event the event to query for
    * @return an optional containing the project which hosts the event if such a project exists
    */
+  @Query("SELECT p FROM project p JOIN p.events e WHERE e = ?1")
   Optional<Project> findByEventsContains(Event event);
+
+  /**
+   * @param eventIds the events to query for. May not be empty
+   * @return pairs of {@code [EventId, Project]} for each of the events which is hosted by a project
+   */
+  @Query("SELECT e.id, p FROM project p JOIN p.events e WHERE e.id IN ?1")
+  List<Object[]> findHostsForEvents(Collection<EventId> eventIds);
+
+  /**
+   * @param projectIds the projects to query for. May not be empty
+   * @return pairs of {@code [ID, contributor count]} for each of the projects
+   */
+  @Query("SELECT p.id, COUNT(c) FROM project p LEFT JOIN p.contributors c WHERE p.id IN ?1 "
+      + "GROUP BY p.id")
+  List<Object[]> countContributors(Collection<Long> projectIds);
+
+  /**
+   * @param personId the person to query for
+   * @return all projects the person contributes to, ordered by their names
+   */
+  @Query("SELECT p FROM project p JOIN p.contributors c WHERE c.id = ?1 ORDER BY p.name")
+  List<Project> findAllForContributor(PersonId personId);
+
+  /**
+   * Determines the events which take place next for many projects at once. The start times are
+   * compared in the database, the projects' events do not need to be loaded. If multiple events
+   * start at the very same time, all of them will be returned.
+   * <p>
+   * Only scalar values are returned, so the result may be served from the query cache entirely. It
+   * is invalidated as soon as a project or event changes.
+   * </p>
+   *
+   * @param projectIds the projects to query for. May not be empty
+   * @param time the time the events have to start after
+   * @return tuples of {@code [project ID, EventId, event name, start time]} for each of the
+   *         projects which has an upcoming event, ordered by project and event
+   */
+  @Query("SELECT p.id, e.id, e.name, e.startTime FROM project p JOIN p.events e "
+      + "WHERE p.id IN ?1 AND e.startTime = (SELECT MIN(f.startTime) FROM project q "
+      + "JOIN q.events f WHERE q.id = p.id AND f.startTime > ?2) ORDER BY p.id, e.id")
+  @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"))
+  List<Object[]> findNextEvents(Collection<Long> projectIds, LocalDateTime time);
 }
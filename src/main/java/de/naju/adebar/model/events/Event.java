@@ -548,7 +548,8 @@ public class Event {
 
   /**
    * @param person the person to query for
-   * @return the person's position on the waiting list
+   * @return the person's position on the waiting list (starting at 1) or 0 if the person is not
+   *         wait-listed
    */
   @Transient
   public int getWaitingListSpotFor(Person person) {
@@ -578,12 +579,13 @@ public class Event {
    * Adds a new participant
    *
    * @param person the person to participate in the event
+   * @return the new participation
    * @throws NoParticipantException if the person is not registered as a possible participant
    * @throws ExistingParticipantException if the person already participates
    * @throws PersonIsTooYoungException if the person does not have the required age
    * @throws BookedOutException if no more persons may participate
    */
-  public void addParticipant(Person person) {
+  public Participation addParticipant(Person person) {
     Assert.notNull(person, "Participant to add may not be null!");
     if (!person.isParticipant()) {
       throw new NoParticipantException("Person is no camp participant: " + person);
@@ -594,7 +596,7 @@ public class Event {
           String.format("Person is too young: must be %d years old but was born on %s",
               minimumParticipantAge, person.getParticipantProfile().getDateOfBirth()));
     }
-    participantsList.addParticipant(person);
+    return participantsList.addParticipant(person);
   }
 
   /**
@@ -602,16 +604,17 @@ public class Event {
    * participation age
    *
    * @param person the person to participate in the event
+   * @return the new participation
    * @throws NoParticipantException if the person is no participant
    * @throws ExistingParticipantException if the person already participates
    * @throws BookedOutException if no more persons may participate
    */
-  public void addParticipantIgnoreAge(Person person) {
+  public Participation addParticipantIgnoreAge(Person person) {
     Assert.notNull(person, "Participant to add may not be null!");
     if (!person.isParticipant()) {
       throw new NoParticipantException("Person is no camp participant: " + person);
     }
-    participantsList.addParticipant(person);
+    return participantsList.addParticipant(person);
   }
 
   /**
@@ -816,6 +819,17 @@ public class Event {
     removeFromWaitingList(person);
   }
 
+  /**
+   * Fills the available slots of the event with the persons from the waiting list. Should be
+   * called whenever capacity was freed, e. g. after a participant left or the participants limit
+   * was increased.
+   *
+   * @return the persons who were moved to the participants list, in the order of the waiting list
+   */
+  public List<Person> promoteWaitingListEntries() {
+    return participantsList.promoteWaitingListEntries();
+  }
+
   /**
    * Adds a new person to contact for the event
    *
@@ -3,6 +3,7 @@ package de.naju.adebar.model.events;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -14,11 +15,12 @@ import javax.persistence.EmbeddedId;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.JoinColumn;
-import javax.persistence.JoinTable;
-import javax.persistence.ManyToMany;
-import javax.persistence.MapKeyJoinColumn;
-import javax.persistence.OrderColumn;
+import javax.persistence.MapKey;
+import javax.persistence.OneToMany;
+import javax.persistence.OrderBy;
 import javax.persistence.Transient;
+import javax.persistence.Version;
+import org.hibernate.annotations.OptimisticLock;
 import org.springframework.util.Assert;
 import de.naju.adebar.model.human.Person;
 
@@ -30,8 +32,6 @@ import de.naju.adebar.model.human.Person;
  */
 @Entity(name = "participantsList")
 class ParticipantsList {
-  private final static int WAITING_LIST_HEAD = 0;
-
   @EmbeddedId
   @Column(name = "event")
   private EventId event;
@@ -39,20 +39,42 @@ class ParticipantsList {
   @Column(name = "participantsLimit")
   private int participantsLimit;
 
-  @ElementCollection(fetch = FetchType.LAZY)
-  @CollectionTable(name = "eventParticipants", joinColumns = @JoinColumn(name = "eventId"))
-  @MapKeyJoinColumn(name = "participant")
-  private Map<Person, ParticipationInfo> participants;
+  /**
+   * Every change of the participants or reservations will increment the version. Concurrent
+   * registrations based on an outdated state of the list will therefore fail rather than overbook
+   * the event. As the participations and waiting list entries are owned by their entities,
+   * Hibernate has to be told explicitly to include those collections.
+   */
+  @Version
+  @Column(name = "version")
+  private long version;
+
+  @OneToMany(mappedBy = "participantsList", cascade = CascadeType.ALL, orphanRemoval = true,
+      fetch = FetchType.LAZY)
+  @MapKey
+  @OptimisticLock(excluded = false)
+  private Map<ParticipationId, Participation> participants;
 
   @ElementCollection(fetch = FetchType.LAZY)
   @CollectionTable(name = "eventReservations", joinColumns = @JoinColumn(name = "eventId"))
   private List<Reservation> reservations;
 
-  @ManyToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-  @JoinTable(name = "eventWaitingList", joinColumns = @JoinColumn(name = "eventId"),
-      inverseJoinColumns = @JoinColumn(name = "personId"))
-  @OrderColumn(name = "position")
-  private List<Person> waitingList;
+  @OneToMany(mappedBy = "participantsList", cascade = CascadeType.ALL, orphanRemoval = true,
+      fetch = FetchType.LAZY)
+  @MapKey
+  @OptimisticLock(excluded = false)
+  @OrderBy("ticket ASC")
+  private Map<ParticipationId, WaitingListEntry> waitingList;
+
+  @Column(name = "nextWaitingListTicket")
+  private long nextWaitingListTicket;
+
+  /**
+   * The positions of the wait-listed persons. They will be calculated on demand and discarded as
+   * soon as the waiting list changes.
+   */
+  @Transient
+  private Map<ParticipationId, Integer> waitingListPositions;
 
   /**
    * Creates a new participants list with an unlimited number of possible participants and
@@ -75,7 +97,7 @@ class ParticipantsList {
     this.participantsLimit = participantsLimit;
     this.participants = new HashMap<>();
     this.reservations = new ArrayList<>();
-    this.waitingList = new ArrayList<>();
+    this.waitingList = new LinkedHashMap<>();
   }
 
   /**
@@ -111,7 +133,17 @@ class ParticipantsList {
    * @return the participants
    */
   public Map<Person, ParticipationInfo> getParticipants() {
-    return Collections.unmodifiableMap(participants);
+    Map<Person, ParticipationInfo> participantsInfo = new LinkedHashMap<>(participants.size());
+    participants.values().forEach(participation -> participantsInfo
+        .put(participation.getParticipant(), participation.getInfo()));
+    return Collections.unmodifiableMap(participantsInfo);
+  }
+
+  /**
+   * @return the participations
+   */
+  public Iterable<Participation> getParticipations() {
+    return Collections.unmodifiableCollection(participants.values());
   }
 
   /**
@@ -125,14 +157,17 @@ class ParticipantsList {
    * @return the waiting list
    */
   public Iterable<Person> getWaitingList() {
-    return waitingList;
+    List<Person> persons = new ArrayList<>(waitingList.size());
+    waitingList.values().forEach(entry -> persons.add(entry.getPerson()));
+    return persons;
   }
 
   /**
    * @param waitingList the waiting list
    */
-  public void setWaitingList(List<Person> waitingList) {
+  protected void setWaitingList(Map<ParticipationId, WaitingListEntry> waitingList) {
     this.waitingList = waitingList;
+    this.waitingListPositions = null;
   }
 
   /**
@@ -143,10 +178,9 @@ class ParticipantsList {
   }
 
   /**
-   *
-   * @param participants
+   * @param participants the participations
    */
-  protected void setParticipants(Map<Person, ParticipationInfo> participants) {
+  protected void setParticipants(Map<ParticipationId, Participation> participants) {
     this.participants = participants;
   }
 
@@ -205,9 +239,9 @@ class ParticipantsList {
   @Transient
   public Iterable<Person> getParticipantsWithFeeNotPayed() {
     List<Person> persons = new LinkedList<>();
-    participants.forEach((person, info) -> {
-      if (!info.isParticipationFeePayed()) {
-        persons.add(person);
+    participants.values().forEach(participation -> {
+      if (!participation.getInfo().isParticipationFeePayed()) {
+        persons.add(participation.getParticipant());
       }
     });
     return persons;
@@ -220,9 +254,9 @@ class ParticipantsList {
   @Transient
   public Iterable<Person> getParticipantsWithFormNotReceived() {
     List<Person> persons = new LinkedList<>();
-    participants.forEach((person, info) -> {
-      if (!info.isRegistrationFormFilled()) {
-        persons.add(person);
+    participants.values().forEach(participation -> {
+      if (!participation.getInfo().isRegistrationFormFilled()) {
+        persons.add(participation.getParticipant());
       }
     });
     return persons;
@@ -237,7 +271,19 @@ class ParticipantsList {
     if (!isParticipant(participant)) {
       throw new IllegalArgumentException("Person does not participate: " + participant);
     }
-    return participants.get(participant);
+    return participants.get(participationIdFor(participant)).getInfo();
+  }
+
+  /**
+   * @param participant the participant to query for
+   * @return the associated participation
+   */
+  @Transient
+  public Participation getParticipationFor(Person participant) {
+    if (!isParticipant(participant)) {
+      throw new IllegalArgumentException("Person does not participate: " + participant);
+    }
+    return participants.get(participationIdFor(participant));
   }
 
   /**
@@ -246,7 +292,7 @@ class ParticipantsList {
    */
   @Transient
   public boolean isParticipant(Person person) {
-    return participants.containsKey(person);
+    return participants.containsKey(participationIdFor(person));
   }
 
   /**
@@ -298,7 +344,7 @@ class ParticipantsList {
    */
   @Transient
   public boolean isBookedOut() {
-    return hasParticipantsLimit() && getOccupiedSlotsCount() == getParticipantsLimit();
+    return hasParticipantsLimit() && getOccupiedSlotsCount() >= getParticipantsLimit();
   }
 
   /**
@@ -325,24 +371,34 @@ class ParticipantsList {
    */
   @Transient
   public boolean isOnWaitingList(Person person) {
-    return waitingList.contains(person);
+    return waitingList.containsKey(participationIdFor(person));
   }
 
   /**
    * @return the head of the waiting list
+   * @throws java.util.NoSuchElementException if nobody is wait-listed
    */
   @Transient
   public Person getTopWaitingListSpot() {
-    return waitingList.get(WAITING_LIST_HEAD);
+    return waitingList.values().iterator().next().getPerson();
   }
 
   /**
    * @param person the person to query for
-   * @return the person's position on the waiting list
+   * @return the person's position on the waiting list (starting at 1) or 0 if the person is not
+   *         wait-listed
    */
   @Transient
   public int getWaitingListSpotFor(Person person) {
-    return normalizeIndex(waitingList.indexOf(person));
+    if (waitingListPositions == null) {
+      Map<ParticipationId, Integer> positions = new HashMap<>(waitingList.size());
+      int idx = 0;
+      for (ParticipationId entry : waitingList.keySet()) {
+        positions.put(entry, normalizeIndex(idx++));
+      }
+      waitingListPositions = positions;
+    }
+    return waitingListPositions.getOrDefault(participationIdFor(person), 0);
   }
 
   // modification methods
@@ -351,17 +407,20 @@ class ParticipantsList {
    * Adds a new participant
    * 
    * @param person the person to participate in the event
+   * @return the new participation
    * @throws ExistingParticipantException if the person already participates
    * @throws BookedOutException if no more persons may participate
    */
-  public void addParticipant(Person person) {
+  public Participation addParticipant(Person person) {
     if (isParticipant(person)) {
       throw new ExistingParticipantException("Person does already participate: " + person);
     } else if (isBookedOut()) {
       throw new BookedOutException(
           "The event is booked out: " + getParticipantsCount() + " participants");
     }
-    participants.put(person, new ParticipationInfo());
+    Participation participation = new Participation(this, person);
+    participants.put(participation.getId(), participation);
+    return participation;
   }
 
   /**
@@ -372,7 +431,7 @@ class ParticipantsList {
     if (!isParticipant(participant)) {
       throw new IllegalArgumentException("Person does not participate: " + participant);
     }
-    participants.remove(participant);
+    participants.remove(participationIdFor(participant));
   }
 
   /**
@@ -380,7 +439,7 @@ class ParticipantsList {
    * @param newInfo the new participation info
    */
   public void updateParticipationInfoFor(Person participant, ParticipationInfo newInfo) {
-    participants.replace(participant, newInfo);
+    getParticipationFor(participant).setInfo(newInfo);
   }
 
   /**
@@ -410,7 +469,7 @@ class ParticipantsList {
     if (!hasReservation(description)) {
       throw new IllegalArgumentException("List has no reservation: " + description);
     }
-    reservations.remove(description);
+    reservations.remove(getReservationFor(description));
   }
 
   /**
@@ -444,7 +503,9 @@ class ParticipantsList {
     } else if (isOnWaitingList(person)) {
       throw new IllegalStateException("Person is already on the waiting list: " + person);
     }
-    waitingList.add(person);
+    WaitingListEntry entry = new WaitingListEntry(this, person, nextWaitingListTicket++);
+    waitingList.put(entry.getId(), entry);
+    waitingListPositions = null;
   }
 
   /**
@@ -457,18 +518,48 @@ class ParticipantsList {
     if (!isOnWaitingList(person)) {
       throw new IllegalArgumentException("Person is not wait-listed: " + person);
     }
-    waitingList.remove(person);
+    waitingList.remove(participationIdFor(person));
+    waitingListPositions = null;
   }
 
   /**
    * Moves the head of the waiting list to the participants list
+   * 
+   * @throws java.util.NoSuchElementException if nobody is wait-listed
    */
   public void applyTopWaitingListSpot() {
-    addParticipant(waitingList.remove(WAITING_LIST_HEAD));
+    Person head = getTopWaitingListSpot();
+    // the person should stay wait-listed if the addition fails
+    addParticipant(head);
+    removeFromWaitingList(head);
+  }
+
+  /**
+   * Moves persons from the head of the waiting list to the participants list until either the list
+   * is booked out or nobody is wait-listed any more
+   * 
+   * @return the persons who were moved, in the order of the waiting list
+   */
+  public List<Person> promoteWaitingListEntries() {
+    List<Person> promoted = new LinkedList<>();
+    while (hasWaitingList() && !isBookedOut()) {
+      Person head = getTopWaitingListSpot();
+      applyTopWaitingListSpot();
+      promoted.add(head);
+    }
+    return promoted;
   }
 
   // helper methods
 
+  /**
+   * @param person the person to get the ID for
+   * @return the ID the person's participation in this list's event has (or would have)
+   */
+  private ParticipationId participationIdFor(Person person) {
+    return new ParticipationId(event, person.getId());
+  }
+
   /**
    * Maps an internal list index (which is ≥0) to a 'real world' index (which is ≥1)
    * 
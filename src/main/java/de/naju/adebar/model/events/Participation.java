@@ -0,0 +1,148 @@
+package de.naju.adebar.model.events;
+
+import javax.persistence.Embedded;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.MapsId;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.Transient;
+import org.springframework.data.domain.Persistable;
+import org.springframework.util.Assert;
+import de.naju.adebar.model.human.Person;
+
+/**
+ * The participation of a single {@link Person} in an {@link Event}. Each participation is stored as
+ * a row of its own, so changing the {@link ParticipationInfo} of one participant will not touch
+ * the data of any other participant.
+ *
+ * @author Rico Bergmann
+ * @see ParticipantsList
+ */
+@Entity(name = "participation")
+public class Participation implements Persistable<ParticipationId> {
+  private static final long serialVersionUID = -2467385413254017734L;
+
+  @EmbeddedId
+  private ParticipationId id;
+
+  @MapsId("event")
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "eventId")
+  private ParticipantsList participantsList;
+
+  @MapsId("participant")
+  @ManyToOne
+  @JoinColumn(name = "personId")
+  private Person participant;
+
+  @Embedded
+  private ParticipationInfo info;
+
+  @Transient
+  private boolean isNew = true;
+
+  /**
+   * Creates a new participation with default participation info
+   *
+   * @param participantsList the list the participation belongs to
+   * @param participant the participating person
+   */
+  Participation(ParticipantsList participantsList, Person participant) {
+    Assert.notNull(participantsList, "Participants list may not be null!");
+    Assert.notNull(participant, "Participant may not be null!");
+    this.id = new ParticipationId(participantsList.getEvent(), participant.getId());
+    this.participantsList = participantsList;
+    this.participant = participant;
+    this.info = new ParticipationInfo();
+  }
+
+  /**
+   * Default constructor just for JPA's sake
+   */
+  @SuppressWarnings("unused")
+  private Participation() {}
+
+  /**
+   * @return the participation's ID
+   */
+  @Override
+  public ParticipationId getId() {
+    return id;
+  }
+
+  /**
+   * @return the participating person
+   */
+  public Person getParticipant() {
+    return participant;
+  }
+
+  /**
+   * @return meta-data about the participation
+   */
+  public ParticipationInfo getInfo() {
+    return info;
+  }
+
+  /**
+   * @param info the new meta-data about the participation
+   */
+  public void setInfo(ParticipationInfo info) {
+    Assert.notNull(info, "Participation info may not be null!");
+    this.info = info;
+  }
+
+  /**
+   * Participations are created with a fixed ID. To let JPA insert them directly instead of trying
+   * to merge them first, we have to keep track of whether they were already persisted.
+   *
+   * @return whether the participation has not been persisted yet
+   */
+  @Override
+  public boolean isNew() {
+    return isNew;
+  }
+
+  /**
+   * Callback for JPA: loaded or persisted participations are no longer new
+   */
+  @PostLoad
+  @PostPersist
+  void markNotNew() {
+    this.isNew = false;
+  }
+
+  // overridden from Object
+
+  @Override
+  public int hashCode() {
+    return (id == null) ? 0 : id.hashCode();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj)
+      return true;
+    if (obj == null)
+      return false;
+    if (!(obj instanceof Participation))
+      return false;
+    Participation other = (Participation) obj;
+    if (id == null) {
+      if (other.id != null)
+        return false;
+    } else if (!id.equals(other.id))
+      return false;
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    return "Participation [id=" + id + ", info=" + info + "]";
+  }
+
+}
@@ -0,0 +1,94 @@
+package de.naju.adebar.model.events;
+
+import java.io.Serializable;
+import javax.persistence.AttributeOverride;
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import org.springframework.util.Assert;
+import de.naju.adebar.model.human.PersonId;
+
+/**
+ * Identifier for a {@link Participation}. As a person may participate in an event at most once,
+ * the combination of both is sufficient.
+ *
+ * @author Rico Bergmann
+ * @see Participation
+ */
+@Embeddable
+public class ParticipationId implements Serializable {
+  private static final long serialVersionUID = 7365520167853394212L;
+
+  @AttributeOverride(name = "id", column = @Column(name = "eventId"))
+  private EventId event;
+
+  @AttributeOverride(name = "id", column = @Column(name = "personId"))
+  private PersonId participant;
+
+  /**
+   * @param event the event
+   * @param participant the participating person
+   */
+  public ParticipationId(EventId event, PersonId participant) {
+    Assert.notNull(event, "Event may not be null!");
+    Assert.notNull(participant, "Participant may not be null!");
+    this.event = event;
+    this.participant = participant;
+  }
+
+  /**
+   * Default constructor just for JPA's sake
+   */
+  @SuppressWarnings("unused")
+  private ParticipationId() {}
+
+  /**
+   * @return the event
+   */
+  public EventId getEvent() {
+    return event;
+  }
+
+  /**
+   * @return the participating person
+   */
+  public PersonId getParticipant() {
+    return participant;
+  }
+
+  @Override
+  public int hashCode() {
+    final int prime = 31;
+    int result = 1;
+    result = prime * result + ((event == null) ? 0 : event.hashCode());
+    result = prime * result + ((participant == null) ? 0 : participant.hashCode());
+    return result;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj)
+      return true;
+    if (obj == null)
+      return false;
+    if (!(obj instanceof ParticipationId))
+      return false;
+    ParticipationId other = (ParticipationId) obj;
+    if (event == null) {
+      if (other.event != null)
+        return false;
+    } else if (!event.equals(other.event))
+      return false;
+    if (participant == null) {
+      if (other.participant != null)
+        return false;
+    } else if (!participant.equals(other.participant))
+      return false;
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    return event + ":" + participant;
+  }
+
+}
@@ -0,0 +1,15 @@
+package de.naju.adebar.model.events;
+
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository to access single {@link Participation} instances without having to load (and save)
+ * the whole {@link Event} they belong to
+ *
+ * @author Rico Bergmann
+ * @see Participation
+ */
+@Repository("participationRepo")
+public interface ParticipationRepository extends CrudRepository<Participation, ParticipationId> {
+}
@@ -2,9 +2,14 @@ package de.naju.adebar.model.events;
 
 import de.naju.adebar.infrastructure.ReadOnlyRepository;
 import de.naju.adebar.model.human.Person;
+import de.naju.adebar.model.human.PersonId;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.querydsl.QueryDslPredicateExecutor;
 import org.springframework.stereotype.Repository;
+import com.querydsl.core.types.Predicate;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.stream.Stream;
 
 /**
@@ -13,7 +18,8 @@ import java.util.stream.Stream;
  * @author Rico Bergmann
  */
 @Repository("ro_eventRepo")
-public interface ReadOnlyEventRepository extends ReadOnlyRepository<Event, EventId> {
+public interface ReadOnlyEventRepository
+    extends ReadOnlyRepository<Event, EventId>, QueryDslPredicateExecutor<Event> {
 
   /**
    * @param time the time to query for
@@ -35,22 +41,56 @@ public interface ReadOnlyEventRepository extends ReadOnlyRepository<Event, Event
   Iterable<Event> findByStartTimeIsBeforeAndEndTimeIsAfter(LocalDateTime timeBefore,
       LocalDateTime timeAfter);
 
+  /**
+   * @param time the time to query for
+   * @return all events which start after the specified time, ordered by their start time
+   */
+  List<Event> findByStartTimeAfterOrderByStartTime(LocalDateTime time);
+
+  /**
+   * @param time the time to query for
+   * @return all events which end at or before the specified time, ordered by their start time
+   */
+  List<Event> findByEndTimeLessThanEqualOrderByStartTime(LocalDateTime time);
+
+  /**
+   * @param startTime the latest start time (inclusive)
+   * @param endTime the earliest end time (exclusive)
+   * @return all events which start at or before the start time and end after the end time, ordered
+   *         by their start time
+   */
+  List<Event> findByStartTimeLessThanEqualAndEndTimeAfterOrderByStartTime(LocalDateTime startTime,
+      LocalDateTime endTime);
+
+  /**
+   * @param startTime the latest start time (exclusive)
+   * @param endTime the earliest end time (exclusive)
+   * @return all events which start before the start time and end after the end time, ordered by
+   *         their start time
+   */
+  List<Event> findByStartTimeBeforeAndEndTimeAfterOrderByStartTime(LocalDateTime startTime,
+      LocalDateTime endTime);
+
   /**
    * @param person the participant to query for
    * @return all events in which the person participates
    */
+  @Query("SELECT e FROM event e JOIN e.participantsList l JOIN l.participants p "
+      + "WHERE p.participant = ?1")
   Iterable<Event> findByParticipantsListParticipantsContains(Person person);
 
   /**
    * @param activist the activist to query for
    * @return all events in which the activist participated as counsellor
    */
+  @Query("SELECT e FROM event e JOIN e.counselors c WHERE c = ?1")
   Iterable<Event> findByCounselorsContains(Person activist);
 
   /**
    * @param activist the activist to query for
    * @return all events in which the activist participated as organizer
    */
+  @Query("SELECT e FROM event e JOIN e.organizers o WHERE o = ?1")
   Iterable<Event> findByOrganizersContains(Person activist);
 
   /**
@@ -58,4 +98,57 @@ public interface ReadOnlyEventRepository extends ReadOnlyRepository<Event, Event
    */
   @Query("select e from event e")
   Stream<Event> streamAll();
+
+  /**
+   * @return triples of {@code [EventId, start time, end time]} for all persisted events
+   */
+  @Query("SELECT e.id, e.startTime, e.endTime FROM event e")
+  List<Object[]> findAllTimePeriods();
+
+  /**
+   * @param predicate the predicate
+   * @return all events which matched the predicate
+   */
+  @Override
+  List<Event> findAll(Predicate predicate);
+
+  /**
+   * @param eventIds the events to query for. May not be empty
+   * @return triples of {@code [EventId, participants limit, participant count]} for each of the
+   *         events
+   */
+  @Query("SELECT e.id, l.participantsLimit, COUNT(p) FROM event e JOIN e.participantsList l "
+      + "LEFT JOIN l.participants p WHERE e.id IN ?1 GROUP BY e.id, l.participantsLimit")
+  List<Object[]> countParticipants(Collection<EventId> eventIds);
+
+  /**
+   * @param eventIds the events to query for. May not be empty
+   * @return pairs of {@code [EventId, reserved slots]} for each of the events
+   */
+  @Query("SELECT e.id, COALESCE(SUM(r.numberOfSlots), 0) FROM event e JOIN e.participantsList l "
+      + "LEFT JOIN l.reservations r WHERE e.id IN ?1 GROUP BY e.id")
+  List<Object[]> countReservedSlots(Collection<EventId> eventIds);
+
+  /**
+   * @param personId the person to query for
+   * @return all events the person was counselor of, ordered by their start time
+   */
+  @Query("SELECT e FROM event e JOIN e.counselors c WHERE c.id = ?1 ORDER BY e.startTime")
+  List<Event> findAllForCounselor(PersonId personId);
+
+  /**
+   * @param personId the person to query for
+   * @return all events the person organized, ordered by their start time
+   */
+  @Query("SELECT e FROM event e JOIN e.organizers o WHERE o.id = ?1 ORDER BY e.startTime")
+  List<Event> findAllForOrganizer(PersonId personId);
+
+  /**
+   * @param personId the referent to query for
+   * @return tuples of {@code [EventId, event name, lecture title, start time, end time]} for each
+   *         of the lectures held by the person, ordered by their start time
+   */
+  @Query("SELECT e.id, e.name, l.title, l.startTime, l.endTime FROM event e JOIN e.lectures l "
+      + "JOIN l.referent r WHERE r.id = ?1 ORDER BY l.startTime")
+  List<Object[]> findLecturesHeldBy(PersonId personId);
 }
@@ -0,0 +1,137 @@
+package de.naju.adebar.model.events;
+
+import javax.persistence.Column;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.MapsId;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.Transient;
+import org.springframework.data.domain.Persistable;
+import org.springframework.util.Assert;
+import de.naju.adebar.model.human.Person;
+
+/**
+ * A person waiting for a slot of an {@link Event} to become available. The order of the entries is
+ * determined by their ticket, which is drawn when the person is put on the waiting list. As the
+ * tickets never change, leaving the waiting list does not require any other entry to be updated.
+ *
+ * @author Rico Bergmann
+ * @see ParticipantsList
+ */
+@Entity(name = "waitingListEntry")
+public class WaitingListEntry implements Persistable<ParticipationId> {
+  private static final long serialVersionUID = 4981538226630720945L;
+
+  @EmbeddedId
+  private ParticipationId id;
+
+  @MapsId("event")
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "eventId")
+  private ParticipantsList participantsList;
+
+  @MapsId("participant")
+  @ManyToOne
+  @JoinColumn(name = "personId")
+  private Person person;
+
+  @Column(name = "ticket")
+  private long ticket;
+
+  @Transient
+  private boolean isNew = true;
+
+  /**
+   * @param participantsList the list the entry belongs to
+   * @param person the wait-listed person
+   * @param ticket the ticket of the entry. Entries with lower tickets come first
+   */
+  WaitingListEntry(ParticipantsList participantsList, Person person, long ticket) {
+    Assert.notNull(participantsList, "Participants list may not be null!");
+    Assert.notNull(person, "Person may not be null!");
+    this.id = new ParticipationId(participantsList.getEvent(), person.getId());
+    this.participantsList = participantsList;
+    this.person = person;
+    this.ticket = ticket;
+  }
+
+  /**
+   * Default constructor just for JPA's sake
+   */
+  @SuppressWarnings("unused")
+  private WaitingListEntry() {}
+
+  /**
+   * @return the entry's ID
+   */
+  @Override
+  public ParticipationId getId() {
+    return id;
+  }
+
+  /**
+   * @return the wait-listed person
+   */
+  public Person getPerson() {
+    return person;
+  }
+
+  /**
+   * @return the ticket of the entry
+   */
+  public long getTicket() {
+    return ticket;
+  }
+
+  /**
+   * @return whether the entry has not been persisted yet
+   * @see Participation#isNew()
+   */
+  @Override
+  public boolean isNew() {
+    return isNew;
+  }
+
+  /**
+   * Callback for JPA: loaded or persisted entries are no longer new
+   */
+  @PostLoad
+  @PostPersist
+  void markNotNew() {
+    this.isNew = false;
+  }
+
+  // overridden from Object
+
+  @Override
+  public int hashCode() {
+    return (id == null) ? 0 : id.hashCode();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj)
+      return true;
+    if (obj == null)
+      return false;
+    if (!(obj instanceof WaitingListEntry))
+      return false;
+    WaitingListEntry other = (WaitingListEntry) obj;
+    if (id == null) {
+      if (other.id != null)
+        return false;
+    } else if (!id.equals(other.id))
+      return false;
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    return "WaitingListEntry [id=" + id + ", ticket=" + ticket + "]";
+  }
+
+}
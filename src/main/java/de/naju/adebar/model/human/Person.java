@@ -120,10 +120,10 @@ public class Person {
   }
 
   /**
-   * Default constructor for JPA's sake
+   * Default constructor for JPA's sake. It may not be private, as Hibernate has to create lazy
+   * proxies of persons.
    */
-  @SuppressWarnings("unused")
-  private Person() {}
+  protected Person() {}
 
   // getter and setter
 
@@ -1,9 +1,12 @@
 package de.naju.adebar.model.human;
 
 import java.io.Serializable;
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Id;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.util.Assert;
 
 /**
@@ -12,8 +15,15 @@ import org.springframework.util.Assert;
  * For the model it is guaranteed that a qualification's name is unique and many other objects will
  * rely on the correctness of that constraint. Therefore qualifications should be created with great
  * caution.
+ * </p>
+ * <p>
+ * As qualifications are read far more often than they are modified, they are kept in the
+ * second-level cache.
+ * </p>
  */
 @Entity(name = "qualification")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "qualification")
 public class Qualification implements Serializable {
   private static final long serialVersionUID = 4926021134130535348L;
 
@@ -1,5 +1,7 @@
 package de.naju.adebar.model.human;
 
+import javax.persistence.QueryHint;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 
 /**
@@ -9,4 +11,15 @@ import org.springframework.data.repository.CrudRepository;
  * @see Qualification
  */
 public interface QualificationRepository extends CrudRepository<Qualification, String> {
+
+  /**
+   * Returns all instances of the type. The result is kept in the query cache until the next
+   * modification of the qualifications.
+   *
+   * @return all entities
+   */
+  @Override
+  @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"))
+  Iterable<Qualification> findAll();
+
 }
@@ -2,6 +2,7 @@ package de.naju.adebar.model.human;
 
 import java.util.List;
 import java.util.stream.Stream;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QueryDslPredicateExecutor;
 import org.springframework.stereotype.Repository;
@@ -24,9 +25,6 @@ public interface ReadOnlyPersonRepository
   @Query("SELECT p FROM person p WHERE p.archived=0")
   Iterable<Person> findAll();
 
-  @Query("SELECT p FROM person p WHERE p.archived=0 ORDER BY p.lastName")
-  Iterable<Person> findAllOrderByLastName();
-
   /**
    * @return all activists
    */
@@ -42,11 +40,28 @@ public interface ReadOnlyPersonRepository
   Person findOne(PersonId id);
 
   /**
-   * @return the first 25 non-archived persons, ordered by their last name
+   * @param pageable the number of persons to fetch. Sorting will be ignored
+   * @return the first non-archived persons, ordered by their last name, first name and ID
+   */
+  @Query("SELECT p FROM person p WHERE p.archived=0 ORDER BY p.lastName, p.firstName, p.id.id")
+  List<Person> findFirstOrderByName(Pageable pageable);
+
+  /**
+   * Keyset-based pagination of all non-archived persons. The persons are ordered by their last
+   * name, first name and ID, the first person to be returned is the one directly following the
+   * given name and ID.
+   * 
+   * @param lastName the last name of the preceding person
+   * @param firstName the first name of the preceding person
+   * @param id the ID of the preceding person
+   * @param pageable the number of persons to fetch. Sorting will be ignored
+   * @return the non-archived persons following the given one
    */
-  @Query(nativeQuery = true,
-      value = "SELECT TOP 25 p.* FROM person p WHERE p.archived=0 ORDER BY p.last_name")
-  Iterable<Person> findFirst25();
+  @Query("SELECT p FROM person p WHERE p.archived=0 AND (p.lastName > ?1 OR (p.lastName = ?1 AND "
+      + "(p.firstName > ?2 OR (p.firstName = ?2 AND p.id.id > ?3)))) "
+      + "ORDER BY p.lastName, p.firstName, p.id.id")
+  List<Person> findOrderByNameAfter(String lastName, String firstName, String id,
+      Pageable pageable);
 
   /**
    * @return all persons
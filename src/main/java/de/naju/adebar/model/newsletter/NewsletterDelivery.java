@@ -0,0 +1,152 @@
+package de.naju.adebar.model.newsletter;
+
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import org.springframework.util.Assert;
+
+/**
+ * The delivery of a {@link NewsletterDispatch} to a single recipient. As the state is persisted
+ * for each recipient, an interrupted dispatch may be resumed without sending the email to anyone
+ * twice.
+ *
+ * @author Rico Bergmann
+ * @see NewsletterDispatch
+ */
+@Entity(name = "newsletterDelivery")
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"dispatchId", "email"}))
+public class NewsletterDelivery {
+
+  /**
+   * The states a delivery passes through
+   */
+  public enum State {
+    /**
+     * The email was not sent yet
+     */
+    PENDING,
+
+    /**
+     * The email is being sent right now
+     */
+    SENDING,
+
+    /**
+     * The email was handed over to the mail server
+     */
+    SENT,
+
+    /**
+     * The mail server rejected the email
+     */
+    FAILED,
+
+    /**
+     * Sending was interrupted. The email may or may not have reached the mail server, therefore it
+     * will not be sent again automatically.
+     */
+    UNCONFIRMED
+  }
+
+  @Id
+  @GeneratedValue
+  @Column(name = "id")
+  private long id;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "dispatchId")
+  private NewsletterDispatch dispatch;
+
+  @Column(name = "email")
+  private String email;
+
+  @Column(name = "state")
+  private State state;
+
+  @Column(name = "sent")
+  private LocalDateTime sent;
+
+  /**
+   * @param dispatch the dispatch the delivery belongs to
+   * @param email the recipient's email address
+   */
+  public NewsletterDelivery(NewsletterDispatch dispatch, String email) {
+    Assert.notNull(dispatch, "Dispatch may not be null!");
+    Assert.hasText(email, "Email may not be empty!");
+    this.dispatch = dispatch;
+    this.email = email;
+    this.state = State.PENDING;
+  }
+
+  /**
+   * Default constructor for JPA's sake. Not to be used by anything else.
+   */
+  protected NewsletterDelivery() {}
+
+  /**
+   * @return the delivery's ID
+   */
+  public long getId() {
+    return id;
+  }
+
+  /**
+   * @return the dispatch the delivery belongs to
+   */
+  public NewsletterDispatch getDispatch() {
+    return dispatch;
+  }
+
+  /**
+   * @return the recipient's email address
+   */
+  public String getEmail() {
+    return email;
+  }
+
+  /**
+   * @return the current state
+   */
+  public State getState() {
+    return state;
+  }
+
+  /**
+   * @return the time the email was sent. May be {@code null} if it was not sent (yet)
+   */
+  public LocalDateTime getSent() {
+    return sent;
+  }
+
+  // overridden from Object
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(id);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj)
+      return true;
+    if (obj == null)
+      return false;
+    if (!(obj instanceof NewsletterDelivery))
+      return false;
+    NewsletterDelivery other = (NewsletterDelivery) obj;
+    return id == other.id;
+  }
+
+  @Override
+  public String toString() {
+    return "NewsletterDelivery [id=" + id + ", email=" + email + ", state=" + state + "]";
+  }
+
+}
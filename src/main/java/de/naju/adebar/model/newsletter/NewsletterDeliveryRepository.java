@@ -0,0 +1,70 @@
+package de.naju.adebar.model.newsletter;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import de.naju.adebar.model.newsletter.NewsletterDelivery.State;
+
+/**
+ * Repository to access {@link NewsletterDelivery} instances
+ *
+ * @author Rico Bergmann
+ */
+@Repository
+public interface NewsletterDeliveryRepository extends CrudRepository<NewsletterDelivery, Long> {
+
+  /**
+   * @param dispatch the dispatch to query for
+   * @param state the state to query for
+   * @param pageable the number of deliveries to fetch
+   * @return the deliveries of the dispatch which are currently in the given state
+   */
+  List<NewsletterDelivery> findByDispatchAndStateOrderById(NewsletterDispatch dispatch,
+      State state, Pageable pageable);
+
+  /**
+   * @param dispatch the dispatch to query for
+   * @param state the state to query for
+   * @return the number of deliveries of the dispatch which are currently in the given state
+   */
+  long countByDispatchAndState(NewsletterDispatch dispatch, State state);
+
+  /**
+   * @param dispatch the dispatch to query for
+   * @return all deliveries of the dispatch
+   */
+  List<NewsletterDelivery> findByDispatch(NewsletterDispatch dispatch);
+
+  /**
+   * Changes the state of some deliveries at once
+   *
+   * @param ids the deliveries to update
+   * @param state the new state
+   * @param sent the time the deliveries were sent. May be {@code null}
+   * @return the number of updated deliveries
+   */
+  @Transactional
+  @Modifying
+  @Query("UPDATE newsletterDelivery d SET d.state = ?2, d.sent = ?3 WHERE d.id IN ?1")
+  int updateState(Collection<Long> ids, State state, LocalDateTime sent);
+
+  /**
+   * Changes the state of all deliveries of a dispatch which are currently in a certain state
+   *
+   * @param dispatch the dispatch to update
+   * @param currentState the state the deliveries are in now
+   * @param newState the state the deliveries should be in
+   * @return the number of updated deliveries
+   */
+  @Transactional
+  @Modifying
+  @Query("UPDATE newsletterDelivery d SET d.state = ?3 WHERE d.dispatch = ?1 AND d.state = ?2")
+  int updateState(NewsletterDispatch dispatch, State currentState, State newState);
+
+}
@@ -0,0 +1,188 @@
+package de.naju.adebar.model.newsletter;
+
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.Lob;
+import javax.persistence.ManyToOne;
+import org.springframework.util.Assert;
+
+/**
+ * A job to send an email to all subscribers of a {@link Newsletter}. The state of each single
+ * recipient is tracked through a {@link NewsletterDelivery}.
+ *
+ * @author Rico Bergmann
+ * @see NewsletterDelivery
+ */
+@Entity(name = "newsletterDispatch")
+public class NewsletterDispatch {
+
+  /**
+   * The states a dispatch passes through
+   */
+  public enum Status {
+    /**
+     * The recipients are known but no email was sent yet
+     */
+    QUEUED,
+
+    /**
+     * The emails are currently being sent
+     */
+    RUNNING,
+
+    /**
+     * Every recipient was processed
+     */
+    FINISHED
+  }
+
+  @Id
+  @GeneratedValue
+  @Column(name = "id")
+  private long id;
+
+  @ManyToOne
+  @JoinColumn(name = "newsletterId")
+  private Newsletter newsletter;
+
+  @Column(name = "subject")
+  private String subject;
+
+  @Lob
+  @Column(name = "content")
+  private String content;
+
+  @Column(name = "status")
+  private Status status;
+
+  @Column(name = "queued")
+  private LocalDateTime queued;
+
+  @Column(name = "finished")
+  private LocalDateTime finished;
+
+  /**
+   * @param newsletter the newsletter to send
+   * @param subject the subject of the email
+   * @param content the text of the email
+   */
+  public NewsletterDispatch(Newsletter newsletter, String subject, String content) {
+    Assert.notNull(newsletter, "Newsletter may not be null!");
+    Assert.hasText(subject, "Subject may not be empty!");
+    Assert.hasText(content, "Content may not be empty!");
+    this.newsletter = newsletter;
+    this.subject = subject;
+    this.content = content;
+    this.status = Status.QUEUED;
+    this.queued = LocalDateTime.now();
+  }
+
+  /**
+   * Default constructor for JPA's sake. Not to be used by anything else.
+   */
+  protected NewsletterDispatch() {}
+
+  /**
+   * @return the dispatch's ID
+   */
+  public long getId() {
+    return id;
+  }
+
+  /**
+   * @return the newsletter to send
+   */
+  public Newsletter getNewsletter() {
+    return newsletter;
+  }
+
+  /**
+   * @return the subject of the email
+   */
+  public String getSubject() {
+    return subject;
+  }
+
+  /**
+   * @return the text of the email
+   */
+  public String getContent() {
+    return content;
+  }
+
+  /**
+   * @return the current status
+   */
+  public Status getStatus() {
+    return status;
+  }
+
+  /**
+   * @return the time the dispatch was created
+   */
+  public LocalDateTime getQueued() {
+    return queued;
+  }
+
+  /**
+   * @return the time the last recipient was processed. May be {@code null} if the dispatch did not
+   *         finish yet
+   */
+  public LocalDateTime getFinished() {
+    return finished;
+  }
+
+  // modification methods
+
+  /**
+   * Marks the dispatch as being processed
+   */
+  public void start() {
+    Assert.state(status != Status.FINISHED, "Dispatch is already finished: " + this);
+    this.status = Status.RUNNING;
+  }
+
+  /**
+   * Marks the dispatch as done
+   */
+  public void finish() {
+    this.status = Status.FINISHED;
+    this.finished = LocalDateTime.now();
+  }
+
+  /**
+   * @return {@code true} if every recipient was processed, {@code false} otherwise
+   */
+  public boolean isFinished() {
+    return status == Status.FINISHED;
+  }
+
+  // overridden from Object
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(id);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj)
+      return true;
+    if (obj == null)
+      return false;
+    if (!(obj instanceof NewsletterDispatch))
+      return false;
+    NewsletterDispatch other = (NewsletterDispatch) obj;
+    return id == other.id;
+  }
+
+  @Override
+  public String toString() {
+    return "NewsletterDispatch [id=" + id + ", subject=" + subject + ", status=" + status + "]";
+  }
+
+}
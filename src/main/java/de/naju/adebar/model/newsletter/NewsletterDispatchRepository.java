@@ -0,0 +1,29 @@
+package de.naju.adebar.model.newsletter;
+
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+import de.naju.adebar.model.newsletter.NewsletterDispatch.Status;
+
+/**
+ * Repository to access {@link NewsletterDispatch} instances
+ *
+ * @author Rico Bergmann
+ */
+@Repository
+public interface NewsletterDispatchRepository extends CrudRepository<NewsletterDispatch, Long> {
+
+  /**
+   * @param status the states to query for
+   * @return all dispatches with one of the given states, oldest first
+   */
+  List<NewsletterDispatch> findByStatusInOrderByQueued(Collection<Status> status);
+
+  /**
+   * @param newsletter the newsletter to query for
+   * @return all dispatches of the newsletter, newest first
+   */
+  List<NewsletterDispatch> findByNewsletterOrderByQueuedDesc(Newsletter newsletter);
+
+}
@@ -1,5 +1,9 @@
 package de.naju.adebar.model.newsletter;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
@@ -35,4 +39,24 @@ public interface NewsletterRepository extends CrudRepository<Newsletter, Long> {
    * @return all newsletters that the subscriber signed up to
    */
   Iterable<Newsletter> findBySubscribersId(Long id);
+
+  /**
+   * Provides the email addresses of all subscribers of the given newsletters. Each address will
+   * only be returned once, even if the subscriber signed up to multiple of the newsletters. As
+   * this is a stream, it has to be consumed within a transaction and should be closed afterwards.
+   *
+   * @param newsletterIds the IDs of the newsletters
+   * @return the subscribers' email addresses in alphabetical order
+   */
+  @Query("SELECT DISTINCT s.email FROM newsletter n JOIN n.subscribers s WHERE n.id IN ?1 "
+      + "ORDER BY s.email")
+  Stream<String> streamDistinctSubscriberEmails(Collection<Long> newsletterIds);
+
+  /**
+   * @param newsletterIds the newsletters to query for. May not be empty
+   * @return pairs of {@code [ID, subscriber count]} for each of the newsletters
+   */
+  @Query("SELECT n.id, COUNT(s) FROM newsletter n LEFT JOIN n.subscribers s WHERE n.id IN ?1 "
+      + "GROUP BY n.id")
+  List<Object[]> countSubscribers(Collection<Long> newsletterIds);
 }
@@ -40,6 +40,21 @@ public class ActivistToEditActivistFormConverter {
     if (!person.isActivist()) {
       return new EditActivistForm(false, false, null, new LinkedList<>());
     }
+    return convertToEditActivistForm(person, groupRepo.findByMembersContains(person));
+  }
+
+  /**
+   * Performs the conversion for an activist whose local groups are already known
+   * 
+   * @param person the activist to convert
+   * @param localGroups the local groups the activist is member of
+   * @return the created form
+   */
+  public EditActivistForm convertToEditActivistForm(Person person,
+      Iterable<LocalGroup> localGroups) {
+    if (!person.isActivist()) {
+      return new EditActivistForm(false, false, null, new LinkedList<>());
+    }
 
     ActivistProfile activistProfile = person.getActivistProfile();
 
@@ -51,7 +66,7 @@ public class ActivistToEditActivistFormConverter {
           : "";
     }
 
-    Stream<LocalGroup> groups = Streams.stream(groupRepo.findByMembersContains(person));
+    Stream<LocalGroup> groups = Streams.stream(localGroups);
     return new EditActivistForm(true, activistProfile.hasJuleica(), juleicaExpiryDate,
         groups.map(LocalGroup::getId).collect(Collectors.toList()));
   }
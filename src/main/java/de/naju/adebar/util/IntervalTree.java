@@ -0,0 +1,341 @@
+package de.naju.adebar.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.util.Assert;
+
+/**
+ * Associates values with half-open intervals {@code [start, end)} and answers which values overlap
+ * a certain point or range without having to inspect all of them.
+ * <p>
+ * The tree is a balanced (AVL) binary search tree ordered by the intervals' start. Each node
+ * additionally knows the greatest and smallest end within its subtree, which allows to skip
+ * subtrees that cannot contain any matches. Therefore all queries take {@code O(log n + k)} time,
+ * {@code k} being the number of results. Results are ordered by their start (intervals with the
+ * same start in insertion order).
+ * </p>
+ * <p>
+ * Every value may only be associated with one interval at a time. The tree is not thread-safe.
+ * </p>
+ *
+ * @author Rico Bergmann
+ * @param <C> the type of the interval bounds
+ * @param <V> the type of the values
+ */
+public class IntervalTree<C extends Comparable<? super C>, V> {
+
+  private final Map<V, Node<C, V>> nodes = new HashMap<>();
+  private Node<C, V> root;
+  private long sequence;
+
+  /**
+   * Associates a value with an interval. If the value is already part of the tree, its interval
+   * will be replaced.
+   *
+   * @param value the value
+   * @param start the start of the interval (inclusive)
+   * @param end the end of the interval (exclusive)
+   * @throws IllegalArgumentException if any of the parameters is {@code null} or the end is before
+   *         the start
+   */
+  public void put(V value, C start, C end) {
+    Assert.notNull(value, "Value may not be null");
+    Assert.notNull(start, "Start may not be null");
+    Assert.notNull(end, "End may not be null");
+    Assert.isTrue(start.compareTo(end) <= 0, "Start may not be after end: " + start + " " + end);
+    remove(value);
+    Node<C, V> node = new Node<>(value, start, end, sequence++);
+    nodes.put(value, node);
+    root = insert(root, node);
+  }
+
+  /**
+   * Removes a value from the tree. If it is not part of the tree, nothing will happen.
+   *
+   * @param value the value to remove
+   * @return whether the value was part of the tree
+   */
+  public boolean remove(V value) {
+    Node<C, V> node = nodes.remove(value);
+    if (node == null) {
+      return false;
+    }
+    root = delete(root, node);
+    return true;
+  }
+
+  /**
+   * @param value the value to check
+   * @return whether the value is part of the tree
+   */
+  public boolean contains(V value) {
+    return nodes.containsKey(value);
+  }
+
+  /**
+   * @return the number of values in the tree
+   */
+  public int size() {
+    return nodes.size();
+  }
+
+  /**
+   * Removes all values from the tree
+   */
+  public void clear() {
+    nodes.clear();
+    root = null;
+  }
+
+  /**
+   * @param point the point to query for
+   * @return all values whose interval contains the point, i.e. {@code start <= point < end}
+   */
+  public List<V> findContaining(C point) {
+    Assert.notNull(point, "Point may not be null");
+    List<V> result = new ArrayList<>();
+    collectContaining(root, point, result);
+    return result;
+  }
+
+  /**
+   * @param from the start of the range (inclusive)
+   * @param to the end of the range (exclusive)
+   * @return all values whose interval overlaps the range, i.e. {@code start < to && end > from}
+   */
+  public List<V> findOverlapping(C from, C to) {
+    Assert.notNull(from, "From may not be null");
+    Assert.notNull(to, "To may not be null");
+    List<V> result = new ArrayList<>();
+    collectOverlapping(root, from, to, result);
+    return result;
+  }
+
+  /**
+   * @param point the point to query for
+   * @return all values whose interval starts after the point, i.e. {@code start > point}
+   */
+  public List<V> findStartingAfter(C point) {
+    Assert.notNull(point, "Point may not be null");
+    List<V> result = new ArrayList<>();
+    collectStartingAfter(root, point, result);
+    return result;
+  }
+
+  /**
+   * @param point the point to query for
+   * @return all values whose interval ended at the point or before, i.e. {@code end <= point}
+   */
+  public List<V> findEndedBy(C point) {
+    Assert.notNull(point, "Point may not be null");
+    List<V> result = new ArrayList<>();
+    collectEndedBy(root, point, result);
+    return result;
+  }
+
+  private void collectContaining(Node<C, V> node, C point, List<V> result) {
+    if (node == null || node.maxEnd.compareTo(point) <= 0) {
+      return;
+    }
+    collectContaining(node.left, point, result);
+    if (node.start.compareTo(point) > 0) {
+      // all the remaining intervals start after the point as well
+      return;
+    }
+    if (node.end.compareTo(point) > 0) {
+      result.add(node.value);
+    }
+    collectContaining(node.right, point, result);
+  }
+
+  private void collectOverlapping(Node<C, V> node, C from, C to, List<V> result) {
+    if (node == null || node.maxEnd.compareTo(from) <= 0) {
+      return;
+    }
+    collectOverlapping(node.left, from, to, result);
+    if (node.start.compareTo(to) >= 0) {
+      // all the remaining intervals start after the range as well
+      return;
+    }
+    if (node.end.compareTo(from) > 0) {
+      result.add(node.value);
+    }
+    collectOverlapping(node.right, from, to, result);
+  }
+
+  private void collectStartingAfter(Node<C, V> node, C point, List<V> result) {
+    if (node == null) {
+      return;
+    }
+    if (node.start.compareTo(point) > 0) {
+      collectStartingAfter(node.left, point, result);
+      result.add(node.value);
+    }
+    collectStartingAfter(node.right, point, result);
+  }
+
+  private void collectEndedBy(Node<C, V> node, C point, List<V> result) {
+    if (node == null || node.minEnd.compareTo(point) > 0) {
+      return;
+    }
+    collectEndedBy(node.left, point, result);
+    if (node.end.compareTo(point) <= 0) {
+      result.add(node.value);
+    }
+    collectEndedBy(node.right, point, result);
+  }
+
+  /**
+   * @param subtree the subtree to insert the node into
+   * @param node the node to insert
+   * @return the new (balanced) root of the subtree
+   */
+  private Node<C, V> insert(Node<C, V> subtree, Node<C, V> node) {
+    if (subtree == null) {
+      return node;
+    }
+    if (node.compareTo(subtree) < 0) {
+      subtree.left = insert(subtree.left, node);
+    } else {
+      subtree.right = insert(subtree.right, node);
+    }
+    return balance(subtree);
+  }
+
+  /**
+   * @param subtree the subtree to delete the node from
+   * @param node the node to delete
+   * @return the new (balanced) root of the subtree
+   */
+  private Node<C, V> delete(Node<C, V> subtree, Node<C, V> node) {
+    if (subtree == null) {
+      return null;
+    }
+    int cmp = node.compareTo(subtree);
+    if (cmp < 0) {
+      subtree.left = delete(subtree.left, node);
+    } else if (cmp > 0) {
+      subtree.right = delete(subtree.right, node);
+    } else if (subtree.left == null) {
+      return subtree.right;
+    } else if (subtree.right == null) {
+      return subtree.left;
+    } else {
+      Node<C, V> successor = subtree.right;
+      while (successor.left != null) {
+        successor = successor.left;
+      }
+      successor.right = delete(subtree.right, successor);
+      successor.left = subtree.left;
+      subtree = successor;
+    }
+    return balance(subtree);
+  }
+
+  /**
+   * Restores the AVL property of a node whose subtrees differ in height by at most two and updates
+   * its aggregated data
+   *
+   * @param node the node to balance
+   * @return the new root of the subtree
+   */
+  private Node<C, V> balance(Node<C, V> node) {
+    node.update();
+    int balance = height(node.left) - height(node.right);
+    if (balance > 1) {
+      if (height(node.left.left) < height(node.left.right)) {
+        node.left = rotateLeft(node.left);
+      }
+      return rotateRight(node);
+    } else if (balance < -1) {
+      if (height(node.right.right) < height(node.right.left)) {
+        node.right = rotateRight(node.right);
+      }
+      return rotateLeft(node);
+    }
+    return node;
+  }
+
+  private Node<C, V> rotateLeft(Node<C, V> node) {
+    Node<C, V> pivot = node.right;
+    node.right = pivot.left;
+    pivot.left = node;
+    node.update();
+    pivot.update();
+    return pivot;
+  }
+
+  private Node<C, V> rotateRight(Node<C, V> node) {
+    Node<C, V> pivot = node.left;
+    node.left = pivot.right;
+    pivot.right = node;
+    node.update();
+    pivot.update();
+    return pivot;
+  }
+
+  private static int height(Node<?, ?> node) {
+    return node == null ? 0 : node.height;
+  }
+
+  private static <C extends Comparable<? super C>> C max(C a, C b) {
+    return a.compareTo(b) >= 0 ? a : b;
+  }
+
+  private static <C extends Comparable<? super C>> C min(C a, C b) {
+    return a.compareTo(b) <= 0 ? a : b;
+  }
+
+  /**
+   * A single interval within the tree
+   *
+   * @author Rico Bergmann
+   */
+  private static class Node<C extends Comparable<? super C>, V> implements Comparable<Node<C, V>> {
+    private final V value;
+    private final C start;
+    private final C end;
+    private final long sequence;
+    private Node<C, V> left;
+    private Node<C, V> right;
+    private int height;
+    private C maxEnd;
+    private C minEnd;
+
+    Node(V value, C start, C end, long sequence) {
+      this.value = value;
+      this.start = start;
+      this.end = end;
+      this.sequence = sequence;
+      this.height = 1;
+      this.maxEnd = end;
+      this.minEnd = end;
+    }
+
+    /**
+     * Recalculates the height and the aggregated ends from the node's children
+     */
+    void update() {
+      height = 1 + Math.max(height(left), height(right));
+      maxEnd = end;
+      minEnd = end;
+      if (left != null) {
+        maxEnd = max(maxEnd, left.maxEnd);
+        minEnd = min(minEnd, left.minEnd);
+      }
+      if (right != null) {
+        maxEnd = max(maxEnd, right.maxEnd);
+        minEnd = min(minEnd, right.minEnd);
+      }
+    }
+
+    @Override
+    public int compareTo(Node<C, V> other) {
+      int cmp = start.compareTo(other.start);
+      return cmp != 0 ? cmp : Long.compare(sequence, other.sequence);
+    }
+  }
+
+}
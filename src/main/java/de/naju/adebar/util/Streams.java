@@ -1,15 +1,24 @@
 package de.naju.adebar.util;
 
-import java.util.LinkedList;
-import java.util.List;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.springframework.util.Assert;
+import com.google.common.base.Suppliers;
 
 /**
  * Utility functions on streams. Mostly of mathematical nature. Beware that all of these functions
  * (unless stated otherwise) will waste the streams given!
- * 
+ * <p>
+ * The set operations are hash-based: the second stream is read into a hash set the first time it
+ * is needed, whereas the first stream is processed lazily and keeps its order. Elements are
+ * compared through {@link Object#equals(Object)} and {@link Object#hashCode()}, or through a
+ * key (such as an ID) if a key extractor is given.
+ * </p>
+ *
  * @author Rico Bergmann
  * @see Stream
  */
@@ -17,26 +26,34 @@ public class Streams {
 
   /**
    * Calculates a stream c, such that {@code c := a ∩ b}
-   * 
+   *
    * @param a the first stream
    * @param b the second stream
    * @return c
    */
   public static <T> Stream<T> intersect(Stream<T> a, Stream<T> b) {
-    List<T> listA = a.collect(Collectors.toList());
-    List<T> listB = b.collect(Collectors.toList());
-    List<T> result = new LinkedList<>();
-    listA.forEach(elem -> {
-      if (listB.contains(elem)) {
-        result.add(elem);
-      }
-    });
-    return result.stream();
+    return intersect(a, b, Function.identity());
+  }
+
+  /**
+   * Calculates a stream c, such that {@code c := a ∩ b} where two elements are considered equal if
+   * their keys are
+   *
+   * @param a the first stream
+   * @param b the second stream
+   * @param key function to extract the key of an element
+   * @return c
+   */
+  public static <T, K> Stream<T> intersect(Stream<T> a, Stream<T> b,
+      Function<? super T, K> key) {
+    Assert.notNull(key, "Key extractor may not be null");
+    Supplier<Set<K>> keysOfB = indexOf(b, key);
+    return a.filter(elem -> keysOfB.get().contains(key.apply(elem)));
   }
 
   /**
    * Calculates a stream c, such that {@code c := a ∪ b}
-   * 
+   *
    * @param a the first stream
    * @param b the second stream
    * @return c
@@ -50,27 +67,65 @@ public class Streams {
 
   /**
    * Calculates a stream c, such that {@code c := a \ b}
-   * 
+   *
    * @param a the first stream
    * @param b the second stream
    * @return c
    */
   public static <T> Stream<T> subtract(Stream<T> a, Stream<T> b) {
-    List<T> listA = a.collect(Collectors.toList());
-    List<T> listB = b.collect(Collectors.toList());
-    listA.removeAll(listB);
-    return listA.stream();
+    return subtract(a, b, Function.identity());
   }
 
   /**
-   * Checks, if a stream contains a certain element. This will waste the stream!
-   * 
+   * Calculates a stream c, such that {@code c := a \ b} where two elements are considered equal if
+   * their keys are
+   *
+   * @param a the first stream
+   * @param b the second stream
+   * @param key function to extract the key of an element
+   * @return c
+   */
+  public static <T, K> Stream<T> subtract(Stream<T> a, Stream<T> b, Function<? super T, K> key) {
+    Assert.notNull(key, "Key extractor may not be null");
+    Supplier<Set<K>> keysOfB = indexOf(b, key);
+    return a.filter(elem -> !keysOfB.get().contains(key.apply(elem)));
+  }
+
+  /**
+   * Checks, if a stream contains a certain element. The stream will only be consumed up to the
+   * first occurrence of the element. This will waste the stream nevertheless!
+   *
    * @param s the stream to check
    * @param e the element to check for
    * @return {@code true ⇔  elem ∈ stream}
    */
   public static <T> boolean contains(Stream<T> s, T e) {
-    return s.collect(Collectors.toList()).contains(e);
+    return s.anyMatch(elem -> Objects.equals(elem, e));
+  }
+
+  /**
+   * Checks, if a stream contains an element with a certain key. The stream will only be consumed up
+   * to the first matching element. This will waste the stream nevertheless!
+   *
+   * @param s the stream to check
+   * @param key function to extract the key of an element
+   * @param k the key to check for
+   * @return {@code true ⇔ ∃ elem ∈ stream: key(elem) = k}
+   */
+  public static <T, K> boolean containsKey(Stream<T> s, Function<? super T, K> key, K k) {
+    Assert.notNull(key, "Key extractor may not be null");
+    return s.anyMatch(elem -> Objects.equals(key.apply(elem), k));
+  }
+
+  /**
+   * @param s the stream to index
+   * @param key function to extract the key of an element
+   * @return a supplier for the keys of all elements in the stream. The stream will be read on the
+   *         first call only
+   */
+  private static <T, K> Supplier<Set<K>> indexOf(Stream<T> s, Function<? super T, K> key) {
+    Assert.notNull(s, "Stream may not be null");
+    return Suppliers.memoize(() -> s.map(key).collect(Collectors.toSet()))::get;
   }
 
 }
@@ -0,0 +1,25 @@
+-- Secondary indexes for the frequent lookups. The tables themselves are still created by
+-- Hibernate (spring.jpa.hibernate.ddl-auto), the migrations are applied afterwards.
+
+-- persons by name and email, non-archived persons ordered by name (keyset pagination)
+CREATE INDEX idx_person_name ON person (last_name, first_name);
+CREATE INDEX idx_person_email ON person (email);
+CREATE INDEX idx_person_archived_name ON person (archived, last_name, first_name, id);
+
+-- upcoming and past events
+CREATE INDEX idx_event_start ON event (start_time);
+CREATE INDEX idx_event_end ON event (end_time);
+
+-- events of a person. The primary keys only cover the lookups by event.
+CREATE INDEX idx_participation_person ON participation (person_id, event_id);
+CREATE INDEX idx_waiting_list_entry_person ON waiting_list_entry (person_id, event_id);
+CREATE INDEX idx_counselors_counselor ON counselors (counselor_id, event_id);
+CREATE INDEX idx_event_organizers_organizer ON event_organizers (organizer_id, event_id);
+
+-- host of an event
+CREATE INDEX idx_local_group_events_event ON local_group_events (event_id, local_group_id);
+CREATE INDEX idx_project_events_event ON project_events (event_id, project_id);
+
+-- progress of newsletter dispatches
+CREATE INDEX idx_newsletter_delivery_state ON newsletter_delivery (dispatch_id, state, id);
+CREATE INDEX idx_newsletter_dispatch_status ON newsletter_dispatch (status, queued);
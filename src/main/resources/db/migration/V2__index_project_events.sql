@@ -0,0 +1,2 @@
+-- events of a project, used to determine the next event of many projects at once
+CREATE INDEX idx_project_events_project ON project_events (project_id, event_id);
@@ -0,0 +1,3 @@
+-- the version column was added to lists which already existed, but optimistic locking requires
+-- every list to have a version
+UPDATE participants_list SET version = 0 WHERE version IS NULL;
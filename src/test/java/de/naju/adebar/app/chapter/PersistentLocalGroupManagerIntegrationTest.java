@@ -1,9 +1,17 @@
 package de.naju.adebar.app.chapter;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.persistence.EntityManager;
 import de.naju.adebar.app.human.PersonManager;
+import de.naju.adebar.infrastructure.monitoring.QueryCounter;
 import de.naju.adebar.model.chapter.Board;
 import de.naju.adebar.model.chapter.LocalGroup;
 import de.naju.adebar.model.chapter.LocalGroupRepository;
+import de.naju.adebar.model.chapter.ReadOnlyLocalGroupRepository;
 import de.naju.adebar.model.human.Address;
 import de.naju.adebar.model.human.Person;
 import de.naju.adebar.model.human.PersonFactory;
@@ -12,6 +20,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.stereotype.Component;
 import org.springframework.test.annotation.Rollback;
@@ -34,7 +43,12 @@ public class PersistentLocalGroupManagerIntegrationTest {
   @Autowired
   private PersonFactory personFactory;
   @Autowired
+  @Qualifier("ro_localGroupRepo")
+  private ReadOnlyLocalGroupRepository roLocalGroupRepo;
+  @Autowired
   private PersonManager personManager;
+  @Autowired
+  private EntityManager entityManager;
 
   private LocalGroup najuSn;
   private Person hans;
@@ -72,4 +86,60 @@ public class PersistentLocalGroupManagerIntegrationTest {
     najuSn = localGroupManager.updateBoard(najuSn.getId(), b);
     Assert.assertEquals("Chairman should have been updated", hans, najuSn.getBoard().getChairman());
   }
+
+  @Test
+  public void testUpdateLocalGroupMembership() {
+    hans = personManager.savePerson(hans);
+    List<LocalGroup> groups = createLocalGroups(4);
+    groups.get(0).addMember(hans);
+    groups.get(1).addMember(hans);
+    entityManager.flush();
+
+    localGroupManager.updateLocalGroupMembership(hans, Arrays.asList(groups.get(1), groups.get(2)));
+    entityManager.flush();
+
+    Assert.assertEquals("Membership should have been updated",
+        new HashSet<>(Arrays.asList(groups.get(1).getId(), groups.get(2).getId())),
+        roLocalGroupRepo.findIdsByMembersContains(hans));
+    Assert.assertFalse("Loaded members should have been refreshed", groups.get(0).isMember(hans));
+    Assert.assertTrue("Loaded members should have been refreshed", groups.get(2).isMember(hans));
+  }
+
+  @Test
+  public void testUpdateLocalGroupMembershipOnlyWritesChanges() {
+    int groupCount = 30;
+    hans = personManager.savePerson(hans);
+    List<LocalGroup> groups = createLocalGroups(groupCount);
+    groups.subList(0, groupCount / 2).forEach(group -> group.addMember(hans));
+    entityManager.flush();
+    entityManager.clear();
+
+    List<LocalGroup> updatedGroups = groups.subList(groupCount / 3, groupCount);
+    QueryCounter counter;
+    try (QueryCounter c = QueryCounter.start()) {
+      counter = c;
+      localGroupManager.updateLocalGroupMembership(hans, updatedGroups);
+      entityManager.flush();
+    }
+
+    Set<Long> expectedIds = new HashSet<>();
+    updatedGroups.forEach(group -> expectedIds.add(group.getId()));
+    Assert.assertEquals("Membership should have been updated", expectedIds,
+        roLocalGroupRepo.findIdsByMembersContains(hans));
+    Assert.assertTrue("Should not depend on the number of groups: " + counter,
+        counter.getStatements() <= 3);
+  }
+
+  /**
+   * @param count the number of local groups to create
+   * @return the persisted local groups
+   */
+  private List<LocalGroup> createLocalGroups(int count) {
+    List<LocalGroup> groups = new ArrayList<>(count);
+    for (int i = 0; i < count; ++i) {
+      groups.add(localGroupManager.saveLocalGroup(new LocalGroup("NAJU " + i, new Address())));
+    }
+    return groups;
+  }
+
 }
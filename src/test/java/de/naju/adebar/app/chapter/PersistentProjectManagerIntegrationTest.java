@@ -0,0 +1,104 @@
+package de.naju.adebar.app.chapter;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import javax.persistence.EntityManager;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.stereotype.Component;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+import de.naju.adebar.app.events.EventManager;
+import de.naju.adebar.model.chapter.LocalGroup;
+import de.naju.adebar.model.chapter.Project;
+import de.naju.adebar.model.events.Event;
+import de.naju.adebar.model.events.EventFactory;
+import de.naju.adebar.model.human.Address;
+
+/**
+ * @author Rico Bergmann
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+@Rollback
+@Component
+public class PersistentProjectManagerIntegrationTest {
+  @Autowired
+  private PersistentProjectManager projectManager;
+  @Autowired
+  private LocalGroupManager localGroupManager;
+  @Autowired
+  private EventManager eventManager;
+  @Autowired
+  private EventFactory eventFactory;
+  @Autowired
+  private EntityManager entityManager;
+
+  private Project birdCount;
+  private Project toadMigration;
+  private Event pastEvent;
+  private Event nextEvent;
+
+  @Before
+  public void setUp() {
+    LocalGroup najuSn =
+        localGroupManager.saveLocalGroup(new LocalGroup("NAJU Sachsen", new Address()));
+    birdCount = projectManager.createProject("Vogelzählung", najuSn);
+    toadMigration = projectManager.createProject("Krötenwanderung", najuSn);
+
+    LocalDateTime now = LocalDateTime.now();
+    pastEvent = eventManager.saveEvent(
+        eventFactory.build("Vogelzählung Frühjahr", now.minusDays(7), now.minusDays(6)));
+    nextEvent = eventManager.saveEvent(
+        eventFactory.build("Vogelzählung Sommer", now.plusDays(7), now.plusDays(8)));
+    Event laterEvent = eventManager.saveEvent(
+        eventFactory.build("Vogelzählung Herbst", now.plusDays(90), now.plusDays(91)));
+    birdCount.addEvent(laterEvent);
+    birdCount.addEvent(pastEvent);
+    birdCount.addEvent(nextEvent);
+    birdCount = projectManager.saveProject(birdCount);
+
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  @Test
+  public void testFindNextEvents() {
+    Map<Long, NextEvent> nextEvents =
+        projectManager.findNextEvents(Arrays.asList(birdCount, toadMigration));
+    Assert.assertEquals("Wrong next event", nextEvent.getId(),
+        nextEvents.get(birdCount.getId()).getEventId());
+    Assert.assertFalse("Project without events should not have a next event",
+        nextEvents.containsKey(toadMigration.getId()));
+  }
+
+  @Test
+  public void testNextEventIgnoresPastEvents() {
+    Project project =
+        projectManager.findProject(birdCount.getId()).orElseThrow(AssertionError::new);
+    Assert.assertEquals("Past event should not be the next one", nextEvent.getId(),
+        project.getNextEvent().getId());
+  }
+
+  @Test
+  public void testNoNextEventIfAllEventsArePast() {
+    Project project =
+        projectManager.findProject(toadMigration.getId()).orElseThrow(AssertionError::new);
+    LocalDateTime now = LocalDateTime.now();
+    project.addEvent(eventManager
+        .saveEvent(eventFactory.build("Krötenwanderung", now.minusDays(30), now.minusDays(29))));
+    projectManager.saveProject(project);
+    entityManager.flush();
+
+    Assert.assertFalse("Past event should not be the next one",
+        projectManager.findNextEvent(project).isPresent());
+  }
+
+}
@@ -0,0 +1,198 @@
+package de.naju.adebar.app.events;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.EntityManager;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.stereotype.Component;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+import de.naju.adebar.app.chapter.LocalGroupManager;
+import de.naju.adebar.infrastructure.monitoring.QueryCounter;
+import de.naju.adebar.model.chapter.LocalGroup;
+import de.naju.adebar.model.chapter.Project;
+import de.naju.adebar.model.events.Event;
+import de.naju.adebar.model.events.EventFactory;
+import de.naju.adebar.model.events.EventId;
+import de.naju.adebar.model.human.Address;
+
+/**
+ * Testing the batched lookup of the hosts of events, both through the {@link EventDataProcessor}
+ * and through the {@code /api/events/belonging} endpoint
+ *
+ * @author Rico Bergmann
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+@Rollback
+@Component
+public class EventDataProcessorIntegrationTest {
+  /**
+   * More IDs than fit into a single batch of the processor
+   */
+  private static final int UNKNOWN_EVENTS = 600;
+
+  @Autowired
+  private EventDataProcessor dataProcessor;
+  @Autowired
+  private EventManager eventManager;
+  @Autowired
+  private LocalGroupManager localGroupManager;
+  @Autowired
+  private EventFactory eventFactory;
+  @Autowired
+  private EntityManager entityManager;
+  @Autowired
+  private WebApplicationContext context;
+
+  private LocalGroup najuSn;
+  private Project project;
+  private Event hifa;
+  private Event birdCount;
+  private Event hike;
+  private MockMvc mvc;
+
+  @Before
+  public void setUp() {
+    mvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+
+    hifa = eventManager.saveEvent(eventFactory.build("HIFA", LocalDateTime.now().plusDays(1),
+        LocalDateTime.now().plusDays(3)));
+    birdCount = eventManager.saveEvent(eventFactory.build("Vogelzaehlung",
+        LocalDateTime.now().plusDays(10), LocalDateTime.now().plusDays(11)));
+    hike = eventManager.saveEvent(eventFactory.build("Wanderung",
+        LocalDateTime.now().plusDays(20), LocalDateTime.now().plusDays(21)));
+
+    najuSn = localGroupManager.saveLocalGroup(new LocalGroup("NAJU Sachsen", new Address()));
+    najuSn.addEvent(hifa);
+    Project amphibians = new Project("Amphibienschutz", najuSn);
+    amphibians.addEvent(birdCount);
+    najuSn.addProject(amphibians);
+    najuSn = localGroupManager.saveLocalGroup(najuSn);
+    project = najuSn.getProjects().values().iterator().next();
+
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  @Test
+  public void testEventHostedByLocalGroup() {
+    Map<EventId, LocalGroup> localGroups =
+        dataProcessor.getLocalGroupBelonging(Arrays.asList(hifa.getId()));
+    Assert.assertEquals("Local group not found", najuSn.getId(),
+        localGroups.get(hifa.getId()).getId());
+    Assert.assertTrue("Event should not belong to a project",
+        dataProcessor.getProjectBelonging(Arrays.asList(hifa.getId())).isEmpty());
+  }
+
+  @Test
+  public void testEventHostedByProject() {
+    Map<EventId, Project> projects =
+        dataProcessor.getProjectBelonging(Arrays.asList(birdCount.getId()));
+    Assert.assertEquals("Project not found", project.getId(),
+        projects.get(birdCount.getId()).getId());
+    Assert.assertTrue("Event should not belong to a local group",
+        dataProcessor.getLocalGroupBelonging(Arrays.asList(birdCount.getId())).isEmpty());
+  }
+
+  @Test
+  public void testEventWithoutHost() {
+    List<EventId> events = Arrays.asList(hike.getId());
+    Assert.assertTrue("Event should not belong to a local group",
+        dataProcessor.getLocalGroupBelonging(events).isEmpty());
+    Assert.assertTrue("Event should not belong to a project",
+        dataProcessor.getProjectBelonging(events).isEmpty());
+  }
+
+  @Test
+  public void testHostsAreFoundInEveryBatch() {
+    List<EventId> events = manyEventIds();
+
+    Map<EventId, LocalGroup> localGroups = dataProcessor.getLocalGroupBelonging(events);
+    Map<EventId, Project> projects = dataProcessor.getProjectBelonging(events);
+
+    Assert.assertEquals("Local group not found", najuSn.getId(),
+        localGroups.get(hifa.getId()).getId());
+    Assert.assertEquals("Only the local group's event should be found", 1, localGroups.size());
+    Assert.assertEquals("Project not found", project.getId(),
+        projects.get(birdCount.getId()).getId());
+    Assert.assertEquals("Only the project's event should be found", 1, projects.size());
+  }
+
+  @Test
+  public void testOneQueryPerBatch() {
+    QueryCounter singleBatch;
+    try (QueryCounter counter = QueryCounter.start()) {
+      singleBatch = counter;
+      dataProcessor.getLocalGroupBelonging(Arrays.asList(hifa.getId(), hike.getId()));
+      dataProcessor.getProjectBelonging(Arrays.asList(birdCount.getId(), hike.getId()));
+    }
+    Assert.assertEquals("Should use one query per lookup: " + singleBatch, 2,
+        singleBatch.getStatements());
+
+    entityManager.clear();
+    QueryCounter multipleBatches;
+    try (QueryCounter counter = QueryCounter.start()) {
+      multipleBatches = counter;
+      List<EventId> events = manyEventIds();
+      dataProcessor.getLocalGroupBelonging(events);
+      dataProcessor.getProjectBelonging(events);
+    }
+    Assert.assertEquals("Should use one query per batch: " + multipleBatches, 4,
+        multipleBatches.getStatements());
+  }
+
+  @Test
+  @WithMockUser
+  public void testBelongingEndpoint() throws Exception {
+    QueryCounter queries;
+    try (QueryCounter counter = QueryCounter.start()) {
+      queries = counter;
+      mvc.perform(get("/api/events/belonging").param("events", hifa.getId().toString(),
+          birdCount.getId().toString(), hike.getId().toString())) //
+          .andExpect(status().isOk()) //
+          .andExpect(jsonPath("$", hasSize(2))) //
+          .andExpect(jsonPath("$[*].event").value(
+              containsInAnyOrder(hifa.getId().toString(), birdCount.getId().toString()))) //
+          .andExpect(jsonPath("$[*].localGroupName").value(hasItem("NAJU Sachsen"))) //
+          .andExpect(jsonPath("$[*].projectName").value(hasItem("Amphibienschutz")));
+    }
+    Assert.assertEquals("Should use one query per kind of host: " + queries, 2,
+        queries.getStatements());
+  }
+
+  /**
+   * @return the IDs of more unknown events than fit into one batch, followed by the IDs of the
+   *         test's events
+   */
+  private List<EventId> manyEventIds() {
+    List<EventId> events = new ArrayList<>();
+    for (int i = 0; i < UNKNOWN_EVENTS; ++i) {
+      events.add(new EventId("unknown-" + i));
+    }
+    events.addAll(Arrays.asList(hike.getId(), birdCount.getId(), hifa.getId()));
+    return events;
+  }
+
+}
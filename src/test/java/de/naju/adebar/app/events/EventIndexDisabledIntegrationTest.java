@@ -0,0 +1,103 @@
+package de.naju.adebar.app.events;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.stereotype.Component;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import de.naju.adebar.model.events.Event;
+import de.naju.adebar.model.events.EventFactory;
+
+/**
+ * Testing the queries of the {@link PersistentEventManager} if the {@link EventIntervalIndex} is
+ * disabled and the database has to be queried directly
+ *
+ * @author Rico Bergmann
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "adebar.events.index.enabled=false")
+@Transactional
+@Rollback
+@Component
+public class EventIndexDisabledIntegrationTest {
+  @Autowired
+  private PersistentEventManager eventManager;
+  @Autowired
+  private EventFactory eventFactory;
+  @Autowired
+  private EventIntervalIndex intervalIndex;
+
+  private LocalDateTime now;
+  private Event hifa;
+  private Event past;
+  private Event future;
+  private Event kroetenwanderung;
+
+  @Before
+  public void setUp() {
+    now = LocalDateTime.now();
+    LocalDateTime today = LocalDate.now().atStartOfDay();
+    hifa = eventManager.createEvent("HIFA", now.minusDays(1), now.plusDays(1));
+    past = eventManager.createEvent("Vogelzählung", now.minusDays(3), now.minusDays(2));
+    future = eventManager.createEvent("Sommercamp", now.plusDays(2), now.plusDays(3));
+    kroetenwanderung = eventManager.createEvent("Krötenwanderung", today.minusDays(1), today);
+  }
+
+  @Test
+  public void testIndexIsNotUsed() {
+    Assert.assertFalse("Disabled index should not be usable", intervalIndex.isUsable());
+    Assert.assertEquals("Disabled index should be empty", 0, intervalIndex.size());
+  }
+
+  @Test
+  public void testFindEventsByTime() {
+    Iterable<Event> ongoing = eventManager.findOngoingEvents();
+    Iterable<Event> pastEvents = eventManager.findPastEvents();
+    Iterable<Event> futureEvents = eventManager.findFutureEvents();
+
+    Assert.assertTrue("Ongoing event not found", Iterables.contains(ongoing, hifa));
+    Assert.assertTrue("Past event not found", Iterables.contains(pastEvents, past));
+    Assert.assertTrue("Future event not found", Iterables.contains(futureEvents, future));
+    Assert.assertFalse("Past event should not be ongoing", Iterables.contains(ongoing, past));
+    Assert.assertFalse("Future event should not be past", Iterables.contains(pastEvents, future));
+  }
+
+  @Test
+  public void testEventWithoutEndTimeLastsWholeDay() {
+    Assert.assertTrue("Event should be ongoing until the end of the day",
+        Iterables.contains(eventManager.findOngoingEvents(), kroetenwanderung));
+    Assert.assertFalse("Event should not be over yet",
+        Iterables.contains(eventManager.findPastEvents(), kroetenwanderung));
+  }
+
+  @Test
+  public void testFindOverlappingEvents() {
+    Iterable<Event> overlapping = eventManager.findOverlappingEvents(now.plusHours(12),
+        now.plusDays(5));
+
+    Assert.assertTrue("Overlapping event not found", Iterables.contains(overlapping, hifa));
+    Assert.assertTrue("Overlapping event not found", Iterables.contains(overlapping, future));
+    Assert.assertFalse("Event before the time range should not be found",
+        Iterables.contains(overlapping, past));
+  }
+
+  @Test
+  public void testEventsAreOrderedByStartTime() {
+    Iterable<Event> overlapping = eventManager.findOverlappingEvents(now.minusDays(5),
+        now.plusDays(5));
+    Assert.assertEquals(Arrays.asList(past, hifa, future),
+        Lists.newArrayList(Iterables.filter(overlapping,
+            e -> e.equals(past) || e.equals(hifa) || e.equals(future))));
+  }
+
+}
@@ -0,0 +1,171 @@
+package de.naju.adebar.app.events;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.stereotype.Component;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.google.common.collect.Iterables;
+import de.naju.adebar.model.events.Event;
+import de.naju.adebar.model.events.EventFactory;
+import de.naju.adebar.model.events.EventId;
+import de.naju.adebar.model.events.EventRepository;
+
+/**
+ * Testing the queries of the {@link PersistentEventManager} which are answered through the
+ * {@link EventIntervalIndex}. As the index is only updated after commits, the test is not
+ * transactional and cleans up on its own.
+ *
+ * @author Rico Bergmann
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Component
+public class EventIntervalIndexIntegrationTest {
+  @Autowired
+  private PersistentEventManager eventManager;
+  @Autowired
+  private EventFactory eventFactory;
+  @Autowired
+  private EventRepository eventRepo;
+  @Autowired
+  private EventIntervalIndex intervalIndex;
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private List<EventId> createdEvents = new ArrayList<>();
+
+  @After
+  public void tearDown() {
+    createdEvents.stream().filter(eventRepo::exists).forEach(eventRepo::delete);
+  }
+
+  @Test
+  public void testFindEventsByTime() {
+    Event hifa = createEvent("HIFA", LocalDateTime.now().minusDays(1),
+        LocalDateTime.now().plusDays(1));
+    Event past = createEvent("Vogelzählung", LocalDateTime.now().minusDays(3),
+        LocalDateTime.now().minusDays(2));
+    Event future = createEvent("Sommercamp", LocalDateTime.now().plusDays(2),
+        LocalDateTime.now().plusDays(3));
+
+    Assert.assertTrue("Ongoing event not found",
+        Iterables.contains(eventManager.findOngoingEvents(), hifa));
+    Assert.assertTrue("Past event not found",
+        Iterables.contains(eventManager.findPastEvents(), past));
+    Assert.assertTrue("Future event not found",
+        Iterables.contains(eventManager.findFutureEvents(), future));
+    Assert.assertFalse("Past event should not be ongoing",
+        Iterables.contains(eventManager.findOngoingEvents(), past));
+    Assert.assertFalse("Future event should not be past",
+        Iterables.contains(eventManager.findPastEvents(), future));
+  }
+
+  @Test
+  public void testEventWithoutEndTimeLastsWholeDay() {
+    LocalDateTime today = LocalDate.now().atStartOfDay();
+    Event kroetenwanderung = createEvent("Krötenwanderung", today.minusDays(1), today);
+
+    Assert.assertTrue("Event should be ongoing until the end of the day",
+        Iterables.contains(eventManager.findOngoingEvents(), kroetenwanderung));
+    Assert.assertFalse("Event should not be over yet",
+        Iterables.contains(eventManager.findPastEvents(), kroetenwanderung));
+  }
+
+  @Test
+  public void testFindOverlappingEvents() {
+    Event hifa = createEvent("HIFA", LocalDateTime.now().minusDays(1),
+        LocalDateTime.now().plusDays(1));
+    LocalDateTime now = LocalDateTime.now();
+
+    Assert.assertTrue("Overlapping event not found", Iterables
+        .contains(eventManager.findOverlappingEvents(now.plusHours(12), now.plusDays(5)), hifa));
+    Assert.assertFalse("Event after the time range should not be found", Iterables
+        .contains(eventManager.findOverlappingEvents(now.minusDays(5), now.minusDays(2)), hifa));
+  }
+
+  @Test
+  public void testAdoptedTimePeriodIsIndexed() {
+    Event hifa = createEvent("HIFA", LocalDateTime.now().minusDays(1),
+        LocalDateTime.now().plusDays(1));
+    Event eventData = eventFactory.build("HIFA", LocalDateTime.now().plusDays(10),
+        LocalDateTime.now().plusDays(12));
+    String hifaId = hifa.getId().toString();
+    hifa = new TransactionTemplate(transactionManager)
+        .execute(status -> eventManager.adoptEventData(hifaId, eventData));
+
+    Assert.assertFalse("Event should not be ongoing anymore",
+        Iterables.contains(eventManager.findOngoingEvents(), hifa));
+    Assert.assertTrue("Event should take place in the future",
+        Iterables.contains(eventManager.findFutureEvents(), hifa));
+  }
+
+  @Test
+  public void testRolledBackChangesAreIgnored() {
+    Event hifa = createEvent("HIFA", LocalDateTime.now().minusDays(1),
+        LocalDateTime.now().plusDays(1));
+
+    new TransactionTemplate(transactionManager).execute(status -> {
+      Event event = eventManager.findEvent(hifa.getId().toString())
+          .orElseThrow(AssertionError::new);
+      event.updateTimePeriod(LocalDateTime.now().plusDays(10), LocalDateTime.now().plusDays(12));
+      eventManager.saveEvent(event);
+      Assert.assertTrue("Index should not change before commit",
+          intervalIndex.findRunning(LocalDateTime.now()).contains(hifa.getId()));
+      status.setRollbackOnly();
+      return null;
+    });
+
+    Assert.assertTrue("Rolled back time period should not be indexed",
+        intervalIndex.findRunning(LocalDateTime.now()).contains(hifa.getId()));
+    Assert.assertFalse("Rolled back time period should not be indexed",
+        intervalIndex.findFuture(LocalDateTime.now()).contains(hifa.getId()));
+    Assert.assertTrue("Event should still be ongoing",
+        Iterables.contains(eventManager.findOngoingEvents(), hifa));
+  }
+
+  @Test
+  public void testDeletedEventsAreRemoved() {
+    Event hifa = createEvent("HIFA", LocalDateTime.now().minusDays(1),
+        LocalDateTime.now().plusDays(1));
+    eventRepo.delete(hifa.getId());
+
+    Assert.assertFalse("Deleted event should not be indexed",
+        intervalIndex.findRunning(LocalDateTime.now()).contains(hifa.getId()));
+  }
+
+  @Test
+  public void testRebuiltIndexContainsCommittedEvents() {
+    Event hifa = createEvent("HIFA", LocalDateTime.now().minusDays(1),
+        LocalDateTime.now().plusDays(1));
+    intervalIndex.rebuild();
+
+    Assert.assertTrue("Rebuilt index should be usable", intervalIndex.isUsable());
+    Assert.assertTrue("Event not indexed",
+        intervalIndex.findRunning(LocalDateTime.now()).contains(hifa.getId()));
+  }
+
+  /**
+   * Creates and commits a new event, which will be deleted after the test
+   *
+   * @param name the event's name
+   * @param startTime the event's start time
+   * @param endTime the event's end time
+   * @return the event
+   */
+  private Event createEvent(String name, LocalDateTime startTime, LocalDateTime endTime) {
+    Event event = eventManager.createEvent(name, startTime, endTime);
+    createdEvents.add(event.getId());
+    return event;
+  }
+
+}
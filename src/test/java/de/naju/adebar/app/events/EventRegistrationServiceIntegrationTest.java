@@ -0,0 +1,237 @@
+package de.naju.adebar.app.events;
+
+import de.naju.adebar.app.human.PersonManager;
+import de.naju.adebar.model.events.BookedOutException;
+import de.naju.adebar.model.events.Event;
+import de.naju.adebar.model.events.EventFactory;
+import de.naju.adebar.model.events.EventId;
+import de.naju.adebar.model.events.EventRepository;
+import de.naju.adebar.model.events.ParticipationRepository;
+import de.naju.adebar.model.events.TooFewEmptySlotsException;
+import de.naju.adebar.model.human.Person;
+import de.naju.adebar.model.human.PersonFactory;
+import de.naju.adebar.model.human.PersonId;
+import de.naju.adebar.model.human.PersonRepository;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.stereotype.Component;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Stress testing of the {@link EventRegistrationService}. As the registrations have to be committed
+ * in order to compete with each other, the test is not transactional and cleans up on its own.
+ *
+ * @author Rico Bergmann
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Component
+public class EventRegistrationServiceIntegrationTest {
+  private static final int PARTICIPANTS_LIMIT = 20;
+  private static final int PARTICIPANTS = 30;
+  private static final int RESERVATIONS = 10;
+  private static final int RESERVED_SLOTS = 2;
+  private static final int THREADS = 16;
+
+  @Autowired
+  private EventRegistrationService registrationService;
+  @Autowired
+  private EventManager eventManager;
+  @Autowired
+  private EventFactory eventFactory;
+  @Autowired
+  private EventRepository eventRepo;
+  @Autowired
+  private ParticipationRepository participationRepo;
+  @Autowired
+  private PersonManager personManager;
+  @Autowired
+  private PersonFactory personFactory;
+  @Autowired
+  private PersonRepository personRepo;
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private String eventId;
+  private List<Person> persons;
+
+  @Before
+  public void setUp() {
+    Event camp = eventFactory.build("Sommercamp", LocalDateTime.now().plusMonths(2),
+        LocalDateTime.now().plusMonths(2).plusDays(7));
+    camp.setParticipantsLimit(PARTICIPANTS_LIMIT);
+    eventId = eventManager.saveEvent(camp).getId().toString();
+
+    persons = new ArrayList<>(PARTICIPANTS);
+    for (int i = 0; i < PARTICIPANTS; ++i) {
+      persons.add(personManager.savePerson(personFactory
+          .buildNew("Camper" + i, "Registration", "camper" + i + "@web.de").makeParticipant()
+          .create()));
+    }
+  }
+
+  @After
+  public void tearDown() {
+    eventRepo.delete(new EventId(eventId));
+    personRepo.delete(persons);
+  }
+
+  @Test
+  public void testConcurrentRegistrationsDoNotOverbook() throws InterruptedException {
+    AtomicInteger participants = new AtomicInteger();
+    AtomicInteger reservations = new AtomicInteger();
+    AtomicInteger rejections = new AtomicInteger();
+    Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+    for (Person person : persons) {
+      executor.execute(() -> {
+        try {
+          start.await();
+          registrationService.addParticipantIgnoreAge(eventId, person);
+          participants.incrementAndGet();
+        } catch (BookedOutException e) {
+          rejections.incrementAndGet();
+        } catch (Throwable t) {
+          errors.add(t);
+        }
+      });
+    }
+    for (int i = 0; i < RESERVATIONS; ++i) {
+      String description = "Gruppe " + i;
+      executor.execute(() -> {
+        try {
+          start.await();
+          registrationService.addReservationFor(eventId, description, RESERVED_SLOTS, "");
+          reservations.incrementAndGet();
+        } catch (TooFewEmptySlotsException e) {
+          rejections.incrementAndGet();
+        } catch (Throwable t) {
+          errors.add(t);
+        }
+      });
+    }
+
+    start.countDown();
+    executor.shutdown();
+    Assert.assertTrue("Registrations did not finish in time",
+        executor.awaitTermination(1, TimeUnit.MINUTES));
+
+    Assert.assertTrue("Unexpected errors: " + errors, errors.isEmpty());
+    Assert.assertEquals("Every registration should either succeed or be rejected",
+        PARTICIPANTS + RESERVATIONS, participants.get() + reservations.get() + rejections.get());
+
+    // as there are more participants than slots, the event has to be booked out in the end
+    int registeredSlots = participants.get() + reservations.get() * RESERVED_SLOTS;
+    Assert.assertEquals("Event overbooked or slots left", PARTICIPANTS_LIMIT, registeredSlots);
+
+    int persistedSlots = new TransactionTemplate(transactionManager).execute(status -> {
+      Event camp = eventRepo.findOne(new EventId(eventId));
+      return camp.getParticipantsLimit() - camp.getRemainingCapacity();
+    });
+    Assert.assertEquals("Registrations not persisted correctly", registeredSlots, persistedSlots);
+  }
+
+  @Test
+  public void testFreedSlotsArePromotedFromWaitingList() {
+    for (Person person : persons.subList(0, PARTICIPANTS_LIMIT)) {
+      registrationService.addParticipantIgnoreAge(eventId, person);
+    }
+    List<Person> waiting = persons.subList(PARTICIPANTS_LIMIT, PARTICIPANTS_LIMIT + 3);
+    waiting.forEach(person -> registrationService.putOnWaitingList(eventId, person));
+
+    int waitingSpot = new TransactionTemplate(transactionManager).execute(
+        status -> eventRepo.findOne(new EventId(eventId)).getWaitingListSpotFor(waiting.get(2)));
+    Assert.assertEquals("Wrong waiting list position", 3, waitingSpot);
+
+    List<Person> promoted = registrationService.removeParticipant(eventId, persons.get(0));
+    Assert.assertEquals("Head of waiting list not promoted", idsOf(waiting.subList(0, 1)),
+        idsOf(promoted));
+
+    promoted = registrationService.updateParticipantsLimit(eventId, PARTICIPANTS_LIMIT + 5);
+    Assert.assertEquals("Waiting list not promoted in order", idsOf(waiting.subList(1, 3)),
+        idsOf(promoted));
+
+    new TransactionTemplate(transactionManager).execute(status -> {
+      Event camp = eventRepo.findOne(new EventId(eventId));
+      Assert.assertFalse("Waiting list not emptied", camp.hasWaitingList());
+      waiting.forEach(person -> Assert.assertTrue(person + " should participate",
+          camp.isParticipant(person)));
+      return camp;
+    });
+  }
+
+  @Test
+  public void testConflictingRegistrationIsRepeated() {
+    for (Person person : persons.subList(0, PARTICIPANTS_LIMIT - 1)) {
+      registrationService.addParticipantIgnoreAge(eventId, person);
+    }
+    Person late = persons.get(PARTICIPANTS_LIMIT - 1);
+    Person competitor = persons.get(PARTICIPANTS_LIMIT);
+
+    // a service of its own does not share the locks, just like another instance of the application
+    EventRegistrationService otherInstance =
+        new EventRegistrationService(eventRepo, participationRepo, personRepo, transactionManager);
+    ExecutorService otherThread = Executors.newSingleThreadExecutor();
+    AtomicInteger attempts = new AtomicInteger();
+    try {
+      registrationService.modifyEvent(eventId, event -> {
+        if (attempts.incrementAndGet() == 1) {
+          // the first attempt sees the last slot as free, but the competitor takes it before the
+          // attempt is committed
+          Assert.assertEquals("Last slot should be free", 1, event.getRemainingCapacity());
+          try {
+            otherThread.submit(() -> otherInstance.addParticipantIgnoreAge(eventId, competitor))
+                .get();
+          } catch (InterruptedException | ExecutionException e) {
+            throw new IllegalStateException("Competing registration failed", e);
+          }
+        }
+        return event.addParticipantIgnoreAge(personRepo.findOne(late.getId()));
+      });
+      Assert.fail("Repeated registration should notice that the event is booked out");
+    } catch (BookedOutException e) {
+      // expected
+    } finally {
+      otherThread.shutdown();
+    }
+
+    Assert.assertEquals("Registration should have been repeated once", 2, attempts.get());
+    new TransactionTemplate(transactionManager).execute(status -> {
+      Event camp = eventRepo.findOne(new EventId(eventId));
+      Assert.assertEquals("Event overbooked", 0, camp.getRemainingCapacity());
+      Assert.assertTrue("Competitor should participate", camp.isParticipant(competitor));
+      Assert.assertFalse("Late person should not participate", camp.isParticipant(late));
+      return camp;
+    });
+  }
+
+  /**
+   * @param persons the persons
+   * @return the IDs of the persons, in the same order
+   */
+  private List<PersonId> idsOf(List<Person> persons) {
+    return persons.stream().map(Person::getId).collect(Collectors.toList());
+  }
+
+}
@@ -1,7 +1,11 @@
 package de.naju.adebar.app.events;
 
+import de.naju.adebar.app.human.PersonManager;
 import de.naju.adebar.model.events.Event;
 import de.naju.adebar.model.events.EventFactory;
+import de.naju.adebar.model.events.ParticipationInfo;
+import de.naju.adebar.model.human.Person;
+import de.naju.adebar.model.human.PersonFactory;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -25,6 +29,12 @@ public class PersistentEventManagerIntegrationTest {
   private PersistentEventManager eventManager;
   @Autowired
   private EventFactory eventFactory;
+  @Autowired
+  private EventRegistrationService registrationService;
+  @Autowired
+  private PersonManager personManager;
+  @Autowired
+  private PersonFactory personFactory;
 
   private Event hifa;
 
@@ -48,4 +58,30 @@ public class PersistentEventManagerIntegrationTest {
     Assert.assertEquals("Not updated correctly", newName, hifa.getName());
   }
 
+  @Test
+  public void testParticipationIsUpdatedIndividually() {
+    hifa = eventManager.saveEvent(hifa);
+    Person berta = personManager.savePerson(
+        personFactory.buildNew("Berta", "Beate", "berta@gmx.net").makeParticipant().create());
+    Person claus = personManager.savePerson(personFactory
+        .buildNew("Claus", "Störtebecker", "der_kaeptn@web.de").makeParticipant().create());
+
+    registrationService.addParticipantIgnoreAge(hifa.getId().toString(), berta);
+    registrationService.addParticipantIgnoreAge(hifa.getId().toString(), claus);
+    Assert.assertTrue("Participant not added", hifa.isParticipant(berta));
+
+    ParticipationInfo info = hifa.getParticipationInfo(berta);
+    info.setParticipationFeePayed(true);
+    eventManager.updateParticipation(hifa, berta, info);
+    hifa = eventManager.findEvent(hifa.getId().toString()).orElseThrow(AssertionError::new);
+    Assert.assertTrue("Participation info not updated",
+        hifa.getParticipationInfo(berta).isParticipationFeePayed());
+    Assert.assertFalse("Other participation info changed",
+        hifa.getParticipationInfo(claus).isParticipationFeePayed());
+
+    registrationService.removeParticipant(hifa.getId().toString(), claus);
+    Assert.assertFalse("Participant not removed", hifa.isParticipant(claus));
+    Assert.assertTrue("Wrong participant removed", hifa.isParticipant(berta));
+  }
+
 }
@@ -0,0 +1,169 @@
+package de.naju.adebar.app.events.filter;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.javamoney.moneta.Money;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.stereotype.Component;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+import de.naju.adebar.app.events.EventManager;
+import de.naju.adebar.app.filter.ComparableFilterType;
+import de.naju.adebar.app.filter.DateTimeFilterType;
+import de.naju.adebar.app.filter.MatchType;
+import de.naju.adebar.model.events.Event;
+import de.naju.adebar.model.events.EventFactory;
+import de.naju.adebar.model.events.ReadOnlyEventRepository;
+import de.naju.adebar.model.human.Address;
+
+/**
+ * Basic testing of the {@link EventFilterBuilder} when executing the filters as database queries.
+ * Each filter's predicate has to describe exactly the events its stream filter would keep.
+ *
+ * @author Rico Bergmann
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+@Rollback
+@Component
+public class EventFilterBuilderUnitTest {
+  private static final LocalDateTime SUMMER = LocalDateTime.of(2030, 7, 1, 10, 0);
+
+  @Autowired
+  private EventManager eventManager;
+  @Autowired
+  private EventFactory eventFactory;
+  @Autowired
+  private ReadOnlyEventRepository eventRepo;
+
+  private Address dresden;
+  private Address leipzig;
+  private Event hifa;
+  private Event camp;
+  private Event hike;
+  private Event count;
+
+  @Before
+  public void setUp() {
+    dresden = new Address("Hauptstraße 1", "01067", "Dresden");
+    leipzig = new Address("Waldweg 3", "04109", "Leipzig");
+
+    hifa = eventFactory.build("HIFA", SUMMER, SUMMER.plusDays(2));
+    hifa.setPlace(dresden);
+    hifa.setParticipantsLimit(20);
+    hifa.setMinimumParticipantAge(14);
+    hifa.setInternalParticipationFee(Money.of(20, "EUR"));
+
+    camp = eventFactory.build("Sommercamp", SUMMER.plusDays(10), SUMMER.plusDays(17));
+    camp.setPlace(leipzig);
+    camp.setParticipantsLimit(30);
+    camp.setMinimumParticipantAge(8);
+    camp.setInternalParticipationFee(Money.of(150, "EUR"));
+
+    hike = eventFactory.build("Sommerwanderung", SUMMER.plusDays(5),
+        SUMMER.plusDays(5).plusHours(8));
+    hike.setPlace(new Address("", "04109", "Leipzig"));
+    hike.setParticipantsLimit(20);
+    hike.setMinimumParticipantAge(16);
+
+    count = eventFactory.build("Vogelzählung", SUMMER.minusDays(10), SUMMER.minusDays(9));
+
+    Arrays.asList(hifa, camp, hike, count).forEach(eventManager::saveEvent);
+  }
+
+  @Test
+  public void testNameFilter() {
+    assertPredicateMatchesStreamFilter(new NameFilter("Sommer"), camp, hike);
+  }
+
+  @Test
+  public void testEmptyNameFilterKeepsAllEvents() {
+    assertPredicateMatchesStreamFilter(new NameFilter(""), hifa, camp, hike, count);
+  }
+
+  @Test
+  public void testExactAddressFilter() {
+    assertPredicateMatchesStreamFilter(new AddressFilter(leipzig, MatchType.EXACT), camp);
+  }
+
+  @Test
+  public void testAddressFilterIfDefined() {
+    assertPredicateMatchesStreamFilter(
+        new AddressFilter(new Address("", "04109", ""), MatchType.IF_DEFINED), camp, hike);
+  }
+
+  @Test
+  public void testStartTimeFilter() {
+    for (DateTimeFilterType filterType : DateTimeFilterType.values()) {
+      assertPredicateMatchesStreamFilter(new StartTimeFilter(SUMMER, filterType));
+    }
+  }
+
+  @Test
+  public void testEndTimeFilter() {
+    for (DateTimeFilterType filterType : DateTimeFilterType.values()) {
+      assertPredicateMatchesStreamFilter(new EndTimeFilter(SUMMER.plusDays(2), filterType));
+    }
+  }
+
+  @Test
+  public void testMinimumParticipantAgeFilter() {
+    assertPredicateMatchesStreamFilter(new MinimumParticipantAgeFilter(14), hifa, hike);
+  }
+
+  @Test
+  public void testParticipantsLimitFilter() {
+    for (ComparableFilterType filterType : ComparableFilterType.values()) {
+      assertPredicateMatchesStreamFilter(new ParticipantsLimitFilter(20, filterType));
+    }
+  }
+
+  @Test
+  public void testMixedPredicateAndInMemoryFilters() {
+    EventFilter feeFilter = new ParticipationFeeFilter(Money.of(100, "EUR"), null,
+        ComparableFilterType.MAXIMUM);
+    Assert.assertFalse("Fees may only be compared in memory", feeFilter.asPredicate().isPresent());
+
+    EventFilterBuilder builder = new EventFilterBuilder(eventRepo);
+    builder.applyFilter(new MinimumParticipantAgeFilter(10)).applyFilter(feeFilter);
+
+    Assert.assertEquals(new HashSet<>(Arrays.asList(hifa)),
+        builder.resultingStream().collect(Collectors.toSet()));
+  }
+
+  /**
+   * Executes the filter as database query as well as on the stream of all events and checks that
+   * both results are equal
+   *
+   * @param filter the filter to check
+   * @param expected the test's events which should match the filter. If none are given, only the
+   *        results of the two executions will be compared
+   */
+  private void assertPredicateMatchesStreamFilter(EventFilter filter, Event... expected) {
+    Assert.assertTrue("Filter should provide a predicate", filter.asPredicate().isPresent());
+
+    Set<Event> streamResult = filter.filter(eventRepo.streamAll()).collect(Collectors.toSet());
+    EventFilterBuilder builder = new EventFilterBuilder(eventRepo);
+    builder.applyFilter(filter);
+    Set<Event> predicateResult = builder.resultingStream().collect(Collectors.toSet());
+
+    Assert.assertEquals("Predicate does not match the stream filter", streamResult,
+        predicateResult);
+    if (expected.length > 0) {
+      Set<Event> testEvents = new HashSet<>(Arrays.asList(hifa, camp, hike, count));
+      testEvents.retainAll(predicateResult);
+      Assert.assertEquals(new HashSet<>(Arrays.asList(expected)), testEvents);
+    }
+  }
+
+}
@@ -0,0 +1,77 @@
+package de.naju.adebar.app.filter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Basic testing of the {@link LogicalFilter} and {@link FilterConnective}
+ *
+ * @author Rico Bergmann
+ */
+public class LogicalFilterUnitTest {
+  private List<Integer> allNumbers = Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+
+  private AbstractFilter<Integer> even = input -> input.filter(i -> i % 2 == 0);
+  private AbstractFilter<Integer> small = input -> input.filter(i -> i < 4);
+  private AbstractFilter<Integer> divisibleByThree = input -> input.filter(i -> i % 3 == 0);
+
+  @Test
+  public void testConnectiveOr() {
+    AbstractFilter<Integer> filter = FilterConnective.forFilter(even).or(small);
+    Assert.assertEquals(Arrays.asList(0, 1, 2, 3, 4, 6, 8),
+        filter.filter(allNumbers.stream()).collect(Collectors.toList()));
+  }
+
+  @Test
+  public void testConnectiveAnd() {
+    AbstractFilter<Integer> filter = FilterConnective.forFilter(even).and(small);
+    Assert.assertEquals(Arrays.asList(0, 2),
+        filter.filter(allNumbers.stream()).collect(Collectors.toList()));
+  }
+
+  @Test
+  public void testNestedCombination() {
+    // (even ∧ ¬small) ∨ divisibleByThree
+    LogicalFilter<Integer> filter =
+        LogicalFilter.anyOf(LogicalFilter.allOf(even, LogicalFilter.not(small)), divisibleByThree);
+    Assert.assertEquals(Arrays.asList(0, 3, 4, 6, 8, 9),
+        filter.filter(allNumbers.stream()).collect(Collectors.toList()));
+  }
+
+  @Test
+  public void testFluentCombination() {
+    LogicalFilter<Integer> filter = LogicalFilter.not(even).and(small).or(divisibleByThree);
+    Assert.assertEquals(Arrays.asList(0, 1, 3, 6, 9),
+        filter.filter(allNumbers.stream()).collect(Collectors.toList()));
+  }
+
+  @Test
+  public void testCheapOperandsShortCircuit() {
+    List<Integer> expensiveChecks = new ArrayList<>();
+    AbstractFilter<Integer> expensive = input -> input.filter(i -> {
+      expensiveChecks.add(i);
+      return true;
+    });
+
+    LogicalFilter<Integer> filter =
+        LogicalFilter.allOf(LogicalFilter.withCost(expensive, 10), even);
+    Assert.assertEquals(Arrays.asList(0, 2, 4, 6, 8),
+        filter.filter(allNumbers.stream()).collect(Collectors.toList()));
+    Assert.assertEquals("Expensive filter should only check elements passing the cheap one",
+        Arrays.asList(0, 2, 4, 6, 8), expensiveChecks);
+  }
+
+  @Test
+  public void testSinglePass() {
+    LogicalFilter<Integer> filter = LogicalFilter.anyOf(even, small, divisibleByThree);
+    // each operand checks the elements itself, so the stream is consumed exactly once
+    Assert.assertEquals(8,
+        filter.filter(IntStream.range(0, 10).boxed()).collect(Collectors.toList()).size());
+  }
+
+}
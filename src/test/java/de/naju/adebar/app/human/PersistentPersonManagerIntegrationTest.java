@@ -12,6 +12,9 @@ import org.springframework.test.annotation.Rollback;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
 
 /**
  * Basic testing of the {@link PersistentPersonManager}
@@ -76,6 +79,26 @@ public class PersistentPersonManagerIntegrationTest {
         personRepo.exists(heinz.getId()));
   }
 
+  @Test
+  public void testPersonPagination() {
+    claus = personManager.savePerson(claus);
+    berta = personManager.savePerson(berta);
+
+    List<Person> paged = new LinkedList<>();
+    PersonPage page = personManager.findFirstPersonPage(1);
+    paged.addAll(page.getPersons());
+    while (page.hasNext()) {
+      page = personManager.findPersonPageAfter(page.getNext().get(), 1);
+      Assert.assertEquals("Pages should not exceed their size", 1, page.getPersons().size());
+      paged.addAll(page.getPersons());
+    }
+
+    Assert.assertEquals("Every person should be listed once", paged.size(),
+        new HashSet<>(paged).size());
+    Assert.assertTrue("Berta should be listed before Claus",
+        paged.indexOf(berta) >= 0 && paged.indexOf(berta) < paged.indexOf(claus));
+  }
+
   @Test
   public void testUpdatePerson() {
     claus = personManager.savePerson(claus);
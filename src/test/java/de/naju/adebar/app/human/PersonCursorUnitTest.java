@@ -0,0 +1,42 @@
+package de.naju.adebar.app.human;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Basic testing of the {@link PersonCursor}
+ *
+ * @author Rico Bergmann
+ */
+public class PersonCursorUnitTest {
+  private PersonCursor cursor = new PersonCursor("Tiefseetaucher", "Claus", "4711");
+
+  @Test
+  public void testEncodedCursorIsRestored() {
+    Assert.assertEquals("Cursor not restored", Optional.of(cursor),
+        PersonCursor.tryDecode(cursor.encode()));
+    Assert.assertEquals("Cursor not restored", cursor, PersonCursor.decode(cursor.encode()));
+  }
+
+  @Test
+  public void testMalformedCursorIsRejected() {
+    String missingFields = Base64.getUrlEncoder()
+        .encodeToString("Tiefseetaucher".getBytes(StandardCharsets.UTF_8));
+    Assert.assertFalse("Invalid Base64 should be rejected",
+        PersonCursor.tryDecode("not a cursor!").isPresent());
+    Assert.assertFalse("Missing fields should be rejected",
+        PersonCursor.tryDecode(missingFields).isPresent());
+    Assert.assertFalse("Empty cursor should be rejected", PersonCursor.tryDecode("").isPresent());
+    Assert.assertFalse("Missing cursor should be rejected",
+        PersonCursor.tryDecode(null).isPresent());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDecodeFailsOnMalformedCursor() {
+    PersonCursor.decode("not a cursor!");
+  }
+
+}
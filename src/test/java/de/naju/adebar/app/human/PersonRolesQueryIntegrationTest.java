@@ -0,0 +1,126 @@
+package de.naju.adebar.app.human;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.stereotype.Component;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+import de.naju.adebar.app.chapter.LocalGroupManager;
+import de.naju.adebar.app.events.EventManager;
+import de.naju.adebar.model.chapter.Board;
+import de.naju.adebar.model.chapter.LocalGroup;
+import de.naju.adebar.model.chapter.Project;
+import de.naju.adebar.model.events.Event;
+import de.naju.adebar.model.events.EventFactory;
+import de.naju.adebar.model.events.Lecture;
+import de.naju.adebar.model.human.Address;
+import de.naju.adebar.model.human.Person;
+import de.naju.adebar.model.human.PersonFactory;
+
+/**
+ * @author Rico Bergmann
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+@Rollback
+@Component
+public class PersonRolesQueryIntegrationTest {
+  @Autowired
+  private PersonRolesQuery rolesQuery;
+  @Autowired
+  private PersonManager personManager;
+  @Autowired
+  private PersonFactory personFactory;
+  @Autowired
+  private LocalGroupManager localGroupManager;
+  @Autowired
+  private EventManager eventManager;
+  @Autowired
+  private EventFactory eventFactory;
+  @Autowired
+  private EntityManager entityManager;
+
+  private Person claus;
+  private Person berta;
+  private LocalGroup najuSn;
+  private LocalGroup najuLe;
+  private Event hifa;
+  private Event summerCamp;
+
+  @Before
+  public void setUp() {
+    claus = personManager.savePerson(personFactory
+        .buildNew("Claus", "Störtebecker", "der_kaeptn@web.de").makeActivist().makeReferent()
+        .create());
+    berta = personManager.savePerson(
+        personFactory.buildNew("Berta", "Beate", "berta@gmx.net").makeActivist().create());
+
+    najuSn = localGroupManager.saveLocalGroup(new LocalGroup("NAJU Sachsen", new Address()));
+    najuLe = localGroupManager.saveLocalGroup(new LocalGroup("NAJU Leipzig", new Address()));
+    najuSn.addMember(claus);
+    najuLe.addMember(claus);
+    najuLe.addMember(berta);
+    Project project = new Project("Vogelzählung", najuSn);
+    project.addContributor(claus);
+    najuSn.addProject(project);
+    najuSn = localGroupManager.saveLocalGroup(najuSn);
+    najuLe = localGroupManager.saveLocalGroup(najuLe);
+    najuLe = localGroupManager.updateBoard(najuLe.getId(), new Board(claus));
+
+    hifa = eventFactory.build("HIFA", LocalDateTime.now().plusDays(1),
+        LocalDateTime.now().plusDays(3));
+    hifa.addCounselor(claus);
+    hifa.addOrganizer(berta);
+    hifa.addLecture(new Lecture(claus, "Vogelstimmen", LocalDateTime.now().plusDays(2),
+        LocalDateTime.now().plusDays(2).plusHours(2)));
+    hifa = eventManager.saveEvent(hifa);
+    summerCamp = eventFactory.build("Sommercamp", LocalDateTime.now().plusDays(30),
+        LocalDateTime.now().plusDays(37));
+    summerCamp.addOrganizer(claus);
+    summerCamp = eventManager.saveEvent(summerCamp);
+
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  @Test
+  public void testFindRoles() {
+    PersonRoles roles = rolesQuery.findRoles(claus.getId());
+
+    Assert.assertEquals("Local groups not found", Arrays.asList(najuLe.getId(), najuSn.getId()),
+        roles.getLocalGroups().stream().map(LocalGroup::getId).collect(Collectors.toList()));
+    Assert.assertEquals("Board not found", Collections.singletonList(najuLe.getId()),
+        roles.getBoards().stream().map(LocalGroup::getId).collect(Collectors.toList()));
+    Assert.assertEquals("Project not found", 1, roles.getProjects().size());
+    Assert.assertEquals("Counselor event not found", Collections.singletonList(hifa.getId()),
+        roles.getCounselorEvents().stream().map(Event::getId).collect(Collectors.toList()));
+    Assert.assertEquals("Organized event not found", Collections.singletonList(summerCamp.getId()),
+        roles.getOrganizedEvents().stream().map(Event::getId).collect(Collectors.toList()));
+    Assert.assertEquals("Lecture not found", 1, roles.getLectures().size());
+    Assert.assertEquals("Lecture event not correct", hifa.getId(),
+        roles.getLectures().get(0).getEventId());
+  }
+
+  @Test
+  public void testFindRolesForUninvolvedPerson() {
+    Person anna = personManager.savePerson(
+        personFactory.buildNew("Anna", "Lyse", "anna@naju.de").makeActivist().create());
+    PersonRoles roles = rolesQuery.findRoles(anna.getId());
+    Assert.assertFalse("Should not have any local group", roles.hasLocalGroups());
+    Assert.assertFalse("Should not have any board", roles.hasBoards());
+    Assert.assertFalse("Should not have any event", roles.hasEvents());
+    Assert.assertFalse("Should not have any lecture", roles.hasLectures());
+  }
+
+}
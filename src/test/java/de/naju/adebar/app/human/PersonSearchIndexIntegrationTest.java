@@ -0,0 +1,143 @@
+package de.naju.adebar.app.human;
+
+import java.util.List;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.stereotype.Component;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import de.naju.adebar.model.human.Address;
+import de.naju.adebar.model.human.Person;
+import de.naju.adebar.model.human.PersonFactory;
+import de.naju.adebar.model.human.PersonRepository;
+
+/**
+ * Basic testing of the {@link PersonSearchIndex}. As the index is only updated once a transaction
+ * has been committed, the test is not transactional and cleans up on its own.
+ * 
+ * @author Rico Bergmann
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Component
+public class PersonSearchIndexIntegrationTest {
+  @Autowired
+  private PersonFactory personFactory;
+  @Autowired
+  private PersonManager personManager;
+  @Autowired
+  private PersonRepository personRepo;
+  @Autowired
+  private PersonSearchIndex searchIndex;
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+  private TransactionTemplate transactionTemplate;
+  private Person claus, berta;
+
+  @Before
+  public void setUp() {
+    transactionTemplate = new TransactionTemplate(transactionManager);
+    claus = personFactory.buildNew("Claus", "Tiefseetaucher", "der_taucher@web.de").create();
+    claus.setAddress(new Address("Hinner der Boje 7", "24103", "Unterwasserstadt"));
+    claus = personManager.savePerson(claus);
+
+    berta = personFactory.buildNew("Bertalotta", "Beate", "bertalotta@gmx.net").create();
+    berta = personManager.savePerson(berta);
+  }
+
+  @After
+  public void tearDown() {
+    transactionTemplate.execute(status -> {
+      for (Person person : new Person[] {claus, berta}) {
+        if (personRepo.exists(person.getId())) {
+          personRepo.delete(person.getId());
+        }
+      }
+      return null;
+    });
+  }
+
+  @Test
+  public void testSubstringMatch() {
+    Assert.assertTrue("Should find Claus", searchIndex.search("seetauch").stream()
+        .anyMatch(p -> p.getId().equals(claus.getId().toString())));
+  }
+
+  @Test
+  public void testShortPrefixMatch() {
+    Assert.assertTrue("Should find Berta", searchIndex.search("be").stream()
+        .anyMatch(p -> p.getId().equals(berta.getId().toString())));
+  }
+
+  @Test
+  public void testCityMatch() {
+    Assert.assertTrue("Should find Claus by his city", searchIndex.search("unterwasserstadt")
+        .stream().anyMatch(p -> p.getId().equals(claus.getId().toString())));
+  }
+
+  @Test
+  public void testRanking() {
+    List<SearchablePerson> result = searchIndex.search("bertalotta gmx");
+    Assert.assertEquals("Best match should be first", berta.getId().toString(),
+        result.get(0).getId());
+  }
+
+  @Test
+  public void testUpdateIsReflected() {
+    claus.setLastName("Hochseeangler");
+    transactionTemplate.execute(status -> personManager.updatePerson(claus.getId(), claus));
+
+    Assert.assertFalse("Old name should not be found any more", searchIndex.search("tiefseetaucher")
+        .stream().anyMatch(p -> p.getId().equals(claus.getId().toString())));
+    Assert.assertTrue("New name should be found", searchIndex.search("hochseeangler").stream()
+        .anyMatch(p -> p.getId().equals(claus.getId().toString())));
+  }
+
+  @Test
+  public void testDeactivatedPersonsAreRemoved() {
+    transactionTemplate.execute(status -> {
+      personManager.deactivatePerson(berta);
+      return null;
+    });
+    Assert.assertFalse("Deactivated person should not be found", searchIndex.search("bertalotta")
+        .stream().anyMatch(p -> p.getId().equals(berta.getId().toString())));
+  }
+
+  @Test
+  public void testDeletedPersonsAreRemoved() {
+    transactionTemplate.execute(status -> {
+      personRepo.delete(berta.getId());
+      return null;
+    });
+    Assert.assertFalse("Deleted person should not be found", searchIndex.search("bertalotta")
+        .stream().anyMatch(p -> p.getId().equals(berta.getId().toString())));
+  }
+
+  @Test
+  public void testRolledBackChangesAreIgnored() {
+    Person heinz = transactionTemplate.execute(status -> {
+      Person person = personManager
+          .savePerson(personFactory.buildNew("Heinz", "Rückgängig", "heinz@web.de").create());
+      claus.setLastName("Hochseeangler");
+      personManager.updatePerson(claus.getId(), claus);
+      personRepo.delete(berta.getId());
+      status.setRollbackOnly();
+      return person;
+    });
+
+    Assert.assertFalse("Rolled back person should not be found", searchIndex.search("rückgängig")
+        .stream().anyMatch(p -> p.getId().equals(heinz.getId().toString())));
+    Assert.assertTrue("Rolled back update should not be visible",
+        searchIndex.search("tiefseetaucher").stream()
+            .anyMatch(p -> p.getId().equals(claus.getId().toString())));
+    Assert.assertTrue("Rolled back deletion should not be visible", searchIndex.search("bertalotta")
+        .stream().anyMatch(p -> p.getId().equals(berta.getId().toString())));
+  }
+
+}
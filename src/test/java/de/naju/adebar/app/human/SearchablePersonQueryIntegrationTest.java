@@ -0,0 +1,80 @@
+package de.naju.adebar.app.human;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.stereotype.Component;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+import de.naju.adebar.model.human.Address;
+import de.naju.adebar.model.human.Person;
+import de.naju.adebar.model.human.PersonFactory;
+import de.naju.adebar.model.human.QPerson;
+
+/**
+ * Basic testing of the {@link SearchablePersonQuery}
+ *
+ * @author Rico Bergmann
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+@Rollback
+@Component
+public class SearchablePersonQueryIntegrationTest {
+  @Autowired
+  private PersonFactory personFactory;
+  @Autowired
+  private PersonManager personManager;
+  @Autowired
+  private SearchablePersonQuery personQuery;
+  private Person claus, berta;
+
+  @Before
+  public void setUp() {
+    claus = personFactory.buildNew("Claus", "Projektionstaucher", "der_taucher@web.de")
+        .makeParticipant().create();
+    claus.setAddress(new Address("Hinner der Boje 7", "24103", "Unterwasserstadt"));
+    claus.getParticipantProfile().setDateOfBirth(LocalDate.of(1995, 4, 17));
+    claus = personManager.savePerson(claus);
+
+    berta = personFactory.buildNew("Bertalotta", "Projektionstaucher", "bertalotta@gmx.net")
+        .create();
+    berta = personManager.savePerson(berta);
+  }
+
+  @Test
+  public void testProjectionContainsPersonData() {
+    List<SearchablePerson> result =
+        personQuery.findAll(QPerson.person.firstName.eq("Claus")
+            .and(QPerson.person.lastName.eq("Projektionstaucher")));
+
+    Assert.assertEquals("Only Claus should match", 1, result.size());
+    SearchablePerson person = result.get(0);
+    Assert.assertEquals("Wrong id", claus.getId().toString(), person.getId());
+    Assert.assertEquals("Wrong name", claus.getName(), person.getName());
+    Assert.assertEquals("Wrong email", claus.getEmail(), person.getEmail());
+    Assert.assertEquals("Wrong city", "Unterwasserstadt", person.getCity());
+    Assert.assertEquals("Wrong date of birth", LocalDate.of(1995, 4, 17),
+        person.getDateOfBirth());
+  }
+
+  @Test
+  public void testNonParticipantsHaveNoDateOfBirth() {
+    List<SearchablePerson> result =
+        personQuery.findAll(QPerson.person.lastName.eq("Projektionstaucher"));
+
+    Assert.assertEquals("Both persons should match", 2, result.size());
+    SearchablePerson person = result.stream()
+        .filter(p -> p.getId().equals(berta.getId().toString())).findAny().get();
+    Assert.assertNull("Berta is no participant", person.getDateOfBirth());
+    Assert.assertEquals("Missing address should be empty", "", person.getCity());
+  }
+
+}
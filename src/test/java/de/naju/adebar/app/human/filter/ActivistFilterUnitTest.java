@@ -2,6 +2,7 @@ package de.naju.adebar.app.human.filter;
 
 import java.util.Arrays;
 import java.util.List;
+import org.hamcrest.Matchers;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -32,7 +33,8 @@ public class ActivistFilterUnitTest extends FilterTestBootstrapper {
     List<Person> expected = Arrays.asList(claus, berta, hans);
     activistFilter = new ActivistFilter(FilterType.ENFORCE);
     Object[] result = activistFilter.filter(personRepo.streamAll()).toArray();
-    Assert.assertArrayEquals("Should only contain activists", expected.toArray(), result);
+    Assert.assertThat("Should only contain activists", result,
+        Matchers.arrayContainingInAnyOrder(expected.toArray()));
   }
 
   @Test
@@ -2,6 +2,7 @@ package de.naju.adebar.app.human.filter;
 
 import de.naju.adebar.app.filter.DateFilterType;
 import de.naju.adebar.model.human.Person;
+import org.hamcrest.Matchers;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -36,8 +37,9 @@ public class DateOfBirthFilterUnitTest extends FilterTestBootstrapper {
     Person[] result = {claus, fritz};
     dateOfBirthFilter = new DateOfBirthFilter(bertaDob, DateFilterType.BEFORE);
     System.out.println(Arrays.toString(dateOfBirthFilter.filter(personRepo.streamAll()).toArray()));
-    Assert.assertArrayEquals("Arrays do not match", result,
-        dateOfBirthFilter.filter(personRepo.streamAll()).toArray());
+    Assert.assertThat("Arrays do not match",
+        dateOfBirthFilter.filter(personRepo.streamAll()).toArray(),
+        Matchers.arrayContainingInAnyOrder((Object[]) result));
   }
 
   @Test
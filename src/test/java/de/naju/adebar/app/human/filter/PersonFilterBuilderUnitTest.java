@@ -0,0 +1,101 @@
+package de.naju.adebar.app.human.filter;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.stereotype.Component;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+import de.naju.adebar.app.filter.DateFilterType;
+import de.naju.adebar.app.filter.FilterType;
+import de.naju.adebar.app.filter.MatchType;
+import de.naju.adebar.model.human.Address;
+import de.naju.adebar.model.human.Gender;
+import de.naju.adebar.model.human.Person;
+
+/**
+ * Basic testing of the {@link PersonFilterBuilder} when executing the filters as database queries
+ * 
+ * @author Rico Bergmann
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+@Rollback
+@Component
+public class PersonFilterBuilderUnitTest extends FilterTestBootstrapper {
+  @Autowired
+  private PersonFilterQuery personQuery;
+
+  @Test
+  public void testPredicateMatchesStreamFilter() {
+    Set<Person> expected = new HashSet<>(Arrays.asList(claus, heinz));
+
+    PersonFilterBuilder builder = new PersonFilterBuilder(personRepo);
+    builder.applyFilter(new GenderFilter(Gender.MALE, FilterType.ENFORCE))
+        .applyFilter(new DateOfBirthFilter(hansDob, DateFilterType.BEFORE));
+
+    Assert.assertEquals(expected, builder.resultingStream().collect(Collectors.toSet()));
+  }
+
+  @Test
+  public void testMixedPredicateAndInMemoryFilters() {
+    Set<Person> expected = new HashSet<>(Arrays.asList(berta));
+
+    PersonFilterBuilder builder = new PersonFilterBuilder(personRepo);
+    builder.applyFilter(new ActivistFilter(FilterType.ENFORCE)) //
+        .applyFilter(new ReferentFilter(Arrays.asList(bertaQualification1)));
+
+    Assert.assertEquals(expected, builder.resultingStream().collect(Collectors.toSet()));
+  }
+
+  @Test
+  public void testAddressIfDefined() {
+    Set<Person> expected = new HashSet<>(Arrays.asList(fritz));
+    Address address = new Address("", fritzAddress.getZip(), "");
+
+    PersonFilterBuilder builder = new PersonFilterBuilder(personRepo);
+    builder.applyFilter(new AddressFilter(address, MatchType.IF_DEFINED));
+
+    Assert.assertEquals(expected, builder.resultingStream().collect(Collectors.toSet()));
+  }
+
+  @Test
+  public void testJuleicaStatus() {
+    Set<Person> expected = new HashSet<>(Arrays.asList(hans, claus, berta));
+
+    PersonFilterBuilder builder = new PersonFilterBuilder(personRepo);
+    builder.applyFilter(new ActivistFilter(true));
+
+    Assert.assertEquals(expected, builder.resultingStream().collect(Collectors.toSet()));
+  }
+
+  @Test
+  public void testQueryLoadsRequiredProfiles() {
+    Set<Person> expected = new HashSet<>(Arrays.asList(berta));
+
+    PersonFilterBuilder builder = new PersonFilterBuilder(personQuery);
+    builder.applyFilter(new ActivistFilter(FilterType.ENFORCE)) //
+        .applyFilter(new ReferentFilter(Arrays.asList(bertaQualification1)));
+
+    Assert.assertEquals(expected, builder.resultingStream().collect(Collectors.toSet()));
+  }
+
+  @Test
+  public void testReferentFilterRequiresProfileOnlyForQualifications() {
+    Assert.assertTrue("General referent status is part of the person",
+        new ReferentFilter(FilterType.ENFORCE).requiredProfiles().isEmpty());
+    Assert.assertEquals("Qualifications are part of the referent profile",
+        EnumSet.of(PersonProfile.REFERENT),
+        new ReferentFilter(Arrays.asList(bertaQualification1)).requiredProfiles());
+  }
+
+}
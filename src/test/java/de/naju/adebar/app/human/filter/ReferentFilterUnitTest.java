@@ -2,6 +2,7 @@ package de.naju.adebar.app.human.filter;
 
 import java.util.Arrays;
 import java.util.List;
+import org.hamcrest.Matchers;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -39,8 +40,9 @@ public class ReferentFilterUnitTest extends FilterTestBootstrapper {
   public void testIgnoreReferent() {
     List<Person> result = Arrays.asList(claus, heinz, hans);
     referentFilter = new ReferentFilter(FilterType.IGNORE);
-    Assert.assertArrayEquals("Should not contain referents", result.toArray(),
-        referentFilter.filter(personRepo.streamAll()).toArray());
+    Assert.assertThat("Should not contain referents",
+        referentFilter.filter(personRepo.streamAll()).toArray(),
+        Matchers.arrayContainingInAnyOrder(result.toArray()));
   }
 
   @Test
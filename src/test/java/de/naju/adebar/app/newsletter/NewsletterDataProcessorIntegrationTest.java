@@ -0,0 +1,76 @@
+package de.naju.adebar.app.newsletter;
+
+import de.naju.adebar.model.newsletter.Newsletter;
+import de.naju.adebar.model.newsletter.NewsletterRepository;
+import de.naju.adebar.model.newsletter.Subscriber;
+import de.naju.adebar.model.newsletter.SubscriberRepository;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.stereotype.Component;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Testing the recipient generation of the {@link NewsletterDataProcessor}
+ *
+ * @author Rico Bergmann
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+@Rollback
+@Component
+public class NewsletterDataProcessorIntegrationTest {
+  @Autowired
+  private NewsletterDataProcessor dataProcessor;
+  @Autowired
+  private NewsletterRepository newsletterRepo;
+  @Autowired
+  private SubscriberRepository subscriberRepo;
+
+  private Newsletter hifa, summerCamp;
+
+  @Before
+  public void setUp() {
+    Subscriber anna = subscriberRepo.save(new Subscriber("Anna", "Lyse", "anna@naju.de"));
+    Subscriber hanna = subscriberRepo.save(new Subscriber("Hanna", "Lyse", "hanna@naju.de"));
+    Subscriber bert = subscriberRepo.save(new Subscriber("Bert", "Ram", "bert@naju.de"));
+
+    hifa = new Newsletter("HIFA");
+    hifa.addSubscriber(hanna);
+    hifa.addSubscriber(bert);
+    hifa = newsletterRepo.save(hifa);
+
+    summerCamp = new Newsletter("Sommercamp");
+    summerCamp.addSubscriber(anna);
+    summerCamp.addSubscriber(bert);
+    summerCamp = newsletterRepo.save(summerCamp);
+  }
+
+  @Test
+  public void testSubscriberEmailsAreDistinct() {
+    List<String> emails =
+        Arrays.asList(dataProcessor.getSubscriberEmails(hifa, summerCamp).split(";"));
+    Assert.assertEquals("Subscribers should be listed once each",
+        Arrays.asList("anna@naju.de", "bert@naju.de", "hanna@naju.de"), emails);
+  }
+
+  @Test
+  public void testSubscriberChunks() {
+    List<List<String>> chunks = new ArrayList<>();
+    dataProcessor.forEachSubscriberChunk(2, chunks::add, hifa, summerCamp);
+    Assert.assertEquals("Wrong chunks",
+        Arrays.asList(Arrays.asList("anna@naju.de", "bert@naju.de"),
+            Arrays.asList("hanna@naju.de")),
+        chunks);
+  }
+
+}
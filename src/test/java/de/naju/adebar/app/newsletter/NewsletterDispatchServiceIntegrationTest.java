@@ -0,0 +1,294 @@
+package de.naju.adebar.app.newsletter;
+
+import com.icegreen.greenmail.junit.GreenMailRule;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import de.naju.adebar.model.newsletter.Newsletter;
+import de.naju.adebar.model.newsletter.NewsletterDelivery;
+import de.naju.adebar.model.newsletter.NewsletterDelivery.State;
+import de.naju.adebar.model.newsletter.NewsletterDeliveryRepository;
+import de.naju.adebar.model.newsletter.NewsletterDispatch;
+import de.naju.adebar.model.newsletter.NewsletterDispatchRepository;
+import de.naju.adebar.model.newsletter.NewsletterRepository;
+import de.naju.adebar.model.newsletter.Subscriber;
+import de.naju.adebar.model.newsletter.SubscriberRepository;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.mail.Message.RecipientType;
+import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
+import javax.mail.internet.MimeMessage;
+
+/**
+ * Testing the {@link NewsletterDispatchService} against a local mail server. As the emails are
+ * sent in the background, the test is not transactional and cleans up on its own.
+ *
+ * @author Rico Bergmann
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {"spring.mail.host=localhost", "spring.mail.port=3025",
+    "adebar.newsletter.dispatch.messages-per-second=1000",
+    "adebar.newsletter.dispatch.batch-size=3",
+    "adebar.newsletter.dispatch.retry-delay-seconds=1"})
+@Component
+public class NewsletterDispatchServiceIntegrationTest {
+  private static final int SUBSCRIBERS = 10;
+  private static final long TIMEOUT_MILLIS = 10000;
+
+  @Rule
+  public final GreenMailRule greenMail = new GreenMailRule(ServerSetupTest.SMTP);
+
+  @Autowired
+  private NewsletterDispatchService dispatchService;
+  @Autowired
+  private NewsletterDispatchRepository dispatchRepo;
+  @Autowired
+  private NewsletterDeliveryRepository deliveryRepo;
+  @Autowired
+  private NewsletterRepository newsletterRepo;
+  @Autowired
+  private SubscriberRepository subscriberRepo;
+  @Autowired
+  private NewsletterDataProcessor dataProcessor;
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+  @Autowired
+  private Environment environment;
+
+  private Newsletter newsletter;
+  private List<Subscriber> subscribers;
+
+  @Before
+  public void setUp() {
+    subscribers = new ArrayList<>(SUBSCRIBERS);
+    // the newsletter has to exist before the (already saved) subscribers may be added to it
+    newsletter = newsletterRepo.save(new Newsletter("Dispatch"));
+    for (int i = 0; i < SUBSCRIBERS; ++i) {
+      Subscriber subscriber =
+          subscriberRepo.save(new Subscriber("Anna", "Lyse", "dispatch" + i + "@naju.de"));
+      subscribers.add(subscriber);
+      newsletter.addSubscriber(subscriber);
+    }
+    newsletter = newsletterRepo.save(newsletter);
+  }
+
+  @After
+  public void tearDown() {
+    for (NewsletterDispatch dispatch : dispatchService.findDispatches(newsletter)) {
+      deliveryRepo.delete(deliveryRepo.findByDispatch(dispatch));
+      dispatchRepo.delete(dispatch);
+    }
+    newsletterRepo.delete(newsletter.getId());
+    subscriberRepo.delete(subscribers);
+  }
+
+  @Test
+  public void testEveryRecipientReceivesOneEmail() throws Exception {
+    NewsletterDispatch dispatch = dispatchService.queue(newsletter, "Sommercamp", "Hallo!");
+
+    Assert.assertTrue("Emails were not sent",
+        greenMail.waitForIncomingEmail(TIMEOUT_MILLIS, SUBSCRIBERS));
+    awaitFinished(dispatch);
+
+    Assert.assertEquals("Recipients should receive one email each", expectedRecipients(0),
+        receivedRecipients());
+    Assert.assertEquals("All deliveries should be sent", SUBSCRIBERS,
+        dispatchService.countDeliveries(dispatch, State.SENT));
+    Assert.assertEquals("Emails should be sent in batches", 4,
+        dispatchService.getStatistics(dispatch.getId()).get().getBatches());
+  }
+
+  @Test
+  public void testResumedDispatchDoesNotSendTwice() throws Exception {
+    NewsletterDispatch dispatch = createDispatch();
+
+    // simulate an interrupted run: the first half of the recipients was processed already
+    List<Long> processed = deliveryRepo.findByDispatch(dispatch).stream() //
+        .filter(d -> d.getEmail().compareTo("dispatch5@naju.de") < 0) //
+        .map(NewsletterDelivery::getId) //
+        .collect(Collectors.toList());
+    deliveryRepo.updateState(processed, State.SENT, LocalDateTime.now());
+
+    dispatchService.process(dispatch.getId());
+
+    Assert.assertEquals("Only pending recipients should receive an email", expectedRecipients(5),
+        receivedRecipients());
+    Assert.assertTrue("Dispatch should be finished",
+        dispatchRepo.findOne(dispatch.getId()).isFinished());
+  }
+
+  @Test
+  public void testPausedDispatchIsRetried() throws Exception {
+    NewsletterDispatch dispatch = createDispatch();
+    greenMail.stop();
+
+    dispatchService.process(dispatch.getId());
+
+    Assert.assertEquals("Recipients should still be pending", SUBSCRIBERS,
+        dispatchService.countDeliveries(dispatch, State.PENDING));
+    Assert.assertFalse("Dispatch should be paused",
+        dispatchRepo.findOne(dispatch.getId()).isFinished());
+
+    greenMail.start();
+    Assert.assertTrue("Paused dispatch was not retried",
+        greenMail.waitForIncomingEmail(TIMEOUT_MILLIS, SUBSCRIBERS));
+    awaitFinished(dispatch);
+    Assert.assertEquals("Recipients should receive one email each", expectedRecipients(0),
+        receivedRecipients());
+  }
+
+  @Test
+  public void testRejectedRecipientIsMarkedFailed() throws Exception {
+    NewsletterDispatch dispatch = createDispatch();
+    // the last batch consists of the rejected recipient only
+    String rejected = subscribers.get(SUBSCRIBERS - 1).getEmail();
+    NewsletterDispatchService rejectingService = new NewsletterDispatchService(dispatchRepo,
+        deliveryRepo, dataProcessor, new SenderProvider(new RejectingMailSender(rejected)),
+        transactionManager, environment);
+
+    try {
+      rejectingService.process(dispatch.getId());
+    } finally {
+      rejectingService.shutdown();
+    }
+
+    Assert.assertTrue("Dispatch should be finished",
+        dispatchRepo.findOne(dispatch.getId()).isFinished());
+    Assert.assertEquals("Other recipients should be sent", SUBSCRIBERS - 1,
+        dispatchService.countDeliveries(dispatch, State.SENT));
+    Assert.assertEquals("Rejected recipient should be failed", 1,
+        dispatchService.countDeliveries(dispatch, State.FAILED));
+  }
+
+  /**
+   * @return a new dispatch for all subscribers, which is not being processed yet
+   */
+  private NewsletterDispatch createDispatch() {
+    NewsletterDispatch dispatch =
+        dispatchRepo.save(new NewsletterDispatch(newsletter, "Sommercamp", "Hallo!"));
+    List<NewsletterDelivery> deliveries = new ArrayList<>(SUBSCRIBERS);
+    subscribers.forEach(s -> deliveries.add(new NewsletterDelivery(dispatch, s.getEmail())));
+    deliveryRepo.save(deliveries);
+    return dispatch;
+  }
+
+  /**
+   * @param from the index of the first subscriber which should have received an email
+   * @return the sorted addresses of all subscribers with an index of at least {@code from}
+   */
+  private List<String> expectedRecipients(int from) {
+    return subscribers.subList(from, SUBSCRIBERS).stream() //
+        .map(Subscriber::getEmail) //
+        .sorted() //
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * @return the sorted recipients of all emails the mail server received
+   */
+  private List<String> receivedRecipients() throws MessagingException {
+    List<String> recipients = new ArrayList<>();
+    for (MimeMessage message : greenMail.getReceivedMessages()) {
+      Stream.of(message.getRecipients(RecipientType.TO))
+          .forEach(address -> recipients.add(address.toString()));
+    }
+    Collections.sort(recipients);
+    return recipients;
+  }
+
+  /**
+   * @param dispatch the dispatch to wait for
+   */
+  private void awaitFinished(NewsletterDispatch dispatch) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+    while (!dispatchRepo.findOne(dispatch.getId()).isFinished()) {
+      Assert.assertTrue("Dispatch did not finish in time: " + Arrays.toString(
+          deliveryRepo.findByDispatch(dispatch).toArray()),
+          System.currentTimeMillis() < deadline);
+      Thread.sleep(50);
+    }
+  }
+
+  /**
+   * Mail sender which pretends to send all emails, but rejects the address of one recipient just
+   * like a mail server would
+   */
+  private static class RejectingMailSender extends JavaMailSenderImpl {
+    private final String rejectedAddress;
+
+    RejectingMailSender(String rejectedAddress) {
+      this.rejectedAddress = rejectedAddress;
+    }
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) {
+      Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+      for (MimeMessage message : mimeMessages) {
+        try {
+          if (rejectedAddress.equals(message.getRecipients(RecipientType.TO)[0].toString())) {
+            failedMessages.put(message, new SendFailedException("Invalid address"));
+          }
+        } catch (MessagingException e) {
+          throw new IllegalStateException(e);
+        }
+      }
+      if (!failedMessages.isEmpty()) {
+        throw new MailSendException(failedMessages);
+      }
+    }
+  }
+
+  /**
+   * Provides a fixed mail sender
+   */
+  private static class SenderProvider implements ObjectProvider<JavaMailSender> {
+    private final JavaMailSender mailSender;
+
+    SenderProvider(JavaMailSender mailSender) {
+      this.mailSender = mailSender;
+    }
+
+    @Override
+    public JavaMailSender getObject() {
+      return mailSender;
+    }
+
+    @Override
+    public JavaMailSender getObject(Object... args) {
+      return mailSender;
+    }
+
+    @Override
+    public JavaMailSender getIfAvailable() {
+      return mailSender;
+    }
+
+    @Override
+    public JavaMailSender getIfUnique() {
+      return mailSender;
+    }
+  }
+
+}
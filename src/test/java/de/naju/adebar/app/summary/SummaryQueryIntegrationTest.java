@@ -0,0 +1,160 @@
+package de.naju.adebar.app.summary;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import javax.persistence.EntityManager;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.stereotype.Component;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+import de.naju.adebar.app.chapter.LocalGroupManager;
+import de.naju.adebar.app.events.EventManager;
+import de.naju.adebar.app.human.PersonManager;
+import de.naju.adebar.infrastructure.monitoring.QueryCounter;
+import de.naju.adebar.model.chapter.LocalGroup;
+import de.naju.adebar.model.chapter.Project;
+import de.naju.adebar.model.events.Event;
+import de.naju.adebar.model.events.EventFactory;
+import de.naju.adebar.model.events.EventId;
+import de.naju.adebar.model.human.Address;
+import de.naju.adebar.model.human.Person;
+import de.naju.adebar.model.human.PersonFactory;
+import de.naju.adebar.model.newsletter.Newsletter;
+import de.naju.adebar.model.newsletter.NewsletterRepository;
+import de.naju.adebar.model.newsletter.Subscriber;
+import de.naju.adebar.model.newsletter.SubscriberRepository;
+
+/**
+ * @author Rico Bergmann
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+@Rollback
+@Component
+public class SummaryQueryIntegrationTest {
+  @Autowired
+  private SummaryQuery summaryQuery;
+  @Autowired
+  private LocalGroupManager localGroupManager;
+  @Autowired
+  private EventManager eventManager;
+  @Autowired
+  private PersonManager personManager;
+  @Autowired
+  private NewsletterRepository newsletterRepo;
+  @Autowired
+  private SubscriberRepository subscriberRepo;
+  @Autowired
+  private PersonFactory personFactory;
+  @Autowired
+  private EventFactory eventFactory;
+  @Autowired
+  private EntityManager entityManager;
+
+  private Person claus;
+  private Person berta;
+  private LocalGroup najuSn;
+  private LocalGroup najuLe;
+  private Event hifa;
+  private Event summerCamp;
+
+  @Before
+  public void setUp() {
+    claus = personManager.savePerson(personFactory
+        .buildNew("Claus", "Störtebecker", "der_kaeptn@web.de").makeActivist().create());
+    berta = personManager.savePerson(personFactory.buildNew("Berta", "Beate", "berta@gmx.net")
+        .makeActivist().makeParticipant().create());
+
+    hifa = eventFactory.build("HIFA", LocalDateTime.now().plusDays(1),
+        LocalDateTime.now().plusDays(3));
+    hifa.setParticipantsLimit(10);
+    hifa.addParticipantIgnoreAge(berta);
+    hifa.addReservationFor("NAJU Leipzig", 3);
+    hifa.addReservationFor("NAJU Dresden", 2);
+    hifa = eventManager.saveEvent(hifa);
+    summerCamp = eventManager.saveEvent(eventFactory.build("Sommercamp",
+        LocalDateTime.now().plusDays(30), LocalDateTime.now().plusDays(37)));
+
+    najuSn = localGroupManager.saveLocalGroup(new LocalGroup("NAJU Sachsen", new Address()));
+    najuSn.addMember(claus);
+    najuSn.addMember(berta);
+    najuSn.addEvent(hifa);
+    Project project = new Project("Vogelzählung", najuSn);
+    project.addContributor(claus);
+    najuSn.addProject(project);
+    najuSn = localGroupManager.saveLocalGroup(najuSn);
+    najuLe = localGroupManager.saveLocalGroup(new LocalGroup("NAJU Leipzig", new Address()));
+
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  @Test
+  public void testSummarizeLocalGroups() {
+    Map<Long, LocalGroupSummary> summaries =
+        summaryQuery.summarizeLocalGroups(Arrays.asList(najuSn, najuLe));
+    Assert.assertEquals("Counts not correct", new LocalGroupSummary(2, 1, 1),
+        summaries.get(najuSn.getId()));
+    Assert.assertEquals("Empty local group should be summarized as well",
+        new LocalGroupSummary(0, 0, 0), summaries.get(najuLe.getId()));
+  }
+
+  @Test
+  public void testSummarizeLocalGroupsUsesOneQueryPerCount() {
+    QueryCounter counter;
+    try (QueryCounter c = QueryCounter.start()) {
+      counter = c;
+      summaryQuery.summarizeLocalGroups(Arrays.asList(najuSn, najuLe));
+    }
+    Assert.assertEquals("Should not load any collection: " + counter, 3,
+        counter.getStatements());
+    Assert.assertEquals("Should not load any collection: " + counter, 0,
+        counter.getCollectionFetches());
+  }
+
+  @Test
+  public void testCountContributors() {
+    Project project = localGroupManager.findLocalGroup(najuSn.getId())
+        .orElseThrow(AssertionError::new).getProjects().values().iterator().next();
+    Assert.assertEquals("Contributors not counted", Integer.valueOf(1),
+        summaryQuery.countContributors(Arrays.asList(project)).get(project.getId()));
+  }
+
+  @Test
+  public void testCountSubscribers() {
+    Newsletter newsletter = new Newsletter("NAJU Sachsen");
+    newsletter.addSubscriber(subscriberRepo.save(new Subscriber("Anna", "Lyse", "anna@naju.de")));
+    newsletter.addSubscriber(subscriberRepo.save(new Subscriber("Bert", "Ram", "bert@naju.de")));
+    newsletter = newsletterRepo.save(newsletter);
+    Newsletter empty = newsletterRepo.save(new Newsletter("Sommercamp"));
+
+    Map<Long, Integer> counts = summaryQuery.countSubscribers(Arrays.asList(newsletter, empty));
+    Assert.assertEquals("Subscribers not counted", Integer.valueOf(2),
+        counts.get(newsletter.getId()));
+    Assert.assertEquals("Subscribers not counted", Integer.valueOf(0), counts.get(empty.getId()));
+  }
+
+  @Test
+  public void testSummarizeParticipants() {
+    Map<EventId, ParticipantsSummary> summaries =
+        summaryQuery.summarizeParticipants(Arrays.asList(hifa, summerCamp));
+
+    ParticipantsSummary hifaSummary = summaries.get(hifa.getId());
+    Assert.assertEquals("Participants not counted", 1, hifaSummary.getParticipantsCount());
+    Assert.assertEquals("Reserved slots not summed up", 5, hifaSummary.getReservedSlotsCount());
+    Assert.assertEquals("Remaining capacity not correct", 4, hifaSummary.getRemainingCapacity());
+
+    ParticipantsSummary summerCampSummary = summaries.get(summerCamp.getId());
+    Assert.assertEquals("Participants not counted", 0, summerCampSummary.getParticipantsCount());
+    Assert.assertFalse("Event should not have a limit", summerCampSummary.hasParticipantsLimit());
+  }
+
+}
@@ -0,0 +1,153 @@
+package de.naju.adebar.infrastructure.datasource;
+
+import java.time.Duration;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Testing the {@link ReplicaRoutingDataSource} against two embedded databases. Replication is
+ * simulated by copying the heartbeat from the primary to the replica database.
+ *
+ * @author Rico Bergmann
+ */
+public class ReplicaRoutingDataSourceIntegrationTest {
+  private static final String PRIMARY = "primary";
+  private static final String REPLICA = "replica";
+
+  private EmbeddedDatabase primary;
+  private EmbeddedDatabase replica;
+  private JdbcTemplate primaryJdbc;
+  private JdbcTemplate replicaJdbc;
+  private ReplicaLagMonitor lagMonitor;
+  private JdbcTemplate routingJdbc;
+  private DataSourceTransactionManager transactionManager;
+
+  @Before
+  public void setUp() {
+    primary = createDatabase(PRIMARY);
+    replica = createDatabase(REPLICA);
+    primaryJdbc = new JdbcTemplate(primary);
+    replicaJdbc = new JdbcTemplate(replica);
+    replicaJdbc.execute("CREATE TABLE " + ReplicaLagMonitor.HEARTBEAT_TABLE
+        + " (id INT NOT NULL PRIMARY KEY, beat BIGINT NOT NULL)");
+
+    lagMonitor =
+        new ReplicaLagMonitor(primary, replica, Duration.ofSeconds(5), Duration.ofSeconds(1));
+    DataSource routing = ReplicaRoutingDataSource.lazy(primary, replica, lagMonitor);
+    routingJdbc = new JdbcTemplate(routing);
+    transactionManager = new DataSourceTransactionManager(routing);
+  }
+
+  @After
+  public void tearDown() {
+    lagMonitor.stop();
+    primary.shutdown();
+    replica.shutdown();
+  }
+
+  @Test
+  public void testReplicaIsNotUsedBeforeFirstCheck() {
+    Assert.assertFalse(lagMonitor.isReplicaUsable());
+    Assert.assertEquals(PRIMARY, readOrigin(true));
+  }
+
+  @Test
+  public void testReadOnlyTransactionsUseReplica() {
+    catchUp();
+    Assert.assertTrue("Replica should be usable, lag: " + lagMonitor.getLag(),
+        lagMonitor.isReplicaUsable());
+    Assert.assertEquals(REPLICA, readOrigin(true));
+  }
+
+  @Test
+  public void testWritingTransactionsUsePrimary() {
+    catchUp();
+    Assert.assertEquals(PRIMARY, readOrigin(false));
+  }
+
+  @Test
+  public void testStatementsOutsideOfTransactionsUsePrimary() {
+    catchUp();
+    Assert.assertEquals(PRIMARY,
+        routingJdbc.queryForObject("SELECT name FROM origin", String.class));
+  }
+
+  @Test
+  public void testLaggingReplicaIsNotUsed() {
+    catchUp();
+    replicaJdbc.update("UPDATE " + ReplicaLagMonitor.HEARTBEAT_TABLE + " SET beat = ?",
+        System.currentTimeMillis() - Duration.ofMinutes(1).toMillis());
+    lagMonitor.check();
+
+    Assert.assertFalse("Replica should lag behind", lagMonitor.isReplicaUsable());
+    Assert.assertTrue(lagMonitor.getLag().get().compareTo(Duration.ofMinutes(1)) >= 0);
+    Assert.assertEquals(PRIMARY, readOrigin(true));
+  }
+
+  @Test
+  public void testUnreachableReplicaIsNotUsed() {
+    catchUp();
+    replicaJdbc.execute("DROP TABLE " + ReplicaLagMonitor.HEARTBEAT_TABLE);
+    lagMonitor.check();
+
+    Assert.assertFalse(lagMonitor.isReplicaUsable());
+    Assert.assertFalse(lagMonitor.getLag().isPresent());
+    Assert.assertEquals(PRIMARY, readOrigin(true));
+  }
+
+  @Test
+  public void testReadsAfterWriteUsePrimary() {
+    catchUp();
+    new TransactionTemplate(transactionManager).execute(
+        status -> routingJdbc.update("UPDATE origin SET name = ?", PRIMARY));
+    Assert.assertEquals("Own writes should be visible", PRIMARY, readOrigin(true));
+  }
+
+  /**
+   * @param name the name of the database
+   * @return a new in-memory database whose {@code origin} table contains its name
+   */
+  private EmbeddedDatabase createDatabase(String name) {
+    EmbeddedDatabase database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2)
+        .setName(name + "-" + UUID.randomUUID()).build();
+    JdbcTemplate jdbc = new JdbcTemplate(database);
+    jdbc.execute("CREATE TABLE origin (name VARCHAR(16))");
+    jdbc.update("INSERT INTO origin (name) VALUES (?)", name);
+    return database;
+  }
+
+  /**
+   * Writes a heartbeat and copies it to the replica, just as replication would
+   */
+  private void catchUp() {
+    lagMonitor.check();
+    long beat = primaryJdbc.queryForObject(
+        "SELECT beat FROM " + ReplicaLagMonitor.HEARTBEAT_TABLE, Long.class);
+    replicaJdbc.update("DELETE FROM " + ReplicaLagMonitor.HEARTBEAT_TABLE);
+    replicaJdbc.update("INSERT INTO " + ReplicaLagMonitor.HEARTBEAT_TABLE + " VALUES (1, ?)",
+        beat);
+    lagMonitor.check();
+  }
+
+  /**
+   * @param readOnly whether to use a read-only transaction
+   * @return the name of the database the transaction was executed on
+   */
+  private String readOrigin(boolean readOnly) {
+    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+    transactionTemplate.setReadOnly(readOnly);
+    return transactionTemplate.execute(
+        status -> routingJdbc.queryForObject("SELECT name FROM origin", String.class));
+  }
+
+}
@@ -0,0 +1,197 @@
+package de.naju.adebar.infrastructure.datasource;
+
+import java.time.Duration;
+import java.util.Properties;
+import java.util.UUID;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan.Filter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import de.naju.adebar.model.human.Qualification;
+import de.naju.adebar.model.human.QualificationRepository;
+
+/**
+ * Testing the {@link ReplicaRoutingDataSource} with JPA repositories, which run in transactions of
+ * a {@link JpaTransactionManager}. Both databases contain the same qualification, but with a
+ * description naming the database it was read from.
+ *
+ * @author Rico Bergmann
+ */
+public class ReplicaRoutingJpaIntegrationTest {
+  private static final String PRIMARY = "primary";
+  private static final String REPLICA = "replica";
+  private static final String QUALIFICATION = "Erste Hilfe";
+
+  private AnnotationConfigApplicationContext context;
+  private JdbcTemplate primaryJdbc;
+  private JdbcTemplate replicaJdbc;
+  private ReplicaLagMonitor lagMonitor;
+  private QualificationRepository qualificationRepo;
+  private Statistics statistics;
+
+  @Before
+  public void setUp() {
+    context = new AnnotationConfigApplicationContext(JpaConfiguration.class);
+    primaryJdbc = new JdbcTemplate(context.getBean("primaryDataSource", DataSource.class));
+    replicaJdbc = new JdbcTemplate(context.getBean("replicaDataSource", DataSource.class));
+    lagMonitor = context.getBean(ReplicaLagMonitor.class);
+    qualificationRepo = context.getBean(QualificationRepository.class);
+    statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class)
+        .getStatistics();
+  }
+
+  @After
+  public void tearDown() {
+    context.close();
+  }
+
+  @Test
+  public void testReadOnlyRepositoryCallsUseReplica() {
+    catchUp();
+    Assert.assertEquals(REPLICA, qualificationRepo.findOne(QUALIFICATION).getDescription());
+  }
+
+  @Test
+  public void testWritingRepositoryCallsUsePrimary() {
+    catchUp();
+    qualificationRepo.save(new Qualification("Schwimmen", "Rettungsschwimmer"));
+
+    String countQuery = "SELECT COUNT(*) FROM qualification WHERE name = 'Schwimmen'";
+    Assert.assertEquals("Should be written to primary", Integer.valueOf(1),
+        primaryJdbc.queryForObject(countQuery, Integer.class));
+    Assert.assertEquals("Should not be written to replica", Integer.valueOf(0),
+        replicaJdbc.queryForObject(countQuery, Integer.class));
+  }
+
+  @Test
+  public void testReplicaReadsAreNotCached() {
+    catchUp();
+    statistics.clear();
+
+    qualificationRepo.findAll();
+    qualificationRepo.findOne(QUALIFICATION);
+    Assert.assertEquals("Replica reads should not be put into the second-level cache", 0,
+        statistics.getSecondLevelCachePutCount());
+    Assert.assertEquals("Replica reads should not be put into the query cache", 0,
+        statistics.getQueryCachePutCount());
+
+    lagMonitor.stop();
+    Assert.assertEquals(PRIMARY, qualificationRepo.findOne(QUALIFICATION).getDescription());
+    Assert.assertTrue("Primary reads should be cached",
+        statistics.getSecondLevelCachePutCount() > 0);
+  }
+
+  /**
+   * @param name the name of the database
+   * @return a new in-memory database whose {@code qualification} table contains one qualification
+   *         which is described by the database's name
+   */
+  private static EmbeddedDatabase createDatabase(String name) {
+    EmbeddedDatabase database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2)
+        .setName(name + "-" + UUID.randomUUID()).build();
+    JdbcTemplate jdbc = new JdbcTemplate(database);
+    jdbc.execute("CREATE TABLE qualification (name VARCHAR(255) NOT NULL PRIMARY KEY, "
+        + "description VARCHAR(512))");
+    jdbc.update("INSERT INTO qualification (name, description) VALUES (?, ?)", QUALIFICATION,
+        name);
+    return database;
+  }
+
+  /**
+   * Writes a heartbeat and copies it to the replica, just as replication would
+   */
+  private void catchUp() {
+    lagMonitor.check();
+    long beat = primaryJdbc.queryForObject(
+        "SELECT beat FROM " + ReplicaLagMonitor.HEARTBEAT_TABLE, Long.class);
+    replicaJdbc.update("DELETE FROM " + ReplicaLagMonitor.HEARTBEAT_TABLE);
+    replicaJdbc.update("INSERT INTO " + ReplicaLagMonitor.HEARTBEAT_TABLE + " VALUES (1, ?)",
+        beat);
+    lagMonitor.check();
+  }
+
+  /**
+   * Minimal JPA setup containing the qualifications only. Its caches are kept apart from the ones
+   * of the application.
+   */
+  @Configuration
+  @EnableTransactionManagement
+  @EnableJpaRepositories(basePackageClasses = QualificationRepository.class,
+      includeFilters = @Filter(type = FilterType.ASSIGNABLE_TYPE,
+          classes = QualificationRepository.class))
+  static class JpaConfiguration {
+
+    @Bean(destroyMethod = "shutdown")
+    public EmbeddedDatabase primaryDataSource() {
+      return createDatabase(PRIMARY);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public EmbeddedDatabase replicaDataSource() {
+      EmbeddedDatabase replica = createDatabase(REPLICA);
+      new JdbcTemplate(replica).execute("CREATE TABLE " + ReplicaLagMonitor.HEARTBEAT_TABLE
+          + " (id INT NOT NULL PRIMARY KEY, beat BIGINT NOT NULL)");
+      return replica;
+    }
+
+    @Bean(destroyMethod = "stop")
+    public ReplicaLagMonitor replicaLagMonitor() {
+      return new ReplicaLagMonitor(primaryDataSource(), replicaDataSource(), Duration.ofSeconds(5),
+          Duration.ofSeconds(1));
+    }
+
+    @Bean
+    public DataSource dataSource() {
+      return ReplicaRoutingDataSource.lazy(primaryDataSource(), replicaDataSource(),
+          replicaLagMonitor(), new ReplicaCacheGuard());
+    }
+
+    @Bean
+    public LocalContainerEntityManagerFactoryBean entityManagerFactory() {
+      Properties properties = new Properties();
+      properties.setProperty("hibernate.cache.use_second_level_cache", "true");
+      properties.setProperty("hibernate.cache.use_query_cache", "true");
+      properties.setProperty("hibernate.cache.region.factory_class",
+          "org.hibernate.cache.ehcache.EhCacheRegionFactory");
+      properties.setProperty("hibernate.generate_statistics", "true");
+
+      LocalContainerEntityManagerFactoryBean entityManagerFactory =
+          new LocalContainerEntityManagerFactoryBean();
+      entityManagerFactory.setDataSource(dataSource());
+      entityManagerFactory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+      entityManagerFactory.setJpaProperties(properties);
+      // this package does not contain any entities, the qualifications are added explicitly
+      entityManagerFactory.setPackagesToScan(JpaConfiguration.class.getPackage().getName());
+      entityManagerFactory.setPersistenceUnitPostProcessors(
+          unit -> unit.addManagedClassName(Qualification.class.getName()));
+      return entityManagerFactory;
+    }
+
+    @Bean
+    public PlatformTransactionManager transactionManager(
+        EntityManagerFactory entityManagerFactory) {
+      return new JpaTransactionManager(entityManagerFactory);
+    }
+
+  }
+
+}
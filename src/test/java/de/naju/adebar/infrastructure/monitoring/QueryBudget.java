@@ -0,0 +1,91 @@
+package de.naju.adebar.infrastructure.monitoring;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.junit.Assert;
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+
+/**
+ * Rule to fail tests which issue more SQL statements than they are allowed to. The budget of a test
+ * is declared through the {@link Limit} annotation, tests without it are not restricted. As rules
+ * are applied around the {@code @Before} methods, their statements would count towards the budget
+ * as well. Therefore the setup should call {@link #reset()} once the fixture has been created.
+ * <p>
+ * Usage:
+ *
+ * <pre>
+ * &#64;Rule
+ * public QueryBudget queryBudget = new QueryBudget();
+ *
+ * &#64;Before
+ * public void setUp() {
+ *   ...
+ *   queryBudget.reset();
+ * }
+ *
+ * &#64;Test
+ * &#64;QueryBudget.Limit(statements = 3)
+ * public void testSomething() { ... }
+ * </pre>
+ * </p>
+ *
+ * @author Rico Bergmann
+ */
+public class QueryBudget implements TestRule {
+  private QueryCounter counter;
+
+  /**
+   * Discards all statements which were counted for the current test so far. If the test does not
+   * have a budget, nothing will happen.
+   */
+  public void reset() {
+    if (counter != null) {
+      counter.reset();
+    }
+  }
+
+  @Override
+  public Statement apply(Statement base, Description description) {
+    Limit limit = description.getAnnotation(Limit.class);
+    if (limit == null) {
+      return base;
+    }
+    return new Statement() {
+      @Override
+      public void evaluate() throws Throwable {
+        QueryCounter testCounter = QueryCounter.start();
+        counter = testCounter;
+        try {
+          base.evaluate();
+        } catch (Throwable t) {
+          // the test's failure is more important than a counter which was not stopped properly
+          testCounter.close();
+          throw t;
+        } finally {
+          counter = null;
+        }
+
+        testCounter.stop();
+        Assert.assertTrue(String.format("%s issued %d statements but only %d are allowed: %s",
+            description.getDisplayName(), testCounter.getStatements(), limit.statements(),
+            testCounter), testCounter.getStatements() <= limit.statements());
+      }
+    };
+  }
+
+  /**
+   * The maximum number of statements a test may issue
+   *
+   * @author Rico Bergmann
+   */
+  @Retention(RetentionPolicy.RUNTIME)
+  @Target(ElementType.METHOD)
+  public @interface Limit {
+    int statements();
+  }
+
+}
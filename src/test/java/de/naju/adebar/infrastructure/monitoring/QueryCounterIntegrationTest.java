@@ -0,0 +1,111 @@
+package de.naju.adebar.infrastructure.monitoring;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.EntityManager;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.stereotype.Component;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+import de.naju.adebar.app.human.PersonManager;
+import de.naju.adebar.model.human.Person;
+import de.naju.adebar.model.human.PersonFactory;
+import de.naju.adebar.model.human.PersonId;
+
+/**
+ * Basic testing of the {@link QueryCounter} and its Hibernate integration
+ *
+ * @author Rico Bergmann
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+@Rollback
+@Component
+public class QueryCounterIntegrationTest {
+
+  @Rule
+  public QueryBudget queryBudget = new QueryBudget();
+
+  @Autowired
+  private PersonFactory personFactory;
+  @Autowired
+  private PersonManager personManager;
+  @Autowired
+  private EntityManager entityManager;
+  private List<PersonId> personIds;
+
+  @Before
+  public void setUp() {
+    personIds = new ArrayList<>();
+    for (int i = 0; i < 5; ++i) {
+      Person person = personFactory.buildNew("Claus" + i, "Störtebecker", null).create();
+      personIds.add(personManager.savePerson(person).getId());
+    }
+    entityManager.flush();
+    entityManager.clear();
+    queryBudget.reset();
+  }
+
+  @Test
+  public void testCountsStatementsAndEntityLoads() {
+    QueryCounter counter;
+    try (QueryCounter c = QueryCounter.start()) {
+      counter = c;
+      Assert.assertTrue(personManager.findPerson(personIds.get(0).toString()).isPresent());
+    }
+
+    Assert.assertTrue("Loading a person should issue a statement", counter.getStatements() > 0);
+    Assert.assertTrue("Loading a person should load an entity", counter.getEntityLoads() > 0);
+    Assert.assertTrue("Counter should have been stopped", counter.isStopped());
+    Assert.assertFalse("No counter should be active", QueryCounter.current().isPresent());
+  }
+
+  @Test
+  public void testDetectsRepeatedStatements() {
+    QueryCounter counter;
+    try (QueryCounter c = QueryCounter.start()) {
+      counter = c;
+      personIds.forEach(id -> personManager.findPerson(id.toString()));
+    }
+
+    Map<String, Integer> repeated = counter.getRepeatedStatements(personIds.size());
+    Assert.assertFalse("Loading persons one by one should be detected: " + counter,
+        repeated.isEmpty());
+  }
+
+  @Test
+  public void testNestedCountersPropagate() {
+    try (QueryCounter outer = QueryCounter.start()) {
+      QueryCounter inner;
+      try (QueryCounter c = QueryCounter.start()) {
+        inner = c;
+        personManager.findPerson(personIds.get(0).toString());
+      }
+      Assert.assertTrue(inner.getStatements() > 0);
+      Assert.assertEquals(inner.getStatements(), outer.getStatements());
+    }
+  }
+
+  @Test
+  public void testShapeNormalizesInLists() {
+    Assert.assertEquals(QueryCounter.shapeOf("select * from person where id in (?)"),
+        QueryCounter.shapeOf("select *  from person\n where id in (?, ?, ?)"));
+  }
+
+  @Test
+  @QueryBudget.Limit(statements = 4)
+  public void testFindPersonStaysWithinBudget() {
+    // the person itself and (at most) its three profiles, which share the person's ID
+    personManager.findPerson(personIds.get(0).toString());
+  }
+
+}
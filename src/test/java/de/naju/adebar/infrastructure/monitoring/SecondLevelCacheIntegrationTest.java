@@ -0,0 +1,98 @@
+package de.naju.adebar.infrastructure.monitoring;
+
+import java.util.List;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.stereotype.Component;
+import org.springframework.test.context.junit4.SpringRunner;
+import com.google.common.collect.Lists;
+import de.naju.adebar.app.chapter.LocalGroupManager;
+import de.naju.adebar.model.chapter.LocalGroup;
+import de.naju.adebar.model.chapter.LocalGroupRepository;
+import de.naju.adebar.model.human.Address;
+import de.naju.adebar.model.human.Qualification;
+import de.naju.adebar.model.human.QualificationManager;
+
+/**
+ * Testing the second-level cache of the reference data. As the query cache only serves committed
+ * data, the test is not transactional and cleans up on its own.
+ *
+ * @author Rico Bergmann
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Component
+public class SecondLevelCacheIntegrationTest {
+  @Autowired
+  private QualificationManager qualificationManager;
+  @Autowired
+  private LocalGroupManager localGroupManager;
+  @Autowired
+  private LocalGroupRepository localGroupRepo;
+  @Autowired
+  private CachesEndpoint cachesEndpoint;
+
+  private Qualification qualification;
+  private LocalGroup localGroup;
+
+  @Before
+  public void setUp() {
+    qualification = qualificationManager.createQualification("Cached", "Erste Hilfe");
+    localGroup = localGroupManager.createLocalGroup("NAJU Cache",
+        new Address("Hauptstraße 1", "01067", "Dresden"));
+  }
+
+  @After
+  public void tearDown() {
+    qualificationManager.repository().delete(qualification.getName());
+    localGroupRepo.delete(localGroup.getId());
+  }
+
+  @Test
+  public void testRepeatedFindAllIsServedFromCache() {
+    qualificationManager.repository().findAll();
+    long hits = cachesEndpoint.invoke().get(CachesEndpoint.QUERY_CACHE).getHits();
+
+    try (QueryCounter counter = QueryCounter.start()) {
+      List<Qualification> qualifications =
+          Lists.newArrayList(qualificationManager.repository().findAll());
+      Assert.assertTrue(qualifications.contains(qualification));
+      Assert.assertEquals("Qualifications should have been cached: " + counter, 0,
+          counter.getStatements());
+    }
+    Assert.assertTrue("Query cache hit should have been recorded",
+        cachesEndpoint.invoke().get(CachesEndpoint.QUERY_CACHE).getHits() > hits);
+  }
+
+  @Test
+  public void testCreatedEntitiesInvalidateCachedQueries() {
+    qualificationManager.repository().findAll();
+    Qualification other = qualificationManager.createQualification("Also cached", "");
+    try {
+      Assert.assertTrue("New qualification should be visible",
+          Lists.newArrayList(qualificationManager.repository().findAll()).contains(other));
+    } finally {
+      qualificationManager.repository().delete(other);
+    }
+  }
+
+  @Test
+  public void testUpdatedEntitiesAreNotStale() {
+    Assert.assertTrue(Lists.newArrayList(localGroupManager.repository().findAll())
+        .contains(localGroup));
+    LocalGroup group = localGroupManager.findLocalGroup(localGroup.getId()).get();
+    group.setName("NAJU Cache (neu)");
+    localGroupManager.saveLocalGroup(group);
+
+    Assert.assertEquals("NAJU Cache (neu)",
+        localGroupManager.repository().findOne(localGroup.getId()).getName());
+    Assert.assertTrue(Lists.newArrayList(localGroupManager.repository().findAll()).stream()
+        .anyMatch(g -> g.getName().equals("NAJU Cache (neu)")));
+  }
+
+}
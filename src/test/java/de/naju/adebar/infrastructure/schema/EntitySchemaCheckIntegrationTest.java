@@ -0,0 +1,47 @@
+package de.naju.adebar.infrastructure.schema;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.stereotype.Component;
+import org.springframework.test.context.junit4.SpringRunner;
+
+/**
+ * Basic testing of the {@link EntitySchemaCheck}
+ *
+ * @author Rico Bergmann
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Component
+public class EntitySchemaCheckIntegrationTest {
+
+  @Autowired
+  private EntitySchemaCheck schemaCheck;
+
+  @Test
+  public void testSchemaMatchesEntityModel() {
+    Assert.assertEquals(Collections.emptyList(), schemaCheck.findMismatches());
+  }
+
+  @Test
+  public void testDetectsMissingTablesAndColumns() {
+    Map<String, Set<String>> expected = new HashMap<>();
+    expected.put("person", new HashSet<>(Arrays.asList("id", "first_name", "phone")));
+    expected.put("event", new HashSet<>(Arrays.asList("id")));
+    Map<String, Set<String>> actual = new HashMap<>();
+    actual.put("person", new HashSet<>(Arrays.asList("id", "first_name", "legacy")));
+
+    Assert.assertEquals(Arrays.asList("missing table event", "missing column person.phone"),
+        EntitySchemaCheck.findMismatches(expected, actual));
+  }
+
+}
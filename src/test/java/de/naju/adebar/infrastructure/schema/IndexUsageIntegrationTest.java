@@ -0,0 +1,183 @@
+package de.naju.adebar.infrastructure.schema;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.stereotype.Component;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+import de.naju.adebar.app.events.EventManager;
+import de.naju.adebar.infrastructure.monitoring.QueryCounter;
+import de.naju.adebar.model.chapter.LocalGroupRepository;
+import de.naju.adebar.model.chapter.ProjectRepository;
+import de.naju.adebar.model.events.Event;
+import de.naju.adebar.model.events.EventFactory;
+import de.naju.adebar.model.events.EventRepository;
+import de.naju.adebar.model.human.Person;
+import de.naju.adebar.model.human.PersonFactory;
+import de.naju.adebar.model.human.PersonRepository;
+import de.naju.adebar.model.newsletter.SubscriberRepository;
+
+/**
+ * Makes sure the frequent repository queries are backed by an index. The SQL issued by each
+ * repository method is explained by the database and the plan must neither contain a table scan
+ * nor miss the index created for the query.
+ *
+ * @author Rico Bergmann
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+@Rollback
+@Component
+public class IndexUsageIntegrationTest {
+  private static final String TABLE_SCAN = "tableScan";
+
+  @Autowired
+  private PersonFactory personFactory;
+  @Autowired
+  private PersonRepository personRepo;
+  @Autowired
+  private EventFactory eventFactory;
+  @Autowired
+  private EventManager eventManager;
+  @Autowired
+  private EventRepository eventRepo;
+  @Autowired
+  private LocalGroupRepository localGroupRepo;
+  @Autowired
+  private ProjectRepository projectRepo;
+  @Autowired
+  private SubscriberRepository subscriberRepo;
+  @Autowired
+  private DataSource dataSource;
+  private JdbcTemplate jdbcTemplate;
+  private Person person;
+  private Event event;
+
+  @Before
+  public void setUp() {
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    person = personRepo.save(personFactory.buildNew("Claus", "Störtebecker", "claus@web.de")
+        .makeActivist().create());
+    event = eventManager.saveEvent(eventFactory.build("Sommercamp",
+        LocalDateTime.now().plusDays(10), LocalDateTime.now().plusDays(14)));
+  }
+
+  @Test
+  public void testFindPersonsByName() {
+    assertUsesIndex("idx_person_name",
+        () -> personRepo.findByFirstNameAndLastName("Berta", "Beate"));
+  }
+
+  @Test
+  public void testFindPersonsByEmail() {
+    assertUsesIndex("idx_person_email", () -> personRepo.findByEmail("berta@gmx.net"));
+  }
+
+  @Test
+  public void testPersonPagination() {
+    assertUsesIndex("idx_person_archived_name",
+        () -> personRepo.findFirstOrderByName(new PageRequest(0, 20)));
+    assertUsesIndex("idx_person_archived_name",
+        () -> personRepo.findOrderByNameAfter("Beate", "Berta", "id", new PageRequest(0, 20)));
+  }
+
+  @Test
+  public void testFindEventsByTime() {
+    assertUsesIndex("idx_event_start",
+        () -> eventRepo.findByStartTimeIsAfter(LocalDateTime.now().plusYears(1)));
+    assertUsesIndex("idx_event_end",
+        () -> eventRepo.findByEndTimeIsBefore(LocalDateTime.now().minusYears(1)));
+  }
+
+  @Test
+  public void testFindEventsOfPerson() {
+    assertUsesIndex("idx_participation_person",
+        () -> eventRepo.findByParticipantsListParticipantsContains(person));
+    assertUsesIndex("idx_counselors_counselor", () -> eventRepo.findByCounselorsContains(person));
+    assertUsesIndex("idx_event_organizers_organizer",
+        () -> eventRepo.findByOrganizersContains(person));
+  }
+
+  @Test
+  public void testFindHostOfEvent() {
+    assertUsesIndex("idx_local_group_events_event",
+        () -> localGroupRepo.findByEventsContains(event));
+    assertUsesIndex("idx_project_events_event", () -> projectRepo.findByEventsContains(event));
+  }
+
+  @Test
+  public void testFindSubscriberByEmail() {
+    assertUsesIndex(null, () -> subscriberRepo.findByEmail("berta@gmx.net"));
+  }
+
+  /**
+   * @param index the index which has to be used by at least one of the queries. If {@code null},
+   *        it is only checked that none of the queries scans a table.
+   * @param repositoryCall the call to check
+   */
+  private void assertUsesIndex(String index, Runnable repositoryCall) {
+    Set<String> statements;
+    try (QueryCounter counter = QueryCounter.start()) {
+      repositoryCall.run();
+      counter.stop();
+      statements = counter.getStatementShapes();
+    }
+    List<String> plans = statements.stream() //
+        .filter(sql -> sql.toLowerCase().startsWith("select")) //
+        .map(this::explain) //
+        .collect(Collectors.toList());
+
+    Assert.assertFalse("No query was issued", plans.isEmpty());
+    for (String plan : plans) {
+      Assert.assertFalse("Query scans a table: " + plan, plan.contains(TABLE_SCAN));
+    }
+    if (index != null) {
+      Assert.assertTrue("Index " + index + " is not used: " + plans, plans.stream()
+          .anyMatch(plan -> plan.toLowerCase().contains(index.toLowerCase())));
+    }
+  }
+
+  /**
+   * @param sql the query to explain. Its parameters will be set to {@code null}
+   * @return the database's plan for the query
+   */
+  private String explain(String sql) {
+    return jdbcTemplate.execute("EXPLAIN " + sql, (PreparedStatementCallback<String>) ps -> {
+      setParametersToNull(ps);
+      StringBuilder plan = new StringBuilder();
+      try (ResultSet rs = ps.executeQuery()) {
+        while (rs.next()) {
+          plan.append(rs.getString(1)).append('\n');
+        }
+      }
+      return plan.toString();
+    });
+  }
+
+  /**
+   * @param ps the statement to set the parameters of
+   */
+  private void setParametersToNull(PreparedStatement ps) throws SQLException {
+    for (int i = 1; i <= ps.getParameterMetaData().getParameterCount(); ++i) {
+      ps.setObject(i, null);
+    }
+  }
+
+}
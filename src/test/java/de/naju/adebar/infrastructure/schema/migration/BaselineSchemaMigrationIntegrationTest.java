@@ -0,0 +1,110 @@
+package de.naju.adebar.infrastructure.schema.migration;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+import de.naju.adebar.app.events.EventManager;
+import de.naju.adebar.model.events.Event;
+
+/**
+ * Starts the application on a database which was set up by an earlier version of the application
+ * (see {@code db/baseline/schema.sql}) and checks that the data was migrated. The moved rows are
+ * read directly, as the tests should not depend on the rest of the entity model being migrated.
+ * Events are loaded as entities as well, as a participants list without a version could not be
+ * loaded at all.
+ *
+ * @author Rico Bergmann
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:baseline;DB_CLOSE_DELAY=-1",
+    "spring.datasource.schema=classpath:db/baseline/schema.sql"})
+@Transactional
+@Rollback
+@Component
+public class BaselineSchemaMigrationIntegrationTest {
+  private static final String EVENT = "baseline-camp";
+
+  @Autowired
+  private DataSource dataSource;
+  @Autowired
+  private EventManager eventManager;
+
+  @Test
+  public void testParticipantsAreMoved() {
+    Map<String, Map<String, Object>> participants = new HashMap<>();
+    new JdbcTemplate(dataSource)
+        .queryForList("SELECT * FROM participation WHERE event_id = ?", EVENT)
+        .forEach(row -> participants.put((String) row.get("person_id"), row));
+
+    Assert.assertEquals("Participants not moved", 2, participants.size());
+    Map<String, Object> claus = participants.get("baseline-claus");
+    Assert.assertEquals("Acknowledgement not moved", true, claus.get("acknowledged"));
+    Assert.assertEquals("Participation fee not moved", true, claus.get("fee_payed"));
+    Assert.assertEquals("Registration form not moved", false, claus.get("form_filled"));
+    Assert.assertEquals("Remarks not moved", "vegetarisch", claus.get("remarks"));
+    Assert.assertEquals("Registration form not moved", true,
+        participants.get("baseline-berta").get("form_filled"));
+
+    Assert.assertFalse("Old table not dropped", tableExists("event_participants"));
+  }
+
+  @Test
+  public void testWaitingListIsMovedInOrder() {
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    List<String> waitingList = jdbcTemplate.queryForList(
+        "SELECT person_id FROM waiting_list_entry WHERE event_id = ? ORDER BY ticket", String.class,
+        EVENT);
+
+    Assert.assertEquals("Waiting list not moved in order",
+        Arrays.asList("baseline-fritz", "baseline-hans"), waitingList);
+    Assert.assertEquals("Next ticket not set", Long.valueOf(2), nextWaitingListTicket(EVENT));
+    Assert.assertFalse("Old table not dropped", tableExists("event_waiting_list"));
+  }
+
+  @Test
+  public void testListsWithoutWaitingListStartAtFirstTicket() {
+    Assert.assertEquals("Next ticket not set", Long.valueOf(0),
+        nextWaitingListTicket("baseline-hike"));
+  }
+
+  @Test
+  public void testListsAreVersioned() {
+    Assert.assertEquals("Version not set", Long.valueOf(0), new JdbcTemplate(dataSource)
+        .queryForObject("SELECT version FROM participants_list WHERE id = ?", Long.class, EVENT));
+    Event hike = eventManager.findEvent("baseline-hike").orElseThrow(AssertionError::new);
+    Assert.assertEquals("Participants list not loaded", 10, hike.getParticipantsLimit());
+  }
+
+  /**
+   * @param event the ID of the event to query for
+   * @return the next ticket of the event's waiting list
+   */
+  private Long nextWaitingListTicket(String event) {
+    return new JdbcTemplate(dataSource).queryForObject(
+        "SELECT next_waiting_list_ticket FROM participants_list WHERE id = ?", Long.class, event);
+  }
+
+  /**
+   * @param table the table to check
+   * @return whether the table exists
+   */
+  private boolean tableExists(String table) {
+    return new JdbcTemplate(dataSource)
+        .execute((ConnectionCallback<Boolean>) c -> LegacySchema.tableExists(c, table));
+  }
+
+}
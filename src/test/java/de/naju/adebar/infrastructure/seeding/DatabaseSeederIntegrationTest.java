@@ -0,0 +1,103 @@
+package de.naju.adebar.infrastructure.seeding;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import de.naju.adebar.app.chapter.LocalGroupManager;
+import de.naju.adebar.app.events.EventManager;
+import de.naju.adebar.app.human.PersonManager;
+import de.naju.adebar.app.newsletter.NewsletterManager;
+import de.naju.adebar.app.newsletter.SubscriberManager;
+import de.naju.adebar.model.chapter.LocalGroup;
+import de.naju.adebar.model.events.Event;
+import de.naju.adebar.model.events.EventFactory;
+import de.naju.adebar.model.human.PersonFactory;
+import de.naju.adebar.model.newsletter.NewsletterRepository;
+import de.naju.adebar.model.newsletter.SubscriberRepository;
+
+/**
+ * Basic testing of the {@link DatabaseSeeder}
+ *
+ * @author Rico Bergmann
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+@Rollback
+@Component
+public class DatabaseSeederIntegrationTest {
+  @Autowired
+  private PersonManager personManager;
+  @Autowired
+  private EventManager eventManager;
+  @Autowired
+  private LocalGroupManager localGroupManager;
+  @Autowired
+  private NewsletterManager newsletterManager;
+  @Autowired
+  private SubscriberManager subscriberManager;
+  @Autowired
+  private NewsletterRepository newsletterRepo;
+  @Autowired
+  private SubscriberRepository subscriberRepo;
+  @Autowired
+  private PersonFactory personFactory;
+  @Autowired
+  private EventFactory eventFactory;
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+  @Autowired
+  private Environment environment;
+  private DatabaseSeeder seeder;
+
+  @Before
+  public void setUp() {
+    seeder = new DatabaseSeeder(personManager, eventManager, localGroupManager, newsletterManager,
+        subscriberManager, newsletterRepo, personFactory, eventFactory, transactionManager,
+        environment);
+  }
+
+  @Test
+  public void testSeedsRequestedVolumes() {
+    long persons = personManager.repository().count();
+    long events = eventManager.repository().count();
+    long localGroups = localGroupManager.repository().count();
+    long subscribers = subscriberRepo.count();
+
+    seeder.seed(new SyntheticData(SyntheticData.DEFAULT_SEED, personFactory, eventFactory), 300,
+        20, 5, 100);
+
+    Assert.assertEquals("Wrong number of persons", persons + 300,
+        personManager.repository().count());
+    Assert.assertEquals("Wrong number of events", events + 20, eventManager.repository().count());
+    Assert.assertEquals("Wrong number of local groups", localGroups + 5,
+        localGroupManager.repository().count());
+    Assert.assertEquals("Wrong number of subscribers", subscribers + 100, subscriberRepo.count());
+  }
+
+  @Test
+  public void testEventsAreHostedByLocalGroups() {
+    seeder.seed(new SyntheticData(SyntheticData.DEFAULT_SEED, personFactory, eventFactory), 300,
+        20, 5, 0);
+
+    int hostedEvents = 0;
+    for (LocalGroup localGroup : localGroupManager.repository().findAll()) {
+      for (Event event : localGroup.getEvents()) {
+        Assert.assertTrue("Event should not be booked out beyond its limit: " + event,
+            event.getParticipantsCount() <= event.getParticipantsLimit());
+        ++hostedEvents;
+      }
+    }
+    Assert.assertTrue("All events should be hosted by a local group", hostedEvents >= 20);
+  }
+
+}
@@ -0,0 +1,132 @@
+package de.naju.adebar.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Basic testing of the {@link IntervalTree}
+ *
+ * @author Rico Bergmann
+ */
+public class IntervalTreeUnitTest {
+  private IntervalTree<Integer, String> tree;
+
+  @Before
+  public void setUp() {
+    tree = new IntervalTree<>();
+    tree.put("a", 0, 10);
+    tree.put("b", 5, 7);
+    tree.put("c", 10, 20);
+    tree.put("d", 15, 15);
+  }
+
+  @Test
+  public void testFindContaining() {
+    Assert.assertEquals("Should contain both a and b", Arrays.asList("a", "b"),
+        tree.findContaining(5));
+    Assert.assertEquals("End should be exclusive", Collections.singletonList("c"),
+        tree.findContaining(10));
+    Assert.assertTrue("Empty interval should not contain anything",
+        !tree.findContaining(15).contains("d"));
+  }
+
+  @Test
+  public void testFindOverlapping() {
+    Assert.assertEquals("Should overlap a, b and c", Arrays.asList("a", "b", "c"),
+        tree.findOverlapping(6, 11));
+    Assert.assertEquals("Bounds should be exclusive", Collections.singletonList("c"),
+        tree.findOverlapping(10, 15));
+  }
+
+  @Test
+  public void testFindStartingAfter() {
+    Assert.assertEquals("Should find c and d", Arrays.asList("c", "d"),
+        tree.findStartingAfter(5));
+  }
+
+  @Test
+  public void testFindEndedBy() {
+    Assert.assertEquals("Should find a and b", Arrays.asList("a", "b"), tree.findEndedBy(10));
+  }
+
+  @Test
+  public void testPutReplacesInterval() {
+    tree.put("a", 30, 40);
+    Assert.assertEquals("Should not add the value twice", 4, tree.size());
+    Assert.assertEquals("Old interval should be gone", Collections.singletonList("b"),
+        tree.findContaining(5));
+    Assert.assertEquals("New interval should be present", Collections.singletonList("a"),
+        tree.findContaining(35));
+  }
+
+  @Test
+  public void testRemove() {
+    Assert.assertTrue("Should remove a", tree.remove("a"));
+    Assert.assertFalse("Should not remove a twice", tree.remove("a"));
+    Assert.assertFalse("Should not contain a anymore", tree.contains("a"));
+    Assert.assertEquals("Should only contain b", Collections.singletonList("b"),
+        tree.findContaining(5));
+  }
+
+  @Test
+  public void testMatchesLinearSearch() {
+    Random random = new Random(42);
+    IntervalTree<Integer, Integer> randomTree = new IntervalTree<>();
+    Map<Integer, int[]> intervals = new HashMap<>();
+
+    for (int i = 0; i < 2000; ++i) {
+      int value = random.nextInt(500);
+      if (random.nextInt(4) == 0) {
+        randomTree.remove(value);
+        intervals.remove(value);
+      } else {
+        int start = random.nextInt(1000);
+        int end = start + random.nextInt(100);
+        randomTree.put(value, start, end);
+        intervals.put(value, new int[] {start, end});
+      }
+    }
+
+    Assert.assertEquals("Sizes should match", intervals.size(), randomTree.size());
+    for (int i = 0; i < 100; ++i) {
+      int from = random.nextInt(1100);
+      int to = from + random.nextInt(50);
+      Assert.assertEquals("Containing should match",
+          linearSearch(intervals, iv -> iv[0] <= from && from < iv[1]),
+          sorted(randomTree.findContaining(from), intervals));
+      Assert.assertEquals("Overlapping should match",
+          linearSearch(intervals, iv -> iv[0] < to && iv[1] > from),
+          sorted(randomTree.findOverlapping(from, to), intervals));
+      Assert.assertEquals("Starting after should match",
+          linearSearch(intervals, iv -> iv[0] > from),
+          sorted(randomTree.findStartingAfter(from), intervals));
+      Assert.assertEquals("Ended by should match", linearSearch(intervals, iv -> iv[1] <= from),
+          sorted(randomTree.findEndedBy(from), intervals));
+    }
+  }
+
+  private List<Integer> linearSearch(Map<Integer, int[]> intervals, Predicate<int[]> matches) {
+    List<Integer> result = intervals.entrySet().stream().filter(e -> matches.test(e.getValue()))
+        .map(Map.Entry::getKey).collect(Collectors.toList());
+    return sorted(result, intervals);
+  }
+
+  private List<Integer> sorted(List<Integer> values, Map<Integer, int[]> intervals) {
+    List<Integer> result = new ArrayList<>(values);
+    result.sort(Comparator.<Integer>comparingInt(v -> intervals.get(v)[0])
+        .thenComparing(Comparator.naturalOrder()));
+    return result;
+  }
+
+}
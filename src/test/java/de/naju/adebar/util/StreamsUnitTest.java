@@ -60,4 +60,38 @@ public class StreamsUnitTest {
         Streams.contains(evenNumbers.stream(), 7));
     Assert.assertFalse("Stream is empty!", Streams.contains(emptyList.stream(), 42));
   }
+
+  @Test
+  public void testContainsShortCircuits() {
+    Stream<Integer> infiniteStream = Stream.iterate(0, i -> i + 1);
+    Assert.assertTrue("Should stop at the element", Streams.contains(infiniteStream, 42));
+  }
+
+  @Test
+  public void testKeyBasedOperations() {
+    List<String> numbers = Arrays.asList("one", "two", "three", "four");
+    List<String> sameLength = Arrays.asList("six", "five");
+
+    Assert.assertEquals("Should compare by length", Arrays.asList("one", "two", "four"),
+        Streams.intersect(numbers.stream(), sameLength.stream(), String::length)
+            .collect(Collectors.toList()));
+    Assert.assertEquals("Should compare by length", Arrays.asList("three"),
+        Streams.subtract(numbers.stream(), sameLength.stream(), String::length)
+            .collect(Collectors.toList()));
+    Assert.assertTrue("Should find key",
+        Streams.containsKey(numbers.stream(), String::length, 5));
+    Assert.assertFalse("Should not find key",
+        Streams.containsKey(numbers.stream(), String::length, 6));
+  }
+
+  @Test
+  public void testProbeSideIsLazy() {
+    List<Integer> probed = new ArrayList<>();
+    Stream<Integer> result = Streams.intersect(allNumbers.stream().peek(probed::add),
+        oddNumbers.stream());
+    Assert.assertTrue("Nothing should be probed before the result is consumed", probed.isEmpty());
+    Assert.assertEquals(Integer.valueOf(1), result.findFirst().get());
+    Assert.assertEquals("Probing should stop at the first match", Arrays.asList(0, 1), probed);
+  }
+
 }
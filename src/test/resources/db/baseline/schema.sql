@@ -0,0 +1,55 @@
+-- Tables of the event participants and the waiting list as Hibernate created them before they
+-- became entities of their own. Everything else will be created by Hibernate on startup as usual.
+
+CREATE TABLE person (id VARCHAR(255) NOT NULL, first_name VARCHAR(255), last_name VARCHAR(255),
+  email VARCHAR(255), phone VARCHAR(255), address_street VARCHAR(255), address_zip VARCHAR(255),
+  address_city VARCHAR(255), address_hints VARCHAR(255), participant BOOLEAN NOT NULL,
+  activist BOOLEAN NOT NULL, referent BOOLEAN NOT NULL, archived BOOLEAN NOT NULL,
+  PRIMARY KEY (id));
+
+CREATE TABLE event (id VARCHAR(255) NOT NULL, name VARCHAR(255), start_time TIMESTAMP,
+  end_time TIMESTAMP, min_participant_age INTEGER NOT NULL, int_participation_fee VARCHAR(255),
+  ext_participation_fee VARCHAR(255), location_street VARCHAR(255), location_zip VARCHAR(255),
+  location_city VARCHAR(255), location_hints VARCHAR(255), PRIMARY KEY (id));
+
+CREATE TABLE participants_list (id VARCHAR(255) NOT NULL, participants_limit INTEGER NOT NULL,
+  PRIMARY KEY (id));
+
+CREATE TABLE event_participants (event_id VARCHAR(255) NOT NULL,
+  acknowledged BOOLEAN NOT NULL, fee_payed BOOLEAN NOT NULL, form_filled BOOLEAN NOT NULL,
+  remarks VARCHAR(255), participant VARCHAR(255) NOT NULL, PRIMARY KEY (event_id, participant),
+  FOREIGN KEY (event_id) REFERENCES participants_list (id),
+  FOREIGN KEY (participant) REFERENCES person (id));
+
+CREATE TABLE event_waiting_list (event_id VARCHAR(255) NOT NULL,
+  person_id VARCHAR(255) NOT NULL, position INTEGER NOT NULL, PRIMARY KEY (event_id, position),
+  FOREIGN KEY (event_id) REFERENCES participants_list (id),
+  FOREIGN KEY (person_id) REFERENCES person (id));
+
+INSERT INTO person (id, first_name, last_name, email, participant, activist, referent, archived)
+  VALUES ('baseline-claus', 'Claus', 'Störtebecker', 'der_kaeptn@web.de', FALSE, FALSE, FALSE,
+  FALSE);
+INSERT INTO person (id, first_name, last_name, email, participant, activist, referent, archived)
+  VALUES ('baseline-berta', 'Berta', 'Beate', 'berta@gmx.net', FALSE, FALSE, FALSE, FALSE);
+INSERT INTO person (id, first_name, last_name, email, participant, activist, referent, archived)
+  VALUES ('baseline-hans', 'Hans', 'Wurst', 'hans@wurst.de', FALSE, FALSE, FALSE, FALSE);
+INSERT INTO person (id, first_name, last_name, email, participant, activist, referent, archived)
+  VALUES ('baseline-fritz', 'Fritz', 'Käse', 'fritz@kaese.de', FALSE, FALSE, FALSE, FALSE);
+
+INSERT INTO event (id, name, start_time, end_time, min_participant_age)
+  VALUES ('baseline-camp', 'Sommercamp', '2017-07-01 10:00:00', '2017-07-08 16:00:00', 0);
+INSERT INTO participants_list (id, participants_limit) VALUES ('baseline-camp', 20);
+INSERT INTO event (id, name, start_time, end_time, min_participant_age)
+  VALUES ('baseline-hike', 'Wanderung', '2017-08-05 09:00:00', '2017-08-05 17:00:00', 0);
+INSERT INTO participants_list (id, participants_limit) VALUES ('baseline-hike', 10);
+
+INSERT INTO event_participants (event_id, participant, acknowledged, fee_payed, form_filled,
+  remarks) VALUES ('baseline-camp', 'baseline-claus', TRUE, TRUE, FALSE, 'vegetarisch');
+INSERT INTO event_participants (event_id, participant, acknowledged, fee_payed, form_filled,
+  remarks) VALUES ('baseline-camp', 'baseline-berta', FALSE, FALSE, TRUE, NULL);
+
+-- the rows are inserted in a different order than their positions on the waiting list
+INSERT INTO event_waiting_list (event_id, person_id, position)
+  VALUES ('baseline-camp', 'baseline-hans', 1);
+INSERT INTO event_waiting_list (event_id, person_id, position)
+  VALUES ('baseline-camp', 'baseline-fritz', 0);